@@ -0,0 +1,158 @@
+package org.geogebra.common.jre.cas;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Append-only store of CAS results in a memory mapped file. The file starts
+ * with a header (magic number, end of data) followed by records of the form
+ * (input length, result length, input chars, result chars). Once the file is
+ * full, new results are no longer stored.
+ */
+public class MappedCasResultStore {
+
+	private static final int MAGIC = 0x47474243;
+	private static final int HEADER_BYTES = 8;
+	private static final int RECORD_HEADER_BYTES = 8;
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	/** offset of result length for each input */
+	private final HashMap<String, Integer> index = new HashMap<>();
+	private int end;
+
+	/**
+	 * Opens the store, reading existing entries if the file was created by
+	 * this class before.
+	 *
+	 * @param path
+	 *            file
+	 * @param capacity
+	 *            size of the file in bytes
+	 * @throws IOException
+	 *             if file can't be opened or mapped
+	 */
+	public MappedCasResultStore(File path, int capacity) throws IOException {
+		file = new RandomAccessFile(path, "rw");
+		buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+				capacity);
+		if (buffer.getInt(0) == MAGIC) {
+			readIndex();
+		} else {
+			buffer.putInt(0, MAGIC);
+			setEnd(HEADER_BYTES);
+		}
+	}
+
+	private void readIndex() {
+		int storedEnd = buffer.getInt(4);
+		int pos = HEADER_BYTES;
+		while (pos + RECORD_HEADER_BYTES <= storedEnd) {
+			int inputLength = buffer.getInt(pos);
+			int resultLength = buffer.getInt(pos + 4);
+			int next = pos + RECORD_HEADER_BYTES
+					+ 2 * (inputLength + resultLength);
+			if (inputLength < 0 || resultLength < 0 || next > storedEnd
+					|| next > buffer.capacity()) {
+				Log.warn("Corrupted CAS cache file, ignoring rest");
+				break;
+			}
+			index.put(readChars(pos + RECORD_HEADER_BYTES, inputLength), pos);
+			pos = next;
+		}
+		end = pos;
+	}
+
+	/**
+	 * @param input
+	 *            CAS input
+	 * @return stored result or null
+	 */
+	public synchronized String get(String input) {
+		Integer pos = index.get(input);
+		if (pos == null) {
+			return null;
+		}
+		int inputLength = buffer.getInt(pos);
+		return readChars(pos + RECORD_HEADER_BYTES + 2 * inputLength,
+				buffer.getInt(pos + 4));
+	}
+
+	/**
+	 * @param input
+	 *            CAS input
+	 * @param result
+	 *            CAS result
+	 * @return whether the result was stored (false if it was stored before or
+	 *         the file is full)
+	 */
+	public synchronized boolean put(String input, String result) {
+		if (index.containsKey(input)) {
+			return false;
+		}
+		long recordBytes = RECORD_HEADER_BYTES
+				+ 2L * (input.length() + result.length());
+		if (end + recordBytes > buffer.capacity()) {
+			return false;
+		}
+		int pos = end;
+		buffer.putInt(pos, input.length());
+		buffer.putInt(pos + 4, result.length());
+		writeChars(pos + RECORD_HEADER_BYTES, input);
+		writeChars(pos + RECORD_HEADER_BYTES + 2 * input.length(), result);
+		index.put(input, pos);
+		setEnd((int) (pos + recordBytes));
+		return true;
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public synchronized void clear() {
+		index.clear();
+		setEnd(HEADER_BYTES);
+	}
+
+	/**
+	 * @return number of stored entries
+	 */
+	public synchronized int size() {
+		return index.size();
+	}
+
+	/**
+	 * Writes pending changes to disk and closes the file.
+	 *
+	 * @throws IOException
+	 *             if closing fails
+	 */
+	public synchronized void close() throws IOException {
+		buffer.force();
+		file.close();
+	}
+
+	private void setEnd(int end) {
+		this.end = end;
+		buffer.putInt(4, end);
+	}
+
+	private String readChars(int pos, int length) {
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = buffer.getChar(pos + 2 * i);
+		}
+		return new String(chars);
+	}
+
+	private void writeChars(int pos, String str) {
+		for (int i = 0; i < str.length(); i++) {
+			buffer.putChar(pos + 2 * i, str.charAt(i));
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package org.geogebra.common.jre.cas;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.geogebra.common.cas.CasResultCache;
+
+/**
+ * Thread safe CAS cache that can be shared by all kernels of the process.
+ * Least recently used entries are evicted once the estimated size of all
+ * entries exceeds the limit. Entries can be additionally stored in a
+ * {@link MappedCasResultStore} so that they survive a restart.
+ */
+public class SharedCasResultCache implements CasResultCache {
+
+	/** default limit for the in-memory tier */
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	/** estimated memory of map entry and string objects */
+	private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+	private static SharedCasResultCache instance;
+
+	private final LinkedHashMap<String, String> map = new LinkedHashMap<>(
+			16, 0.75f, true);
+	private final long maxBytes;
+	private final MappedCasResultStore diskTier;
+	private long retainedBytes;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong diskHits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param maxBytes
+	 *            limit for estimated memory of the entries
+	 */
+	public SharedCasResultCache(long maxBytes) {
+		this(maxBytes, null);
+	}
+
+	/**
+	 * @param maxBytes
+	 *            limit for estimated memory of the entries
+	 * @param diskTier
+	 *            persistent store for entries (may be null)
+	 */
+	public SharedCasResultCache(long maxBytes, MappedCasResultStore diskTier) {
+		this.maxBytes = maxBytes;
+		this.diskTier = diskTier;
+	}
+
+	/**
+	 * @return process-wide cache without disk tier
+	 */
+	public static synchronized SharedCasResultCache getInstance() {
+		if (instance == null) {
+			instance = new SharedCasResultCache(DEFAULT_MAX_BYTES);
+		}
+		return instance;
+	}
+
+	@Override
+	public String get(String input) {
+		String result;
+		synchronized (map) {
+			result = map.get(input);
+		}
+		if (result != null) {
+			hits.incrementAndGet();
+			return result;
+		}
+		if (diskTier != null) {
+			result = diskTier.get(input);
+			if (result != null) {
+				hits.incrementAndGet();
+				diskHits.incrementAndGet();
+				putInMemory(input, result);
+				return result;
+			}
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	@Override
+	public void put(String input, String result) {
+		if (result == null) {
+			return;
+		}
+		putInMemory(input, result);
+		if (diskTier != null) {
+			diskTier.put(input, result);
+		}
+	}
+
+	private void putInMemory(String input, String result) {
+		synchronized (map) {
+			String old = map.put(input, result);
+			if (old != null) {
+				retainedBytes -= weight(input, old);
+			}
+			retainedBytes += weight(input, result);
+			Iterator<Map.Entry<String, String>> it = map.entrySet()
+					.iterator();
+			while (retainedBytes > maxBytes && it.hasNext()) {
+				Map.Entry<String, String> eldest = it.next();
+				retainedBytes -= weight(eldest.getKey(), eldest.getValue());
+				it.remove();
+				evictions.incrementAndGet();
+			}
+		}
+	}
+
+	private static long weight(String input, String result) {
+		return 2L * (input.length() + result.length()) + ENTRY_OVERHEAD_BYTES;
+	}
+
+	@Override
+	public void clear() {
+		synchronized (map) {
+			map.clear();
+			retainedBytes = 0;
+		}
+		if (diskTier != null) {
+			diskTier.clear();
+		}
+	}
+
+	@Override
+	public boolean isShared() {
+		return true;
+	}
+
+	@Override
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return number of lookups answered by the disk tier
+	 */
+	public long getDiskHits() {
+		return diskHits.get();
+	}
+
+	@Override
+	public long getMisses() {
+		return misses.get();
+	}
+
+	@Override
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return estimated memory of entries in the in-memory tier
+	 */
+	public long getRetainedBytes() {
+		synchronized (map) {
+			return retainedBytes;
+		}
+	}
+
+	/**
+	 * @return number of entries in the in-memory tier
+	 */
+	public int size() {
+		synchronized (map) {
+			return map.size();
+		}
+	}
+}
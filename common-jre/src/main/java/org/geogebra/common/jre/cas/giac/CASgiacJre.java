@@ -1,17 +1,20 @@
 package org.geogebra.common.jre.cas.giac;
 
 import org.geogebra.common.cas.CASparser;
-import org.geogebra.common.cas.error.TimeoutException;
 import org.geogebra.common.cas.giac.CASgiacB;
+import org.geogebra.common.cas.giac.GiacSession;
 import org.geogebra.common.cas.giac.binding.CASGiacBinding;
 import org.geogebra.common.jre.cas.giac.binding.CASGiacBindingJre;
-import org.geogebra.common.util.debug.Log;
 
 /**
  * Giac for Desktop and Android
  */
 public abstract class CASgiacJre extends CASgiacB {
 
+	private static final int MAX_WORKERS = 4;
+
+	private GiacWorkerPool workerPool;
+
     /**
      * @param casParser casParser
      */
@@ -24,6 +27,42 @@ public abstract class CASgiacJre extends CASgiacB {
         return new CASGiacBindingJre();
     }
 
+	/**
+	 * @return new session with its own context
+	 */
+	GiacSession createSession() {
+		return new GiacSession(createBinding().createContext());
+	}
+
+	/**
+	 * Evaluates the expression in given session; called from pool workers.
+	 * 
+	 * @param session
+	 *            session owned by the current thread
+	 * @param exp
+	 *            Giac command
+	 * @param timeoutMillis0
+	 *            Giac timeout in milliseconds
+	 * @return raw result
+	 */
+	String evaluateInSession(GiacSession session, String exp,
+			long timeoutMillis0) {
+		return evalRaw(session, exp, timeoutMillis0);
+	}
+
+	@Override
+	protected String evaluateInContext(String exp, long timeoutMillis0)
+			throws Throwable {
+		if (useThread()) {
+			// if we don't get a result in time, CAS took too long to return
+			// eg Solve[sin(5/4 pi+x)-cos(x-3/4 pi)=sqrt(6) *
+			// cos(x)-sqrt(2)]
+			return getWorkerPool().evaluate(exp, timeoutMillis0,
+					timeoutMillis);
+		}
+		return super.evaluateInContext(exp, timeoutMillis0);
+	}
+
     @Override
 	/**
 	 * synchronized needed in case CAS called from a thread eg Input Bar preview
@@ -31,51 +70,35 @@ public abstract class CASgiacJre extends CASgiacB {
 	 */
 	synchronized protected void callEvaluateFunction(Runnable evaluateFunction)
 			throws Throwable {
-        if (useThread()) {
-            // send expression to CAS
-            Thread thread = new EvaluateThread(evaluateFunction);
-
-            thread.start();
-            thread.join(timeoutMillis);
-            thread.interrupt();
-            // thread.interrupt() doesn't seem to stop it, so add this for
-            // good measure:
-            stopThread(thread);
-            // in fact, stop will do nothing (never implemented)
-            // Log.debug("giac: after interrupt/stop");
-
-            // if we haven't got a result, CAS took too long to return
-            // eg Solve[sin(5/4 pi+x)-cos(x-3/4 pi)=sqrt(6) *
-            // cos(x)-sqrt(2)]
-            if (threadResult == null) {
-                Log.debug("Thread timeout from Giac");
-                throw new TimeoutException("Thread timeout from Giac");
-            }
-        } else {
-            evaluateFunction.run();
-        }
+		evaluateFunction.run();
     }
 
-    protected abstract boolean useThread();
-
-    protected abstract void stopThread(Thread thread);
+	@Override
+	public void resetSession() {
+		super.resetSession();
+		if (workerPool != null) {
+			workerPool.resetSessions();
+		}
+	}
 
-    class EvaluateThread extends Thread {
-        private Runnable evaluateFunction;
+	private synchronized GiacWorkerPool getWorkerPool() {
+		if (workerPool == null) {
+			workerPool = new GiacWorkerPool(this, getWorkerCount());
+		}
+		return workerPool;
+	}
 
-        public EvaluateThread(Runnable evaluateFunction) {
-            this.evaluateFunction = evaluateFunction;
-        }
+	/**
+	 * @return whether to evaluate in pooled worker threads (with their own
+	 *         contexts) rather than in the calling thread
+	 */
+    protected abstract boolean useThread();
 
-        @Override
-        public void run() {
-            try {
-                evaluateFunction.run();
-            } catch (Throwable t) {
-                Log.debug("problem from JNI Giac: " + t.toString());
-                // force error in GeoGebra
-				threadResult = FORCE_ERROR;
-            }
-        }
-    }
+	/**
+	 * @return maximal number of concurrent evaluations in worker threads
+	 */
+	protected int getWorkerCount() {
+		return Math.min(MAX_WORKERS,
+				Runtime.getRuntime().availableProcessors());
+	}
 }
@@ -0,0 +1,231 @@
+package org.geogebra.common.jre.cas.giac;
+
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.cas.error.TimeoutException;
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.cas.giac.GiacSession;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Bounded pool of long-lived worker threads for Giac evaluations. Each worker
+ * owns its own Giac context, so evaluations requested by different threads
+ * run concurrently.
+ *
+ * Every request has a deadline: requests whose deadline passed while they
+ * were queued are not evaluated at all. If a running evaluation misses its
+ * deadline, the caller gets a {@link TimeoutException} and the worker is
+ * retired: it finishes (or gets interrupted by Giac's own timeout) in the
+ * background, its result is discarded and a new worker takes its place.
+ * Threads are never stopped forcibly, so retired workers still count towards
+ * a limit of twice the pool size; once no live worker is left below that
+ * limit, requests fail immediately instead of queueing.
+ */
+public class GiacWorkerPool {
+
+	private final CASgiacJre cas;
+	private final int size;
+	private final LinkedBlockingQueue<Request> queue
+			= new LinkedBlockingQueue<>();
+	private final ArrayList<Worker> workers = new ArrayList<>();
+	/** retired workers that are still running */
+	private int retiredRunning = 0;
+	private final AtomicInteger count = new AtomicInteger();
+
+	/**
+	 * @param cas
+	 *            CAS creating the contexts and evaluating the requests
+	 * @param size
+	 *            number of worker threads (and contexts)
+	 */
+	public GiacWorkerPool(CASgiacJre cas, int size) {
+		this.cas = cas;
+		this.size = Math.max(1, size);
+	}
+
+	/**
+	 * Queues the expression and waits for the result.
+	 *
+	 * @param exp
+	 *            Giac command
+	 * @param giacTimeout
+	 *            timeout for Giac in milliseconds
+	 * @param deadlineMillis
+	 *            maximal time to wait for the result in milliseconds
+	 * @return raw result
+	 * @throws TimeoutException
+	 *             if the result is not available before the deadline or all
+	 *             workers are stuck in timed out evaluations
+	 * @throws InterruptedException
+	 *             if the calling thread is interrupted while waiting
+	 */
+	public String evaluate(String exp, long giacTimeout, long deadlineMillis)
+			throws InterruptedException {
+		ensureWorkers();
+		Request request = new Request(exp, giacTimeout,
+				System.currentTimeMillis() + deadlineMillis);
+		queue.add(request);
+		try {
+			return request.await();
+		} catch (TimeoutException e) {
+			retire(request);
+			throw e;
+		} catch (InterruptedException e) {
+			request.cancel();
+			throw e;
+		}
+	}
+
+	/**
+	 * Make sure all contexts are initialized again before their next
+	 * evaluation in session mode.
+	 */
+	public synchronized void resetSessions() {
+		for (Worker worker : workers) {
+			if (worker.session != null) {
+				worker.session.reset();
+			}
+		}
+	}
+
+	/**
+	 * @return number of worker threads
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	private synchronized void ensureWorkers() {
+		while (workers.size() < size
+				&& workers.size() + retiredRunning < 2 * size) {
+			Worker worker = new Worker();
+			workers.add(worker);
+			worker.start();
+		}
+		if (workers.isEmpty()) {
+			throw new TimeoutException(
+					"All Giac workers busy with timed out evaluations");
+		}
+	}
+
+	private synchronized void retire(Request request) {
+		for (int i = 0; i < workers.size(); i++) {
+			Worker worker = workers.get(i);
+			if (worker.current == request) {
+				Log.debug("Thread timeout from Giac, retiring "
+						+ worker.getName());
+				worker.retired = true;
+				retiredRunning++;
+				// cooperative, the worker exits once Giac returns
+				worker.interrupt();
+				workers.remove(i);
+				return;
+			}
+		}
+	}
+
+	private synchronized void retiredWorkerDone() {
+		retiredRunning--;
+	}
+
+	private static class Request {
+		final String exp;
+		final long giacTimeout;
+		final long deadline;
+		private String result;
+		private boolean done = false;
+		private boolean cancelled = false;
+
+		Request(String exp, long giacTimeout, long deadline) {
+			this.exp = exp;
+			this.giacTimeout = giacTimeout;
+			this.deadline = deadline;
+		}
+
+		synchronized boolean isCancelled() {
+			return cancelled || System.currentTimeMillis() > deadline;
+		}
+
+		synchronized void cancel() {
+			cancelled = true;
+		}
+
+		synchronized void complete(String value) {
+			if (!cancelled) {
+				result = value;
+				done = true;
+				notifyAll();
+			}
+		}
+
+		synchronized String await() throws InterruptedException {
+			while (!done) {
+				long wait = deadline - System.currentTimeMillis();
+				if (wait <= 0) {
+					cancelled = true;
+					throw new TimeoutException("Thread timeout from Giac");
+				}
+				wait(wait);
+			}
+			return result;
+		}
+	}
+
+	private class Worker extends Thread {
+		/** context owned by this thread, created on the thread */
+		volatile GiacSession session;
+		volatile Request current;
+		volatile boolean retired = false;
+
+		Worker() {
+			super("giac-worker-" + count.incrementAndGet());
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			try {
+				evaluateRequests();
+			} finally {
+				if (retired) {
+					retiredWorkerDone();
+				}
+			}
+		}
+
+		private void evaluateRequests() {
+			session = cas.createSession();
+			while (!retired) {
+				Request request;
+				try {
+					request = queue.take();
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (request.isCancelled()) {
+					continue;
+				}
+				current = request;
+				// the caller may have timed out before it could find this
+				// worker by its current request
+				if (request.isCancelled()) {
+					current = null;
+					continue;
+				}
+				String result;
+				try {
+					result = cas.evaluateInSession(session, request.exp,
+							request.giacTimeout);
+				} catch (Throwable t) {
+					Log.debug("problem from JNI Giac: " + t.toString());
+					// force error in GeoGebra
+					result = CASgiac.FORCE_ERROR;
+				}
+				current = null;
+				request.complete(result);
+			}
+		}
+	}
+}
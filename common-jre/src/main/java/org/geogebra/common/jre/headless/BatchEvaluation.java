@@ -0,0 +1,210 @@
+package org.geogebra.common.jre.headless;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.geogebra.common.jre.io.MyXMLioJre;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.NumberValue;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.main.App;
+import org.geogebra.common.plugin.GgbAPI;
+
+/**
+ * Loads a construction, runs a batch of commands and evaluates the
+ * construction for each parameter set. Meant to be run by a
+ * {@link KernelPool}, one instance may be submitted several times.
+ */
+public class BatchEvaluation
+		implements KernelPool.Job<List<BatchEvaluation.Result>> {
+
+	private byte[] file;
+	private String xml;
+	private final ArrayList<String> commands = new ArrayList<>();
+	private final ArrayList<Map<String, Double>> parameterSets = new ArrayList<>();
+	private final ArrayList<String> outputs = new ArrayList<>();
+	private boolean exportXML;
+	private boolean exportPNG;
+	private boolean exportSVG;
+
+	/**
+	 * Values and exports of the construction for one parameter set.
+	 */
+	public static class Result {
+		private final LinkedHashMap<String, String> values = new LinkedHashMap<>();
+		private final LinkedHashMap<String, Double> numbers = new LinkedHashMap<>();
+		private String xml;
+		private String png;
+		private String svg;
+
+		/**
+		 * @param label
+		 *            output label
+		 * @return value as in algebra view, empty if object doesn't exist
+		 */
+		public String getValue(String label) {
+			return values.get(label);
+		}
+
+		/**
+		 * @param label
+		 *            output label
+		 * @return numeric value, NaN for objects that are not numbers
+		 */
+		public double getNumber(String label) {
+			Double number = numbers.get(label);
+			return number == null ? Double.NaN : number;
+		}
+
+		/**
+		 * @return construction XML, null if not requested
+		 */
+		public String getXML() {
+			return xml;
+		}
+
+		/**
+		 * @return base64 encoded PNG of graphics view, null if not requested
+		 *         or not supported by the app
+		 */
+		public String getPNG() {
+			return png;
+		}
+
+		/**
+		 * @return SVG of graphics view, null if not requested or not
+		 *         supported by the app
+		 */
+		public String getSVG() {
+			return svg;
+		}
+	}
+
+	/**
+	 * @param ggbFile
+	 *            zipped construction
+	 * @return this
+	 */
+	public BatchEvaluation setFile(byte[] ggbFile) {
+		this.file = ggbFile;
+		this.xml = null;
+		return this;
+	}
+
+	/**
+	 * @param constructionXML
+	 *            construction XML
+	 * @return this
+	 */
+	public BatchEvaluation setXML(String constructionXML) {
+		this.xml = constructionXML;
+		this.file = null;
+		return this;
+	}
+
+	/**
+	 * @param command
+	 *            command run after loading, before parameters are set
+	 * @return this
+	 */
+	public BatchEvaluation addCommand(String command) {
+		commands.add(command);
+		return this;
+	}
+
+	/**
+	 * @param parameters
+	 *            values of free numbers (label to value)
+	 * @return this
+	 */
+	public BatchEvaluation addParameterSet(Map<String, Double> parameters) {
+		parameterSets.add(parameters);
+		return this;
+	}
+
+	/**
+	 * @param label
+	 *            label of object whose value should be reported
+	 * @return this
+	 */
+	public BatchEvaluation addOutput(String label) {
+		outputs.add(label);
+		return this;
+	}
+
+	/**
+	 * @param xml
+	 *            whether to report construction XML
+	 * @param png
+	 *            whether to report PNG of graphics view
+	 * @param svg
+	 *            whether to report SVG of graphics view
+	 * @return this
+	 */
+	public BatchEvaluation setExports(boolean xml, boolean png, boolean svg) {
+		this.exportXML = xml;
+		this.exportPNG = png;
+		this.exportSVG = svg;
+		return this;
+	}
+
+	/**
+	 * @return one result per parameter set; a single result if there are no
+	 *         parameter sets
+	 */
+	@Override
+	public List<Result> run(App app) throws Exception {
+		Kernel kernel = app.getKernel();
+		if (file != null) {
+			((MyXMLioJre) app.getXMLio()).readZipFromInputStream(
+					new ByteArrayInputStream(file), false);
+		} else if (xml != null) {
+			app.getXMLio().processXMLString(xml, true, false);
+		} else {
+			kernel.clearConstruction(true);
+		}
+		GgbAPI api = app.getGgbApi();
+		for (String command : commands) {
+			if (!api.evalCommand(command)) {
+				throw new IllegalArgumentException(
+						"Command failed: " + command);
+			}
+		}
+		ArrayList<Result> results = new ArrayList<>();
+		if (parameterSets.isEmpty()) {
+			results.add(evaluate(api, kernel));
+		}
+		for (Map<String, Double> parameters : parameterSets) {
+			for (Map.Entry<String, Double> parameter : parameters
+					.entrySet()) {
+				api.setValue(parameter.getKey(), parameter.getValue());
+			}
+			results.add(evaluate(api, kernel));
+		}
+		return results;
+	}
+
+	private Result evaluate(GgbAPI api, Kernel kernel) {
+		Result result = new Result();
+		for (String label : outputs) {
+			result.values.put(label, api.getValueString(label));
+			GeoElement geo = kernel.lookupLabel(label);
+			if (geo instanceof NumberValue) {
+				result.numbers.put(label, ((NumberValue) geo).getDouble());
+			}
+		}
+		if (exportXML) {
+			result.xml = api.getXML();
+		}
+		if (exportPNG) {
+			result.png = api.getPNGBase64(1, false, 72, false, false);
+		}
+		if (exportSVG) {
+			result.svg = api.exportSVG(null);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,152 @@
+package org.geogebra.common.jre.headless;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.main.App;
+
+/**
+ * Pool of headless apps for evaluating many constructions concurrently. Each
+ * worker thread owns one app (and hence one kernel and construction) which is
+ * created on first use and reused for all following jobs of that thread, so
+ * no kernel is ever touched by two threads. Kernel code must therefore not
+ * keep scratch objects (builders, arrays, lists) in static fields.
+ */
+public class KernelPool {
+
+	/** apps share static factories, create them one at a time */
+	private static final Object CREATE_LOCK = new Object();
+
+	private final ExecutorService executor;
+	private final AppFactory factory;
+	private final ThreadLocal<App> apps = new ThreadLocal<>();
+	private final int size;
+
+	/**
+	 * Creates apps for the worker threads.
+	 */
+	public interface AppFactory {
+		/**
+		 * @return new headless app
+		 */
+		App createApp();
+	}
+
+	/**
+	 * Work on a single construction.
+	 *
+	 * @param <T>
+	 *            result type
+	 */
+	public interface Job<T> {
+		/**
+		 * @param app
+		 *            app owned by the current thread, construction may contain
+		 *            objects of previous jobs
+		 * @return result
+		 * @throws Exception
+		 *             if evaluation fails
+		 */
+		T run(App app) throws Exception;
+	}
+
+	/**
+	 * @param size
+	 *            number of worker threads (and apps)
+	 * @param factory
+	 *            factory for the apps
+	 */
+	public KernelPool(int size, AppFactory factory) {
+		this.size = size;
+		this.factory = factory;
+		this.executor = Executors.newFixedThreadPool(size,
+				new WorkerFactory());
+	}
+
+	/**
+	 * @param job
+	 *            job
+	 * @return future result
+	 */
+	public <T> Future<T> submit(final Job<T> job) {
+		return executor.submit(new Callable<T>() {
+
+			@Override
+			public T call() throws Exception {
+				return job.run(getApp());
+			}
+		});
+	}
+
+	/**
+	 * Runs all jobs and waits for them to finish.
+	 *
+	 * @param jobs
+	 *            jobs
+	 * @return results in the order of jobs
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 * @throws ExecutionException
+	 *             if any of the jobs failed
+	 */
+	public <T> List<T> runAll(List<? extends Job<T>> jobs)
+			throws InterruptedException, ExecutionException {
+		ArrayList<Future<T>> futures = new ArrayList<>(jobs.size());
+		for (Job<T> job : jobs) {
+			futures.add(submit(job));
+		}
+		ArrayList<T> results = new ArrayList<>(jobs.size());
+		for (Future<T> future : futures) {
+			results.add(future.get());
+		}
+		return results;
+	}
+
+	/**
+	 * @return number of worker threads
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Stops the worker threads once all submitted jobs are done.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private App getApp() {
+		App app = apps.get();
+		if (app == null) {
+			synchronized (CREATE_LOCK) {
+				app = factory.createApp();
+			}
+			apps.set(app);
+		}
+		return app;
+	}
+
+	private static class WorkerFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		protected WorkerFactory() {
+			// instantiated by pool
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r,
+					"kernel-pool-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -16,8 +16,7 @@ public final class MyXMLioCommon extends MyXMLioJre {
 	@Override
 	protected void readZip(ZipInputStream zip, boolean isGGTfile)
 			throws Exception {
-		// TODO Auto-generated method stub
-
+		readZipStreaming(zip, isGGTfile);
 	}
 
 	@Override
@@ -38,4 +37,4 @@ public final class MyXMLioCommon extends MyXMLioJre {
 		// TODO Auto-generated method stub
 
 	}
-}
\ No newline at end of file
+}
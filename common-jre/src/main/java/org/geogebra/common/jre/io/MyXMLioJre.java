@@ -19,10 +19,12 @@ the Free Software Foundation.
 package org.geogebra.common.jre.io;
 
 import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -32,11 +34,14 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.TreeSet;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
+import org.geogebra.common.io.DocHandler;
+import org.geogebra.common.io.LoadTimings;
 import org.geogebra.common.io.MyXMLHandler;
 import org.geogebra.common.io.MyXMLio;
 import org.geogebra.common.io.QDParser;
@@ -44,6 +49,7 @@ import org.geogebra.common.io.file.ByteArrayZipFile;
 import org.geogebra.common.io.file.ZipFile;
 import org.geogebra.common.jre.gui.MyImageJre;
 import org.geogebra.common.jre.io.file.InputStreamZipFile;
+import org.geogebra.common.jre.util.StreamUtil;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.Macro;
@@ -64,6 +70,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 	// private static XMLReaderFactory factory;
 
 	private QDParser xmlParser;
+	private boolean streamingLoad = false;
 
 	/**
 	 * @param kernel
@@ -80,6 +87,22 @@ public abstract class MyXMLioJre extends MyXMLio {
 		xmlParser = new QDParser();
 	}
 
+	/**
+	 * @param streaming
+	 *            whether to parse the construction directly from the zip
+	 *            stream, see {@link #readZipStreaming(ZipInputStream, boolean)}
+	 */
+	public void setStreamingLoad(boolean streaming) {
+		this.streamingLoad = streaming;
+	}
+
+	/**
+	 * @return whether the construction is parsed directly from the zip stream
+	 */
+	public boolean isStreamingLoad() {
+		return streamingLoad;
+	}
+
 	/**
 	 * Reads zipped file from input stream that includes the construction saved
 	 * in xml format and maybe image files.
@@ -93,7 +116,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 	 */
 	public final void readZipFromInputStream(InputStream is, boolean isGGTfile)
 			throws Exception {
-
+		loadTimings.reset();
 		ZipInputStream zip = new ZipInputStream(is);
 
 		readZip(zip, isGGTfile);
@@ -102,6 +125,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 
 	@Override
 	public void readZipFromString(ZipFile zipFile) throws Exception {
+		loadTimings.reset();
 		if (zipFile instanceof ByteArrayZipFile) {
 			ByteArrayZipFile byteArrayZipFile = (ByteArrayZipFile) zipFile;
 			ZipInputStream zip = new ZipInputStream(
@@ -152,6 +176,167 @@ public abstract class MyXMLioJre extends MyXMLio {
 		bs.close();
 	}
 
+	/**
+	 * Handles the XML file read from a stream, e.g. a zip entry. The XML is
+	 * parsed while it is read, the stream is not closed.
+	 * 
+	 * @param is
+	 *            input stream
+	 * @param clearConstruction
+	 *            whether to clear construction
+	 * @param isGGTOrDefaults
+	 *            whether this is just ggt/defaults (no construction)
+	 * @throws Exception
+	 *             on parsing error
+	 */
+	protected void processXMLStream(InputStream is, boolean clearConstruction,
+			boolean isGGTOrDefaults) throws Exception {
+		doParseXML(new XMLStreamInputStream(new ZipEntryInputStream(is)),
+				clearConstruction, isGGTOrDefaults, true, true, true);
+	}
+
+	/**
+	 * Reads all entries of a zip file in one pass. The construction is parsed
+	 * directly from the zip stream when its entry is reached, so it is never
+	 * stored in memory as a whole. Macros and defaults are small and are
+	 * buffered as before.
+	 * 
+	 * Files written by {@link #writeGeoGebraFile(OutputStream, boolean)} store
+	 * the construction after images and macros; for files with a different
+	 * order images stored after the construction are not available while it
+	 * is loaded.
+	 * 
+	 * @param zip
+	 *            zip input stream
+	 * @param isGGTfile
+	 *            true for ggt files
+	 * @throws Exception
+	 *             when file is not accessible / is not valid ggb
+	 */
+	protected final void readZipStreaming(ZipInputStream zip,
+			boolean isGGTfile) throws Exception {
+		InputStream entryStream = new ZipEntryInputStream(zip);
+		byte[] macroXmlFileBuffer = null;
+		byte[] defaults2dXmlFileBuffer = null;
+		byte[] defaults3dXmlFileBuffer = null;
+		boolean xmlFound = false;
+		boolean macroXMLfound = false;
+		boolean javaScriptFound = false;
+		boolean structureFound = false;
+
+		while (true) {
+			ZipEntry entry = null;
+			double start = getMillisecondTime();
+			try {
+				entry = zip.getNextEntry();
+			} catch (Exception e) {
+				Log.error(e.getMessage());
+			}
+			loadTimings.add(LoadTimings.Phase.UNZIP,
+					getMillisecondTime() - start);
+			if (entry == null) {
+				break;
+			}
+			String name = entry.getName();
+
+			if (name.equals("structure.json")) {
+				structureFound = true;
+			} else if (name.equals(XML_FILE)) {
+				xmlFound = true;
+				if (!isGGTfile) {
+					processMacros(macroXmlFileBuffer, isGGTfile);
+					macroXmlFileBuffer = null;
+					kernel.getConstruction().setFileLoading(true);
+					app.getCompanion().resetEuclidianViewForPlaneIds();
+					processXMLStream(zip, !macroXMLfound, isGGTfile);
+					kernel.getConstruction().setFileLoading(false);
+				}
+			} else if (name.equals(XML_FILE_DEFAULTS_2D)) {
+				defaults2dXmlFileBuffer = StreamUtil
+						.loadIntoMemory(entryStream);
+			} else if (app.is3D() && name.equals(XML_FILE_DEFAULTS_3D)) {
+				defaults3dXmlFileBuffer = StreamUtil
+						.loadIntoMemory(entryStream);
+			} else if (name.equals(XML_FILE_MACRO)) {
+				macroXmlFileBuffer = StreamUtil.loadIntoMemory(entryStream);
+				macroXMLfound = true;
+			} else if (name.equals(JAVASCRIPT_FILE)) {
+				kernel.setLibraryJavaScript(
+						StreamUtil.loadIntoString(entryStream));
+				javaScriptFound = true;
+			} else {
+				readZipEntry(name, entryStream);
+			}
+
+			try {
+				zip.closeEntry();
+			} catch (Exception e) {
+				Log.error(e.getMessage());
+			}
+		}
+		zip.close();
+
+		if (xmlFound && !isGGTfile) {
+			// macros stored after the construction must not clear it
+			if (macroXmlFileBuffer != null) {
+				kernel.getConstruction().setFileLoading(true);
+				processXMLBuffer(macroXmlFileBuffer, false, true);
+				kernel.getConstruction().setFileLoading(false);
+			}
+		} else {
+			processMacros(macroXmlFileBuffer, isGGTfile);
+		}
+
+		// process defaults (after construction for labeling styles)
+		if (defaults2dXmlFileBuffer != null) {
+			kernel.getConstruction().setFileLoading(true);
+			processXMLBuffer(defaults2dXmlFileBuffer, false, true);
+			kernel.getConstruction().setFileLoading(false);
+		}
+		if (defaults3dXmlFileBuffer != null) {
+			kernel.getConstruction().setFileLoading(true);
+			processXMLBuffer(defaults3dXmlFileBuffer, false, true);
+			kernel.getConstruction().setFileLoading(false);
+		}
+
+		if (!javaScriptFound && !isGGTfile) {
+			kernel.resetLibraryJavaScript();
+		}
+		if (!(macroXMLfound || xmlFound || structureFound)) {
+			throw new Exception("No XML data found in file.");
+		}
+		Log.debug("File loaded: " + loadTimings);
+	}
+
+	private void processMacros(byte[] macroXmlFileBuffer, boolean isGGTfile)
+			throws Exception {
+		if (!isGGTfile) {
+			// ggb file: remove all macros from kernel before processing
+			kernel.removeAllMacros();
+		}
+		if (macroXmlFileBuffer != null) {
+			// don't clear kernel for macro files
+			kernel.getConstruction().setFileLoading(true);
+			processXMLBuffer(macroXmlFileBuffer, !isGGTfile, isGGTfile);
+			kernel.getConstruction().setFileLoading(false);
+		}
+	}
+
+	/**
+	 * Reads a zip entry that is not XML or JavaScript, e.g. an image.
+	 * 
+	 * @param name
+	 *            name of the entry
+	 * @param entry
+	 *            content of the entry, must not be closed
+	 * @throws IOException
+	 *             on read error
+	 */
+	protected void readZipEntry(String name, InputStream entry)
+			throws IOException {
+		// images are not supported by default
+	}
+
 	/**
 	 * Reads from a zipped input stream that includes only the construction
 	 * saved in xml format.
@@ -162,6 +347,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 	 *             on parsing error
 	 */
 	public final void readZipFromMemory(InputStream is) throws Exception {
+		loadTimings.reset();
 		ZipInputStream zip = new ZipInputStream(is);
 
 		// get all entries from the zip archive
@@ -573,11 +759,111 @@ public abstract class MyXMLioJre extends MyXMLio {
 	final protected void parseXML(MyXMLHandler xmlHandler, XMLStream stream)
 			throws Exception {
 		XMLStreamJre streamJre = (XMLStreamJre) stream;
-		xmlParser.parse(xmlHandler, streamJre.getReader());
+		TimedDocHandler timedHandler = new TimedDocHandler(xmlHandler);
+		double unzipBefore = loadTimings.get(LoadTimings.Phase.UNZIP);
+		double start = getMillisecondTime();
+		xmlParser.parse(timedHandler, streamJre.getReader());
+		double unzip = loadTimings.get(LoadTimings.Phase.UNZIP) - unzipBefore;
+		loadTimings.add(LoadTimings.Phase.CREATE, timedHandler.time);
+		loadTimings.add(LoadTimings.Phase.PARSE, getMillisecondTime() - start
+				- timedHandler.time - unzip);
 		streamJre.closeReader();
 
 	}
 
+	@Override
+	protected double getMillisecondTime() {
+		return System.nanoTime() / 1E6;
+	}
+
+	/**
+	 * Forwards all events to a handler, measuring time spent in the handler.
+	 */
+	private static class TimedDocHandler implements DocHandler {
+		private final DocHandler handler;
+		/** time spent in the handler in milliseconds */
+		protected double time = 0;
+
+		protected TimedDocHandler(DocHandler handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public void startElement(String tag, LinkedHashMap<String, String> h)
+				throws Exception {
+			long start = System.nanoTime();
+			try {
+				handler.startElement(tag, h);
+			} finally {
+				time += (System.nanoTime() - start) / 1E6;
+			}
+		}
+
+		@Override
+		public void endElement(String tag) throws Exception {
+			long start = System.nanoTime();
+			try {
+				handler.endElement(tag);
+			} finally {
+				time += (System.nanoTime() - start) / 1E6;
+			}
+		}
+
+		@Override
+		public void startDocument() throws Exception {
+			handler.startDocument();
+		}
+
+		@Override
+		public void endDocument() throws Exception {
+			handler.endDocument();
+		}
+
+		@Override
+		public void text(String str) throws Exception {
+			long start = System.nanoTime();
+			try {
+				handler.text(str);
+			} finally {
+				time += (System.nanoTime() - start) / 1E6;
+			}
+		}
+	}
+
+	/**
+	 * Stream of a zip entry that records time spent reading (decompressing)
+	 * and doesn't close the zip stream.
+	 */
+	private class ZipEntryInputStream extends FilterInputStream {
+
+		protected ZipEntryInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			double start = getMillisecondTime();
+			int ret = super.read();
+			loadTimings.add(LoadTimings.Phase.UNZIP,
+					getMillisecondTime() - start);
+			return ret;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			double start = getMillisecondTime();
+			int ret = super.read(b, off, len);
+			loadTimings.add(LoadTimings.Phase.UNZIP,
+					getMillisecondTime() - start);
+			return ret;
+		}
+
+		@Override
+		public void close() {
+			// entries are closed by the caller
+		}
+	}
+
 	/**
 	 *
 	 */
@@ -635,7 +921,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 	protected static class XMLStreamInputStream implements XMLStreamJre {
 
 		private InputStream is;
-		private InputStreamReader reader;
+		private Reader reader;
 
 		/**
 		 * @param is
@@ -647,7 +933,8 @@ public abstract class MyXMLioJre extends MyXMLio {
 
 		@Override
 		public Reader getReader() throws Exception {
-			reader = new InputStreamReader(is, Charsets.getUtf8());
+			reader = new BufferedReader(
+					new InputStreamReader(is, Charsets.getUtf8()));
 			return reader;
 		}
 
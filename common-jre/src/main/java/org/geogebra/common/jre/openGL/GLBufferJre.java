@@ -2,9 +2,9 @@ package org.geogebra.common.jre.openGL;
 
 import java.nio.Buffer;
 import java.nio.FloatBuffer;
-import java.util.ArrayList;
 
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.GLBuffer;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
 
 /**
  * buffers for openGL
@@ -71,38 +71,36 @@ public class GLBufferJre implements GLBuffer {
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int length) {
+	public void set(ReusableFloatArray array, int length) {
 
 		allocate(length);
 
-		for (int i = 0; i < length; i++) {
-			put(array.get(i));
-		}
+		impl.put(array.getValues(), 0, length);
 
 		setLimit(length);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int offset, int length) {
+	public void set(ReusableFloatArray array, int offset, int length) {
 		for (int i = 0; i < length; i++) {
-			impl.put(i + offset, array.get(i).floatValue());
+			impl.put(i + offset, array.get(i));
 		}
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int arrayOffset, int offset,
+	public void set(ReusableFloatArray array, int arrayOffset, int offset,
 			int length) {
 		for (int i = 0; i < length; i++) {
-			impl.put(i + offset, array.get(arrayOffset + i).floatValue());
+			impl.put(i + offset, array.get(arrayOffset + i));
 		}
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, float[] translate, float scale,
+	public void set(ReusableFloatArray array, float[] translate, float scale,
 			int offset, int length) {
 		for (int i = 0; i < length; i++) {
 			impl.put(i + offset,
-					array.get(i).floatValue() * scale + translate[i % 3]);
+					array.get(i) * scale + translate[i % 3]);
 		}
 	}
 
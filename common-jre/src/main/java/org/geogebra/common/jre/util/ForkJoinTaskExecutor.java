@@ -0,0 +1,79 @@
+package org.geogebra.common.jre.util;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.geogebra.common.util.TaskExecutor;
+
+/**
+ * Runs independent tasks on a fork/join pool.
+ */
+public class ForkJoinTaskExecutor implements TaskExecutor {
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Executor using one thread per available processor.
+	 */
+	public ForkJoinTaskExecutor() {
+		this(new ForkJoinPool());
+	}
+
+	/**
+	 * @param pool
+	 *            fork/join pool, may be shared with other kernels
+	 */
+	public ForkJoinTaskExecutor(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public void runAll(List<? extends Runnable> tasks) {
+		if (tasks.size() < 2) {
+			for (Runnable task : tasks) {
+				task.run();
+			}
+			return;
+		}
+		pool.invoke(new RunTask(tasks, 0, tasks.size()));
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		pool.execute(task);
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	private static class RunTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<? extends Runnable> tasks;
+		private final int from;
+		private final int to;
+
+		protected RunTask(List<? extends Runnable> tasks, int from, int to) {
+			this.tasks = tasks;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				tasks.get(from).run();
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new RunTask(tasks, from, mid),
+					new RunTask(tasks, mid, to));
+		}
+	}
+}
@@ -7,16 +7,21 @@ import java.util.Locale;
 
 import org.geogebra.common.util.NumberFormatAdapter;
 
-/** Decimal format for Desktop and android */
-public class NumberFormat extends DecimalFormat implements NumberFormatAdapter {
+/**
+ * Decimal format for Desktop and android. DecimalFormat is not thread safe
+ * and formats of static string templates are shared by all kernels, so each
+ * thread formats with its own copy.
+ */
+public class NumberFormat implements NumberFormatAdapter {
 
-	private static final long serialVersionUID = 1L;
+	private final DecimalFormat prototype;
+	private ThreadLocal<DecimalFormat> formats = new ThreadLocal<>();
 
 	/** default format */
 	public NumberFormat() {
-		super();
-		setDecimalFormatSymbols(new DecimalFormatSymbols(Locale.US));
-		setRoundingMode(RoundingMode.HALF_UP);
+		prototype = new DecimalFormat();
+		prototype.setDecimalFormatSymbols(new DecimalFormatSymbols(Locale.US));
+		prototype.setRoundingMode(RoundingMode.HALF_UP);
 	}
 
 	/**
@@ -28,9 +33,42 @@ public class NumberFormat extends DecimalFormat implements NumberFormatAdapter {
 	 *            maximumDigits
 	 * */
 	public NumberFormat(String pattern, int maxDigits) {
-		super(pattern);
-		setMaximumFractionDigits(maxDigits);
-		setDecimalFormatSymbols(new DecimalFormatSymbols(Locale.US));
+		prototype = new DecimalFormat(pattern);
+		prototype.setMaximumFractionDigits(maxDigits);
+		prototype.setDecimalFormatSymbols(new DecimalFormatSymbols(Locale.US));
+	}
+
+	/**
+	 * @param digits
+	 *            maximum number of fraction digits
+	 */
+	public void setMaximumFractionDigits(int digits) {
+		prototype.setMaximumFractionDigits(digits);
+		formats = new ThreadLocal<>();
+	}
+
+	/**
+	 * @param grouping
+	 *            whether to use grouping separators
+	 */
+	public void setGroupingUsed(boolean grouping) {
+		prototype.setGroupingUsed(grouping);
+		formats = new ThreadLocal<>();
+	}
+
+	@Override
+	public int getMaximumFractionDigits() {
+		return prototype.getMaximumFractionDigits();
+	}
+
+	@Override
+	public String format(double x) {
+		DecimalFormat format = formats.get();
+		if (format == null) {
+			format = (DecimalFormat) prototype.clone();
+			formats.set(format);
+		}
+		return format.format(x);
 	}
 
 }
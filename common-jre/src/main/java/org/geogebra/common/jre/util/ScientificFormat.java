@@ -35,7 +35,11 @@ public class ScientificFormat extends Format
 	private int sigDigit = 5;
 	private int maxWidth = 8;
 	private boolean sciNote = false; // set to true for pure Scientific Notation
-	private DecimalFormat decimalFormat;
+	/**
+	 * DecimalFormat is not thread safe and formats of static string templates
+	 * are shared by all kernels, so each thread gets its own
+	 */
+	private transient ThreadLocal<DecimalFormat> decimalFormat;
 	private static final long serialVersionUID = -1182686857248711235L;
 
 	/**
@@ -96,7 +100,7 @@ public class ScientificFormat extends Format
 			throw new IllegalArgumentException("sigDigit");
 		}
 		sigDigit = SigDigit;
-		decimalFormat = null;
+		decimalFormat = new ThreadLocal<>();
 	}
 
 	/**
@@ -147,11 +151,16 @@ public class ScientificFormat extends Format
 
 	private String format(double d, int sigDig) {
 		// Delegate the hard part to decimalFormat
-		if (decimalFormat == null) {
-			decimalFormat = getDecimalFormat(sigDigit);
+		DecimalFormat format;
+		if (sigDig == sigDigit) {
+			format = decimalFormat.get();
+			if (format == null) {
+				format = getDecimalFormat(sigDigit);
+				decimalFormat.set(format);
+			}
+		} else {
+			format = getDecimalFormat(sigDig);
 		}
-		DecimalFormat format = (sigDig == sigDigit) ? decimalFormat
-				: getDecimalFormat(sigDig);
 
 		String preliminaryResult = format.format(d);
 		if (sciNote) {
@@ -0,0 +1,142 @@
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.event.PointerEventType;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for hit testing with spatial index.
+ */
+public class HitDetectorTest extends BaseUnitTest {
+
+	private EuclidianView view;
+
+	@Before
+	public void setupView() {
+		view = getApp().getActiveEuclidianView();
+		view.setCoordSystem(400, 300, 50, 50);
+	}
+
+	@Test
+	public void indexShouldNotChangeHits() {
+		addPointsAndSegments(20);
+		add("c=Circle((0,0),3)");
+		add("f(x)=sin(x)");
+		add("p=Polygon((1,1),(3,1),(2,3))");
+		assertEquals(hits(false), hits(true));
+		assertTrue(view.getHitDetector().getIndex().getIndexedCount() > 0);
+	}
+
+	@Test
+	public void indexShouldFollowUpdates() {
+		addPointsAndSegments(10);
+		view.getHitDetector().setIndexEnabled(true);
+		List<List<GeoElement>> before = queryAll();
+		int rebuilds = view.getHitDetector().getIndex().getRebuildCount();
+		for (int i = 0; i < 10; i++) {
+			GeoPoint point = (GeoPoint) lookup("P_{" + i + "}");
+			point.setCoords(-i, 0.5 * i, 1);
+			point.updateRepaint();
+		}
+		List<List<GeoElement>> indexed = queryAll();
+		assertEquals(rebuilds,
+				view.getHitDetector().getIndex().getRebuildCount());
+		assertEquals(hits(false), indexed);
+		assertTrue(!before.equals(indexed));
+
+		lookup("P_{3}").remove();
+		view.getHitDetector().setIndexEnabled(true);
+		List<List<GeoElement>> afterRemove = queryAll();
+		assertEquals(hits(false), afterRemove);
+	}
+
+	@Test
+	public void movedPointShouldBeHitAtNewPosition() {
+		GeoPoint point = add("A=(1,1)");
+		view.getHitDetector().setIndexEnabled(true);
+		view.setHits(new GPoint(450, 250), PointerEventType.MOUSE);
+		assertEquals(point, view.getHits().get(0));
+		HitIndex index = view.getHitDetector().getIndex();
+		int rebuilds = index.getRebuildCount();
+		point.setCoords(3, 1, 1);
+		point.updateRepaint();
+		view.setHits(new GPoint(450, 250), PointerEventType.MOUSE);
+		assertEquals(0, view.getHits().size());
+		view.setHits(new GPoint(550, 250), PointerEventType.MOUSE);
+		assertEquals(point, view.getHits().get(0));
+		assertEquals(index, view.getHitDetector().getIndex());
+		assertEquals(rebuilds, index.getRebuildCount());
+	}
+
+	@Test
+	public void benchmarkHover() {
+		int created = 0;
+		for (int count : new int[] { 250, 1000, 4000 }) {
+			for (int i = created; i < count; i++) {
+				add("P_{" + i + "}=(" + (i % 80 - 40) / 5.0 + ","
+						+ (i / 80 - 30) / 5.0 + ")");
+				if (i > 0) {
+					add("s_{" + i + "}=Segment(P_{" + i + "},P_{" + (i - 1)
+							+ "})");
+				}
+			}
+			created = count;
+			view.updateAllDrawables(false);
+			long linear = timeHover(false);
+			long indexed = timeHover(true);
+			Log.debug(2 * count + " objects: " + linear + "ms linear, "
+					+ indexed + "ms indexed for 1000 hovers");
+		}
+	}
+
+	private long timeHover(boolean indexEnabled) {
+		view.getHitDetector().setIndexEnabled(indexEnabled);
+		// builds the index
+		view.setHits(new GPoint(0, 0), PointerEventType.MOUSE);
+		Stopwatch stopwatch = new Stopwatch();
+		stopwatch.start();
+		for (int i = 0; i < 1000; i++) {
+			view.setHits(new GPoint((i * 7919) % 800, (i * 104729) % 600),
+					PointerEventType.MOUSE);
+		}
+		return stopwatch.stop();
+	}
+
+	private void addPointsAndSegments(int count) {
+		for (int i = 0; i < count; i++) {
+			add("P_{" + i + "}=(" + (i % 7 - 3) + "," + (i % 5 - 2) + ")");
+			if (i > 0) {
+				add("s_{" + i + "}=Segment(P_{" + i + "},P_{" + (i - 1)
+						+ "})");
+			}
+		}
+	}
+
+	private List<List<GeoElement>> hits(boolean indexEnabled) {
+		view.getHitDetector().setIndexEnabled(indexEnabled);
+		return queryAll();
+	}
+
+	private List<List<GeoElement>> queryAll() {
+		ArrayList<List<GeoElement>> result = new ArrayList<>();
+		for (int x = 0; x < 800; x += 7) {
+			for (int y = 0; y < 600; y += 7) {
+				view.setHits(new GPoint(x, y), PointerEventType.MOUSE);
+				result.add(new ArrayList<>(view.getHits()));
+			}
+		}
+		return result;
+	}
+}
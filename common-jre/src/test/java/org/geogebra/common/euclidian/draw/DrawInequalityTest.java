@@ -0,0 +1,136 @@
+package org.geogebra.common.euclidian.draw;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.factories.AwtFactory;
+import org.geogebra.common.kernel.arithmetic.FunctionalNVar;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for shading of compound inequalities.
+ */
+public class DrawInequalityTest extends BaseUnitTest {
+
+	private static final String NESTED = "(x^2+y^2<16 && (x>y || y>x^3-2)"
+			+ " && !(abs(x)<1 && abs(y)<1)) || (x-3)^2/4+(y+2)^2<1";
+	private static final String CURVES = "(y<sin(3x) || y>cos(5x)+1)"
+			+ " && (y>sin(7x)-2 || y<x^3/10) && x^2/4+y^2<16";
+
+	@Test
+	public void compoundInequalityShouldBeShadedWhereTrue() {
+		checkShading(add("a:" + NESTED));
+		checkShading(add("b:x^2/4+y^2<9 && (y<sin(3x) || x>2)"));
+		checkShading(add("c:" + CURVES));
+	}
+
+	@Test
+	public void inverseFillShouldBeShadedWhereFalse() {
+		GeoElement geo = add("c:x^2+y^2<9 && x>-1");
+		geo.setInverseFill(true);
+		checkShading(geo);
+	}
+
+	@Test
+	public void intervalShouldBeShaded() {
+		checkShading(add("f(x)=1<x<3"));
+		checkShading(add("g(x)=x<-3 || x>-1"));
+	}
+
+	@Test
+	public void thinRegionsShouldBeShaded() {
+		EuclidianView view = getApp().getEuclidianView1();
+		view.setCoordSystem(100, 500, 50, 50);
+		DrawInequality band = (DrawInequality) view
+				.newDrawable(add("a:abs(y-x)<0.02 && x>0"));
+		for (double t = 0.5; t < 9; t += 0.1) {
+			assertTrue("band at " + t, isShadedAround(view, band, t, t));
+			assertFalse("band at " + t,
+					isShadedAround(view, band, t, t + 0.2));
+		}
+		DrawInequality disk = (DrawInequality) view
+				.newDrawable(add("b:(x-10)^2+(y-2)^2<0.0064 && y>0"));
+		assertTrue(isShadedAround(view, disk, 10, 2));
+		assertFalse(isShadedAround(view, disk, 10, 2.2));
+	}
+
+	@Test
+	public void benchmarkPanning() {
+		benchmarkPanning("nested inequality", add("a:" + NESTED));
+		benchmarkPanning("curved borders", add("b:" + CURVES));
+	}
+
+	private void benchmarkPanning(String name, GeoElement geo) {
+		EuclidianView view = getApp().getEuclidianView1();
+		DrawInequality areas = (DrawInequality) view.newDrawable(geo);
+		areas.setShadingEnabled(false);
+		DrawInequality shading = (DrawInequality) view.newDrawable(geo);
+		// only measure the two drawables, not the one of the view
+		view.remove(geo);
+		// warm up
+		pan(view, areas);
+		pan(view, shading);
+		Log.debug(name + ", 100 updates, combined areas: " + pan(view, areas)
+				+ "ms, shading: " + pan(view, shading) + "ms");
+	}
+
+	private static long pan(EuclidianView view, DrawInequality drawable) {
+		view.setCoordSystem(view.getWidth() / 2.0, view.getHeight() / 2.0,
+				50, 50);
+		Stopwatch stopwatch = new Stopwatch();
+		stopwatch.start();
+		for (int i = 0; i < 100; i++) {
+			view.setCoordSystem(view.getXZero() + 3, view.getYZero() - 2,
+					view.getXscale(), view.getYscale());
+			drawable.update();
+		}
+		return stopwatch.stop();
+	}
+
+	private void checkShading(GeoElement geo) {
+		EuclidianView view = getApp().getEuclidianView1();
+		DrawInequality drawable = (DrawInequality) view.newDrawable(geo);
+		Random random = new Random(42);
+		for (int i = 0; i < 500; i++) {
+			int x = random.nextInt(view.getWidth() - 10) + 5;
+			int y = random.nextInt(view.getHeight() - 10) + 5;
+			boolean expected = isShaded(view, geo, x, y);
+			if (isShaded(view, geo, x - 3, y - 3) == expected
+					&& isShaded(view, geo, x + 3, y - 3) == expected
+					&& isShaded(view, geo, x - 3, y + 3) == expected
+					&& isShaded(view, geo, x + 3, y + 3) == expected) {
+				assertEquals(geo + " at " + x + "," + y, expected,
+						drawable.intersectsRectangle(AwtFactory.getPrototype()
+								.newRectangle(x, y, 1, 1)));
+			}
+		}
+	}
+
+	private static boolean isShadedAround(EuclidianView view,
+			DrawInequality drawable, double x, double y) {
+		int screenX = (int) view.toScreenCoordXd(x);
+		int screenY = (int) view.toScreenCoordYd(y);
+		return drawable.intersectsRectangle(AwtFactory.getPrototype()
+				.newRectangle(screenX - 1, screenY - 1, 2, 2));
+	}
+
+	private static boolean isShaded(EuclidianView view, GeoElement geo,
+			int x, int y) {
+		double rwX = view.toRealWorldCoordX(x);
+		double rwY = view.toRealWorldCoordY(y);
+		boolean inside = geo instanceof GeoFunction
+				? ((GeoFunction) geo).isInRegion(rwX, rwY)
+				: ((FunctionalNVar) geo).getFunction()
+						.evaluateBoolean(new double[] { rwX, rwY });
+		return inside != geo.isInverseFill();
+	}
+}
@@ -0,0 +1,53 @@
+package org.geogebra.common.euclidian.plot;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Benchmark for the reusable curve sampler, compared to a new sampler per
+ * plot (static CurvePlotter).
+ * Not part of the unit tests, run manually.
+ */
+public class CurveSamplerBenchmark {
+
+	private static final String[] FUNCTIONS = { "x^3-2x^2+x-1", "sin(3x)",
+			"tan(x)", "1/x" };
+	private static final int PLOTS = 200;
+
+	/**
+	 * @param args
+	 *            ignored
+	 */
+	public static void main(String[] args) {
+		AppCommon app = AppCommonFactory.create();
+		EuclidianView view = app.getActiveEuclidianView();
+		CurveSampler sampler = new CurveSampler();
+		PathPlotter plotter = new CurveSamplerTest.RecordingPlotter();
+		for (String def : FUNCTIONS) {
+			GeoElementND[] geos = app.getKernel().getAlgebraProcessor()
+					.processAlgebraCommand("f(x)=" + def, false);
+			GeoFunction f = (GeoFunction) geos[0];
+			Stopwatch stopwatch = new Stopwatch();
+			stopwatch.start();
+			for (int i = 0; i < PLOTS; i++) {
+				CurvePlotter.plotCurve(f, -10, 10, view, plotter, false,
+						Gap.MOVE_TO);
+			}
+			long fresh = stopwatch.stop();
+			stopwatch.start();
+			for (int i = 0; i < PLOTS; i++) {
+				sampler.plotCurve(f, -10, 10, view, plotter, false,
+						Gap.MOVE_TO);
+			}
+			Log.debug(def + ": " + PLOTS + " plots in " + fresh
+					+ "ms (new sampler), " + stopwatch.stop()
+					+ "ms (reused sampler)");
+		}
+	}
+}
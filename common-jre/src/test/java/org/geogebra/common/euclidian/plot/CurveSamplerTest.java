@@ -0,0 +1,191 @@
+package org.geogebra.common.euclidian.plot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.SegmentType;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.matrix.CoordSys;
+import org.junit.Test;
+
+/**
+ * Tests for the reusable curve sampler.
+ */
+public class CurveSamplerTest extends BaseUnitTest {
+
+	private static final String[] FUNCTIONS = { "x^3-2x^2+x-1", "sin(3x)",
+			"tan(x)", "1/x" };
+
+	@Test
+	public void samplerShouldMatchRecordedPoints() throws IOException {
+		Map<String, ArrayList<Double>> recorded = readRecordedPoints();
+		assertEquals(FUNCTIONS.length, recorded.size());
+		CurveSampler sampler = new CurveSampler();
+		for (String def : FUNCTIONS) {
+			GeoFunction f = function(def);
+			ArrayList<Double> expected = recorded.get("f(x)=" + def);
+			// sampler is reused, second plot must not depend on the first
+			for (int i = 0; i < 2; i++) {
+				RecordingPlotter actual = new RecordingPlotter();
+				sampler.plotCurve(f, -5, 5, getView(), actual, false,
+						Gap.MOVE_TO);
+				assertSamePoints(def, expected, actual.points);
+			}
+		}
+	}
+
+	@Test
+	public void polynomialPointsShouldBeOnCurve() {
+		GeoFunction f = function("x^3-2x^2+x-1");
+		RecordingPlotter plotter = new RecordingPlotter();
+		new CurveSampler().plotCurve(f, -5, 5, getView(), plotter, false,
+				Gap.MOVE_TO);
+		assertTrue(plotter.points.size() > 10);
+		for (int i = 0; i < plotter.points.size(); i += 3) {
+			double x = plotter.points.get(i + 1);
+			assertEquals(f.value(x), plotter.points.get(i + 2), 1E-10);
+		}
+	}
+
+	@Test
+	public void tanShouldNotConnectAcrossAsymptote() {
+		GeoFunction f = function("tan(x)");
+		RecordingPlotter plotter = new RecordingPlotter();
+		new CurveSampler().plotCurve(f, -1, 3, getView(), plotter, false,
+				Gap.MOVE_TO);
+		ArrayList<Double> points = plotter.points;
+		for (int i = 3; i < points.size(); i += 3) {
+			if (points.get(i) == RecordingPlotter.LINE_TO) {
+				assertFalse(points.get(i - 2) < Math.PI / 2
+						&& points.get(i + 1) > Math.PI / 2);
+			}
+		}
+	}
+
+	private static void assertSamePoints(String def,
+			ArrayList<Double> expected, ArrayList<Double> actual) {
+		assertEquals(def, expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			double value = expected.get(i);
+			assertEquals(def + ", value " + i, value, actual.get(i),
+					Math.max(1, Math.abs(value)) * 1E-12);
+		}
+	}
+
+	/**
+	 * @return points plotted by CurvePlotter before it was replaced by
+	 *         CurveSampler, as (type, x, y) triples per function
+	 */
+	private static Map<String, ArrayList<Double>> readRecordedPoints()
+			throws IOException {
+		Map<String, ArrayList<Double>> recorded = new HashMap<>();
+		ArrayList<Double> points = null;
+		for (String line : Files.readAllLines(
+				Paths.get("src/test/resources/curvesampler.txt"),
+				StandardCharsets.UTF_8)) {
+			if (line.startsWith("#")) {
+				continue;
+			}
+			String[] parts = line.split(" ");
+			if (parts.length == 1) {
+				points = new ArrayList<>();
+				recorded.put(line, points);
+			} else {
+				points.add("L".equals(parts[0]) ? RecordingPlotter.LINE_TO
+						: RecordingPlotter.MOVE_TO);
+				points.add(Double.parseDouble(parts[1]));
+				points.add(Double.parseDouble(parts[2]));
+			}
+		}
+		return recorded;
+	}
+
+	private GeoFunction function(String def) {
+		return add("f(x)=" + def);
+	}
+
+	private EuclidianView getView() {
+		return getApp().getActiveEuclidianView();
+	}
+
+	/**
+	 * Stores type, x and y of every point.
+	 */
+	static class RecordingPlotter implements PathPlotter {
+		static final double LINE_TO = 1;
+		static final double MOVE_TO = 0;
+		final ArrayList<Double> points = new ArrayList<>();
+
+		private void add(double type, double[] pos) {
+			points.add(type);
+			points.add(pos[0]);
+			points.add(pos[1]);
+		}
+
+		@Override
+		public void drawTo(double[] pos, SegmentType lineTo) {
+			add(lineTo == SegmentType.MOVE_TO ? MOVE_TO : LINE_TO, pos);
+		}
+
+		@Override
+		public void lineTo(double[] pos) {
+			add(LINE_TO, pos);
+		}
+
+		@Override
+		public void moveTo(double[] pos) {
+			add(MOVE_TO, pos);
+		}
+
+		@Override
+		public void corner() {
+			// not used for MOVE_TO
+		}
+
+		@Override
+		public void corner(double[] pos) {
+			// not used for MOVE_TO
+		}
+
+		@Override
+		public void firstPoint(double[] pos, Gap moveToAllowed) {
+			add(MOVE_TO, pos);
+		}
+
+		@Override
+		public double[] newDoubleArray() {
+			return new double[2];
+		}
+
+		@Override
+		public boolean copyCoords(MyPoint point, double[] ret,
+				CoordSys transformSys) {
+			ret[0] = point.x;
+			ret[1] = point.y;
+			return true;
+		}
+
+		@Override
+		public void endPlot() {
+			// nothing to do
+		}
+
+		@Override
+		public boolean supports(CoordSys transformSys) {
+			return true;
+		}
+	}
+}
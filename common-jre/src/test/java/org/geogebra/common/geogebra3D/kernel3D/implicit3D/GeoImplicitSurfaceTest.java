@@ -0,0 +1,177 @@
+package org.geogebra.common.geogebra3D.kernel3D.implicit3D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.geogebra3D.kernel3D.MyPoint3D;
+import org.geogebra.common.geogebra3D.kernel3D.geos.GeoTriangulatedSurface3D;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.util.ForkJoinTaskExecutor;
+import org.geogebra.common.kernel.arithmetic.Equation;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.common.util.debug.Log;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for marching cubes of implicit surfaces.
+ */
+public class GeoImplicitSurfaceTest extends BaseUnitTest {
+
+	private static final double[] BOUNDS = { -3, 3, -3, 3, -3, 3, 50, 50,
+			50 };
+
+	private ForkJoinTaskExecutor executor;
+
+	@Override
+	public AppCommon createAppCommon() {
+		return AppCommonFactory.create3D();
+	}
+
+	@Before
+	public void createExecutor() {
+		executor = new ForkJoinTaskExecutor();
+	}
+
+	@After
+	public void shutdownExecutor() {
+		getKernel().setTaskExecutor(null);
+		executor.shutdown();
+	}
+
+	@Test
+	public void parallelSphereShouldBeFiner() {
+		GeoImplicitSurface sphere = surface("x^2+y^2+z^2-4");
+		getKernel().setTaskExecutor(null);
+		int serial = checkSphere(sphere, 6.0 / 7);
+		getKernel().setTaskExecutor(executor);
+		int parallel = checkSphere(sphere, 6.0 / 20);
+		assertTrue(parallel > 4 * serial);
+	}
+
+	@Test
+	public void parallelSurfaceShouldKeepSmallComponents() {
+		// no block corner of the parallel grid is inside of the small sphere,
+		// the serial grid has a corner in its center
+		GeoImplicitSurface surface = surface(
+				"(x^2+y^2+z^2-0.16)((x-2)^2+y^2+z^2-0.25)");
+		getKernel().setTaskExecutor(null);
+		int[] serial = countComponentVertices(surface);
+		getKernel().setTaskExecutor(executor);
+		int[] parallel = countComponentVertices(surface);
+		assertTrue(serial[0] > 0);
+		assertTrue(serial[1] > 0);
+		assertTrue(parallel[0] > 0);
+		assertTrue(parallel[1] > 0);
+	}
+
+	@Test
+	public void parallelSurfaceShouldBeDeterministic() {
+		getKernel().setTaskExecutor(executor);
+		GeoImplicitSurface surface = surface("sin(x)+sin(y)+sin(z)");
+		surface.updateSurface(BOUNDS);
+		GeoTriangulatedSurface3D surf = surface.getSurface3D();
+		int size = surf.size();
+		assertTrue(size > 0);
+		double[] points = new double[3 * size];
+		for (int i = 0; i < size; i++) {
+			points[3 * i] = surf.getPoints()[i].x;
+			points[3 * i + 1] = surf.getPoints()[i].y;
+			points[3 * i + 2] = surf.getPoints()[i].z;
+		}
+		surface.updateSurface(BOUNDS);
+		assertEquals(size, surf.size());
+		for (int i = 0; i < size; i++) {
+			assertEquals(points[3 * i], surf.getPoints()[i].x, 0);
+			assertEquals(points[3 * i + 1], surf.getPoints()[i].y, 0);
+			assertEquals(points[3 * i + 2], surf.getPoints()[i].z, 0);
+		}
+	}
+
+	@Test
+	public void benchmarkMarchingCubes() {
+		GeoImplicitSurface surface = surface(
+				"x^4+y^4+z^4-5(x^2+y^2+z^2)+11.8");
+		double[] bounds = { -3, 3, -3, 3, -3, 3, 100, 100, 100 };
+		for (int i = 0; i < 2; i++) {
+			getKernel().setTaskExecutor(null);
+			long serial = time(surface, bounds);
+			int serialSize = surface.getSurface3D().size() / 3;
+			getKernel().setTaskExecutor(executor);
+			long parallel = time(surface, bounds);
+			int parallelSize = surface.getSurface3D().size() / 3;
+			Log.debug("serial " + serial + "ms, " + serialSize
+					+ " triangles; parallel " + parallel + "ms, "
+					+ parallelSize + " triangles");
+		}
+	}
+
+	private static long time(GeoImplicitSurface surface, double[] bounds) {
+		Stopwatch stopwatch = new Stopwatch();
+		stopwatch.start();
+		for (int i = 0; i < 10; i++) {
+			surface.updateSurface(bounds);
+		}
+		return stopwatch.stop();
+	}
+
+	private GeoImplicitSurface surface(String function) {
+		GeoFunctionNVar f = add("f(x,y,z)=" + function);
+		Equation eqn = new Equation(getKernel(), f.getFunctionExpression(),
+				new ExpressionNode(getKernel(), 0.0));
+		return new GeoImplicitSurface(getConstruction(), eqn);
+	}
+
+	/**
+	 * @return number of vertices close to the sphere around origin and to the
+	 *         sphere around (2,0,0)
+	 */
+	private static int[] countComponentVertices(GeoImplicitSurface surface) {
+		surface.updateSurface(BOUNDS);
+		GeoTriangulatedSurface3D surf = surface.getSurface3D();
+		MyPoint3D[] points = surf.getPoints();
+		int[] counts = new int[2];
+		for (int i = 0; i < surf.size(); i++) {
+			MyPoint3D point = points[i];
+			double yz = point.y * point.y + point.z * point.z;
+			if (point.x * point.x + yz < 1) {
+				counts[0]++;
+			} else if ((point.x - 2) * (point.x - 2) + yz < 1) {
+				counts[1]++;
+			} else {
+				fail("vertex far from surface: " + point.x + "," + point.y
+						+ "," + point.z);
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Checks that vertices are close to the sphere.
+	 *
+	 * @return number of triangles
+	 */
+	private static int checkSphere(GeoImplicitSurface sphere,
+			double cubeSize) {
+		sphere.updateSurface(BOUNDS);
+		GeoTriangulatedSurface3D surf = sphere.getSurface3D();
+		MyPoint3D[] points = surf.getPoints();
+		int size = surf.size();
+		assertTrue(size > 0);
+		for (int i = 0; i < size; i += 3) {
+			for (int j = 0; j < 3; j++) {
+				MyPoint3D point = points[i + j];
+				double radius = Math.sqrt(point.x * point.x
+						+ point.y * point.y + point.z * point.z);
+				assertEquals(2, radius, cubeSize);
+			}
+		}
+		return size / 3;
+	}
+}
@@ -0,0 +1,164 @@
+package org.geogebra.common.gui.view.spreadsheet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.View;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.junit.Test;
+
+public class SpreadsheetImportTest extends BaseUnitTest {
+
+	private int progressCalls;
+	private Boolean finishedWith;
+
+	@Test
+	public void importShouldCreateCellsInChunks() {
+		SpreadsheetImport csvImport = newImport("1,2\r\n3,\"4\"\n5,6\n", 2);
+		assertTrue(csvImport.run());
+		assertEquals(3, csvImport.getImportedRows());
+		assertEquals(2, progressCalls);
+		assertEquals(Boolean.TRUE, finishedWith);
+		assertCell("A1", "1");
+		assertCell("B2", "4");
+		assertCell("B3", "6");
+		assertNull(lookup("A4"));
+		assertTrue(getKernel().isNotifyViewsActive());
+	}
+
+	@Test
+	public void quotedFieldsMaySpanLines() {
+		newImport("x\ty\n\"first\nsecond\"\t1,5\n", 10).run();
+		assertCell("A1", "x");
+		assertCell("A2", "first\nsecond");
+		assertCell("B2", "1.5");
+		assertNull(lookup("A3"));
+	}
+
+	@Test
+	public void emptyFieldShouldRemoveCell() {
+		add("A2=7");
+		add("B2=8");
+		newImport("1\n,9\n", 10).run();
+		assertNull(lookup("A2"));
+		assertCell("B2", "9");
+	}
+
+	@Test
+	public void cancelShouldKeepImportedRows() {
+		final SpreadsheetImport csvImport = new SpreadsheetImport(getApp(),
+				"1\n2\n3\n4\n", 0, 0);
+		csvImport.setChunkSize(2);
+		csvImport.setListener(new SpreadsheetImport.ImportListener() {
+
+			@Override
+			public void onProgress(int rows, double progress) {
+				csvImport.cancel();
+			}
+
+			@Override
+			public void onFinished(boolean success) {
+				finishedWith = success;
+			}
+		});
+		assertFalse(csvImport.run());
+		assertTrue(csvImport.isCancelled());
+		assertEquals(Boolean.FALSE, finishedWith);
+		assertCell("A2", "2");
+		assertNull(lookup("A3"));
+		assertFalse(csvImport.importChunk());
+		assertNull(lookup("A3"));
+	}
+
+	@Test
+	public void asyncImportShouldKeepViewsAttached() {
+		View view = mock(View.class);
+		getKernel().attach(view);
+		getApp().setUndoActive(true);
+		getApp().storeUndoInfo();
+		SpreadsheetImport csvImport = newImport("1\n2\n3\n4\n", 2);
+		csvImport.start();
+		csvImport.onRun();
+		// the user may edit the construction between two chunks
+		assertTrue(getKernel().isNotifyViewsActive());
+		assertTrue(getKernel().isUndoActive());
+		verify(view).add(lookup("A2"));
+		verify(view, atLeastOnce()).startBatchUpdate();
+		verify(view, atLeastOnce()).endBatchUpdate();
+		csvImport.onRun();
+		assertTrue(csvImport.isFinished());
+		assertCell("A4", "4");
+		getKernel().undo();
+		assertNull(lookup("A1"));
+		assertNull(lookup("A4"));
+	}
+
+	@Test
+	public void clearingConstructionShouldDiscardRunningImport() {
+		getApp().setUndoActive(true);
+		SpreadsheetImport csvImport = newImport("1\n2\n3\n4\n", 2);
+		csvImport.start();
+		csvImport.onRun();
+		assertCell("A2", "2");
+		getKernel().clearConstruction(true);
+		assertTrue(csvImport.isFinished());
+		assertTrue(csvImport.isCancelled());
+		assertEquals(Boolean.FALSE, finishedWith);
+		assertNull(getApp().getSpreadsheetImport());
+		assertTrue(getKernel().isNotifyViewsActive());
+		assertTrue(getKernel().isUndoActive());
+		csvImport.onRun();
+		assertNull(lookup("A3"));
+	}
+
+	@Test
+	public void loadingFileShouldRestoreViewsOfRunningImport()
+			throws Exception {
+		SpreadsheetImport csvImport = newImport("1\n2\n3\n4\n", 2);
+		csvImport.start();
+		csvImport.onRun();
+		getApp().getXMLio().processXMLString(
+				"<geogebra format=\"5.0\"><construction>"
+						+ "<element type=\"numeric\" label=\"a\">"
+						+ "<value val=\"7\"/></element>"
+						+ "</construction></geogebra>",
+				true, false);
+		assertTrue(csvImport.isFinished());
+		assertTrue(getKernel().isNotifyViewsActive());
+		csvImport.onRun();
+		assertNull(lookup("A1"));
+		assertNull(lookup("A3"));
+		assertEquals(7, ((GeoNumeric) lookup("a")).getValue(), DELTA);
+	}
+
+	private SpreadsheetImport newImport(String source, int chunkSize) {
+		SpreadsheetImport csvImport = new SpreadsheetImport(getApp(), source,
+				0, 0);
+		csvImport.setChunkSize(chunkSize);
+		csvImport.setListener(new SpreadsheetImport.ImportListener() {
+
+			@Override
+			public void onProgress(int rows, double progress) {
+				progressCalls++;
+			}
+
+			@Override
+			public void onFinished(boolean success) {
+				finishedWith = success;
+			}
+		});
+		return csvImport;
+	}
+
+	private void assertCell(String label, String value) {
+		assertEquals(value,
+				lookup(label).toValueString(StringTemplate.defaultTemplate));
+	}
+}
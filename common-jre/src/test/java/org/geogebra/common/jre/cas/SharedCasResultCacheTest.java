@@ -0,0 +1,109 @@
+package org.geogebra.common.jre.cas;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.Kernel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the process-wide CAS cache.
+ */
+public class SharedCasResultCacheTest extends BaseUnitTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void cacheShouldCountHitsAndMisses() {
+		SharedCasResultCache cache = new SharedCasResultCache(10000);
+		assertNull(cache.get("expand((x+1)^2)"));
+		cache.put("expand((x+1)^2)", "x^2+2*x+1");
+		assertEquals("x^2+2*x+1", cache.get("expand((x+1)^2)"));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0, cache.getEvictions());
+	}
+
+	@Test
+	public void cacheShouldEvictByWeight() {
+		SharedCasResultCache cache = new SharedCasResultCache(1000);
+		for (int i = 0; i < 100; i++) {
+			cache.put("input" + i, "result" + i);
+		}
+		assertTrue(cache.getRetainedBytes() <= 1000);
+		assertTrue(cache.getEvictions() > 0);
+		assertEquals(100, cache.size() + cache.getEvictions());
+		assertEquals("result99", cache.get("input99"));
+		assertNull(cache.get("input0"));
+	}
+
+	@Test
+	public void diskTierShouldSurviveReopen() throws IOException {
+		File file = folder.newFile("cas.cache");
+		MappedCasResultStore store = new MappedCasResultStore(file, 4096);
+		new SharedCasResultCache(1000, store).put("factor(x^2-1)",
+				"(x-1)*(x+1)");
+		store.close();
+
+		store = new MappedCasResultStore(file, 4096);
+		SharedCasResultCache cache = new SharedCasResultCache(1000, store);
+		assertEquals("(x-1)*(x+1)", cache.get("factor(x^2-1)"));
+		assertEquals(1, cache.getDiskHits());
+		store.close();
+	}
+
+	@Test
+	public void diskTierShouldStopWhenFull() throws IOException {
+		MappedCasResultStore store = new MappedCasResultStore(
+				folder.newFile("small.cache"), 64);
+		assertTrue(store.put("a", "b"));
+		assertEquals(false, store.put("long input", "long result"));
+		assertEquals(1, store.size());
+		store.close();
+	}
+
+	@Test
+	public void polynomialCoeffsShouldBeShared() {
+		SharedCasResultCache cache = new SharedCasResultCache(10000);
+		Kernel kernel = getKernel();
+		kernel.setCasCache(cache);
+		// as computed by another kernel
+		kernel.putToCasCache("getPolynomialCoeffs:x^2+3,x", "3,0,1");
+		assertArrayEquals(new String[] { "3", "0", "1" },
+				kernel.getGeoGebraCAS().getPolynomialCoeffs("x^2+3", "x"));
+		kernel.putToCasCache("getPolynomialCoeffs:sin(x),x", "{}");
+		assertNull(kernel.getGeoGebraCAS().getPolynomialCoeffs("sin(x)", "x"));
+	}
+
+	@Test
+	public void kernelShouldUseSharedCache() {
+		SharedCasResultCache cache = new SharedCasResultCache(10000);
+		Kernel kernel = getKernel();
+		kernel.setCasCache(cache);
+		kernel.putToCasCache("simplify(2*x-x)", "x");
+		assertEquals("x", kernel.getFromCasCache(" simplify(2*x-x)"));
+		assertEquals(1, cache.size());
+		// other kernels may use the results
+		kernel.clearCasCache();
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void sharedCacheShouldNotStoreUndefinedResults() {
+		SharedCasResultCache cache = new SharedCasResultCache(10000);
+		Kernel kernel = getKernel();
+		kernel.setCasCache(cache);
+		kernel.putToCasCache("simplify(2*x-x)", "?");
+		assertNull(kernel.getFromCasCache("simplify(2*x-x)"));
+		assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,232 @@
+package org.geogebra.common.jre.headless;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.jre.io.MyXMLioJre;
+import org.geogebra.common.main.App;
+import org.geogebra.common.util.debug.Log;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for concurrent evaluation of constructions.
+ */
+public class KernelPoolTest extends BaseUnitTest {
+
+	private KernelPool pool;
+	private byte[] file;
+
+	@Before
+	public void createPool() throws Exception {
+		pool = new KernelPool(4, new KernelPool.AppFactory() {
+
+			@Override
+			public App createApp() {
+				return AppCommonFactory.create();
+			}
+		});
+		add("a=1");
+		add("b=2");
+		add("f(x)=a*x^2+b");
+		add("A=(a,f(a))");
+		add("area=Integral(f,0,a)");
+		add("P=Polygon((0,0),(a,0),A)");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		((MyXMLioJre) getApp().getXMLio()).writeGeoGebraFile(out, false);
+		file = out.toByteArray();
+	}
+
+	@After
+	public void shutdownPool() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void parameterSetsShouldBeEvaluated() throws Exception {
+		BatchEvaluation job = new BatchEvaluation().setFile(file)
+				.addOutput("area").addOutput("A").addOutput("P");
+		for (int i = 1; i <= 3; i++) {
+			job.addParameterSet(Collections.singletonMap("a", (double) i));
+		}
+		List<BatchEvaluation.Result> results = pool.submit(job).get();
+		assertEquals(3, results.size());
+		for (int i = 1; i <= 3; i++) {
+			BatchEvaluation.Result result = results.get(i - 1);
+			assertEquals(area(i), result.getNumber("area"), 1E-8);
+			assertEquals("A = (" + i + ", " + (i * i * i + 2) + ")",
+					result.getValue("A"));
+			assertEquals((i * i * i + 2) * i / 2.0, result.getNumber("P"),
+					1E-8);
+		}
+	}
+
+	@Test
+	public void commandsShouldBeApplied() throws Exception {
+		BatchEvaluation job = new BatchEvaluation().setFile(file)
+				.addCommand("b=5").addCommand("c=f(2)").addOutput("c")
+				.setExports(true, false, false);
+		BatchEvaluation.Result result = pool.submit(job).get().get(0);
+		assertEquals(9, result.getNumber("c"), DELTA);
+		assertNotNull(result.getXML());
+		assertTrue(result.getXML().contains("label=\"c\""));
+	}
+
+	@Test(expected = ExecutionException.class)
+	public void failingCommandShouldFailJob() throws Exception {
+		pool.submit(new BatchEvaluation().addCommand("c=Foo[x]")).get();
+	}
+
+	@Test
+	public void concurrentJobsShouldNotInterfere() throws Exception {
+		ArrayList<BatchEvaluation> jobs = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			jobs.add(new BatchEvaluation().setFile(file)
+					.addParameterSet(Collections.singletonMap("a", (double) i))
+					.addOutput("area"));
+		}
+		List<List<BatchEvaluation.Result>> results = pool.runAll(jobs);
+		for (int i = 0; i < 40; i++) {
+			assertEquals(area(i), results.get(i).get(0).getNumber("area"),
+					1E-6);
+		}
+	}
+
+	@Test
+	public void concurrentResultsShouldMatchSerialResults() throws Exception {
+		String[] outputs = { "S_1", "S_2", "g", "h", "eq", "d" };
+		ArrayList<BatchEvaluation> jobs = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			BatchEvaluation job = new BatchEvaluation()
+					.addCommand("a=" + (i % 17 - 8) / 4.0)
+					.addCommand("c: x^2+y^2=25")
+					.addCommand("g: y=a x+1")
+					.addCommand("S_1=Intersect(c,g,1)")
+					.addCommand("S_2=Intersect(c,g,2)")
+					.addCommand("h(x)=x(x+a)")
+					.addCommand("eq: x(x+a)+y^2=25")
+					.addCommand("d=Distance(S_1,S_2)");
+			for (String output : outputs) {
+				job.addOutput(output);
+			}
+			jobs.add(job);
+		}
+		List<List<BatchEvaluation.Result>> expected = runAll(1, jobs);
+		List<List<BatchEvaluation.Result>> actual = runAll(8, jobs);
+		for (int i = 0; i < jobs.size(); i++) {
+			for (String output : outputs) {
+				assertEquals(expected.get(i).get(0).getValue(output),
+						actual.get(i).get(0).getValue(output));
+			}
+		}
+	}
+
+	@Test
+	public void concurrentExportShouldMatchSerialExport() throws Exception {
+		for (int j = 0; j < 20; j++) {
+			add("n_{" + j + "}=a*" + j + "/7");
+		}
+		add("Q=(sqrt(a),exp(-a))");
+		add("g(x)=x^3/(a+3)-sin(x)/9");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		((MyXMLioJre) getApp().getXMLio()).writeGeoGebraFile(out, false);
+		ArrayList<BatchEvaluation> jobs = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			jobs.add(new BatchEvaluation().setFile(out.toByteArray())
+					.addParameterSet(
+							Collections.singletonMap("a", i / 3.0 + 0.01))
+					.setExports(true, false, false));
+		}
+		// static string templates format the numbers in the XML of all
+		// kernels
+		List<List<BatchEvaluation.Result>> expected = runAll(1, jobs);
+		List<List<BatchEvaluation.Result>> actual = runAll(8, jobs);
+		for (int i = 0; i < jobs.size(); i++) {
+			assertEquals(expected.get(i).get(0).getXML(),
+					actual.get(i).get(0).getXML());
+		}
+	}
+
+	@Test
+	public void appsShouldBeReused() throws Exception {
+		final HashSet<App> apps = new HashSet<>();
+		ArrayList<KernelPool.Job<Void>> jobs = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			jobs.add(new KernelPool.Job<Void>() {
+
+				@Override
+				public Void run(App app) {
+					synchronized (apps) {
+						apps.add(app);
+					}
+					return null;
+				}
+			});
+		}
+		pool.runAll(jobs);
+		assertTrue(apps.size() <= pool.getSize());
+	}
+
+	@Test
+	public void benchmarkThroughput() throws Exception {
+		int cores = Runtime.getRuntime().availableProcessors();
+		KernelPool benchmarkPool = new KernelPool(cores,
+				new KernelPool.AppFactory() {
+
+					@Override
+					public App createApp() {
+						return AppCommonFactory.create();
+					}
+				});
+		ArrayList<BatchEvaluation> jobs = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			jobs.add(new BatchEvaluation().setFile(file)
+					.addParameterSet(Collections.singletonMap("a", (double) i))
+					.addOutput("area"));
+		}
+		// warm up: creates the apps
+		benchmarkPool.runAll(jobs.subList(0, 2 * cores));
+		Stopwatch stopwatch = new Stopwatch();
+		stopwatch.start();
+		benchmarkPool.runAll(jobs);
+		long time = Math.max(stopwatch.stop(), 1);
+		double perSecond = jobs.size() * 1000.0 / time;
+		Log.debug(jobs.size() + " constructions in " + time + "ms: "
+				+ perSecond + "/s, " + perSecond / cores + "/s per core");
+		benchmarkPool.shutdown();
+	}
+
+	private static <T> List<T> runAll(int size,
+			List<? extends KernelPool.Job<T>> jobs) throws Exception {
+		KernelPool kernelPool = new KernelPool(size,
+				new KernelPool.AppFactory() {
+
+					@Override
+					public App createApp() {
+						return AppCommonFactory.create();
+					}
+				});
+		try {
+			return kernelPool.runAll(jobs);
+		} finally {
+			kernelPool.shutdown();
+		}
+	}
+
+	/** integral of a*x^2+2 from 0 to a */
+	private static double area(double a) {
+		return a * a * a * a / 3 + 2 * a;
+	}
+}
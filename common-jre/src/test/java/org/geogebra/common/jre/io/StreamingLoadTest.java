@@ -0,0 +1,129 @@
+package org.geogebra.common.jre.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.io.LoadTimings;
+import org.geogebra.common.io.MyXMLio;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.junit.Test;
+
+/**
+ * Tests for loading zipped files in one pass.
+ */
+public class StreamingLoadTest extends BaseUnitTest {
+
+	@Test
+	public void fileShouldBeRestored() throws Exception {
+		add("a=3");
+		add("f(x)=a*x^2");
+		add("A=(1,f(1))");
+		byte[] file = writeFile();
+		getKernel().clearConstruction(true);
+
+		getXMLio().readZipFromInputStream(new ByteArrayInputStream(file),
+				false);
+		assertEquals(3, getConstruction().getGeoSetConstructionOrder()
+				.size());
+		assertEquals("A = (1, 3)",
+				lookup("A").toString(StringTemplate.defaultTemplate));
+	}
+
+	@Test
+	public void timingsShouldBeRecorded() throws Exception {
+		for (int i = 0; i < 200; i++) {
+			add("P_{" + i + "}=(" + i + ",sin(" + i + "))");
+		}
+		byte[] file = writeFile();
+		getXMLio().readZipFromInputStream(new ByteArrayInputStream(file),
+				false);
+		LoadTimings timings = getXMLio().getLoadTimings();
+		assertTrue(timings.get(LoadTimings.Phase.UNZIP) > 0);
+		assertTrue(timings.get(LoadTimings.Phase.PARSE) > 0);
+		assertTrue(timings.get(LoadTimings.Phase.CREATE) > 0);
+		assertTrue(timings.get(LoadTimings.Phase.COMPUTE) > 0);
+	}
+
+	@Test
+	public void constructionUpdateShouldBeDeferred() throws Exception {
+		add("a=3");
+		add("b=a+1");
+		byte[] file = writeFile();
+		MyXMLioJre xmlio = getXMLio();
+		xmlio.setDeferConstructionUpdate(true);
+		xmlio.readZipFromInputStream(new ByteArrayInputStream(file), false);
+		assertTrue(xmlio.isConstructionUpdatePending());
+		GeoNumeric b = (GeoNumeric) lookup("b");
+		assertNotNull(b);
+		assertEquals(4, b.getValue(), DELTA);
+
+		xmlio.finishConstructionUpdate();
+		assertFalse(xmlio.isConstructionUpdatePending());
+		assertTrue(xmlio.getLoadTimings()
+				.get(LoadTimings.Phase.COMPUTE) > 0);
+	}
+
+	@Test
+	public void undoAfterDeferredLoadShouldUpdateConstruction()
+			throws Exception {
+		getApp().setUndoActive(true);
+		for (int i = 0; i < 200; i++) {
+			add("P_{" + i + "}=(" + i + ",sin(" + i + "))");
+		}
+		add("a=3");
+		add("b=a+1");
+		byte[] file = writeFile();
+		MyXMLioJre xmlio = getXMLio();
+		xmlio.setDeferConstructionUpdate(true);
+		xmlio.readZipFromInputStream(new ByteArrayInputStream(file), false);
+		xmlio.finishConstructionUpdate();
+
+		// only the first load is deferred
+		xmlio.readZipFromInputStream(new ByteArrayInputStream(file), false);
+		assertFalse(xmlio.isConstructionUpdatePending());
+		assertTrue(xmlio.getLoadTimings()
+				.get(LoadTimings.Phase.COMPUTE) > 0);
+
+		getApp().storeUndoInfo();
+		add("a=5");
+		getApp().storeUndoInfo();
+		getKernel().undo();
+		MyXMLio undoXMLio = getConstruction().getXMLio();
+		assertFalse(undoXMLio.isConstructionUpdatePending());
+		assertTrue(undoXMLio.getLoadTimings()
+				.get(LoadTimings.Phase.COMPUTE) > 0);
+		assertEquals(4, ((GeoNumeric) lookup("b")).getValue(), DELTA);
+	}
+
+	@Test
+	public void benchmarkLoad() throws Exception {
+		for (int i = 0; i < 1000; i++) {
+			add("P_{" + i + "}=(" + i + ",sin(" + i + "))");
+			add("s_{" + i + "}=Segment((0,0),P_{" + i + "})");
+		}
+		byte[] file = writeFile();
+		// timings are logged by the loader
+		for (int i = 0; i < 3; i++) {
+			getXMLio().readZipFromInputStream(new ByteArrayInputStream(file),
+					false);
+		}
+	}
+
+	private byte[] writeFile() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		getXMLio().writeGeoGebraFile(out, false);
+		return out.toByteArray();
+	}
+
+	private MyXMLioJre getXMLio() {
+		return (MyXMLioJre) getApp().getXMLio();
+	}
+}
@@ -0,0 +1,92 @@
+package org.geogebra.common.jre.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.debug.Log;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for parallel update cascades.
+ */
+public class ForkJoinAlgoExecutorTest extends BaseUnitTest {
+
+	private static final int WIDTH = 2000;
+
+	private ForkJoinAlgoExecutor executor;
+
+	@Before
+	public void createConstruction() {
+		add("a=1");
+		for (int i = 0; i < WIDTH; i++) {
+			add("b_{" + i + "}=sin(a*" + i + ")^2+sqrt(a+" + i + ")");
+		}
+		add("c=b_{1}+b_{2}");
+		add("d=c+b_{3}");
+		executor = new ForkJoinAlgoExecutor();
+	}
+
+	@After
+	public void shutdownExecutor() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void numericAlgosShouldBeThreadSafe() {
+		assertTrue(lookup("b_{1}").getParentAlgorithm().isComputeThreadSafe());
+		add("f(x)=x^2");
+		assertFalse(add("f(a)").getParentAlgorithm().isComputeThreadSafe());
+	}
+
+	@Test
+	public void parallelUpdateShouldComputeAllLevels() {
+		getKernel().setAlgoExecutor(executor);
+		setValue(2);
+		for (int i = 0; i < WIDTH; i += 97) {
+			assertEquals(expected(2, i), value("b_{" + i + "}"), DELTA);
+		}
+		double c = expected(2, 1) + expected(2, 2);
+		assertEquals(c, value("c"), DELTA);
+		assertEquals(c + expected(2, 3), value("d"), DELTA);
+	}
+
+	@Test
+	public void parallelUpdateBenchmark() {
+		Stopwatch stopwatch = new Stopwatch();
+		stopwatch.start();
+		for (int i = 0; i < 20; i++) {
+			setValue(i);
+		}
+		long serial = stopwatch.stop();
+
+		getKernel().setAlgoExecutor(executor);
+		stopwatch.start();
+		for (int i = 0; i < 20; i++) {
+			setValue(i);
+		}
+		long parallel = stopwatch.stop();
+		Log.debug("Serial: " + serial + "ms, parallel: " + parallel + "ms, "
+				+ Runtime.getRuntime().availableProcessors() + " cores");
+		assertEquals(expected(19, 7), value("b_{7}"), DELTA);
+	}
+
+	private static double expected(double a, int i) {
+		return Math.pow(Math.sin(a * i), 2) + Math.sqrt(a + i);
+	}
+
+	private void setValue(double val) {
+		GeoNumeric slider = (GeoNumeric) lookup("a");
+		slider.setValue(val);
+		slider.updateCascade();
+	}
+
+	private double value(String label) {
+		return ((GeoNumeric) lookup(label)).getValue();
+	}
+}
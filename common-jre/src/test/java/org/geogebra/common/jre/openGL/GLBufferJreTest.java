@@ -0,0 +1,155 @@
+package org.geogebra.common.jre.openGL;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Test;
+
+/**
+ * Tests and allocation benchmark for filling GL buffers from float arrays.
+ */
+public class GLBufferJreTest {
+
+	@Test
+	public void arrayShouldGrowAndBeReused() {
+		ReusableFloatArray array = new ReusableFloatArray(2);
+		for (int i = 0; i < 10; i++) {
+			array.addValues(i, i + 0.5, -i);
+		}
+		assertEquals(30, array.getLength());
+		assertEquals(9.5, array.get(28), 0);
+		array.setLength(0);
+		array.addValues(1, 2);
+		assertEquals(2, array.getLength());
+		assertEquals(2, array.get(1), 0);
+	}
+
+	@Test
+	public void bufferShouldContainArrayValues() {
+		ReusableFloatArray array = new ReusableFloatArray();
+		for (int i = 0; i < 12; i++) {
+			array.addValue(i / 4.0);
+		}
+		GLBufferJre buffer = new GLBufferJre();
+		buffer.set(array, 9);
+		assertEquals(9, buffer.capacity());
+		float[] values = new float[9];
+		buffer.array(values);
+		for (int i = 0; i < 9; i++) {
+			assertEquals(i / 4.0, values[i], 0);
+		}
+		buffer.set(array, 3, 2, 3);
+		buffer.set(array, new float[] { 1, 2, 3 }, 2, 6, 3);
+		buffer.array(values);
+		assertEquals(0.75, values[2], 0);
+		assertEquals(1.25, values[4], 0);
+		assertEquals(1, values[6], 0);
+		assertEquals(2.5, values[7], 0);
+	}
+
+	@Test
+	public void benchmarkSurfaceTessellation() {
+		int[] sizes = { 50, 100, 200 };
+		for (int size : sizes) {
+			// warm up
+			tessellateBoxed(size);
+			tessellate(size, new ReusableFloatArray(), new ReusableFloatArray(),
+					new GLBufferJre(), new GLBufferJre());
+			long allocated = allocatedBytes();
+			Stopwatch stopwatch = new Stopwatch();
+			stopwatch.start();
+			for (int i = 0; i < 10; i++) {
+				tessellateBoxed(size);
+			}
+			long boxedTime = stopwatch.stop();
+			long boxedBytes = allocatedBytes() - allocated;
+
+			ReusableFloatArray vertices = new ReusableFloatArray();
+			ReusableFloatArray normals = new ReusableFloatArray();
+			GLBufferJre vertexBuffer = new GLBufferJre();
+			GLBufferJre normalBuffer = new GLBufferJre();
+			tessellate(size, vertices, normals, vertexBuffer, normalBuffer);
+			allocated = allocatedBytes();
+			stopwatch.start();
+			for (int i = 0; i < 10; i++) {
+				tessellate(size, vertices, normals, vertexBuffer,
+						normalBuffer);
+			}
+			long time = stopwatch.stop();
+			long bytes = allocatedBytes() - allocated;
+			Log.debug(size + "x" + size + " surface, 10 updates: boxed "
+					+ boxedTime + "ms, " + boxedBytes / 1024 + "kB; float "
+					+ time + "ms, " + bytes / 1024 + "kB");
+		}
+	}
+
+	private static void tessellate(int size, ReusableFloatArray vertices,
+			ReusableFloatArray normals, GLBufferJre vertexBuffer,
+			GLBufferJre normalBuffer) {
+		vertices.setLength(0);
+		normals.setLength(0);
+		for (int i = 0; i <= size; i++) {
+			double u = Math.PI * i / size;
+			for (int j = 0; j <= size; j++) {
+				double v = 2 * Math.PI * j / size;
+				double x = Math.sin(u) * Math.cos(v);
+				double y = Math.sin(u) * Math.sin(v);
+				double z = Math.cos(u);
+				normals.addValues(x, y, z);
+				vertices.addValues(2 * x, 2 * y, 2 * z);
+			}
+		}
+		vertexBuffer.set(vertices, vertices.getLength());
+		normalBuffer.set(normals, normals.getLength());
+	}
+
+	/**
+	 * Same as {@link #tessellate}, with boxed values as before.
+	 */
+	private static void tessellateBoxed(int size) {
+		ArrayList<Double> vertices = new ArrayList<>();
+		ArrayList<Double> normals = new ArrayList<>();
+		for (int i = 0; i <= size; i++) {
+			double u = Math.PI * i / size;
+			for (int j = 0; j <= size; j++) {
+				double v = 2 * Math.PI * j / size;
+				double x = Math.sin(u) * Math.cos(v);
+				double y = Math.sin(u) * Math.sin(v);
+				double z = Math.cos(u);
+				addValues(normals, x, y, z);
+				addValues(vertices, 2 * x, 2 * y, 2 * z);
+			}
+		}
+		GLBufferJre vertexBuffer = new GLBufferJre();
+		vertexBuffer.allocate(vertices.size());
+		for (Double value : vertices) {
+			vertexBuffer.put(value);
+		}
+		GLBufferJre normalBuffer = new GLBufferJre();
+		normalBuffer.allocate(normals.size());
+		for (Double value : normals) {
+			normalBuffer.put(value);
+		}
+	}
+
+	private static void addValues(ArrayList<Double> list, Double... values) {
+		for (Double value : values) {
+			list.add(value);
+		}
+	}
+
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,128 @@
+package org.geogebra.common.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for undo with delta based states.
+ */
+public class DeltaAppStateTest extends BaseUnitTest {
+
+	private static final int STEPS = 30;
+
+	@Before
+	public void setupUndo() {
+		getApp().setUndoRedoEnabled(true);
+		getApp().setUndoActive(true);
+		for (int i = 0; i < 200; i++) {
+			add("P_{" + i + "}=(" + i + ",1)");
+		}
+		add("a=0");
+	}
+
+	@Test
+	public void undoShouldRestoreDeltaStates() {
+		getUndoManager().setStoreDeltas(true);
+		storeSteps();
+		for (int i = STEPS - 1; i > 0; i--) {
+			getKernel().undo();
+			assertEquals(i - 1, ((GeoNumeric) lookup("a")).getValue(), 0);
+		}
+		getKernel().redo();
+		assertEquals(1, ((GeoNumeric) lookup("a")).getValue(), 0);
+	}
+
+	@Test
+	public void deltaStatesShouldBeSmaller() {
+		storeSteps();
+		long fullBytes = getUndoManager().getRetainedBytes();
+
+		getUndoManager().setStoreDeltas(true);
+		storeSteps();
+		long deltaBytes = getUndoManager().getRetainedBytes();
+		long[] perStep = getUndoManager().getRetainedBytesPerStep();
+		Log.debug("Full states: " + fullBytes + " bytes, deltas: "
+				+ deltaBytes + " bytes");
+		assertEquals(STEPS, perStep.length);
+		assertTrue(perStep[1] * 10 < perStep[0]);
+		assertTrue(deltaBytes * 5 < fullBytes);
+	}
+
+	@Test
+	public void changesAtStartShouldBeSmall() {
+		getUndoManager().setStoreDeltas(true);
+		getConstruction().initUndoInfo();
+		for (int i = 1; i < STEPS; i++) {
+			((GeoPoint) lookup("P_{0}")).setCoords(i, 1, 1);
+			lookup("P_{0}").updateRepaint();
+			getApp().storeUndoInfo();
+		}
+		long[] perStep = getUndoManager().getRetainedBytesPerStep();
+		assertTrue(perStep[1] * 10 < perStep[0]);
+		getKernel().undo();
+		assertEquals(STEPS - 2, ((GeoPoint) lookup("P_{0}")).getInhomX(), 0);
+	}
+
+	@Test
+	public void historyShouldBeLimitedByMemory() {
+		getUndoManager().setStoreDeltas(true);
+		storeSteps();
+		long fullStateBytes = getUndoManager().getRetainedBytesPerStep()[0];
+		// room for one full state and the cached blocks of the newest state,
+		// not for two full states
+		long maxBytes = fullStateBytes * 5 / 2;
+		getUndoManager().setMaxRetainedBytes(maxBytes);
+		storeSteps();
+		assertTrue(getUndoManager().getRetainedBytes() <= maxBytes);
+		assertTrue(getUndoManager().getHistorySize() < STEPS - 1);
+		getKernel().undo();
+		assertEquals(STEPS - 2, ((GeoNumeric) lookup("a")).getValue(), 0);
+	}
+
+	@Test
+	public void deletedBaseShouldBeCountedWhileReferenced() {
+		getUndoManager().setStoreDeltas(true);
+		storeSteps();
+		long fullStateBytes = getUndoManager().getRetainedBytesPerStep()[0];
+		// only a few deltas fit, but their full base stays in memory
+		getUndoManager().setMaxRetainedBytes(fullStateBytes / 2);
+		storeSteps();
+		assertTrue(getUndoManager().getRetainedBytes() >= fullStateBytes);
+		// current and previous state
+		assertEquals(1, getUndoManager().getHistorySize());
+	}
+
+	@Test
+	public void cachedBlocksOfNewestStateShouldBeCounted() {
+		getUndoManager().setStoreDeltas(true);
+		getConstruction().initUndoInfo();
+		long newest = getUndoManager().getRetainedBytesPerStep()[0];
+		((GeoNumeric) lookup("a")).setValue(1);
+		lookup("a").updateRepaint();
+		getApp().storeUndoInfo();
+		long[] perStep = getUndoManager().getRetainedBytesPerStep();
+		// the full state dropped its blocks, the delta keeps them
+		assertTrue(newest > perStep[0] * 3 / 2);
+		assertTrue(perStep[1] > perStep[0] / 2);
+	}
+
+	private void storeSteps() {
+		getConstruction().initUndoInfo();
+		for (int i = 1; i < STEPS; i++) {
+			((GeoNumeric) lookup("a")).setValue(i);
+			lookup("a").updateRepaint();
+			getApp().storeUndoInfo();
+		}
+	}
+
+	private DefaultUndoManager getUndoManager() {
+		return (DefaultUndoManager) getConstruction().getUndoManager();
+	}
+}
@@ -0,0 +1,119 @@
+package org.geogebra.common.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoText;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for incremental construction updates.
+ */
+public class IncrementalUpdateTest extends BaseUnitTest {
+
+	private static final int SLIDERS = 50;
+	private static final int DEPENDENT_PER_SLIDER = 100;
+
+	@Before
+	public void createConstruction() {
+		for (int i = 0; i < SLIDERS; i++) {
+			add("a" + i + "=" + i);
+			for (int j = 0; j < DEPENDENT_PER_SLIDER; j++) {
+				add("b" + i + "_{" + j + "}=a" + i + "*" + j + "+sin(a" + i
+						+ ")");
+			}
+		}
+	}
+
+	@Test
+	public void incrementalUpdateShouldRecomputeDependents() {
+		Construction cons = getConstruction();
+		cons.setIncrementalUpdate(true);
+		setValueNoCascade("a3", 10);
+		assertTrue(cons.hasDirtyGeos());
+		cons.updateDirtyGeos();
+		assertFalse(cons.hasDirtyGeos());
+		assertEquals(50 + Math.sin(10), value("b3_{5}"), DELTA);
+		assertEquals(20 + Math.sin(4), value("b4_{5}"), DELTA);
+	}
+
+	@Test
+	public void fullUpdateShouldBeUsedWithoutDirtyGeos() {
+		Construction cons = getConstruction();
+		cons.setIncrementalUpdate(true);
+		setValueNoCascade("a3", 10);
+		cons.setIncrementalUpdate(false);
+		assertFalse(cons.hasDirtyGeos());
+		cons.updateDirtyGeos();
+		assertEquals(50 + Math.sin(10), value("b3_{5}"), DELTA);
+	}
+
+	@Test
+	public void incrementalUpdateShouldKeepRandomNumbers() {
+		add("r=RandomBetween(1,1000000+0*a3)");
+		double random = value("r");
+		Construction cons = getConstruction();
+		cons.setIncrementalUpdate(true);
+		setValueNoCascade("a3", 10);
+		cons.updateDirtyGeos();
+		assertEquals(random, value("r"), DELTA);
+	}
+
+	@Test
+	public void incrementalUpdateShouldUpdateFewerAlgos() {
+		Construction cons = getConstruction();
+		setValueNoCascade("a1", 1);
+		cons.updateConstruction(false);
+		int full = cons.getUpdatedAlgoCount();
+
+		cons.setIncrementalUpdate(true);
+		setValueNoCascade("a1", 9);
+		cons.updateDirtyGeos();
+		int incremental = cons.getUpdatedAlgoCount();
+		Log.debug("Full update: " + full + " algos, incremental: "
+				+ incremental + " algos");
+		assertEquals(9 * 5 + Math.sin(9), value("b1_{5}"), DELTA);
+		assertEquals(SLIDERS * DEPENDENT_PER_SLIDER, full);
+		assertEquals(DEPENDENT_PER_SLIDER, incremental);
+	}
+
+	@Test
+	public void updateConstructionShouldStayFullInIncrementalMode() {
+		add("alpha=30°");
+		add("txt=\"\"+alpha");
+		String degrees = text("txt");
+		Construction cons = getConstruction();
+		cons.setIncrementalUpdate(true);
+		setValueNoCascade("a3", 10);
+
+		// same as changing the angle unit in the settings
+		getKernel().setAngleUnit(Kernel.ANGLE_RADIANT);
+		getKernel().updateConstruction(false);
+		assertNotEquals(degrees, text("txt"));
+		assertEquals(lookup("alpha")
+				.toValueString(StringTemplate.defaultTemplate), text("txt"));
+		assertEquals(SLIDERS * DEPENDENT_PER_SLIDER + 1,
+				cons.getUpdatedAlgoCount());
+		assertFalse(cons.hasDirtyGeos());
+	}
+
+	private String text(String label) {
+		return ((GeoText) lookup(label)).getTextString();
+	}
+
+	private void setValueNoCascade(String label, double val) {
+		GeoNumeric slider = (GeoNumeric) lookup(label);
+		slider.setValue(val);
+		slider.update();
+	}
+
+	private double value(String label) {
+		return ((GeoNumeric) lookup(label)).getValue();
+	}
+}
@@ -0,0 +1,161 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for locus updates reusing the path samples.
+ */
+public class AlgoLocusTest extends BaseUnitTest {
+
+	private GeoPoint mover;
+	private GeoLocus locus;
+
+	@Before
+	public void createLocus() {
+		getApp().getGgbApi().setPerspective("G");
+		add("c=Circle((0,0),2)");
+		mover = add("A=Point(c)");
+		add("B=(4,0)");
+		add("M=Midpoint(A,B)");
+		locus = add("loc=Locus(M,A)");
+	}
+
+	@Test
+	public void updateShouldKeepLocus() {
+		assertOnCircle(2, 0);
+		ArrayList<MyPoint> points = copyPoints();
+		moveTo(0, 2);
+		getKernel().updateConstruction(false, 1);
+		assertEquals(points.size(), locus.getPoints().size());
+		for (int i = 0; i < points.size(); i++) {
+			MyPoint point = locus.getPoints().get(i);
+			assertEquals(points.get(i).getX(), point.getX(), 0);
+			assertEquals(points.get(i).getY(), point.getY(), 0);
+			assertEquals(points.get(i).getLineTo(), point.getLineTo());
+		}
+	}
+
+	@Test
+	public void inputChangeShouldRecomputeLocus() {
+		moveTo(0, 2);
+		add("B=(0,4)");
+		assertOnCircle(0, 2);
+	}
+
+	@Test
+	public void zoomShouldRefineLocus() {
+		int size = locus.getPoints().size();
+		double scale = 800;
+		getKernel().setEuclidianViewBounds(1, 1.5, 2.5, -0.5, 0.5, scale,
+				scale);
+		assertTrue(locus.getPoints().size() > size);
+		assertOnCircle(2, 0);
+		double maxDist = AlgoLocusND.MAX_X_PIXEL_DIST / scale;
+		ArrayList<MyPoint> points = locus.getPoints();
+		for (int i = 1; i < points.size(); i++) {
+			MyPoint start = points.get(i - 1);
+			MyPoint end = points.get(i);
+			if (end.getLineTo() && isInView(start) && isInView(end)) {
+				assertTrue(Math.abs(end.getX() - start.getX()) < maxDist);
+				assertTrue(Math.abs(end.getY() - start.getY()) < maxDist);
+			}
+		}
+	}
+
+	@Test
+	public void panShouldExtendFunctionGraphLocus() {
+		add("f(x)=x^2");
+		add("F=Point(f)");
+		add("G=F+(0,1)");
+		GeoLocus graphLocus = add("Locus(G,F)");
+		assertTrue(maxX(graphLocus) < 20);
+		getApp().getActiveEuclidianView().setRealWorldCoordSystem(20, 30, 400,
+				1000);
+		// the headless view does not show the locus, so it is not notified
+		// about the pan; update it like euclidianViewUpdate does
+		graphLocus.getParentAlgorithm().update();
+		assertTrue(graphLocus.isDefined());
+		assertTrue(maxX(graphLocus) > 29);
+		for (MyPoint point : graphLocus.getPoints()) {
+			assertEquals(point.getX() * point.getX() + 1, point.getY(),
+					1E-8 * point.getY());
+		}
+	}
+
+	@Test
+	public void benchmarkLocusUpdate() {
+		GeoPoint point = (GeoPoint) lookup("B");
+		AlgoElement algo = locus.getParentAlgorithm();
+		for (int run = 0; run < 2; run++) {
+			Stopwatch stopwatch = new Stopwatch();
+			stopwatch.start();
+			for (int i = 0; i < 50; i++) {
+				point.setCoords(4, i / 100.0, 1.0);
+				point.updateCascade();
+			}
+			long full = stopwatch.stop();
+			stopwatch.start();
+			for (int i = 0; i < 50; i++) {
+				algo.update();
+			}
+			long samples = stopwatch.stop();
+			stopwatch.start();
+			for (int i = 0; i < 50; i++) {
+				double scale = 50 + i;
+				getKernel().setEuclidianViewBounds(1, -4, -4 + 800 / scale,
+						-3, -3 + 600 / scale, scale, scale);
+			}
+			long zoom = stopwatch.stop();
+			Log.debug("50 locus updates: input changed " + full
+					+ "ms, unchanged " + samples + "ms, zoom " + zoom + "ms");
+		}
+	}
+
+	private void moveTo(double x, double y) {
+		mover.setCoords(x, y, 1.0);
+		mover.getPath().pointChanged(mover);
+		mover.updateCascade();
+	}
+
+	private ArrayList<MyPoint> copyPoints() {
+		ArrayList<MyPoint> points = new ArrayList<>();
+		for (MyPoint point : locus.getPoints()) {
+			points.add(point.copy());
+		}
+		return points;
+	}
+
+	private static double maxX(GeoLocus graphLocus) {
+		double max = Double.NEGATIVE_INFINITY;
+		for (MyPoint point : graphLocus.getPoints()) {
+			max = Math.max(max, point.getX());
+		}
+		return max;
+	}
+
+	private static boolean isInView(MyPoint point) {
+		return point.getX() > 1.5 && point.getX() < 2.5 && point.getY() > -0.5
+				&& point.getY() < 0.5;
+	}
+
+	private void assertOnCircle(double x, double y) {
+		assertTrue(locus.isDefined());
+		assertTrue(locus.getPoints().size() > 10);
+		for (MyPoint point : locus.getPoints()) {
+			assertEquals(1, Math.hypot(point.getX() - x, point.getY() - y),
+					1E-8);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.geos.GProperty;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for sequences evaluated without list elements.
+ */
+public class AlgoSequenceTest extends BaseUnitTest {
+
+	@Test
+	public void numberSequenceShouldUsePrimitiveValues() {
+		GeoList list = add("l=Sequence(k^2,k,1,5)");
+		assertNotNull(list.getPrimitiveValues());
+		assertEquals(1, list.getPrimitiveDimension());
+		assertEquals(5, list.size());
+		assertEquals(16, list.getPrimitiveValues()[3], DELTA);
+		assertEquals("{1, 4, 9, 16, 25}",
+				list.toValueString(StringTemplate.defaultTemplate));
+	}
+
+	@Test
+	public void pointSequenceShouldMaterializeElements() {
+		GeoList list = add("l=Sequence((k,2k),k,0,1,0.25)");
+		// drawing the list creates the points
+		assertNull(list.getPrimitiveValues());
+		list.setEuclidianVisible(false);
+		list.updateVisualStyle(GProperty.VISIBLE);
+		list.getParentAlgorithm().update();
+		assertNotNull(list.getPrimitiveValues());
+		assertEquals(2, list.getPrimitiveDimension());
+		assertEquals(5, list.size());
+		GeoPoint point = (GeoPoint) list.get(2);
+		assertNull(list.getPrimitiveValues());
+		assertEquals(0.5, point.getInhomX(), DELTA);
+		assertEquals(1, point.getInhomY(), DELTA);
+		assertEquals(5, list.size());
+	}
+
+	@Test
+	public void sequenceShouldUpdateWithSlider() {
+		GeoNumeric a = add("a=2");
+		GeoList list = add("l=Sequence(a*k,k,1,3)");
+		assertEquals(6, ((GeoNumeric) list.get(2)).getValue(), DELTA);
+		a.setValue(3);
+		a.updateRepaint();
+		assertNotNull(list.getPrimitiveValues());
+		assertEquals(9, list.getPrimitiveValues()[2], DELTA);
+		GeoNumeric sum = add("s=Sum(l)");
+		assertEquals(18, sum.getValue(), DELTA);
+		add("a=-1");
+		assertEquals(-6, sum.getValue(), DELTA);
+	}
+
+	@Test
+	public void sequenceOfVariableShouldUsePrimitiveValues() {
+		GeoList list = add("l=Sequence(k,k,10,1,-3)");
+		assertEquals(4, list.size());
+		assertEquals("{10, 7, 4, 1}",
+				list.toValueString(StringTemplate.defaultTemplate));
+	}
+
+	@Test
+	public void emptyAndUndefinedSequences() {
+		GeoList list = add("l=Sequence(k^2,k,5,1)");
+		assertEquals(0, list.size());
+		assertTrue(list.isDefined());
+		GeoList undefined = add("m=Sequence(1/k,k,-1,1)");
+		assertEquals(3, undefined.size());
+		assertEquals(Double.POSITIVE_INFINITY,
+				((GeoNumeric) undefined.get(1)).getValue(), 0);
+	}
+
+	@Test
+	public void benchmarkSequence() {
+		GeoNumeric a = add("a=1");
+		GeoList list = add("l=Sequence(a*k^2,k,1,100000)");
+		for (int j = 0; j < 2; j++) {
+			Stopwatch stopwatch = new Stopwatch();
+			stopwatch.start();
+			for (int i = 0; i < 20; i++) {
+				a.setValue(i);
+				a.updateCascade();
+			}
+			Log.debug("100000 values, 20 updates: " + stopwatch.stop()
+					+ "ms");
+		}
+		assertEquals(19 * 1E10, list.getPrimitiveValues()[99999], 1);
+	}
+}
@@ -0,0 +1,108 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for compiled function evaluation.
+ */
+public class CompiledExpressionTest extends BaseUnitTest {
+
+	@Test
+	public void compiledShouldMatchInterpreter() {
+		add("a=2");
+		String[] functions = { "x^3-2x^2+x-1", "sin(x)*cos(2x)", "tan(x)",
+				"1/x", "e^x", "exp(-x^2)", "sqrt(x)+abs(x)", "x^(1/3)",
+				"x^(2/3)-x^(-1/5)", "ln(x)", "sinh(x)+cosh(x)-tanh(x)",
+				"cbrt(x)", "a*x+sin(a x)", "tan(10sin(x))", "exp(sin(pi x))",
+				"abs(sin(pi x))", "(x-1)^(a/3)" };
+		for (String def : functions) {
+			GeoFunction f = add("f(x)=" + def);
+			assertNotNull(def, compile(f.getFunction()));
+			for (double x = -5; x <= 5; x += 0.125) {
+				assertSameValue(def, f.getFunction(), x);
+			}
+		}
+	}
+
+	@Test
+	public void slidersShouldBeReadOnEvaluation() {
+		GeoNumeric a = add("a=2");
+		GeoFunction f = add("f(x)=a*x^2");
+		CompiledExpression compiled = compile(f.getFunction());
+		assertEquals(8, compiled.evaluate(2), DELTA);
+		a.setValue(3);
+		assertEquals(12, compiled.evaluate(2), DELTA);
+	}
+
+	@Test
+	public void unsupportedOperationsShouldFallBack() {
+		GeoFunction f = add("f(x)=If(x>0,x,-x)");
+		assertNull(compile(f.getFunction()));
+		GeoFunction g = add("g(x)=floor(x)+f(x)");
+		assertNull(compile(g.getFunction()));
+		getKernel().setCompileFunctions(true);
+		assertEquals(-0.5, g.value(-2.5), DELTA);
+		getKernel().setCompileFunctions(false);
+	}
+
+	@Test
+	public void functionsOfTwoVariablesShouldBeCompiled() {
+		GeoFunctionNVar f = add("f(x,y)=x^2+sin(y)/y");
+		FunctionNVar fun = f.getFunction();
+		assertNotNull(compile(fun));
+		double expected = fun.evaluate(1.5, 0.5);
+		getKernel().setCompileFunctions(true);
+		assertEquals(expected, fun.evaluate(1.5, 0.5), 0);
+		assertEquals(expected, fun.evaluate(new double[] { 1.5, 0.5 }), 0);
+		getKernel().setCompileFunctions(false);
+	}
+
+	@Test
+	public void benchmarkCompiledEvaluation() {
+		String[] functions = { "x^3-2x^2+x-1", "tan(x)+1/x",
+				"exp(-x^2)*sinh(x)" };
+		for (String def : functions) {
+			Function fun = ((GeoFunction) add("f(x)=" + def)).getFunction();
+			getKernel().setCompileFunctions(false);
+			long interpreted = time(fun);
+			getKernel().setCompileFunctions(true);
+			long compiled = time(fun);
+			getKernel().setCompileFunctions(false);
+			Log.debug(def + ": interpreted " + interpreted + "ms, compiled "
+					+ compiled + "ms");
+		}
+	}
+
+	private static long time(Function fun) {
+		Stopwatch stopwatch = new Stopwatch();
+		stopwatch.start();
+		for (int i = 1; i <= 1000000; i++) {
+			fun.value(i * 1E-5);
+		}
+		return stopwatch.stop();
+	}
+
+	private static CompiledExpression compile(FunctionNVar fun) {
+		return CompiledExpression.compile(fun.getExpression(),
+				fun.getFunctionVariables());
+	}
+
+	private void assertSameValue(String def, Function fun, double x) {
+		getKernel().setCompileFunctions(false);
+		double expected = fun.value(x);
+		getKernel().setCompileFunctions(true);
+		double actual = fun.value(x);
+		getKernel().setCompileFunctions(false);
+		assertEquals(def + " at " + x, expected, actual, 0);
+	}
+}
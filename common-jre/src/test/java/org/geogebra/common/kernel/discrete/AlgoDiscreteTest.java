@@ -0,0 +1,142 @@
+package org.geogebra.common.kernel.discrete;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
+import org.geogebra.common.kernel.discrete.delaunay.PointDt;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for triangulations updated after moving points.
+ */
+public class AlgoDiscreteTest extends BaseUnitTest {
+
+	@Test
+	public void updatedTriangulationShouldMatchNewTriangulation() {
+		Random random = new Random(42);
+		PointDt[] points = randomPoints(random, 200);
+		DelaunayTriangulation dt = new DelaunayTriangulation(points);
+		int updated = 0;
+		for (int i = 0; i < 500; i++) {
+			PointDt[] moved = points.clone();
+			int index = random.nextInt(points.length);
+			// also move points onto other points
+			moved[index] = random.nextInt(4) == 0
+					? points[random.nextInt(points.length)]
+					: new PointDt(random.nextDouble() * 20,
+							random.nextDouble() * 20);
+			if (dt.updatePoints(moved, 1)) {
+				updated++;
+			} else {
+				dt = new DelaunayTriangulation(moved);
+			}
+			points = moved;
+			assertEquals(edges(new DelaunayTriangulation(points)), edges(dt));
+		}
+		assertTrue(updated > 300);
+	}
+
+	@Test
+	public void movedPointShouldUpdateLoci() {
+		GeoList list = add(
+				"list={(0,0),(4,0.2),(4.3,3),(0.1,3.2),(1,1),(3,2),(2,1.3)}");
+		GeoLocus triangulation = add("DelaunayTriangulation(list)");
+		GeoLocus tree = add("MinimumSpanningTree(list)");
+		GeoLocus voronoi = add("Voronoi(list)");
+		GeoPoint point = (GeoPoint) list.get(4);
+		for (int i = 0; i < 5; i++) {
+			point.setCoords(1 + 0.4 * i, 2 - 0.3 * i, 1);
+			list.updateCascade();
+			assertEquals(segments(add("DelaunayTriangulation(list)")),
+					segments(triangulation));
+			assertEquals(segments(add("MinimumSpanningTree(list)")),
+					segments(tree));
+			assertEquals(segments(add("Voronoi(list)")), segments(voronoi));
+		}
+		assertEquals(6, segments(tree).size());
+	}
+
+	@Test
+	public void benchmarkTriangulationUpdate() {
+		for (int size : new int[] { 250, 1000, 4000 }) {
+			Random random = new Random(size);
+			PointDt[] points = randomPoints(random, size);
+			DelaunayTriangulation dt = new DelaunayTriangulation(points);
+			int index = random.nextInt(size);
+			Stopwatch stopwatch = new Stopwatch();
+			stopwatch.start();
+			for (int i = 0; i < 100; i++) {
+				points[index] = new PointDt(5 + random.nextDouble() * 10,
+						5 + random.nextDouble() * 10);
+				new DelaunayTriangulation(points);
+			}
+			long rebuildTime = stopwatch.stop();
+			stopwatch.start();
+			int rebuilt = 0;
+			for (int i = 0; i < 100; i++) {
+				points[index] = new PointDt(5 + random.nextDouble() * 10,
+						5 + random.nextDouble() * 10);
+				if (!dt.updatePoints(points, 1)) {
+					dt = new DelaunayTriangulation(points);
+					rebuilt++;
+				}
+			}
+			Log.debug(size + " points, 100 moves: rebuild " + rebuildTime
+					+ "ms, update " + stopwatch.stop() + "ms (" + rebuilt
+					+ " rebuilt)");
+			assertEquals(edges(new DelaunayTriangulation(points)), edges(dt));
+		}
+	}
+
+	private static PointDt[] randomPoints(Random random, int size) {
+		PointDt[] points = new PointDt[size];
+		for (int i = 0; i < size; i++) {
+			// no cocircular points, the triangulation has to be unique
+			points[i] = new PointDt(random.nextDouble() * 20,
+					random.nextDouble() * 20);
+		}
+		return points;
+	}
+
+	private static TreeSet<String> edges(DelaunayTriangulation dt) {
+		TreeSet<String> edges = new TreeSet<>();
+		ArrayList<PointDt> points = dt.getEdges();
+		for (int i = 0; i < points.size(); i += 2) {
+			edges.add(segment(points.get(i).x(), points.get(i).y(),
+					points.get(i + 1).x(), points.get(i + 1).y()));
+		}
+		return edges;
+	}
+
+	private static TreeSet<String> segments(GeoLocus locus) {
+		TreeSet<String> segments = new TreeSet<>();
+		ArrayList<MyPoint> points = locus.getPoints();
+		for (int i = 1; i < points.size(); i++) {
+			if (points.get(i).getLineTo()) {
+				segments.add(segment(points.get(i - 1).x, points.get(i - 1).y,
+						points.get(i).x, points.get(i).y));
+			}
+		}
+		return segments;
+	}
+
+	private static String segment(double x1, double y1, double x2,
+			double y2) {
+		String start = Math.round(x1 * 1E6) + "," + Math.round(y1 * 1E6);
+		String end = Math.round(x2 * 1E6) + "," + Math.round(y2 * 1E6);
+		return start.compareTo(end) < 0 ? start + " " + end
+				: end + " " + start;
+	}
+}
@@ -0,0 +1,130 @@
+package org.geogebra.common.kernel.geos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.util.ForkJoinTaskExecutor;
+import org.geogebra.common.kernel.kernelND.GeoSurfaceCartesianND;
+import org.geogebra.common.kernel.kernelND.SurfaceEvaluable;
+import org.geogebra.common.kernel.matrix.Coords3;
+import org.geogebra.common.kernel.matrix.CoordsDouble3;
+import org.junit.Test;
+
+/**
+ * Tests for surface copies used by background tessellation.
+ */
+public class SurfaceCopyForEvaluationTest extends BaseUnitTest {
+
+	@Override
+	public AppCommon createAppCommon() {
+		return AppCommonFactory.create3D();
+	}
+
+	@Test
+	public void functionCopyShouldEvaluateLikeOriginal() {
+		add("a=2");
+		GeoFunctionNVar f = add("f(x,y)=a*x^2+y");
+		SurfaceEvaluable copy = f.copyForEvaluation();
+		assertNotNull(copy);
+		assertSamePoints(f, copy);
+		assertEquals(11,
+				((GeoFunctionNVar) copy).evaluate(new double[] { 2, 3 }), DELTA);
+	}
+
+	@Test
+	public void surfaceCopyShouldEvaluateLikeOriginal() {
+		add("a=3");
+		GeoSurfaceCartesianND surface = add(
+				"s=Surface((u,v,a*u*v),u,0,1,v,0,2)");
+		SurfaceEvaluable copy = surface.copyForEvaluation();
+		assertNotNull(copy);
+		assertEquals(2, copy.getMaxParameter(1), DELTA);
+		assertSamePoints(surface, copy);
+	}
+
+	@Test
+	public void copyShouldKeepValuesOfNumbers() {
+		GeoNumeric a = add("a=2");
+		add("b=a+1");
+		GeoFunctionNVar f = add("f(x,y)=a*x+b*y");
+		GeoSurfaceCartesianND surface = add(
+				"s=Surface((u,v,a*u*v),u,0,1,v,0,2)");
+		SurfaceEvaluable functionCopy = f.copyForEvaluation();
+		SurfaceEvaluable surfaceCopy = surface.copyForEvaluation();
+		a.setValue(5);
+		a.updateRepaint();
+		assertEquals(28, f.evaluate(new double[] { 2, 3 }), DELTA);
+		assertEquals(13, ((GeoFunctionNVar) functionCopy)
+				.evaluate(new double[] { 2, 3 }), DELTA);
+		Coords3 point = new CoordsDouble3();
+		surfaceCopy.evaluatePoint(1, 2, point);
+		assertEquals(4, point.getZd(), DELTA);
+	}
+
+	@Test
+	public void copyShouldNotBeSupportedForConditions() {
+		GeoFunctionNVar f = add("f(x,y)=If(x>y,x,y)");
+		assertNull(f.copyForEvaluation());
+	}
+
+	@Test
+	public void copyShouldBeEvaluatedConcurrently() throws Exception {
+		GeoFunctionNVar f = add("f(x,y)=sin(x)*cos(y)");
+		final SurfaceEvaluable copy = f.copyForEvaluation();
+		final double[] sums = new double[1];
+		final boolean[] done = new boolean[1];
+		ForkJoinTaskExecutor executor = new ForkJoinTaskExecutor();
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				sums[0] = sum(copy);
+				synchronized (done) {
+					done[0] = true;
+					done.notifyAll();
+				}
+			}
+		});
+		double sum = sum(f);
+		synchronized (done) {
+			while (!done[0]) {
+				done.wait(10000);
+			}
+		}
+		executor.shutdown();
+		assertTrue(done[0]);
+		assertEquals(sum, sums[0], 0);
+	}
+
+	protected static double sum(SurfaceEvaluable surface) {
+		Coords3 point = new CoordsDouble3();
+		double sum = 0;
+		for (int i = 0; i < 1000; i++) {
+			for (int j = 0; j < 100; j++) {
+				surface.evaluatePoint(i / 100.0, j / 10.0, point);
+				sum += point.getZd();
+			}
+		}
+		return sum;
+	}
+
+	private static void assertSamePoints(SurfaceEvaluable surface,
+			SurfaceEvaluable copy) {
+		Coords3 expected = new CoordsDouble3();
+		Coords3 actual = new CoordsDouble3();
+		for (int i = 0; i <= 10; i++) {
+			for (int j = 0; j <= 10; j++) {
+				surface.evaluatePoint(i / 10.0, j / 10.0, expected);
+				copy.evaluatePoint(i / 10.0, j / 10.0, actual);
+				assertEquals(expected.getXd(), actual.getXd(), DELTA);
+				assertEquals(expected.getYd(), actual.getYd(), DELTA);
+				assertEquals(expected.getZd(), actual.getZd(), DELTA);
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package org.geogebra.common.kernel.implicit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.jre.util.ForkJoinTaskExecutor;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.util.debug.Log;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for computing implicit curves tile by tile.
+ */
+public class QuadTreeTilesTest extends BaseUnitTest {
+
+	private static final String[] CURVES = {
+			"x^6+y^6-3x^2 y^2=1",
+			"(x^2+y^2)^3-4x^2 y^2=0.5",
+			"y^2(y^2-4)=x^2(x^2-5)+x^6/9",
+			"x^4-10x^2+y^4-10y^2=-20" };
+
+	private CountingExecutor executor = new CountingExecutor();
+
+	/**
+	 * Counts tasks to make sure the tiled path is used.
+	 */
+	private static class CountingExecutor extends ForkJoinTaskExecutor {
+		private final AtomicInteger tasks = new AtomicInteger();
+
+		@Override
+		public void runAll(List<? extends Runnable> tileTasks) {
+			tasks.addAndGet(tileTasks.size());
+			super.runAll(tileTasks);
+		}
+	}
+
+	@After
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void tilesShouldMatchSerialPath() {
+		for (String def : CURVES) {
+			GeoImplicitCurve curve = add(def);
+			curve.quadTree.adaptive = false;
+			ArrayList<MyPoint> serial = updatePath(curve, null);
+			executor.tasks.set(0);
+			ArrayList<MyPoint> tiles = updatePath(curve, executor);
+			assertTrue(def, serial.size() > 10);
+			// 40 x 40 grid: 25 tiles for the grid and 25 for the segments
+			// of each factor
+			assertTrue(def, executor.tasks.get() >= 50);
+			assertSamePoints(def, serial, tiles);
+		}
+	}
+
+	@Test
+	public void benchmarkTiles() {
+		for (String def : CURVES) {
+			GeoImplicitCurve curve = add(def);
+			long serial = time(curve, null);
+			long tiles = time(curve, executor);
+			Log.debug(def + ": serial " + serial + "ms, tiles " + tiles
+					+ "ms");
+		}
+	}
+
+	private long time(GeoImplicitCurve curve,
+			ForkJoinTaskExecutor tileExecutor) {
+		updatePath(curve, tileExecutor);
+		Stopwatch stopwatch = new Stopwatch();
+		stopwatch.start();
+		for (int i = 0; i < 50; i++) {
+			updatePath(curve, tileExecutor);
+		}
+		return stopwatch.stop();
+	}
+
+	/**
+	 * Computes path for a 3840 x 2160 pixel view.
+	 */
+	private ArrayList<MyPoint> updatePath(GeoImplicitCurve curve,
+			ForkJoinTaskExecutor tileExecutor) {
+		getKernel().setTaskExecutor(tileExecutor);
+		curve.getLocus().getPoints().clear();
+		curve.quadTree.updatePath(-10, -5.625, 20, 11.25, 192, 192);
+		getKernel().setTaskExecutor(null);
+		return new ArrayList<>(curve.getLocus().getPoints());
+	}
+
+	private static void assertSamePoints(String def,
+			ArrayList<MyPoint> expected, ArrayList<MyPoint> actual) {
+		assertEquals(def, expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(def, expected.get(i).x, actual.get(i).x, 0);
+			assertEquals(def, expected.get(i).y, actual.get(i).y, 0);
+			assertEquals(def, expected.get(i).getSegmentType(),
+					actual.get(i).getSegmentType());
+		}
+	}
+}
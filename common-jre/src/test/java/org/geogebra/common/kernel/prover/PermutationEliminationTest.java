@@ -0,0 +1,77 @@
+package org.geogebra.common.kernel.prover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.geogebra.common.jre.util.ForkJoinTaskExecutor;
+import org.geogebra.common.kernel.prover.polynomial.PPolynomial;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for concurrent elimination of variable permutations.
+ */
+public class PermutationEliminationTest {
+
+	private static final int MAX_PERMUTATIONS = 8;
+
+	private ForkJoinTaskExecutor executor;
+	private List<Set<Set<PPolynomial>>> ideals;
+	private List<Integer> eliminated;
+	private PermutationElimination elimination;
+
+	@Before
+	public void setup() {
+		executor = new ForkJoinTaskExecutor();
+		ideals = new ArrayList<>();
+		for (int i = 0; i < MAX_PERMUTATIONS; i++) {
+			ideals.add(new HashSet<Set<PPolynomial>>());
+		}
+		eliminated = new ArrayList<>();
+		elimination = new PermutationElimination(executor,
+				new PermutationElimination.Eliminator() {
+					@Override
+					public Set<Set<PPolynomial>> eliminate(int permutation) {
+						synchronized (eliminated) {
+							eliminated.add(permutation);
+						}
+						return ideals.get(permutation);
+					}
+				}, MAX_PERMUTATIONS);
+	}
+
+	@After
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void permutationsShouldBeComputedInWaves() {
+		assertSame(ideals.get(1), elimination.get(1));
+		assertEquals(1, elimination.getWaveCount());
+		assertEquals(PermutationElimination.WAVE_SIZE, eliminated.size());
+		assertSame(ideals.get(2), elimination.get(2));
+		assertEquals(1, elimination.getWaveCount());
+		assertSame(ideals.get(3), elimination.get(3));
+		assertEquals(2, elimination.getWaveCount());
+		assertEquals(2 * PermutationElimination.WAVE_SIZE, eliminated.size());
+	}
+
+	@Test
+	public void resultsShouldMatchSerialElimination() {
+		for (int i = 1; i < MAX_PERMUTATIONS; i++) {
+			assertSame(ideals.get(i), elimination.get(i));
+		}
+		List<Integer> sorted = new ArrayList<>(eliminated);
+		Collections.sort(sorted);
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), sorted);
+	}
+}
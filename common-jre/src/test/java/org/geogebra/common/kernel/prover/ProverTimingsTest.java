@@ -0,0 +1,37 @@
+package org.geogebra.common.kernel.prover;
+
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.prover.ProverTimings.Phase;
+import org.junit.Test;
+
+/**
+ * Tests for prover phase timings.
+ */
+public class ProverTimingsTest extends BaseUnitTest {
+
+	@Test
+	public void timesShouldBeAddedPerPhase() {
+		ProverTimings timings = new ProverTimings();
+		timings.add(Phase.ELIMINATE, 20);
+		timings.add(Phase.ELIMINATE, 10.4);
+		timings.add(Phase.NDG, 5);
+		assertEquals(30.4, timings.get(Phase.ELIMINATE), 1E-9);
+		assertEquals(5, timings.get(Phase.NDG), 0);
+		assertEquals(0, timings.get(Phase.SOLVE), 0);
+		assertEquals(35.4, timings.getTotal(), 1E-9);
+		assertEquals("translate: 0ms, eliminate: 30ms, solve: 0ms, ndg: 5ms,"
+				+ " dimension: 0ms, total: 35ms", timings.toString());
+	}
+
+	@Test
+	public void resetShouldClearTimes() {
+		ProverTimings timings = new ProverTimings();
+		timings.add(Phase.TRANSLATE, 10);
+		timings.reset();
+		assertEquals(0, timings.getTotal(), 0);
+		assertEquals("translate: 0ms, eliminate: 0ms, solve: 0ms, ndg: 0ms,"
+				+ " dimension: 0ms, total: 0ms", timings.toString());
+	}
+}
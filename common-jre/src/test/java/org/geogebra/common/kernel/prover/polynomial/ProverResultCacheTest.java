@@ -0,0 +1,48 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.geogebra.common.BaseUnitTest;
+import org.junit.Test;
+
+public class ProverResultCacheTest extends BaseUnitTest {
+
+	@Test
+	public void systemWithShiftedVariablesShouldReuseResult() {
+		new ProverResultCache(getKernel(), "giac",
+				"eliminate([v3*v7-1,v7+v12],[v7])")
+				.put("{v3*v12+1}");
+		ProverResultCache shifted = new ProverResultCache(getKernel(), "giac",
+				"eliminate([v23*v27-1,v27+v32],[v27])");
+		assertEquals("{v23*v32+1}", shifted.get());
+	}
+
+	@Test
+	public void otherEngineOrSystemShouldNotReuseResult() {
+		new ProverResultCache(getKernel(), "giac", "eliminate([v1*v2],[v2])")
+				.put("{v1}");
+		assertNull(new ProverResultCache(getKernel(), "singular",
+				"eliminate([v1*v2],[v2])").get());
+		assertNull(new ProverResultCache(getKernel(), "giac",
+				"eliminate([v2*v1],[v1])").get());
+	}
+
+	@Test
+	public void longerNamesShouldNotBeRenamed() {
+		new ProverResultCache(getKernel(), "giac",
+				"revlist([v5,v9]),lvar(vv1)").put("v9");
+		assertEquals("v4", new ProverResultCache(getKernel(), "giac",
+				"revlist([v2,v4]),lvar(vv1)").get());
+	}
+
+	@Test
+	public void undefinedResultShouldNotBeCached() {
+		new ProverResultCache(getKernel(), "giac", "eliminate([v1],[v1])")
+				.put("?");
+		new ProverResultCache(getKernel(), "giac", "eliminate([v2],[v2])")
+				.put("{v3}");
+		assertNull(new ProverResultCache(getKernel(), "giac",
+				"eliminate([v1],[v1])").get());
+	}
+}
@@ -0,0 +1,141 @@
+package org.geogebra.common.kernel.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.Stopwatch;
+import org.geogebra.common.jre.util.ForkJoinTaskExecutor;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for statistics of lists backed by primitive numbers.
+ */
+public class PrimitiveListStatisticsTest extends BaseUnitTest {
+
+	private static final String[] COMMANDS = { "Mean", "Sum", "SD",
+			"SampleSD", "Variance", "SampleVariance", "SigmaXX", "Product",
+			"Median", "MAD" };
+
+	@Test
+	public void statisticsShouldMatchElementLists() {
+		double[] values = { 3, -1.5, 2, 8, 0.25, 2, 5 };
+		GeoList data = add("data={}");
+		data.setPrimitiveNumbers(values, values.length);
+		data.updateRepaint();
+		add("elements={3, -1.5, 2, 8, 0.25, 2, 5}");
+		for (String command : COMMANDS) {
+			GeoNumeric expected = add(command + "(elements)");
+			GeoNumeric actual = add(command + "(data)");
+			assertEquals(command, expected.getValue(), actual.getValue(),
+					1E-12);
+		}
+		assertEquals(2, ((GeoNumeric) add("Percentile(data, 0.5)")).getValue(),
+				DELTA);
+		assertNotNull(data.getPrimitiveNumbers());
+		// other commands create the elements
+		assertEquals(8, ((GeoNumeric) add("Max(data)")).getValue(), DELTA);
+		assertEquals(7, data.size());
+	}
+
+	@Test
+	public void largeIndependentListShouldKeepPrimitiveNumbers() {
+		int size = AlgebraProcessor.MIN_PRIMITIVE_LIST_SIZE;
+		StringBuilder sb = new StringBuilder("data={");
+		for (int i = 0; i < size; i++) {
+			sb.append(i == 0 ? "" : ",").append(i % 10);
+		}
+		GeoList data = add(sb.append("}").toString());
+		assertNotNull(data.getPrimitiveNumbers());
+		assertEquals(4.5, ((GeoNumeric) add("Mean(data)")).getValue(), DELTA);
+		assertEquals(size, data.size());
+		assertEquals(9, ((GeoNumeric) data.get(size - 1)).getValue(), 0);
+
+		assertNull(((GeoList) add("{1, 2, 3}")).getPrimitiveNumbers());
+		assertNull(((GeoList) add(sb.toString().replace("data={0",
+				"data2={(0,1)"))).getPrimitiveNumbers());
+	}
+
+	@Test
+	public void sortShouldKeepPrimitiveNumbers() {
+		double[] values = { 3, -1.5, 2, 8 };
+		GeoList data = add("data={}");
+		data.setPrimitiveNumbers(values, values.length);
+		data.updateRepaint();
+		GeoList sorted = add("Sort(data)");
+		assertNotNull(sorted.getPrimitiveNumbers());
+		assertEquals("{-1.5, 2, 3, 8}",
+				sorted.toValueString(StringTemplate.defaultTemplate));
+		assertEquals(8, ((GeoNumeric) sorted.get(3)).getValue(), 0);
+		assertEquals("{3, -1.5, 2, 8}",
+				data.toValueString(StringTemplate.defaultTemplate));
+	}
+
+	@Test
+	public void parallelSumShouldEqualSerialSum() {
+		double[] values = randomValues(300000);
+		GeoList data = add("data={}");
+		data.setPrimitiveNumbers(values, values.length);
+		data.updateRepaint();
+		GeoNumeric sd = add("SD(data)");
+		GeoNumeric sum = add("Sum(data)");
+		double serialSD = sd.getValue();
+		double serialSum = sum.getValue();
+		ForkJoinTaskExecutor executor = new ForkJoinTaskExecutor();
+		getKernel().setTaskExecutor(executor);
+		try {
+			sd.getParentAlgorithm().compute();
+			sum.getParentAlgorithm().compute();
+			assertEquals(serialSD, sd.getValue(), 0);
+			assertEquals(serialSum, sum.getValue(), 0);
+		} finally {
+			getKernel().setTaskExecutor(null);
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void benchmarkStatistics() {
+		int size = 500000;
+		double[] values = randomValues(size);
+		GeoList elements = add("elements={}");
+		for (int i = 0; i < size; i++) {
+			elements.add(new GeoNumeric(getConstruction(), values[i]));
+		}
+		elements.updateRepaint();
+		GeoList data = add("data={}");
+		data.setPrimitiveNumbers(values, size);
+		data.updateRepaint();
+		GeoNumeric sdElements = add("SampleSD(elements)");
+		GeoNumeric sdData = add("SampleSD(data)");
+		for (int j = 0; j < 2; j++) {
+			Stopwatch stopwatch = new Stopwatch();
+			stopwatch.start();
+			for (int i = 0; i < 20; i++) {
+				sdElements.getParentAlgorithm().compute();
+			}
+			long elementTime = stopwatch.stop();
+			stopwatch.start();
+			for (int i = 0; i < 20; i++) {
+				sdData.getParentAlgorithm().compute();
+			}
+			Log.debug(size + " values, 20 updates: elements " + elementTime
+					+ "ms, primitive " + stopwatch.stop() + "ms");
+		}
+		assertEquals(sdElements.getValue(), sdData.getValue(), 1E-9);
+	}
+
+	private static double[] randomValues(int size) {
+		double[] values = new double[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = Math.sin(i) * 100 + i % 7;
+		}
+		return values;
+	}
+}
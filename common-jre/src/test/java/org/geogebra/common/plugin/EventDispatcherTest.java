@@ -1,11 +1,19 @@
 package org.geogebra.common.plugin;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -43,4 +51,136 @@ public class EventDispatcherTest extends BaseUnitTest {
 		verify(scriptManager, times(1))
 				.callClientListeners(scriptManager.clientListeners, event);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void repeatedUpdatesShouldBeCoalesced() {
+		GeoElement a = add("a=1");
+		GeoElement b = add("b=2");
+		RecordingListener listener = new RecordingListener();
+		eventDispatcher.addEventListener(listener);
+		eventDispatcher.setBatchDelay(EventDispatcher.FRAME_DELAY);
+
+		eventDispatcher.dispatchEvent(new Event(EventType.UPDATE, a));
+		eventDispatcher.dispatchEvent(new Event(EventType.UPDATE, a));
+		eventDispatcher.dispatchEvent(new Event(EventType.UPDATE, b));
+		eventDispatcher.dispatchEvent(new Event(EventType.RENAME, a));
+		eventDispatcher.dispatchEvent(new Event(EventType.UPDATE, a));
+		eventDispatcher.dispatchEvent(new Event(EventType.UPDATE, b));
+		assertEquals(0, listener.batches.size());
+
+		eventDispatcher.flushEvents();
+		assertEquals(1, listener.batches.size());
+		// a coalesced update is sent after the events queued before it
+		assertEquals("UPDATE a,RENAME a,UPDATE a,UPDATE b",
+				listener.batches.get(0));
+		assertEquals(2, eventDispatcher.getCoalescedEvents());
+	}
+
+	@Test
+	public void apiShouldSwitchBatchingOnAndOff() {
+		getApp().getGgbApi().setEventBatching(true);
+		assertTrue(eventDispatcher.isBatching());
+		getApp().getGgbApi().setEventBatching(false);
+		assertFalse(eventDispatcher.isBatching());
+	}
+
+	@Test
+	public void removeShouldDropPendingUpdates() {
+		GeoElement a = add("a=1");
+		RecordingListener listener = new RecordingListener();
+		eventDispatcher.addEventListener(listener);
+		eventDispatcher.setBatchDelay(EventDispatcher.FRAME_DELAY);
+
+		eventDispatcher.dispatchEvent(new Event(EventType.UPDATE, a));
+		eventDispatcher.dispatchEvent(new Event(EventType.REMOVE, a));
+		eventDispatcher.flushEvents();
+		assertEquals("REMOVE a", listener.batches.get(0));
+	}
+
+	@Test
+	public void eventsShouldBeSentImmediatelyWithoutBatching() {
+		GeoElement a = add("a=1");
+		RecordingListener listener = new RecordingListener();
+		eventDispatcher.addEventListener(listener);
+		eventDispatcher.setBatchDelay(EventDispatcher.FRAME_DELAY);
+		eventDispatcher.dispatchEvent(new Event(EventType.UPDATE, a));
+
+		// pending events are delivered when batching is switched off
+		eventDispatcher.setBatchDelay(-1);
+		eventDispatcher.dispatchEvent(new Event(EventType.UPDATE, a));
+		assertEquals(1, listener.batches.size());
+		assertEquals("UPDATE a", listener.single.toString());
+	}
+
+	@Test
+	public void updateScriptsShouldRunImmediatelyWhenBatching() {
+		GeoElement a = add("a=1");
+		GeoNumeric b = (GeoNumeric) add("b=0");
+		a.setScript(getApp().createScript(ScriptType.GGBSCRIPT,
+				"SetValue(b,b+1)", false), EventType.UPDATE);
+		eventDispatcher.setBatchDelay(EventDispatcher.FRAME_DELAY);
+
+		a.updateRepaint();
+		a.updateRepaint();
+		assertEquals(2, b.getValue(), DELTA);
+	}
+
+	@Test
+	public void onlyScriptManagersShouldGetQueuedEvents() {
+		GeoElement a = add("a=1");
+		scriptManager = spy(ScriptManager.class);
+		eventDispatcher.addEventListener(scriptManager);
+		final StringBuilder immediate = new StringBuilder();
+		eventDispatcher.addEventListener(new EventListener() {
+
+			@Override
+			public void sendEvent(Event evt) {
+				immediate.append(evt.type).append(' ')
+						.append(evt.argument).append(';');
+			}
+
+			@Override
+			public void reset() {
+				// nothing to do
+			}
+		});
+		eventDispatcher.setBatchDelay(EventDispatcher.FRAME_DELAY);
+
+		Event update = new Event(EventType.UPDATE, a);
+		eventDispatcher.dispatchEvent(update);
+		eventDispatcher.dispatchEvent(update);
+		assertEquals("UPDATE a;UPDATE a;", immediate.toString());
+		verify(scriptManager, never()).sendEvent(update);
+
+		eventDispatcher.flushEvents();
+		verify(scriptManager, times(1)).sendEvent(update);
+		assertEquals("UPDATE a;UPDATE a;", immediate.toString());
+	}
+
+	private static class RecordingListener implements BatchEventListener {
+		final List<String> batches = new ArrayList<>();
+		final StringBuilder single = new StringBuilder();
+
+		@Override
+		public void sendEvent(Event evt) {
+			single.append(evt.type).append(' ').append(evt.argument);
+		}
+
+		@Override
+		public void sendEvents(List<Event> events) {
+			StringBuilder sb = new StringBuilder();
+			for (Event evt : events) {
+				if (sb.length() > 0) {
+					sb.append(',');
+				}
+				sb.append(evt.type).append(' ').append(evt.argument);
+			}
+			batches.add(sb.toString());
+		}
+
+		@Override
+		public void reset() {
+			// nothing to do
+		}
+	}
+}
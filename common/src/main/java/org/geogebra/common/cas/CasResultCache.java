@@ -0,0 +1,48 @@
+package org.geogebra.common.cas;
+
+/**
+ * Cache for results of CAS computations, keyed by CAS input.
+ */
+public interface CasResultCache {
+
+	/**
+	 * @param input
+	 *            CAS input
+	 * @return cached result or null
+	 */
+	String get(String input);
+
+	/**
+	 * @param input
+	 *            CAS input
+	 * @param result
+	 *            CAS result
+	 */
+	void put(String input, String result);
+
+	/**
+	 * Remove all entries.
+	 */
+	void clear();
+
+	/**
+	 * @return whether this cache is shared between kernels; in that case
+	 *         the keys need to include the CAS settings
+	 */
+	boolean isShared();
+
+	/**
+	 * @return number of successful lookups
+	 */
+	long getHits();
+
+	/**
+	 * @return number of failed lookups
+	 */
+	long getMisses();
+
+	/**
+	 * @return number of entries removed to make space for new ones
+	 */
+	long getEvictions();
+}
@@ -51,6 +51,8 @@ import org.geogebra.common.util.debug.Log;
  */
 public class GeoGebraCAS implements GeoGebraCasInterface {
 
+	private static final String POLYNOMIAL_COEFFS_KEY = "getPolynomialCoeffs:";
+
 	private App app;
 	private CASparser casParser;
 	private CASGenericInterface cas;
@@ -217,8 +219,7 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		getPolynomialCoeffsSB.append(',');
 		getPolynomialCoeffsSB.append(variable);
 
-		String[] result = getPolynomialCoeffsCache
-				.get(getPolynomialCoeffsSB.toString());
+		String[] result = getCachedPolynomialCoeffs();
 		if (result != null) {
 			return result.length == 0 ? null : result;
 		}
@@ -243,8 +244,7 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 
 			// not a polynomial -- cache
 			if ("{}".equals(tmp)) {
-				getPolynomialCoeffsCache.put(getPolynomialCoeffsSB.toString(),
-						new String[0]);
+				cachePolynomialCoeffs(tmp, new String[0]);
 				return null;
 			}
 			// invalid output -- don't cache
@@ -264,8 +264,7 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 			tmp = tmp.substring(1, tmp.length() - 1); // strip '{' and '}'
 			result = tmp.split(",");
 
-			getPolynomialCoeffsCache.put(getPolynomialCoeffsSB.toString(),
-					result);
+			cachePolynomialCoeffs(tmp, result);
 			return result;
 		} catch (Throwable e) {
 			Log.debug("GeoGebraCAS.getPolynomialCoeffs(): " + e.getMessage());
@@ -275,6 +274,40 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		return null;
 	}
 
+	/**
+	 * Coefficients are shared with other kernels through a shared CAS cache;
+	 * otherwise they are kept in a map of their own, so that they don't evict
+	 * CAS results of this kernel.
+	 */
+	private String[] getCachedPolynomialCoeffs() {
+		Kernel kernel = app.getKernel();
+		if (isCasCacheShared(kernel)) {
+			String cached = kernel.getFromCasCache(
+					POLYNOMIAL_COEFFS_KEY + getPolynomialCoeffsSB);
+			if (cached == null) {
+				return null;
+			}
+			// {} for expressions that are not polynomials
+			return "{}".equals(cached) ? new String[0] : cached.split(",");
+		}
+		return getPolynomialCoeffsCache.get(getPolynomialCoeffsSB.toString());
+	}
+
+	private void cachePolynomialCoeffs(String coeffs, String[] result) {
+		Kernel kernel = app.getKernel();
+		if (isCasCacheShared(kernel)) {
+			kernel.putToCasCache(POLYNOMIAL_COEFFS_KEY + getPolynomialCoeffsSB,
+					coeffs);
+		} else {
+			getPolynomialCoeffsCache.put(getPolynomialCoeffsSB.toString(),
+					result);
+		}
+	}
+
+	private static boolean isCasCacheShared(Kernel kernel) {
+		return kernel.hasCasCache() && kernel.getCasCache().isShared();
+	}
+
 	final private static String toString(final ExpressionValue ev,
 			final boolean symbolic, StringTemplate tpl) {
 		/*
@@ -0,0 +1,68 @@
+package org.geogebra.common.cas;
+
+import org.geogebra.common.util.MaxSizeHashMap;
+
+/**
+ * CAS cache owned by a single kernel, limited by number of entries.
+ */
+public class MapCasResultCache implements CasResultCache {
+
+	private final MaxSizeHashMap<String, String> map;
+	private final int maxSize;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * @param maxSize
+	 *            maximal number of entries
+	 */
+	public MapCasResultCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.map = new MaxSizeHashMap<>(maxSize);
+	}
+
+	@Override
+	public String get(String input) {
+		String result = map.get(input);
+		if (result == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return result;
+	}
+
+	@Override
+	public void put(String input, String result) {
+		if (map.size() >= maxSize && !map.containsKey(input)) {
+			evictions++;
+		}
+		map.put(input, result);
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+	}
+
+	@Override
+	public boolean isShared() {
+		return false;
+	}
+
+	@Override
+	public long getHits() {
+		return hits;
+	}
+
+	@Override
+	public long getMisses() {
+		return misses;
+	}
+
+	@Override
+	public long getEvictions() {
+		return evictions;
+	}
+}
@@ -3,6 +3,7 @@ package org.geogebra.common.cas.giac;
 import java.math.BigInteger;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -406,7 +407,34 @@ public abstract class CASgiac implements CASGenericInterface {
 		final public String functionName;
 		/** definition string */
 		final public String definitionString;
-		private static List<Entry<CustomFunctions, CustomFunctions>> CustomFunctionsDependencies;
+		/**
+		 * Dependencies between CAS custom functions. This is required to
+		 * ensure that all dependencies will be loaded when a custom function
+		 * is loaded. Built once, so concurrent CAS instances can read it.
+		 */
+		private static final List<Entry<CustomFunctions, CustomFunctions>>
+				DEPENDENCIES;
+
+		static {
+			ArrayList<Entry<CustomFunctions, CustomFunctions>> dependencies =
+					new ArrayList<>();
+			setDependency(dependencies, IMPLICIT_CURVE_COEFFS, COEFF_MATRIX);
+			setDependency(dependencies, IMPLICIT_CURVE_COEFFS, COEFF_MATRICES);
+			setDependency(dependencies, IMPLICIT_CURVE_COEFFS, FACTOR_SQR_FREE);
+			setDependency(dependencies, GEOM_ELIM, PRIM_POLY);
+			setDependency(dependencies, LOCUS_EQU, IMPLICIT_CURVE_COEFFS);
+			setDependency(dependencies, LOCUS_EQU, GEOM_ELIM);
+			setDependency(dependencies, LOCUS_EQU, JACOBI_PREPARE);
+			setDependency(dependencies, ENVELOPE_EQU, LOCUS_EQU);
+			setDependency(dependencies, ENVELOPE_EQU, GEOM_JACOBI_DET);
+			setDependency(dependencies, GEOM_JACOBI_DET, JACOBI_PREPARE);
+			setDependency(dependencies, GEOM_JACOBI_DET, JACOBI_DET);
+			setDependency(dependencies, AFACTOR_ALG_NUM, IRRED);
+			setDependency(dependencies, ABSFACT, AFACTOR_ALG_NUM);
+			setDependency(dependencies, COS_2PI_OVER_N_MINPOLY,
+					FACTOR_SQR_FREE);
+			DEPENDENCIES = Collections.unmodifiableList(dependencies);
+		}
 
 		CustomFunctions(String functionName, String definitionString) {
 			this.functionName = functionName;
@@ -418,34 +446,12 @@ public abstract class CASgiac implements CASGenericInterface {
 			return functionName;
 		}
 
-		private static void setDependency(CustomFunctions cf1,
-				CustomFunctions cf2) {
+		private static void setDependency(
+				List<Entry<CustomFunctions, CustomFunctions>> dependencies,
+				CustomFunctions cf1, CustomFunctions cf2) {
 			Entry<CustomFunctions, CustomFunctions> pair = new SimpleEntry<>(
 					cf1, cf2);
-			CustomFunctionsDependencies.add(pair);
-		}
-
-		/**
-		 * Create dependencies between two CAS custom functions. This is
-		 * required to ensure that all dependencies will be loaded when a custom
-		 * function is loaded.
-		 */
-		public static void setDependencies() {
-			CustomFunctionsDependencies = new ArrayList<>();
-			setDependency(IMPLICIT_CURVE_COEFFS, COEFF_MATRIX);
-			setDependency(IMPLICIT_CURVE_COEFFS, COEFF_MATRICES);
-			setDependency(IMPLICIT_CURVE_COEFFS, FACTOR_SQR_FREE);
-			setDependency(GEOM_ELIM, PRIM_POLY);
-			setDependency(LOCUS_EQU, IMPLICIT_CURVE_COEFFS);
-			setDependency(LOCUS_EQU, GEOM_ELIM);
-			setDependency(LOCUS_EQU, JACOBI_PREPARE);
-			setDependency(ENVELOPE_EQU, LOCUS_EQU);
-			setDependency(ENVELOPE_EQU, GEOM_JACOBI_DET);
-			setDependency(GEOM_JACOBI_DET, JACOBI_PREPARE);
-			setDependency(GEOM_JACOBI_DET, JACOBI_DET);
-			setDependency(AFACTOR_ALG_NUM, IRRED);
-			setDependency(ABSFACT, AFACTOR_ALG_NUM);
-			setDependency(COS_2PI_OVER_N_MINPOLY, FACTOR_SQR_FREE);
+			dependencies.add(pair);
 		}
 
 		/**
@@ -460,7 +466,7 @@ public abstract class CASgiac implements CASGenericInterface {
 		public static ArrayList<CustomFunctions> prereqs(
 				CustomFunctions cf) {
 			ArrayList<CustomFunctions> list = new ArrayList<>();
-			for (Entry<CustomFunctions, CustomFunctions> pair : CustomFunctionsDependencies) {
+			for (Entry<CustomFunctions, CustomFunctions> pair : DEPENDENCIES) {
 				CustomFunctions key = pair.getKey();
 				CustomFunctions value = pair.getValue();
 				if (key.equals(cf)) {
@@ -681,6 +687,17 @@ public abstract class CASgiac implements CASGenericInterface {
 
 	}
 
+	/**
+	 * While an algo is computed in async mode, results are requested from
+	 * the kernel's CAS job queue.
+	 */
+	private String evaluateCAS(String giacInput, Kernel kernel) {
+		if (kernel != null && kernel.getCasJobQueue().isRequesting()) {
+			return kernel.getCasJobQueue().evaluate(giacInput, this);
+		}
+		return evaluateCAS(giacInput);
+	}
+
 	private String getPlainResult(ValidExpression casInput, Kernel kernel) {
 		// KeepInput[] command should set flag keepinput!!:=1
 		// so that commands like Substitute can work accordingly
@@ -710,7 +727,7 @@ public abstract class CASgiac implements CASGenericInterface {
 				StringTemplate.giacTemplate, this);
 
 		// evaluate in Giac
-		String plainResult = evaluateCAS(giacInput);
+		String plainResult = evaluateCAS(giacInput, kernel);
 
 		// try again for undefined result
 		// eg Numeric(0.99999874^(16500))
@@ -721,7 +738,7 @@ public abstract class CASgiac implements CASGenericInterface {
 					StringTemplate.giacNumeric13, this);
 
 			// evaluate in Giac
-			plainResult = evaluateCAS(giacInput);
+			plainResult = evaluateCAS(giacInput, kernel);
 
 		}
 
@@ -1344,6 +1361,19 @@ public abstract class CASgiac implements CASGenericInterface {
 
 	}
 
+	/**
+	 * Arbitrary constants must be globally unique, also when several CAS
+	 * instances post-process results at the same time.
+	 * 
+	 * @param count
+	 *            upper bound on number of constants in a result
+	 * @return offset for the constants of the result
+	 */
+	private static synchronized int reserveReplacedConst(int count) {
+		nrOfReplacedConst += count;
+		return nrOfReplacedConst;
+	}
+
 	/**
 	 * various improvements and hack for Giac's output
 	 * 
@@ -1413,11 +1443,10 @@ public abstract class CASgiac implements CASGenericInterface {
 			// TODO with the current lookup constant numbers need to be globally
 			// unique -- we should reset the lookup table for each computation
 			// instead (e.g. revert r19766)
-			nrOfReplacedConst += ret.length() * 3; // upper bound on number of
-													// constants in result
+			// upper bound on number of constants in result
+			int offset = reserveReplacedConst(ret.length() * 3);
 			Log.debug("replacing arbitrary constants in " + ret);
-			ret = ret.replaceAll("c_([0-9]*)",
-					"arbconst($1+" + nrOfReplacedConst + ")");
+			ret = ret.replaceAll("c_([0-9]*)", "arbconst($1+" + offset + ")");
 		}
 
 		if (ret.indexOf("n_") > -1) {
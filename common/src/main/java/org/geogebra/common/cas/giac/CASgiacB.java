@@ -1,6 +1,8 @@
 package org.geogebra.common.cas.giac;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 
 import org.geogebra.common.cas.CASparser;
 import org.geogebra.common.cas.error.TimeoutException;
@@ -17,10 +19,13 @@ public abstract class CASgiacB extends CASgiac {
     /**
      * Giac's context.
      */
-    private Context context;
+    private GiacSession session;
 	/** result from thread */
     protected String threadResult;
 
+	/** whether the context stays initialized between evaluations */
+	private volatile boolean sessionMode = false;
+
 	/**
 	 * @param casParser
 	 *            parser
@@ -41,7 +46,7 @@ public abstract class CASgiacB extends CASgiac {
     protected void createContext() {
         try {
             CASGiacBinding binding = createBinding();
-            context = binding.createContext();
+            session = new GiacSession(binding.createContext());
         } catch (Throwable e) {
             Log.error("CAS not available: " + e.getMessage());
         }
@@ -53,15 +58,38 @@ public abstract class CASgiacB extends CASgiac {
     }
 
     /**
+     * @param giacSession         context to evaluate in
      * @param exp0                String to send to Giac
      * @param timeoutMilliseconds timeout in milliseconds
      * @return String from Giac
      */
-    final String evalRaw(String exp0, long timeoutMilliseconds) {
+	protected final String evalRaw(GiacSession giacSession, String exp0,
+			long timeoutMilliseconds) {
+		try {
+			String ret = evalRawInSession(giacSession, exp0,
+					timeoutMilliseconds);
+			if (ret != null && ret.contains("user interruption")) {
+				// the evaluation may have been stopped at any point
+				giacSession.reset();
+			}
+			return ret;
+		} catch (RuntimeException e) {
+			giacSession.reset();
+			throw e;
+		}
+	}
+
+	private String evalRawInSession(GiacSession giacSession, String exp0,
+			long timeoutMilliseconds) {
         CASGiacBinding binding = createBinding();
-        // #5439
-        // reset Giac before each call
-        init(exp0, timeoutMilliseconds);
+		Context context = giacSession.getContext();
+		if (sessionMode) {
+			initSession(binding, giacSession, exp0, timeoutMilliseconds);
+		} else {
+			// #5439
+			// reset Giac before each call
+			init(context, exp0, timeoutMilliseconds);
+		}
 
         String exp = wrapInevalfa(exp0);
 
@@ -73,6 +101,10 @@ public abstract class CASgiacB extends CASgiac {
 
 		debug("giac evalRaw output: ", ret);
 
+		if (sessionMode) {
+			purgeSessionVariables(binding, giacSession);
+		}
+
         if (ret != null && ret.startsWith("\"") && ret.endsWith("\"")) {
             ret = ret.substring(1, ret.length() - 1);
         }
@@ -91,13 +123,13 @@ public abstract class CASgiacB extends CASgiac {
 
 	}
 
-	private void init(String exp, long timeoutMilliseconds) {
+	private void init(Context context, String exp,
+			long timeoutMilliseconds) {
         CASGiacBinding binding = createBinding();
         Gen g = binding.createGen(initString, context);
         g.eval(1, context);
 
         CustomFunctions[] init = CustomFunctions.values();
-		CustomFunctions.setDependencies();
 
         for (int i = 0; i < init.length; i++) {
             CustomFunctions function = init[i];
@@ -135,6 +167,127 @@ public abstract class CASgiacB extends CASgiac {
         g.eval(1, context);
     }
 
+	/**
+	 * In session mode the context is initialized once; later evaluations only
+	 * define the custom functions they need in addition, set the timeout if it
+	 * changed and reseed the random generator. Variables assigned by an
+	 * evaluation are purged afterwards, so evaluations stay independent.
+	 * Desktop enables it with the command line option --giacSession=true.
+	 * 
+	 * @param sessionMode
+	 *            whether to keep the context initialized between evaluations
+	 */
+	public void setSessionMode(boolean sessionMode) {
+		this.sessionMode = sessionMode;
+		resetSession();
+	}
+
+	/**
+	 * @return whether the context is kept initialized between evaluations
+	 */
+	public boolean isSessionMode() {
+		return sessionMode;
+	}
+
+	/**
+	 * Make sure the contexts are initialized again before the next evaluation
+	 * in session mode.
+	 */
+	public void resetSession() {
+		if (session != null) {
+			session.reset();
+		}
+	}
+
+	private void initSession(CASGiacBinding binding, GiacSession giacSession,
+			String exp, long timeoutMilliseconds) {
+		Context context = giacSession.getContext();
+		boolean defined = false;
+		if (!giacSession.isInitialized()) {
+			evalInContext(binding, context, initString);
+			giacSession.functions = EnumSet.noneOf(CustomFunctions.class);
+			for (CustomFunctions function : CustomFunctions.values()) {
+				if (function.functionName == null) {
+					evalInContext(binding, context,
+							function.definitionString);
+					giacSession.functions.add(function);
+				}
+			}
+			giacSession.timeout = -1;
+			defined = true;
+		}
+		EnumSet<CustomFunctions> functions = giacSession.functions;
+		for (CustomFunctions function : CustomFunctions.values()) {
+			if (!functions.contains(function)
+					&& exp.indexOf(function.functionName) > -1) {
+				evalInContext(binding, context, function.definitionString);
+				functions.add(function);
+				for (CustomFunctions dep : CustomFunctions.prereqs(function)) {
+					if (functions.add(dep)) {
+						evalInContext(binding, context, dep.definitionString);
+					}
+				}
+				defined = true;
+			}
+		}
+		if (defined) {
+			giacSession.variables = getVariables(binding, context);
+		}
+		if (timeoutMilliseconds != giacSession.timeout) {
+			evalInContext(binding, context,
+					"\"timeout " + (timeoutMilliseconds / 1000) + "\"");
+			giacSession.timeout = timeoutMilliseconds;
+		}
+		// reseed for each evaluation as without session
+		evalInContext(binding, context,
+				"srand(" + rand.nextInt(Integer.MAX_VALUE) + ")");
+	}
+
+	private void purgeSessionVariables(CASGiacBinding binding,
+			GiacSession giacSession) {
+		Context context = giacSession.getContext();
+		StringBuilder purge = new StringBuilder();
+		for (String variable : getVariables(binding, context)) {
+			if (!giacSession.variables.contains(variable)) {
+				purge.append(purge.length() == 0 ? "purge(" : ",");
+				purge.append(variable);
+			}
+		}
+		if (purge.length() > 0) {
+			purge.append(')');
+			evalInContext(binding, context, purge.toString());
+		}
+	}
+
+	/**
+	 * @return names of all assigned variables (including functions)
+	 */
+	private static HashSet<String> getVariables(CASGiacBinding binding,
+			Context context) {
+		Gen g = binding.createGen("VARS()", context);
+		String vars = g.eval(1, context).print(context);
+		HashSet<String> names = new HashSet<>();
+		int start = -1;
+		for (int i = 0; i <= vars.length(); i++) {
+			char c = i < vars.length() ? vars.charAt(i) : ' ';
+			boolean nameChar = Character.isLetterOrDigit(c) || c == '_';
+			if (nameChar && start < 0) {
+				start = i;
+			} else if (!nameChar && start >= 0) {
+				if (!Character.isDigit(vars.charAt(start))) {
+					names.add(vars.substring(start, i));
+				}
+				start = -1;
+			}
+		}
+		return names;
+	}
+
+	private static void evalInContext(CASGiacBinding binding, Context context,
+			String giacInput) {
+		binding.createGen(giacInput, context).eval(1, context);
+	}
+
     @Override
     public String evaluateCAS(String input) {
         // don't need to replace Unicode when sending to JNI
@@ -154,18 +307,7 @@ public abstract class CASgiacB extends CASgiac {
     @Override
     protected String evaluate(final String exp, final long timeoutMillis0)
             throws Throwable {
-        Runnable evalFunction = new Runnable() {
-            @Override
-            public void run() {
-                threadResult = evalRaw(exp, timeoutMillis0);
-            }
-        };
-
-        threadResult = null;
-
-        callEvaluateFunction(evalFunction);
-
-        String ret = postProcess(threadResult);
+        String ret = postProcess(evaluateInContext(exp, timeoutMillis0));
 
         // Log.debug("giac output: " + ret);
         if (ret.contains("user interruption")) {
@@ -176,6 +318,38 @@ public abstract class CASgiacB extends CASgiac {
         return ret;
     }
 
+	/**
+	 * Evaluates the expression in this CAS's own context using
+	 * {@link #callEvaluateFunction(Runnable)}; subclasses may use other
+	 * contexts.
+	 * 
+	 * @param exp
+	 *            Giac command
+	 * @param timeoutMillis0
+	 *            Giac timeout in milliseconds
+	 * @return raw result
+	 * @throws Throwable
+	 *             exception
+	 */
+	protected String evaluateInContext(final String exp,
+			final long timeoutMillis0) throws Throwable {
+		// evaluations may be requested by several threads
+		final String[] result = new String[1];
+		Runnable evalFunction = new Runnable() {
+			@Override
+			public void run() {
+				result[0] = evalRaw(session, exp, timeoutMillis0);
+				threadResult = result[0];
+			}
+		};
+
+		threadResult = null;
+
+		callEvaluateFunction(evalFunction);
+
+		return result[0];
+	}
+
 	/**
 	 * @param evaluateFunction
 	 *            function
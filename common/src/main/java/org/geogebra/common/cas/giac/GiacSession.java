@@ -0,0 +1,61 @@
+package org.geogebra.common.cas.giac;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+
+import org.geogebra.common.cas.giac.CASgiac.CustomFunctions;
+import org.geogebra.common.cas.giac.binding.Context;
+
+/**
+ * Giac context together with the definitions that were sent to it in session
+ * mode. A session must only be used by one thread at a time.
+ */
+public class GiacSession {
+
+	private final Context context;
+	/**
+	 * custom functions defined in the context, null if the context needs to
+	 * be initialized
+	 */
+	EnumSet<CustomFunctions> functions;
+	/** variables of the initialized context, others are purged */
+	HashSet<String> variables;
+	/** timeout sent to the context */
+	long timeout;
+	private volatile boolean resetRequested = false;
+
+	/**
+	 * @param context
+	 *            Giac context
+	 */
+	public GiacSession(Context context) {
+		this.context = context;
+	}
+
+	/**
+	 * @return Giac context
+	 */
+	public Context getContext() {
+		return context;
+	}
+
+	/**
+	 * Make sure the context is initialized again before the next evaluation;
+	 * may be called from any thread.
+	 */
+	public void reset() {
+		resetRequested = true;
+	}
+
+	/**
+	 * @return whether the context was initialized and no reset was requested
+	 *         since
+	 */
+	boolean isInitialized() {
+		if (resetRequested) {
+			resetRequested = false;
+			functions = null;
+		}
+		return functions != null;
+	}
+}
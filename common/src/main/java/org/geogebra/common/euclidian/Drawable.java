@@ -202,6 +202,16 @@ public abstract class Drawable extends DrawableND {
 		return null;
 	}
 
+	/**
+	 * Bounds for hit testing: {@link #hit(int, int, int)} may only return
+	 * true for points within twice the hit threshold of these bounds.
+	 * 
+	 * @return bounds in screen coordinates, null if not known
+	 */
+	public GRectangle getHitBounds() {
+		return null;
+	}
+
 	/**
 	 * Returns the minimum width of drawable
 	 * 
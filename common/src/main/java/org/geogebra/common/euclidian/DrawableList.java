@@ -29,6 +29,8 @@ public class DrawableList implements Iterable<Drawable> {
 	public Link head;
 	private Link tail;
 	private int size = 0;
+	/** changed when drawables are added, removed or all updated */
+	private int version = 0;
 
 	/**
 	 * Number of drawables in list
@@ -39,6 +41,14 @@ public class DrawableList implements Iterable<Drawable> {
 		return size;
 	}
 
+	/**
+	 * @return number that changes whenever drawables are added, removed or
+	 *         all drawables are updated
+	 */
+	public final int getVersion() {
+		return version;
+	}
+
 	/**
 	 * Inserts d at the end of the list.
 	 * 
@@ -102,6 +112,7 @@ public class DrawableList implements Iterable<Drawable> {
 
 		}
 		size++;
+		version++;
 	}
 
 	/**
@@ -159,6 +170,7 @@ public class DrawableList implements Iterable<Drawable> {
 					}
 				}
 				size--;
+				version++;
 				return;
 			}
 			// not yet found
@@ -193,6 +205,7 @@ public class DrawableList implements Iterable<Drawable> {
 	 * Updates all drawables in list
 	 */
 	public final void updateAll() {
+		version++;
 		Link cur = head;
 		while (cur != null) {
 			cur.d.update();
@@ -204,6 +217,7 @@ public class DrawableList implements Iterable<Drawable> {
 	 * Update all elements when view was updated
 	 */
 	public final void updateAllForView() {
+		version++;
 		Link cur = head;
 		while (cur != null) {
 			cur.d.updateForView();
@@ -215,6 +229,7 @@ public class DrawableList implements Iterable<Drawable> {
 	 * Updates fot size for all drawables in list
 	 */
 	public final void updateFontSizeAll() {
+		version++;
 		Link cur = head;
 		while (cur != null) {
 			cur.d.updateFontSize();
@@ -229,6 +244,7 @@ public class DrawableList implements Iterable<Drawable> {
 		head = null;
 		tail = null;
 		size = 0;
+		version++;
 	}
 
 	/**
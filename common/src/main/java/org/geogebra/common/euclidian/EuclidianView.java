@@ -1213,9 +1213,24 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 */
 	public double[] getOnScreenDiff(double[] p1, double[] p2) {
 		double[] ret = new double[2];
+		getOnScreenDiff(p1, p2, ret);
+		return ret;
+	}
+
+	/**
+	 * @param p1
+	 *            first point
+	 * @param p2
+	 *            second point
+	 * @param ret
+	 *            output array for (p2-p1) vector in screen coordinates
+	 */
+	public void getOnScreenDiff(double[] p1, double[] p2, double[] ret) {
 		ret[0] = (p2[0] - p1[0]) * getXscale();
 		ret[1] = (p2[1] - p1[1]) * getYscale();
-		return ret;
+		for (int i = 2; i < ret.length; i++) {
+			ret[i] = 0;
+		}
 	}
 
 	/**
@@ -1883,6 +1898,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		Object d = drawableMap.get(geo);
 		if (d != null) {
 			((Drawable) d).update();
+			hitDetector.drawableUpdated((Drawable) d);
 			repaint();
 		}
 	}
@@ -1903,6 +1919,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 						|| this.updateBackgroundOnNextRepaint;
 				return;
 			}
+			if (d instanceof Drawable) {
+				hitDetector.drawableUpdated((Drawable) d);
+			}
 			if (!needsSynchUpdate(geo, d.isTracing())) {
 				d.setNeedsUpdate(true);
 				return;
@@ -2214,6 +2233,11 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		if (p == null || getEuclidianController().isMultiSelection()) {
 			return null;
 		}
+		if (getBoundingBox() == null) {
+			// only the drawable owning the bounding box of this view can be hit
+			hitHandler = EuclidianBoundingBoxHandler.UNDEFINED;
+			return null;
+		}
 		DrawableIterator it = allDrawableList.getIterator();
 		while (it.hasNext()) {
 			Drawable d = it.next();
@@ -3551,6 +3575,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			// if (isSVGExtensions)
 			// ((geogebra.export.SVGExtensions)g2).endGroup("layer "+layer);
 		}
+		hitDetector.objectsDrawn();
 		if (getEuclidianController().isMultiSelection()) {
 			getEuclidianController()
 					.setBoundingBoxFromList(app.getSelectionManager().getSelectedGeos());
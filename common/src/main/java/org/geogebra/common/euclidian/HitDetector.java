@@ -1,6 +1,7 @@
 package org.geogebra.common.euclidian;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 
 import org.geogebra.common.awt.GPoint;
 import org.geogebra.common.awt.GRectangle;
@@ -19,11 +20,56 @@ public class HitDetector {
 	private ArrayList<GeoElement> hitLabel;
 	private final EuclidianView view;
 	private Hits hits;
+	private HitIndex index;
+	private boolean indexEnabled = true;
+	private final ArrayList<Drawable> candidates = new ArrayList<>();
 
 	public HitDetector(EuclidianView view) {
 		this.view = view;
 	}
 
+	/**
+	 * @param enabled
+	 *            whether to use spatial index to find drawables under the
+	 *            pointer (otherwise all drawables are checked)
+	 */
+	public void setIndexEnabled(boolean enabled) {
+		this.indexEnabled = enabled;
+		if (!enabled) {
+			index = null;
+		}
+	}
+
+	/**
+	 * @return spatial index of drawables, null if disabled
+	 */
+	public HitIndex getIndex() {
+		if (index == null && indexEnabled) {
+			index = new HitIndex(view.allDrawableList);
+		}
+		return index;
+	}
+
+	/**
+	 * @param drawable
+	 *            drawable that was updated (or will be updated on next
+	 *            repaint)
+	 */
+	public void drawableUpdated(Drawable drawable) {
+		if (index != null) {
+			index.update(drawable);
+		}
+	}
+
+	/**
+	 * Notifies the detector that drawables were painted.
+	 */
+	public void objectsDrawn() {
+		if (index != null) {
+			index.objectsDrawn();
+		}
+	}
+
 	private void setHits(GPoint p, int hitThreshold) {
 		hits.init();
 		if (hitPointOrBoundary == null) {
@@ -39,7 +85,14 @@ public class HitDetector {
 			return;
 		}
 		boolean hitMask = false;
-		DrawableIterator it = view.allDrawableList.getIterator();
+		Iterator<Drawable> it;
+		HitIndex hitIndex = getIndex();
+		if (hitIndex == null) {
+			it = view.allDrawableList.getIterator();
+		} else {
+			hitIndex.getCandidates(p.x, p.y, hitThreshold, candidates);
+			it = candidates.iterator();
+		}
 		while (it.hasNext()) {
 			Drawable d = it.next();
 			if (d.isEuclidianVisible()) {
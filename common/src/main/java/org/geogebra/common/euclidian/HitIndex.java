@@ -0,0 +1,286 @@
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import org.geogebra.common.awt.GRectangle;
+import org.geogebra.common.euclidian.DrawableList.DrawableIterator;
+
+/**
+ * Uniform grid of drawable bounds in screen coordinates, used to find
+ * candidates for hit testing without checking every drawable of the view.
+ *
+ * Drawables without hit bounds (see {@link Drawable#getHitBounds()}) and
+ * drawables covering many cells are always returned as candidates. The whole
+ * index is rebuilt lazily when the list of drawables changed or all drawables
+ * were updated; single drawables are reindexed when they are updated.
+ */
+public class HitIndex {
+
+	/** cell size in pixels */
+	private static final int CELL_SIZE = 32;
+	/** drawables covering more cells are not stored in cells */
+	private static final int MAX_CELLS = 64;
+	/** cell coordinates are clamped to +/- this value */
+	private static final int MAX_CELL_COORD = 0x7FFF;
+
+	private static final Comparator<Entry> ORDER = new Comparator<Entry>() {
+
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			return o1.order - o2.order;
+		}
+	};
+
+	private final DrawableList drawables;
+	private final HashMap<Integer, ArrayList<Entry>> cells = new HashMap<>();
+	private final HashMap<Drawable, Entry> entries = new HashMap<>();
+	/** entries that need to be checked for every query */
+	private final ArrayList<Entry> unindexed = new ArrayList<>();
+	/** drawables updated since the objects were last drawn */
+	private final HashSet<Drawable> updated = new HashSet<>();
+	/** drawables updated before the objects were last drawn */
+	private final HashSet<Drawable> drawn = new HashSet<>();
+	private final ArrayList<Entry> candidates = new ArrayList<>();
+	private int version = -1;
+	private int queryStamp = 0;
+	private int rebuildCount = 0;
+
+	private static class Entry {
+		protected final Drawable drawable;
+		protected final int order;
+		protected int minCellX;
+		protected int minCellY;
+		protected int maxCellX;
+		protected int maxCellY;
+		protected double minX;
+		protected double minY;
+		protected double maxX;
+		protected double maxY;
+		protected boolean inCells;
+		protected int stamp;
+
+		protected Entry(Drawable drawable, int order) {
+			this.drawable = drawable;
+			this.order = order;
+		}
+	}
+
+	/**
+	 * @param drawables
+	 *            indexed list
+	 */
+	public HitIndex(DrawableList drawables) {
+		this.drawables = drawables;
+	}
+
+	/**
+	 * Marks drawable as changed, bounds may change again when it's drawn.
+	 *
+	 * @param drawable
+	 *            updated drawable
+	 */
+	public void update(Drawable drawable) {
+		if (entries.containsKey(drawable)) {
+			updated.add(drawable);
+		}
+	}
+
+	/**
+	 * Notifies the index that drawables were drawn; label bounds are only
+	 * known after drawing.
+	 */
+	public void objectsDrawn() {
+		drawn.addAll(updated);
+		updated.clear();
+	}
+
+	/**
+	 * Removes all drawables from index, it will be rebuilt on next query.
+	 */
+	public void invalidate() {
+		version = -1;
+	}
+
+	/**
+	 * Collects drawables that may be hit at given point, in the order of the
+	 * drawable list.
+	 *
+	 * @param x
+	 *            screen x-coord
+	 * @param y
+	 *            screen y-coord
+	 * @param hitThreshold
+	 *            hit threshold
+	 * @param result
+	 *            list for results, cleared before adding
+	 */
+	public void getCandidates(int x, int y, int hitThreshold,
+			ArrayList<Drawable> result) {
+		validate();
+		result.clear();
+		candidates.clear();
+		queryStamp++;
+		int radius = 2 * hitThreshold;
+		double minX = x - radius;
+		double minY = y - radius;
+		double maxX = x + radius;
+		double maxY = y + radius;
+		int maxCellX = toCell(maxX);
+		int maxCellY = toCell(maxY);
+		for (int cx = toCell(minX); cx <= maxCellX; cx++) {
+			for (int cy = toCell(minY); cy <= maxCellY; cy++) {
+				ArrayList<Entry> cell = cells.get(key(cx, cy));
+				if (cell == null) {
+					continue;
+				}
+				for (Entry entry : cell) {
+					if (entry.stamp != queryStamp && entry.minX <= maxX
+							&& entry.maxX >= minX && entry.minY <= maxY
+							&& entry.maxY >= minY) {
+						entry.stamp = queryStamp;
+						candidates.add(entry);
+					}
+				}
+			}
+		}
+		candidates.addAll(unindexed);
+		Collections.sort(candidates, ORDER);
+		for (Entry entry : candidates) {
+			result.add(entry.drawable);
+		}
+	}
+
+	/**
+	 * @return number of drawables in cells (not checked for every query)
+	 */
+	public int getIndexedCount() {
+		validate();
+		return entries.size() - unindexed.size();
+	}
+
+	private void validate() {
+		if (version != drawables.getVersion()) {
+			rebuild();
+			return;
+		}
+		for (Drawable drawable : updated) {
+			// view may postpone the update until next repaint
+			drawable.updateIfNeeded();
+			reindex(entries.get(drawable));
+		}
+		for (Drawable drawable : drawn) {
+			if (!updated.contains(drawable)) {
+				reindex(entries.get(drawable));
+			}
+		}
+		drawn.clear();
+	}
+
+	/**
+	 * For tests only.
+	 *
+	 * @return how many times the whole index was built
+	 */
+	int getRebuildCount() {
+		return rebuildCount;
+	}
+
+	private void rebuild() {
+		rebuildCount++;
+		cells.clear();
+		entries.clear();
+		unindexed.clear();
+		updated.clear();
+		drawn.clear();
+		DrawableIterator it = drawables.getIterator();
+		int order = 0;
+		while (it.hasNext()) {
+			Drawable drawable = it.next();
+			Entry entry = new Entry(drawable, order++);
+			entries.put(drawable, entry);
+			add(entry);
+		}
+		version = drawables.getVersion();
+	}
+
+	private void reindex(Entry entry) {
+		if (entry == null) {
+			return;
+		}
+		if (entry.inCells) {
+			for (int cx = entry.minCellX; cx <= entry.maxCellX; cx++) {
+				for (int cy = entry.minCellY; cy <= entry.maxCellY; cy++) {
+					cells.get(key(cx, cy)).remove(entry);
+				}
+			}
+		} else {
+			unindexed.remove(entry);
+		}
+		add(entry);
+	}
+
+	private void add(Entry entry) {
+		entry.inCells = setBounds(entry);
+		if (!entry.inCells) {
+			unindexed.add(entry);
+			return;
+		}
+		for (int cx = entry.minCellX; cx <= entry.maxCellX; cx++) {
+			for (int cy = entry.minCellY; cy <= entry.maxCellY; cy++) {
+				Integer key = key(cx, cy);
+				ArrayList<Entry> cell = cells.get(key);
+				if (cell == null) {
+					cell = new ArrayList<>();
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+			}
+		}
+	}
+
+	/**
+	 * @return whether the entry can be stored in cells
+	 */
+	private static boolean setBounds(Entry entry) {
+		GRectangle bounds = entry.drawable.getHitBounds();
+		if (bounds == null) {
+			return false;
+		}
+		entry.minX = bounds.getX();
+		entry.minY = bounds.getY();
+		entry.maxX = entry.minX + bounds.getWidth();
+		entry.maxY = entry.minY + bounds.getHeight();
+		GRectangle label = entry.drawable.labelRectangle;
+		if (label != null && label.getWidth() > 0 && label.getHeight() > 0) {
+			entry.minX = Math.min(entry.minX, label.getX());
+			entry.minY = Math.min(entry.minY, label.getY());
+			entry.maxX = Math.max(entry.maxX, label.getX() + label.getWidth());
+			entry.maxY = Math.max(entry.maxY,
+					label.getY() + label.getHeight());
+		}
+		if (Double.isNaN(entry.minX) || Double.isNaN(entry.minY)
+				|| Double.isNaN(entry.maxX) || Double.isNaN(entry.maxY)) {
+			return false;
+		}
+		entry.minCellX = toCell(entry.minX);
+		entry.minCellY = toCell(entry.minY);
+		entry.maxCellX = toCell(entry.maxX);
+		entry.maxCellY = toCell(entry.maxY);
+		return (entry.maxCellX - entry.minCellX + 1)
+				* (entry.maxCellY - entry.minCellY + 1) <= MAX_CELLS;
+	}
+
+	private static int toCell(double coord) {
+		double cell = Math.floor(coord / CELL_SIZE);
+		return (int) Math.max(-MAX_CELL_COORD,
+				Math.min(MAX_CELL_COORD, cell));
+	}
+
+	private static Integer key(int cellX, int cellY) {
+		return (cellX << 16) ^ (cellY & 0xFFFF);
+	}
+}
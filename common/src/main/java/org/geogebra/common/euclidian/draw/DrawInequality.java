@@ -6,8 +6,10 @@ import java.util.Map;
 import java.util.TreeSet;
 
 import org.geogebra.common.awt.GArea;
+import org.geogebra.common.awt.GGeneralPath;
 import org.geogebra.common.awt.GGraphics2D;
 import org.geogebra.common.awt.GRectangle;
+import org.geogebra.common.awt.GShape;
 import org.geogebra.common.euclidian.Drawable;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.GeneralPathClipped;
@@ -53,6 +55,14 @@ public class DrawInequality extends Drawable {
 	private DrawInequality1Var min;
 	private ArrayList<Pair<Map<Double, Drawable>>> orBounds = new ArrayList<>();
 	private GeneralPathClipped[] gpAxis;
+	/** whether the shapes of the subtrees are combined into this shape */
+	private boolean combineShapes = true;
+	private InequalityShading shading;
+	/** fill path of compound inequalities, replaces the shape */
+	private GGeneralPath shadingPath;
+	private boolean shadingEnabled = true;
+	/** index of the shape of a simple inequality for the shading */
+	private int shapeIndex;
 
 	/**
 	 * Creates new drawable linear inequality
@@ -67,12 +77,14 @@ public class DrawInequality extends Drawable {
 		geo = (GeoElement) function;
 		this.function = function;
 		operation = function.getIneqs().getOperation();
+		combineShapes = !useShading();
 		if (function.getIneqs().getLeft() != null) {
-			left = new DrawInequality(function.getIneqs().getLeft(), view, geo);
+			left = new DrawInequality(function.getIneqs().getLeft(), view, geo,
+					combineShapes);
 		}
 		if (function.getIneqs().getRight() != null) {
 			right = new DrawInequality(function.getIneqs().getRight(), view,
-					geo);
+					geo, combineShapes);
 		}
 		if (function.getIneqs().getIneq() != null) {
 			ineq = function.getIneqs().getIneq();
@@ -389,13 +401,39 @@ public class DrawInequality extends Drawable {
 
 	}
 
-	private DrawInequality(IneqTree tree, EuclidianView view, GeoElement geo) {
+	private DrawInequality(IneqTree tree, EuclidianView view, GeoElement geo,
+			boolean combineShapes) {
 		this.view = view;
 		this.geo = geo;
+		this.combineShapes = combineShapes;
 		setForceNoFill(true);
 		updateRecursive(tree);
 	}
 
+	/**
+	 * Compound inequalities are shaded by combining the shapes of the simple
+	 * inequalities along scanlines, combining their areas is too slow.
+	 * 
+	 * @return whether the fill is computed by {@link InequalityShading}
+	 */
+	private boolean useShading() {
+		if (!shadingEnabled || isForceNoFill() || function.getIneqs()
+				.getOperation().equals(Operation.NO_OPERATION)) {
+			return false;
+		}
+		if (geo instanceof GeoFunction) {
+			return !isShownOnAxis();
+		}
+		return function.getFunction() != null
+				&& function.getFunction().getVarNumber() == 2;
+	}
+
+	private boolean isShownOnAxis() {
+		return (geo instanceof GeoFunction) && ((GeoFunction) geo).showOnAxis()
+				&& !"y".equals(((GeoFunction) geo)
+						.getVarString(StringTemplate.defaultTemplate));
+	}
+
 	@Override
 	final public void update() {
 		// take line g here, not geo this object may be used for conics too
@@ -406,11 +444,32 @@ public class DrawInequality extends Drawable {
 		labelVisible = geo.isLabelVisible();
 
 		// init gp
+		boolean shade = useShading();
+		if (shade == combineShapes) {
+			setCombineShapes(!shade);
+		}
 		updateRecursive(function.getIneqs());
+		if (shade) {
+			if (shading == null) {
+				shading = new InequalityShading(view);
+			}
+			shadingPath = shading.update(new InequalityShading.Region() {
+
+				@Override
+				public void collectShapes(ArrayList<GShape> shapes) {
+					collectLeafShapes(shapes);
+				}
+
+				@Override
+				public boolean contains(boolean[] insideShapes) {
+					return containsLeaves(insideShapes) != geo.isInverseFill();
+				}
+			});
+		} else {
+			shadingPath = null;
+		}
 		labelDesc = geo.getLabelDescription();
-		if ((geo instanceof GeoFunction) && ((GeoFunction) geo).showOnAxis()
-				&& !"y".equals(((GeoFunction) geo)
-						.getVarString(StringTemplate.defaultTemplate))) {
+		if (isShownOnAxis()) {
 			TreeSet<Double> zeros = new TreeSet<>();
 			((GeoFunction) geo).getIneqs().getZeros(zeros);
 			// radius of the dots
@@ -463,10 +522,78 @@ public class DrawInequality extends Drawable {
 
 	}
 
+	/**
+	 * For tests only.
+	 * 
+	 * @param enabled
+	 *            whether compound inequalities may use
+	 *            {@link InequalityShading}, otherwise the areas are combined
+	 */
+	void setShadingEnabled(boolean enabled) {
+		shadingEnabled = enabled;
+	}
+
+	private void collectLeafShapes(ArrayList<GShape> shapes) {
+		if (operation == Operation.NO_OPERATION) {
+			shapeIndex = shapes.size();
+			if (drawable instanceof DrawParametricInequality) {
+				shapes.add(((DrawParametricInequality) drawable).getFillShape());
+			} else {
+				shapes.add(drawable == null ? null : drawable.getShape());
+			}
+			return;
+		}
+		if (left != null) {
+			left.collectLeafShapes(shapes);
+		}
+		if (right != null) {
+			right.collectLeafShapes(shapes);
+		}
+	}
+
+	private boolean containsLeaves(boolean[] insideShapes) {
+		switch (operation) {
+		case NO_OPERATION:
+			return insideShapes[shapeIndex];
+		case AND:
+		case AND_INTERVAL:
+			return left.containsLeaves(insideShapes)
+					&& right.containsLeaves(insideShapes);
+		case OR:
+			return left.containsLeaves(insideShapes)
+					|| right.containsLeaves(insideShapes);
+		case EQUAL_BOOLEAN:
+			return left.containsLeaves(insideShapes) == right
+					.containsLeaves(insideShapes);
+		case NOT_EQUAL:
+		case XOR:
+			return left.containsLeaves(insideShapes) != right
+					.containsLeaves(insideShapes);
+		case NOT:
+			return !left.containsLeaves(insideShapes);
+		default:
+			return false;
+		}
+	}
+
+	private void setCombineShapes(boolean combine) {
+		combineShapes = combine;
+		if (left != null) {
+			left.setCombineShapes(combine);
+		}
+		if (right != null) {
+			right.setCombineShapes(combine);
+		}
+	}
+
 	private void updateRecursive(IneqTree it) {
 		updateTrees(it);
 		operation = it.getOperation();
-		updateShape();
+		if (combineShapes) {
+			updateShape();
+		} else if (operation != Operation.NO_OPERATION) {
+			setShape(null);
+		}
 		if (left != null) {
 			yLabel = left.yLabel;
 			xLabel = left.xLabel;
@@ -488,11 +615,12 @@ public class DrawInequality extends Drawable {
 				}
 			}
 			drawable.update();
-			setShape(drawable.getShape());
+			// shapes of borders are built on demand
+			setShape(combineShapes ? drawable.getShape() : null);
 			xLabel = drawable.xLabel;
 			yLabel = drawable.yLabel;
 		}
-		if (geo.isInverseFill() && !isForceNoFill()) {
+		if (geo.isInverseFill() && !isForceNoFill() && combineShapes) {
 			GArea b = AwtFactory.getPrototype().newArea(view.getBoundingPath());
 			b.subtract(getShape());
 			setShape(b);
@@ -560,7 +688,8 @@ public class DrawInequality extends Drawable {
 
 	private void updateTrees(IneqTree it) {
 		if (it.getLeft() != null && left == null) {
-			left = new DrawInequality(it.getLeft(), view, geo);
+			left = new DrawInequality(it.getLeft(), view, geo,
+					combineShapes);
 		}
 		if (it.getLeft() != null) {
 			left.updateRecursive(it.getLeft());
@@ -568,7 +697,8 @@ public class DrawInequality extends Drawable {
 			left = null;
 		}
 		if (it.getRight() != null && right == null) {
-			right = new DrawInequality(it.getRight(), view, geo);
+			right = new DrawInequality(it.getRight(), view, geo,
+					combineShapes);
 		}
 		if (it.getRight() != null) {
 			right.updateRecursive(it.getRight());
@@ -637,7 +767,7 @@ public class DrawInequality extends Drawable {
 					updateStrokes(geo);
 				}
 
-				fill(g2, getShape());
+				fill(g2, shadingPath != null ? shadingPath : getShape());
 			}
 		}
 
@@ -654,11 +784,14 @@ public class DrawInequality extends Drawable {
 	}
 
 	private boolean hit2(int x, int y) {
-		double[] coords = new double[] { view.toRealWorldCoordX(x),
-				view.toRealWorldCoordY(y) };
+		return isInRegion(view.toRealWorldCoordX(x), view.toRealWorldCoordY(y));
+	}
+
+	private boolean isInRegion(double x, double y) {
 		if (geo instanceof GeoFunction) {
-			return ((GeoFunction) geo).isInRegion(coords[0], coords[1]);
+			return ((GeoFunction) geo).isInRegion(x, y);
 		}
+		double[] coords = new double[] { x, y };
 
 		FunctionNVar fun = ((FunctionalNVar) geo).getFunction();
 
@@ -686,6 +819,14 @@ public class DrawInequality extends Drawable {
 
 	}
 
+	@Override
+	public boolean intersectsRectangle(GRectangle rect) {
+		if (shadingPath != null) {
+			return shadingPath.intersects(rect);
+		}
+		return super.intersectsRectangle(rect);
+	}
+
 	@Override
 	public boolean isInside(GRectangle rect) {
 		// TODO Auto-generated method stub
@@ -1,7 +1,7 @@
 package org.geogebra.common.euclidian.draw;
 
-import org.geogebra.common.awt.GArea;
 import org.geogebra.common.awt.GEllipse2DDouble;
+import org.geogebra.common.awt.GGeneralPath;
 import org.geogebra.common.awt.GGraphics2D;
 import org.geogebra.common.awt.GLine2D;
 import org.geogebra.common.awt.GRectangle;
@@ -277,7 +277,8 @@ public class DrawInequality1Var extends SetDrawable {
 			initGP(numOfX);
 			int j = ineq.getFunBorder().value(
 					view.toRealWorldCoordY(view.getHeight() + 10)) <= 0 ? 1 : 0;
-			GArea a = AwtFactory.getPrototype().newArea();
+			// the strips are disjoint: build one path instead of adding areas
+			GGeneralPath strips = AwtFactory.getPrototype().newGeneralPath();
 			for (int i = 0; 2 * i + j + 1 < numOfX; i++) {
 				gp[i] = new GeneralPathClipped(view);
 				gp[i].moveTo(-10, x[2 * i + j]);
@@ -292,9 +293,10 @@ public class DrawInequality1Var extends SetDrawable {
 				lines[2 * i + 1] = AwtFactory.getPrototype().newLine2D();
 				lines[2 * i + 1].setLine(-10, x[2 * i + j + 1],
 						view.getWidth() + 10, x[2 * i + j + 1]);
-				a.add(AwtFactory.getPrototype().newArea(gp[i]));
+				addStrip(strips, -10, x[2 * i + j], view.getWidth() + 10,
+						x[2 * i + j + 1]);
 			}
-			setShape(a);
+			setShape(AwtFactory.getPrototype().newArea(strips));
 		} else {
 			GeoPoint[] roots = ineq.getZeros();
 			double[] x = new double[roots.length + 2];
@@ -319,7 +321,7 @@ public class DrawInequality1Var extends SetDrawable {
 
 			initGP(numOfX);
 
-			GArea a = AwtFactory.getPrototype().newArea();
+			GGeneralPath strips = AwtFactory.getPrototype().newGeneralPath();
 			int circleCount = 0;
 			if ((geo instanceof GeoFunction)
 					&& ((GeoFunction) geo).showOnAxis()) {
@@ -357,14 +359,24 @@ public class DrawInequality1Var extends SetDrawable {
 					lines[2 * i + 1] = AwtFactory.getPrototype().newLine2D();
 					lines[2 * i + 1].setLine(x[2 * i + 1 + j], -10,
 							x[2 * i + 1 + j], view.getHeight() + 10);
-					a.add(AwtFactory.getPrototype().newArea(gp[i]));
+					addStrip(strips, x[2 * i + j], -10, x[2 * i + j + 1],
+							view.getHeight() + 10);
 				}
 			}
-			setShape(a);
+			setShape(AwtFactory.getPrototype().newArea(strips));
 		}
 		updateStrokes(geo);
 	}
 
+	private static void addStrip(GGeneralPath strips, double x0, double y0,
+			double x1, double y1) {
+		strips.moveTo(x0, y0);
+		strips.lineTo(x1, y0);
+		strips.lineTo(x1, y1);
+		strips.lineTo(x0, y1);
+		strips.closePath();
+	}
+
 	private void initGP(int numOfX) {
 		if (gp == null) {
 			gp = new GeneralPathClipped[numOfX / 2];
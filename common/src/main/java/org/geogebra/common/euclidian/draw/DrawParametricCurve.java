@@ -24,6 +24,7 @@ import org.geogebra.common.awt.GShape;
 import org.geogebra.common.euclidian.Drawable;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurveSampler;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.factories.AwtFactory;
 import org.geogebra.common.kernel.StringTemplate;
@@ -56,6 +57,7 @@ public class DrawParametricCurve extends Drawable {
 
 	private CurveEvaluable curve;
 	private GeneralPathClippedForCurvePlotter gp;
+	private final CurveSampler sampler = new CurveSampler();
 	private boolean isVisible;
 	private boolean labelVisible;
 	private boolean fillCurve;
@@ -127,7 +129,7 @@ public class DrawParametricCurve extends Drawable {
 			view.toScreenCoords(eval);
 			labelPoint = new GPoint((int) eval[0], (int) eval[1]);
 		} else {
-			labelPoint = CurvePlotter.plotCurve(curve, min, max, view, gp,
+			labelPoint = sampler.plotCurve(curve, min, max, view, gp,
 					labelVisible, fillCurve ? CurvePlotter.Gap.CORNER
 							: CurvePlotter.Gap.MOVE_TO);
 		}
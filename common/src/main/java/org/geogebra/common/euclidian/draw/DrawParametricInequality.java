@@ -4,6 +4,7 @@ import org.geogebra.common.awt.GArea;
 import org.geogebra.common.awt.GGraphics2D;
 import org.geogebra.common.awt.GPoint;
 import org.geogebra.common.awt.GRectangle;
+import org.geogebra.common.awt.GShape;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
 import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
@@ -44,6 +45,14 @@ class DrawParametricInequality extends SetDrawable {
 		return AwtFactory.getPrototype().newArea(gp);
 	}
 
+	/**
+	 * @return path enclosing the region, same as the shape without the cost
+	 *         of building an area
+	 */
+	GShape getFillShape() {
+		return gp;
+	}
+
 	/**
 	 * @return border of the inequality (function of x or y)
 	 */
@@ -530,6 +530,16 @@ public final class DrawPoint extends SetDrawable {
 		return dx < r && dx > -r && dx * dx + dy * dy <= r * r;
 	}
 
+	@Override
+	public GRectangle getHitBounds() {
+		if (coords == null) {
+			return null;
+		}
+		int r = Math.max(pointSize, SELECTION_RADIUS_MIN);
+		return AwtFactory.getPrototype().newRectangle((int) coords[0] - r,
+				(int) coords[1] - r, 2 * r + 1, 2 * r + 1);
+	}
+
 	@Override
 	public boolean isInside(GRectangle rect) {
 		return rect.contains(circle.getBounds());
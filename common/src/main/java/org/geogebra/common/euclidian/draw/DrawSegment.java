@@ -592,6 +592,14 @@ public class DrawSegment extends SetDrawable implements Previewable {
 		return AwtFactory.getPrototype().newRectangle(line.getBounds());
 	}
 
+	@Override
+	public GRectangle getHitBounds() {
+		if (line == null || !isVisible) {
+			return null;
+		}
+		return AwtFactory.getPrototype().newRectangle(line.getBounds());
+	}
+
 	/**
 	 * set visible
 	 */
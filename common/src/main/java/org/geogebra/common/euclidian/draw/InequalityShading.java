@@ -0,0 +1,516 @@
+package org.geogebra.common.euclidian.draw;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.awt.GGeneralPath;
+import org.geogebra.common.awt.GPathIterator;
+import org.geogebra.common.awt.GShape;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.factories.AwtFactory;
+
+/**
+ * Computes the fill path of a compound region of the view along scanlines,
+ * without constructive area geometry.
+ *
+ * The region is combined from the shapes of simple inequalities. The shapes
+ * are flattened into edges once per update. On each scanline the crossings
+ * with all edges are sorted; between two crossings every shape is either
+ * inside or outside (by its winding rule), so the combined condition is
+ * evaluated once per interval and the boundaries are exact. Spans of
+ * consecutive scanlines are joined into polygons while the number of spans
+ * does not change, so the result is a single path of disjoint polygons.
+ */
+public class InequalityShading {
+
+	/** distance of scanlines in pixels */
+	private static final int SCANLINE_DISTANCE = 2;
+	/** maximal length of a flattened curve segment in pixels */
+	private static final double CURVE_STEP = 2;
+	/** maximal number of line segments per curve segment */
+	private static final int MAX_CURVE_STEPS = 64;
+	/** height of the bands edges are sorted into */
+	private static final int BAND_HEIGHT = 4;
+
+	private final EuclidianView view;
+	private final GGeneralPath path;
+
+	private Region region;
+	private int width;
+	private int height;
+	private Spans previous = new Spans();
+	private Spans current = new Spans();
+	private final Spans middle = new Spans();
+	private final ArrayList<Strip> strips = new ArrayList<>();
+
+	private final ArrayList<GShape> shapes = new ArrayList<>();
+	private boolean[] evenOdd = new boolean[4];
+	private int[] winding = new int[4];
+	private boolean[] inside = new boolean[4];
+	/** x0, y0, x1, y1 of each edge */
+	private double[] edges = new double[256];
+	private int[] edgeShape = new int[64];
+	private int edgeCount;
+	/** edges overlapping each band, band i is bandEdges[bandStart[i]..] */
+	private int[] bandStart = new int[64];
+	private int[] bandEdges = new int[256];
+	private int bandCount;
+	private double[] crossX = new double[32];
+	private int[] crossShape = new int[32];
+	private int[] crossDir = new int[32];
+	private int crossCount;
+	private final double[] coords = new double[6];
+
+	/**
+	 * Region combined from the shapes of simple inequalities.
+	 */
+	public interface Region {
+		/**
+		 * @param shapes
+		 *            list to collect the shapes of all simple inequalities
+		 *            (in screen coordinates, null for empty ones)
+		 */
+		void collectShapes(ArrayList<GShape> shapes);
+
+		/**
+		 * @param insideShapes
+		 *            whether a point is inside of each collected shape
+		 * @return whether the point belongs to the region
+		 */
+		boolean contains(boolean[] insideShapes);
+	}
+
+	/**
+	 * @param view
+	 *            view
+	 */
+	public InequalityShading(EuclidianView view) {
+		this.view = view;
+		this.path = AwtFactory.getPrototype().newGeneralPath();
+	}
+
+	/**
+	 * @param newRegion
+	 *            region
+	 * @return fill path of the visible part of the region in screen
+	 *         coordinates; the same object is reused by later updates
+	 */
+	public GGeneralPath update(Region newRegion) {
+		this.region = newRegion;
+		path.reset();
+		width = view.getWidth();
+		height = view.getHeight();
+		if (width <= 0 || height <= 0) {
+			return path;
+		}
+		collectEdges();
+		strips.clear();
+		previous.clear();
+		double lastY = 0;
+		for (int k = 0; lastY < height; k++) {
+			double y = Math.min(k * SCANLINE_DISTANCE, height);
+			computeSpans(y, current);
+			if (k == 0) {
+				startStrips(y);
+			} else if (current.matches(previous)) {
+				for (int i = 0; i < strips.size(); i++) {
+					strips.get(i).add(current.left(i), current.right(i), y);
+				}
+			} else {
+				// number of spans changed: close the polygons and fill the
+				// band between the scanlines with rectangles
+				closeStrips();
+				computeSpans((lastY + y) / 2, middle);
+				for (int i = 0; i < middle.size; i++) {
+					addRectangle(middle.left(i), lastY, middle.right(i), y);
+				}
+				startStrips(y);
+			}
+			Spans swap = previous;
+			previous = current;
+			current = swap;
+			lastY = y;
+		}
+		closeStrips();
+		shapes.clear();
+		return path;
+	}
+
+	private void collectEdges() {
+		shapes.clear();
+		region.collectShapes(shapes);
+		int count = shapes.size();
+		if (winding.length < count) {
+			evenOdd = new boolean[count];
+			winding = new int[count];
+			inside = new boolean[count];
+		}
+		edgeCount = 0;
+		for (int i = 0; i < count; i++) {
+			if (shapes.get(i) != null) {
+				addEdges(shapes.get(i), i);
+			}
+		}
+		sortIntoBands();
+	}
+
+	/**
+	 * Sorts the edges into horizontal bands, so that each scanline only
+	 * checks the edges near to it.
+	 */
+	private void sortIntoBands() {
+		bandCount = height / BAND_HEIGHT + 1;
+		if (bandStart.length < bandCount + 1) {
+			bandStart = new int[bandCount + 1];
+		}
+		for (int i = 0; i <= bandCount; i++) {
+			bandStart[i] = 0;
+		}
+		for (int e = 0; e < edgeCount; e++) {
+			int last = lastBand(e);
+			for (int band = firstBand(e); band <= last; band++) {
+				bandStart[band + 1]++;
+			}
+		}
+		for (int i = 0; i < bandCount; i++) {
+			bandStart[i + 1] += bandStart[i];
+		}
+		if (bandEdges.length < bandStart[bandCount]) {
+			bandEdges = new int[bandStart[bandCount]];
+		}
+		// use bandStart as insertion positions, then shift it back
+		for (int e = 0; e < edgeCount; e++) {
+			int last = lastBand(e);
+			for (int band = firstBand(e); band <= last; band++) {
+				bandEdges[bandStart[band]++] = e;
+			}
+		}
+		for (int i = bandCount; i > 0; i--) {
+			bandStart[i] = bandStart[i - 1];
+		}
+		bandStart[0] = 0;
+	}
+
+	private int firstBand(int e) {
+		double min = Math.min(edges[4 * e + 1], edges[4 * e + 3]);
+		return (int) Math.max(0, Math.floor(min / BAND_HEIGHT));
+	}
+
+	private int lastBand(int e) {
+		double max = Math.max(edges[4 * e + 1], edges[4 * e + 3]);
+		return (int) Math.min(bandCount - 1, Math.floor(max / BAND_HEIGHT));
+	}
+
+	private void addEdges(GShape shape, int index) {
+		GPathIterator it = shape.getPathIterator(null);
+		evenOdd[index] = it.getWindingRule() == GPathIterator.WIND_EVEN_ODD;
+		double startX = 0;
+		double startY = 0;
+		double lastX = 0;
+		double lastY = 0;
+		while (!it.isDone()) {
+			switch (it.currentSegment(coords)) {
+			case GPathIterator.SEG_MOVETO:
+				// subpaths are closed implicitly when filled
+				addEdge(lastX, lastY, startX, startY, index);
+				startX = coords[0];
+				startY = coords[1];
+				lastX = startX;
+				lastY = startY;
+				break;
+			case GPathIterator.SEG_LINETO:
+				addEdge(lastX, lastY, coords[0], coords[1], index);
+				lastX = coords[0];
+				lastY = coords[1];
+				break;
+			case GPathIterator.SEG_QUADTO:
+				addCurve(lastX, lastY, coords[0], coords[1], coords[0],
+						coords[1], coords[2], coords[3], index, true);
+				lastX = coords[2];
+				lastY = coords[3];
+				break;
+			case GPathIterator.SEG_CUBICTO:
+				addCurve(lastX, lastY, coords[0], coords[1], coords[2],
+						coords[3], coords[4], coords[5], index, false);
+				lastX = coords[4];
+				lastY = coords[5];
+				break;
+			case GPathIterator.SEG_CLOSE:
+				addEdge(lastX, lastY, startX, startY, index);
+				lastX = startX;
+				lastY = startY;
+				break;
+			default:
+				break;
+			}
+			it.next();
+		}
+		addEdge(lastX, lastY, startX, startY, index);
+	}
+
+	/**
+	 * Adds a quadratic (control points 1 and 2 equal) or cubic Bezier curve
+	 * as line segments.
+	 */
+	private void addCurve(double x0, double y0, double x1, double y1,
+			double x2, double y2, double x3, double y3, int index,
+			boolean quad) {
+		double length = Math.hypot(x1 - x0, y1 - y0)
+				+ Math.hypot(x2 - x1, y2 - y1) + Math.hypot(x3 - x2, y3 - y2);
+		int steps = (int) Math.min(MAX_CURVE_STEPS,
+				Math.ceil(length / CURVE_STEP));
+		double lastX = x0;
+		double lastY = y0;
+		for (int i = 1; i <= steps; i++) {
+			double t = i / (double) steps;
+			double s = 1 - t;
+			double x;
+			double y;
+			if (quad) {
+				x = s * s * x0 + 2 * s * t * x1 + t * t * x3;
+				y = s * s * y0 + 2 * s * t * y1 + t * t * y3;
+			} else {
+				x = s * s * s * x0 + 3 * s * s * t * x1 + 3 * s * t * t * x2
+						+ t * t * t * x3;
+				y = s * s * s * y0 + 3 * s * s * t * y1 + 3 * s * t * t * y2
+						+ t * t * t * y3;
+			}
+			addEdge(lastX, lastY, x, y, index);
+			lastX = x;
+			lastY = y;
+		}
+	}
+
+	private void addEdge(double x0, double y0, double x1, double y1,
+			int index) {
+		if (y0 == y1) {
+			// horizontal edges never cross a scanline
+			return;
+		}
+		if (4 * edgeCount + 4 > edges.length) {
+			edges = grow(edges);
+		}
+		if (edgeCount == edgeShape.length) {
+			edgeShape = grow(edgeShape);
+		}
+		edges[4 * edgeCount] = x0;
+		edges[4 * edgeCount + 1] = y0;
+		edges[4 * edgeCount + 2] = x1;
+		edges[4 * edgeCount + 3] = y1;
+		edgeShape[edgeCount] = index;
+		edgeCount++;
+	}
+
+	private void computeSpans(double y, Spans spans) {
+		spans.clear();
+		findCrossings(y);
+		for (int i = 0; i < shapes.size(); i++) {
+			winding[i] = 0;
+		}
+		int i = 0;
+		while (i < crossCount && crossX[i] <= 0) {
+			winding[crossShape[i]] += crossDir[i];
+			i++;
+		}
+		boolean value = contains();
+		if (value) {
+			spans.start(0);
+		}
+		while (i < crossCount && crossX[i] < width) {
+			double x = crossX[i];
+			while (i < crossCount && crossX[i] == x) {
+				winding[crossShape[i]] += crossDir[i];
+				i++;
+			}
+			boolean next = contains();
+			if (next != value) {
+				spans.toggle(x);
+				value = next;
+			}
+		}
+		if (value) {
+			spans.end(width);
+		}
+	}
+
+	private boolean contains() {
+		for (int i = 0; i < shapes.size(); i++) {
+			inside[i] = evenOdd[i] ? (winding[i] & 1) != 0 : winding[i] != 0;
+		}
+		return region.contains(inside);
+	}
+
+	/**
+	 * Collects the crossings of all edges with the scanline, sorted by x.
+	 */
+	private void findCrossings(double y) {
+		crossCount = 0;
+		int band = Math.min(bandCount - 1, (int) (y / BAND_HEIGHT));
+		for (int b = bandStart[band]; b < bandStart[band + 1]; b++) {
+			int e = bandEdges[b];
+			double y0 = edges[4 * e + 1];
+			double y1 = edges[4 * e + 3];
+			// half open, so that a vertex on the scanline counts once
+			int dir = y0 <= y && y < y1 ? 1 : (y1 <= y && y < y0 ? -1 : 0);
+			if (dir == 0) {
+				continue;
+			}
+			double x0 = edges[4 * e];
+			double x = x0 + (y - y0) * (edges[4 * e + 2] - x0) / (y1 - y0);
+			if (crossCount == crossX.length) {
+				crossX = grow(crossX);
+				crossShape = grow(crossShape);
+				crossDir = grow(crossDir);
+			}
+			// insertion sort, there are few crossings per scanline
+			int j = crossCount;
+			while (j > 0 && crossX[j - 1] > x) {
+				crossX[j] = crossX[j - 1];
+				crossShape[j] = crossShape[j - 1];
+				crossDir[j] = crossDir[j - 1];
+				j--;
+			}
+			crossX[j] = x;
+			crossShape[j] = edgeShape[e];
+			crossDir[j] = dir;
+			crossCount++;
+		}
+	}
+
+	private static double[] grow(double[] array) {
+		double[] bigger = new double[2 * array.length];
+		System.arraycopy(array, 0, bigger, 0, array.length);
+		return bigger;
+	}
+
+	private static int[] grow(int[] array) {
+		int[] bigger = new int[2 * array.length];
+		System.arraycopy(array, 0, bigger, 0, array.length);
+		return bigger;
+	}
+
+	private void startStrips(double y) {
+		for (int i = 0; i < current.size; i++) {
+			Strip strip = new Strip();
+			strip.add(current.left(i), current.right(i), y);
+			strips.add(strip);
+		}
+	}
+
+	private void closeStrips() {
+		for (Strip strip : strips) {
+			strip.appendTo(path);
+		}
+		strips.clear();
+	}
+
+	private void addRectangle(double x0, double y0, double x1, double y1) {
+		path.moveTo(x0, y0);
+		path.lineTo(x1, y0);
+		path.lineTo(x1, y1);
+		path.lineTo(x0, y1);
+		path.closePath();
+	}
+
+	/**
+	 * Disjoint intervals of a scanline that belong to the region.
+	 */
+	private static class Spans {
+		private double[] bounds = new double[16];
+		/** number of spans */
+		int size;
+		private boolean open;
+
+		void clear() {
+			size = 0;
+			open = false;
+		}
+
+		void start(double x) {
+			ensureCapacity();
+			bounds[2 * size] = x;
+			open = true;
+		}
+
+		void end(double x) {
+			bounds[2 * size + 1] = x;
+			size++;
+			open = false;
+		}
+
+		void toggle(double x) {
+			if (open) {
+				end(x);
+			} else {
+				start(x);
+			}
+		}
+
+		double left(int i) {
+			return bounds[2 * i];
+		}
+
+		double right(int i) {
+			return bounds[2 * i + 1];
+		}
+
+		/**
+		 * @return whether the spans can be joined with the spans of other
+		 *         scanline
+		 */
+		boolean matches(Spans other) {
+			if (size != other.size) {
+				return false;
+			}
+			for (int i = 0; i < size; i++) {
+				if (left(i) > other.right(i) || other.left(i) > right(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void ensureCapacity() {
+			if (2 * size + 2 > bounds.length) {
+				double[] bigger = new double[2 * bounds.length];
+				System.arraycopy(bounds, 0, bigger, 0, bounds.length);
+				bounds = bigger;
+			}
+		}
+	}
+
+	/**
+	 * Polygon between left and right boundaries of joined spans.
+	 */
+	private static class Strip {
+		private double[] left = new double[16];
+		private double[] right = new double[16];
+		private double[] y = new double[16];
+		private int size;
+
+		void add(double x0, double x1, double y0) {
+			if (size == y.length) {
+				left = grow(left);
+				right = grow(right);
+				y = grow(y);
+			}
+			left[size] = x0;
+			right[size] = x1;
+			y[size] = y0;
+			size++;
+		}
+
+		void appendTo(GGeneralPath path) {
+			if (size < 2) {
+				return;
+			}
+			path.moveTo(left[0], y[0]);
+			for (int i = 1; i < size; i++) {
+				path.lineTo(left[i], y[i]);
+			}
+			for (int i = size - 1; i >= 0; i--) {
+				path.lineTo(right[i], y[i]);
+			}
+			path.closePath();
+		}
+	}
+}
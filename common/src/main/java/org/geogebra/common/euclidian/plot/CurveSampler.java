@@ -0,0 +1,517 @@
+package org.geogebra.common.euclidian.plot;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Adaptive sampler for x->f(x) functions and 2D/3D parametric curves. All
+ * evaluation buffers and bisection stacks are allocated once and reused, so a
+ * drawable that keeps its sampler does not create garbage when the curve is
+ * plotted again (e.g. while a slider is animated).
+ *
+ * Not thread safe: one sampler must not be used for two plots at once.
+ */
+public class CurveSampler {
+	private static final double MAX_JUMP = 5;
+
+	private int dimension = -1;
+	private int stackLength = -1;
+
+	private double[] eval;
+	private double[] eval0;
+	private double[] eval1;
+	private double[] move;
+	private double[] diff;
+	private double[] prevDiff;
+	private double[] tmp;
+	private double[] continuityLeft;
+	private double[] continuityRight;
+	private double[] continuityMiddle;
+	private final double[] borders = new double[2];
+
+	private int[] dyadicStack;
+	private int[] depthStack;
+	private boolean[] onScreenStack;
+	/** positions of the stack, dimension entries per element */
+	private double[] posStack;
+	private double[] divisors;
+
+	/**
+	 * Draws a parametric curve (x(t), y(t)) for t in [t1, t2].
+	 *
+	 * @param t1
+	 *            min value of parameter
+	 * @param t2
+	 *            max value of parameter
+	 * @param curve
+	 *            curve to be drawn
+	 * @param view
+	 *            Euclidian view to be used
+	 * @param gp
+	 *            generalpath that can be drawn afterwards
+	 * @param calcLabelPos
+	 *            whether label position should be calculated and returned
+	 * @param moveToAllowed
+	 *            whether moveTo() may be used for gp
+	 * @return label position as Point
+	 * @author Markus Hohenwarter, based on an algorithm by John Gillam
+	 */
+	public GPoint plotCurve(CurveEvaluable curve, double t1, double t2,
+			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
+			Gap moveToAllowed) {
+		ensureBuffers(curve.newDoubleArray().length,
+				view.getMaxDefinedBisections() + 1);
+
+		// ensure MIN_PLOT_POINTS
+		double maxParamStep = Math.abs(t2 - t1) / view.getMinSamplePoints();
+		// plot Interval [t1, t2]
+		GPoint labelPoint = plotInterval(curve, t1, t2, 0, maxParamStep, view,
+				gp, calcLabelPos, moveToAllowed);
+		if (moveToAllowed == Gap.CORNER) {
+			gp.corner();
+		}
+		return labelPoint;
+	}
+
+	private void ensureBuffers(int dim, int length) {
+		if (dim != dimension) {
+			dimension = dim;
+			eval = new double[dim];
+			eval0 = new double[dim];
+			eval1 = new double[dim];
+			move = new double[dim];
+			diff = new double[dim];
+			prevDiff = new double[dim];
+			tmp = new double[dim];
+			continuityLeft = new double[dim];
+			continuityRight = new double[dim];
+			continuityMiddle = new double[dim];
+			stackLength = -1;
+		}
+		if (length != stackLength) {
+			stackLength = length;
+			dyadicStack = new int[length];
+			depthStack = new int[length];
+			onScreenStack = new boolean[length];
+			posStack = new double[length * dim];
+			divisors = new double[length];
+		}
+	}
+
+	/**
+	 * Draws a parametric curve (x(t), y(t)) for t in [t1, t2].
+	 *
+	 * The following algorithm by John Gillam avoids multiple evaluations of
+	 * the curve for the same parameter value t: intervals are bisected until
+	 * we reach a small pixel distance between two points and a small angle
+	 * between two segments. The evaluated curve points are stored on a stack.
+	 * If we run into a problem, i.e. an undefined point f(t), we bisect the
+	 * interval and plot both halves, see
+	 * {@link #plotProblemInterval(CurveEvaluable, double, double, int, double, EuclidianView, PathPlotter, boolean, Gap, GPoint)}
+	 */
+	private GPoint plotInterval(CurveEvaluable curve, double t1, double t2,
+			int intervalDepth, double maxParamStep, EuclidianView view,
+			PathPlotter gp, boolean calcLabelPos, Gap moveToAllowed) {
+		boolean needLabelPos = calcLabelPos;
+		GPoint labelPoint = null;
+
+		for (int k = 0; k < dimension; k++) {
+			move[k] = 0;
+		}
+		boolean onScreen;
+		boolean nextLineToNeedsMoveToFirst = false;
+
+		// evaluate for t1
+		curve.evaluateCurve(t1, eval);
+		if (CurvePlotter.isUndefined(eval)) {
+			return plotProblemInterval(curve, t1, t2, intervalDepth,
+					maxParamStep, view, gp, calcLabelPos, moveToAllowed,
+					labelPoint);
+		}
+		copy(eval, eval0);
+
+		// evaluate for t2
+		curve.evaluateCurve(t2, eval);
+		if (CurvePlotter.isUndefined(eval)) {
+			return plotProblemInterval(curve, t1, t2, intervalDepth,
+					maxParamStep, view, gp, calcLabelPos, moveToAllowed,
+					labelPoint);
+		}
+		onScreen = view.isOnView(eval);
+		copy(eval, eval1);
+
+		// first point
+		gp.firstPoint(eval0, moveToAllowed);
+
+		int length = stackLength;
+		divisors[0] = t2 - t1;
+		for (int k = 1; k < length; k++) {
+			divisors[k] = divisors[k - 1] / 2;
+		}
+		int i = 1;
+		dyadicStack[0] = 1;
+		depthStack[0] = 0;
+
+		onScreenStack[0] = onScreen;
+		push(0, eval1);
+
+		// slope between (t1, t2)
+		view.getOnScreenDiff(eval0, eval1, diff);
+		int countDiffZeros = 0;
+
+		// init previous slope using (t1, t1 + min_step)
+		curve.evaluateCurve(t1 + divisors[length - 1], eval);
+		view.getOnScreenDiff(eval0, eval, prevDiff);
+
+		int top = 1;
+		int depth = 0;
+		double t = t1;
+		double left = t1;
+		boolean distanceOK, angleOK, segOffScreen;
+
+		do {
+			// segment from last point off screen?
+			segOffScreen = view.isSegmentOffView(eval0, eval1);
+			// pixel distance from last point OK?
+			distanceOK = segOffScreen || isDistanceOK(diff, view);
+			// angle from last segment OK?
+			angleOK = isAngleOK(prevDiff, diff, segOffScreen
+					? view.getMaxBendOfScreen() : view.getMaxBend());
+
+			// bisect interval as long as max bisection depth not reached & ...
+			while (depth < view.getMaxDefinedBisections()
+					// ... distance not ok or angle not ok or step too big
+					&& (!distanceOK || !angleOK
+							|| divisors[depth] > maxParamStep)
+					// make sure we don't get stuck on eg Curve[0sin(t), 0t, t,
+					// 0, 6]
+					&& countDiffZeros < view.getMaxZeroCount()) {
+				// push stacks
+				dyadicStack[top] = i;
+				depthStack[top] = depth;
+				onScreenStack[top] = onScreen;
+				push(top, eval1);
+				i = 2 * i - 1;
+				top++;
+				depth++;
+				t = t1 + i * divisors[depth]; // t=t1+(t2-t1)*(i/2^depth)
+
+				// evaluate curve for parameter t
+				curve.evaluateCurve(t, eval);
+				onScreen = view.isOnView(eval);
+				// check for singularity:
+				// c(t) undefined; c(t-eps) and c(t+eps) both defined
+				if (CurvePlotter.isUndefined(eval)) {
+					// check if c(t-eps) and c(t+eps) are both defined
+					boolean singularity = isContinuousAround(curve, t,
+							divisors[length - 1], view, eval);
+
+					// split interval: f(t+eps) or f(t-eps) not defined
+					if (!singularity) {
+						return plotProblemInterval(curve, left, t2,
+								intervalDepth, maxParamStep, view, gp,
+								calcLabelPos, moveToAllowed, labelPoint);
+					}
+					Log.debug("SINGULARITY AT" + t);
+				}
+
+				copy(eval, eval1);
+				view.getOnScreenDiff(eval0, eval1, diff);
+
+				if (DoubleUtil.isZero(diff[0]) && DoubleUtil.isZero(diff[1])) {
+					countDiffZeros++;
+				} else {
+					countDiffZeros = 0;
+				}
+
+				// segment from last point off screen?
+				segOffScreen = view.isSegmentOffView(eval0, eval1);
+				// pixel distance from last point OK?
+				distanceOK = segOffScreen || isDistanceOK(diff, view);
+				// angle from last segment OK?
+				angleOK = isAngleOK(prevDiff, diff, segOffScreen
+						? view.getMaxBendOfScreen() : view.getMaxBend());
+
+			} // end of while-loop for interval bisections
+
+			// add point to general path: lineTo or moveTo?
+			boolean lineTo = true;
+			if (moveToAllowed == Gap.MOVE_TO) {
+				if (segOffScreen) {
+					// don't draw segments that are off screen
+					lineTo = false;
+				} else if (!angleOK || !distanceOK) {
+					// check for DISCONTINUITY
+					lineTo = CurvePlotter.isContinuous(curve, left, t,
+							view.getMaxProblemBisections(), continuityLeft,
+							continuityRight, continuityMiddle);
+				}
+			} else if (moveToAllowed == Gap.CORNER) {
+				gp.corner(eval1);
+			}
+
+			// do lineTo or moveTo
+			if (lineTo) {
+				// handle previous moveTo first
+				if (nextLineToNeedsMoveToFirst) {
+					gp.moveTo(move);
+					nextLineToNeedsMoveToFirst = false;
+				}
+
+				// draw line
+				gp.lineTo(eval1);
+			} else {
+				// moveTo: remember moveTo position to avoid multiple moveTo
+				// operations
+				copy(eval1, move);
+				nextLineToNeedsMoveToFirst = true;
+			}
+
+			// remember last point in general path
+			copy(eval1, eval0);
+			left = t;
+
+			// remember first point on screen for label position
+			if (needLabelPos && onScreen) {
+				labelPoint = getLabelPoint(eval1, view);
+				needLabelPos = false;
+			}
+
+			/*
+			 * Here's the real utility of the algorithm: Now pop stack and go to
+			 * right; notice the corresponding dyadic value when we go to right
+			 * is 2*i/(2^(d+1) = i/2^d !! So we've already calculated the
+			 * corresponding x and y values when we pushed.
+			 */
+			--top;
+			pop(top, eval1);
+			onScreen = onScreenStack[top];
+			depth = depthStack[top] + 1; // pop stack and go to right
+			i = dyadicStack[top] * 2;
+			copy(diff, prevDiff);
+			view.getOnScreenDiff(eval0, eval1, diff);
+			t = t1 + i * divisors[depth];
+		} while (top != 0); // end of do-while loop for bisection stack
+
+		gp.endPlot();
+
+		return labelPoint;
+	}
+
+	private static GPoint getLabelPoint(double[] pos, EuclidianView view) {
+		double xLabel = view.toScreenCoordXd(pos[0]) + 10;
+		if (xLabel < 20) {
+			xLabel = 5;
+		}
+		if (xLabel > view.getWidth() - 30) {
+			xLabel = view.getWidth() - 15;
+		}
+		double yLabel = view.toScreenCoordYd(pos[1]) + 15;
+		if (yLabel < 40) {
+			yLabel = 15;
+		} else if (yLabel > view.getHeight() - 30) {
+			yLabel = view.getHeight() - 5;
+		}
+		return new GPoint((int) xLabel, (int) yLabel);
+	}
+
+	private void push(int index, double[] pos) {
+		System.arraycopy(pos, 0, posStack, index * dimension, dimension);
+	}
+
+	private void pop(int index, double[] pos) {
+		System.arraycopy(posStack, index * dimension, pos, 0, dimension);
+	}
+
+	private void copy(double[] from, double[] to) {
+		System.arraycopy(from, 0, to, 0, dimension);
+	}
+
+	/**
+	 * Plots an interval where f(t1) or f(t2) is undefined.
+	 */
+	private GPoint plotProblemInterval(CurveEvaluable curve, double t1,
+			double t2, int intervalDepth, double maxParamStep,
+			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
+			Gap moveToAllowed, GPoint labelPoint) {
+		boolean calcLabel = calcLabelPos;
+		// stop recursion for too many intervals
+		if (intervalDepth > view.getMaxProblemBisections() || t1 == t2) {
+			return labelPoint;
+		}
+
+		GPoint labelPoint1, labelPoint2;
+
+		// plot interval for t in [t1, t2]
+		// If we run into a problem, i.e. an undefined point f(t), we bisect
+		// the interval and plot both intervals [t, (t+t2)/2] and [(t+t2)/2],
+		// t2]
+		double splitParam = (t1 + t2) / 2.0;
+
+		// make sure that we first bisect down to intervals with a max size of
+		// max_param_step
+		boolean intervalsTooLarge = Math.abs(t1 - splitParam) > maxParamStep;
+		if (intervalsTooLarge) {
+			// bisect interval
+			calcLabel = calcLabel && labelPoint == null;
+			labelPoint1 = plotInterval(curve, t1, splitParam, intervalDepth + 1,
+					maxParamStep, view, gp, calcLabel, moveToAllowed);
+
+			// plot interval [(t1+t2)/2, t2]
+			calcLabel = calcLabel && labelPoint1 == null;
+			labelPoint2 = plotInterval(curve, splitParam, t2, intervalDepth + 1,
+					maxParamStep, view, gp, calcLabel, moveToAllowed);
+		} else {
+			// look at the end points of the intervals [t1, (t1+t2)/2] and
+			// [(t1+t2)/2, t2]
+			// and try to get a defined interval. This is important if one of
+			// both interval borders is defined and the other is undefined. In
+			// this case we want to find a smaller interval where both borders
+			// are defined
+
+			// plot interval [t1, (t1+t2)/2]
+			getDefinedInterval(curve, t1, splitParam);
+			calcLabel = calcLabel && labelPoint == null;
+			labelPoint1 = plotInterval(curve, borders[0], borders[1],
+					intervalDepth + 1, maxParamStep, view, gp, calcLabel,
+					moveToAllowed);
+
+			// plot interval [(t1+t2)/2, t2]
+			getDefinedInterval(curve, splitParam, t2);
+			calcLabel = calcLabel && labelPoint1 == null;
+			labelPoint2 = plotInterval(curve, borders[0], borders[1],
+					intervalDepth + 1, maxParamStep, view, gp, calcLabel,
+					moveToAllowed);
+		}
+
+		if (labelPoint != null) {
+			return labelPoint;
+		} else if (labelPoint1 != null) {
+			return labelPoint1;
+		} else {
+			return labelPoint2;
+		}
+	}
+
+	/**
+	 * Returns whether curve is defined for c(t-eps) and c(t + eps).
+	 */
+	private boolean isContinuousAround(CurveEvaluable curve, double t,
+			double eps, EuclidianView view, double[] evalT) {
+		// c(t + eps)
+		curve.evaluateCurve(t + eps, tmp);
+		double oldy = tmp[1];
+		if (!CurvePlotter.isUndefined(tmp)) {
+			// c(t - eps)
+			curve.evaluateCurve(t - eps, tmp);
+			if (!CurvePlotter.isUndefined(tmp)) {
+				// SINGULARITY for functions: c(t) undef, c(t-eps) and c(t+eps)
+				// defined and close
+				if (curve.isFunctionInX()
+						&& Math.abs(oldy - tmp[1]) * view.getYscale() < MAX_JUMP) {
+					evalT[1] = (oldy + tmp[1]) * 0.5;
+					return true;
+				}
+				// SINGULARITY for curves: c(t) undef, c(t-eps) and c(t+eps)
+				// defined, ignore distance
+				return !curve.isFunctionInX();
+			}
+		}
+
+		// c(t-eps) or c(t+eps) is undefined
+		return false;
+	}
+
+	/**
+	 * Returns whether the pixel distance from the last point is smaller than
+	 * MAX_PIXEL_DISTANCE in all directions.
+	 */
+	private static boolean isDistanceOK(double[] diff, EuclidianView view) {
+		for (double d : diff) {
+			if (Math.abs(d) > view.getMaxPixelDistance()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the angle between the vectors (vx, vy) and (wx, wy) is
+	 * smaller than MAX_BEND, where MAX_BEND = tan(MAX_ANGLE).
+	 */
+	private static boolean isAngleOK(double[] v, double[] w, double bend) {
+		// |v| * |w| * sin(alpha) = |det(v, w)|
+		// cos(alpha) = v . w / (|v| * |w|)
+		// tan(alpha) = sin(alpha) / cos(alpha)
+		// tan(alpha) = |det(v, w)| / v . w
+
+		// small angle: tan(alpha) < MAX_BEND
+		// |det(v, w)| / v . w < MAX_BEND
+		// |det(v, w)| < MAX_BEND * (v . w)
+
+		double innerProduct = 0;
+		for (int i = 0; i < v.length; i++) {
+			innerProduct += v[i] * w[i];
+		}
+		if (CurvePlotter.isUndefined(innerProduct)) {
+			return true;
+		} else if (innerProduct <= 0) {
+			// angle >= 90 degrees
+			return false;
+		} else {
+			// angle < 90 degrees
+			// small angle: |det(v, w)| < MAX_BEND * (v . w)
+			double det;
+			if (v.length < 3) {
+				det = Math.abs(v[0] * w[1] - v[1] * w[0]);
+			} else {
+				double d1 = v[0] * w[1] - v[1] * w[0];
+				double d2 = v[1] * w[2] - v[2] * w[1];
+				double d3 = v[2] * w[0] - v[0] * w[2];
+				det = Math.sqrt(d1 * d1 + d2 * d2 + d3 * d3);
+			}
+			return det < bend * innerProduct;
+		}
+	}
+
+	/**
+	 * Sets borders to a defined interval in [a, b] if possible.
+	 *
+	 * @return whether two defined borders could be found.
+	 */
+	private boolean getDefinedInterval(CurveEvaluable curve, double a,
+			double b) {
+		// check first and last point in interval
+		curve.evaluateCurve(a, tmp);
+		boolean aDef = !CurvePlotter.isUndefined(tmp);
+		curve.evaluateCurve(b, tmp);
+		boolean bDef = !CurvePlotter.isUndefined(tmp);
+
+		// both end points defined
+		if (aDef && bDef) {
+			borders[0] = a;
+			borders[1] = b;
+		}
+		// one end point defined
+		else if (aDef && !bDef || !aDef && bDef) {
+			// check whether the curve is defined at the interval borders
+			// if not, we try to find a valid domain
+			double[] interval = curve.getDefinedInterval(a, b);
+			borders[0] = CurvePlotter.isUndefined(interval[0]) ? a
+					: interval[0];
+			borders[1] = CurvePlotter.isUndefined(interval[1]) ? b
+					: interval[1];
+		}
+		// no end point defined
+		else {
+			borders[0] = a;
+			borders[1] = b;
+		}
+
+		return !CurvePlotter.isUndefined(borders);
+	}
+}
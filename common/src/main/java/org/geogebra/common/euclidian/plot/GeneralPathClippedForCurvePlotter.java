@@ -24,6 +24,7 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 	private static final double EPSILON = 0.0001;
 	private boolean lineDrawn;
 	private Coords tmpCoords = new Coords(4);
+	private double[] tmpPos = new double[2];
 
 	/**
 	 * constructor
@@ -47,11 +48,25 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 
 	@Override
 	public void drawTo(double[] pos, SegmentType segmentType) {
-		double[] p = Cloner.clone(pos);
-		((EuclidianView) view).toScreenCoords(p);
+		double[] p = toScreenCoords(pos);
 		drawTo(p[0], p[1], segmentType);
 	}
 
+	/**
+	 * @param pos
+	 *            real world coordinates
+	 * @return screen coordinates, stored in a buffer that is reused by the
+	 *         next call
+	 */
+	private double[] toScreenCoords(double[] pos) {
+		if (tmpPos.length != pos.length) {
+			tmpPos = new double[pos.length];
+		}
+		Cloner.cloneTo(pos, tmpPos);
+		((EuclidianView) view).toScreenCoords(tmpPos);
+		return tmpPos;
+	}
+
 	private void drawTo(double x, double y, SegmentType lineTo) {
 		GPoint2D point = getCurrentPoint();
 
@@ -112,8 +127,7 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 
 	@Override
 	public void corner(double[] pos) {
-		double[] p = Cloner.clone(pos);
-		((EuclidianView) view).toScreenCoords(p);
+		double[] p = toScreenCoords(pos);
 		corner(p[0], p[1]);
 	}
 
@@ -152,8 +166,7 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 
 	@Override
 	public void firstPoint(double[] pos, Gap moveToAllowed) {
-		double[] p = Cloner.clone(pos);
-		((EuclidianView) view).toScreenCoords(p);
+		double[] p = toScreenCoords(pos);
 		final double x0 = p[0];
 		final double y0 = p[1];
 
@@ -1,6 +1,7 @@
 package org.geogebra.common.geogebra3D.euclidian3D.draw;
 
 import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurveSampler;
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.Hitting;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Manager;
@@ -25,6 +26,7 @@ public class DrawCurve3D extends Drawable3DCurves implements HasZPick {
 	/** handle to the curve */
 	private CurveEvaluable curve;
 	private CurveHitting curveHitting;
+	private final CurveSampler sampler = new CurveSampler();
 
 	private Coords boundsMin = new Coords(3);
 	private Coords boundsMax = new Coords(3);
@@ -92,7 +94,7 @@ public class DrawCurve3D extends Drawable3DCurves implements HasZPick {
 
 		// Log.debug(min+","+max);
 
-		CurvePlotter.plotCurve(curve, min, max, view, brush, false,
+		sampler.plotCurve(curve, min, max, view, brush, false,
 				CurvePlotter.Gap.MOVE_TO);
 
 		setGeometryIndex(brush.end());
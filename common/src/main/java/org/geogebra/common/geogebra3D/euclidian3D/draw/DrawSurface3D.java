@@ -4,6 +4,7 @@ import java.util.ArrayList;
 
 import org.geogebra.common.awt.GColor;
 import org.geogebra.common.euclidian.EuclidianController;
+import org.geogebra.common.factories.UtilFactory;
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.Hitting;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.PlotterBrush;
@@ -29,6 +30,7 @@ import org.geogebra.common.kernel.matrix.Coords3;
 import org.geogebra.common.kernel.matrix.CoordsDouble3;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
 import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.TaskExecutor;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -43,6 +45,8 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 	/** The function being rendered */
 	SurfaceEvaluable surfaceGeo;
+	/** surface used for tessellation: surfaceGeo or a copy of it */
+	private SurfaceEvaluable evaluable;
 
 	// number of intervals in root mesh (for each parameters, if parameters
 	// delta are equals)
@@ -135,6 +139,9 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 	private Coords boundsMin = new Coords(3);
 	private Coords boundsMax = new Coords(3);
+	// bounds of current tessellation, copied to boundsMin/Max when drawn
+	private Coords newBoundsMin = new Coords(3);
+	private Coords newBoundsMax = new Coords(3);
 	/**
 	 * first corner from root mesh
 	 */
@@ -147,6 +154,13 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	private SurfaceParameter uParam = new SurfaceParameter();
 	private SurfaceParameter vParam = new SurfaceParameter();
 
+	/** tessellation running in background, or done and not drawn yet */
+	private TessellationTask tessellation;
+	private boolean progressiveTessellation = true;
+	private double tessellationStart;
+	private double lastPassTime;
+	private double lastTessellationTime;
+
 	private static class NotEnoughCornersException extends Exception {
 		private static final long serialVersionUID = 1L;
 		private DrawSurface3D surface;
@@ -327,11 +341,44 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 			}
 		}
 
+		if (tessellation != null) {
+			if (!tessellation.isDone()) {
+				if (drawFromScratch) {
+					// a new tessellation starts when this one stopped
+					tessellation.cancel();
+				}
+				// previous mesh is shown until the new one is ready
+				return false;
+			}
+			TessellationTask task = tessellation;
+			tessellation = null;
+			if (!drawFromScratch) {
+				return endTessellationPass(task);
+			}
+		}
+
 		boolean drawOccured = false;
+		double passStart = getMillisecondTime();
 
 		if (drawFromScratch) {
 			borders.clear();
 			drawUpToDate = false;
+			tessellationStart = passStart;
+
+			TaskExecutor executor = getView3D().getKernel().getTaskExecutor();
+			SurfaceEvaluable copy = executor == null ? null
+					: surfaceGeo.copyForEvaluation();
+			if (copy != null) {
+				if (!initTessellation(copy)) {
+					return true;
+				}
+				// from now on, the tessellation must not be touched until
+				// the task is done
+				drawFromScratch = false;
+				tessellation = new TessellationTask(executor, true);
+				executor.execute(tessellation);
+				return false;
+			}
 
 			if (levelOfDetail == LevelOfDetail.QUALITY
 					&& splitsStartedNotFinished) {
@@ -339,60 +386,12 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 				drawOccured = true;
 			}
 
-			// maybe set to null after redefine
-			surfaceGeo.setDerivatives();
-
-			// calc min/max values
-			uParam.initBorder(surfaceGeo, getView3D(), 0);
-			vParam.initBorder(surfaceGeo, getView3D(), 1);
-
-			if (DoubleUtil.isZero(uParam.delta)
-					|| DoubleUtil.isZero(vParam.delta)) {
-				setSurfaceIndex(-1);
-				setWireframeInvisible();
+			if (!initTessellation(surfaceGeo)) {
 				return true;
 			}
 
-			// max values
-			setLevelOfDetail();
-			setTolerances();
-
-			updateCullingBox();
-
-			initBounds();
-
-			debug("\nmax distances = " + maxRWDistance + ", "
-					+ maxRWDistanceNoAngleCheck);
-
-			// create root mesh
-			double uOverVFactor = uParam.delta / vParam.delta;
-			if (uOverVFactor > ROOT_MESH_INTERVALS_SPEED) {
-				uOverVFactor = ROOT_MESH_INTERVALS_SPEED;
-			} else if (uOverVFactor < 1.0 / ROOT_MESH_INTERVALS_SPEED) {
-				uOverVFactor = 1.0 / ROOT_MESH_INTERVALS_SPEED;
-			}
-			uParam.n = (int) (ROOT_MESH_INTERVALS_SPEED * uOverVFactor);
-			vParam.n = ROOT_MESH_INTERVALS_SPEED_SQUARE / uParam.n;
-			uParam.n += 2;
-			vParam.n += 2;
-
-			uParam.init(levelOfDetail);
-			vParam.init(levelOfDetail);
-
-			debug("grids: " + uParam.n + ", " + vParam.n);
-			cornerListIndex = 0;
-
 			try {
-				firstCorner = createRootMesh();
-
-				// split root mesh as start
-				currentSplitIndex = 0;
-				currentSplitStoppedIndex = 0;
-				nextSplitIndex = 0;
-				drawListIndex = 0;
-				notDrawn = 0;
-				splitRootMesh(firstCorner);
-				debug("\nnot drawn after split root mesh: " + notDrawn);
+				createAndSplitRootMesh();
 
 				// now splitted root mesh is ready
 				drawFromScratch = false;
@@ -423,20 +422,15 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		// debug("split : "+time);
 		// }
 
-		debug("\ndraw size : " + drawListIndex + "\nnot drawn : " + notDrawn
-				+ "\nstill to split : "
-				+ (currentSplitIndex - currentSplitStoppedIndex)
-				+ "\nnext to split : " + nextSplitIndex
-				+ "\ncorner list size : " + cornerListIndex
-				+ "\nstill room left : " + stillRoomLeft);
-
-		splitsStartedNotFinished = (currentSplitIndex
-				- currentSplitStoppedIndex) + nextSplitIndex > 0;
+		updateSplitsStartedNotFinished();
+		publishBounds();
 
 		// time = System.currentTimeMillis();
 
 		// set old thickness to force wireframe update
 		oldThickness = -1;
+		lastPassTime = getMillisecondTime() - passStart;
+		debug("tessellation pass: " + lastPassTime + "ms");
 
 		switch (levelOfDetail) {
 		case SPEED:
@@ -444,6 +438,9 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 			draw();
 			// still room left and still split to do: still to update
 			drawUpToDate = !splitsStartedNotFinished || !stillRoomLeft;
+			if (drawUpToDate) {
+				endTessellation();
+			}
 			return drawUpToDate;
 		case QUALITY:
 			splitsStartedNotFinished = splitsStartedNotFinished
@@ -453,6 +450,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 					// no draw at start: can do the draw now
 					draw();
 					drawUpToDate = true;
+					endTessellation();
 					return true;
 				}
 				// no room left or no split to do: update is finished, but
@@ -471,6 +469,216 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 	}
 
+	/**
+	 * Sets parameters, tolerances and culling box for a new tessellation.
+	 * 
+	 * @param surface
+	 *            surface to evaluate
+	 * @return false if there is nothing to draw
+	 */
+	private boolean initTessellation(SurfaceEvaluable surface) {
+		evaluable = surface;
+
+		// maybe set to null after redefine
+		surfaceGeo.setDerivatives();
+
+		// calc min/max values
+		uParam.initBorder(surfaceGeo, getView3D(), 0);
+		vParam.initBorder(surfaceGeo, getView3D(), 1);
+
+		if (DoubleUtil.isZero(uParam.delta)
+				|| DoubleUtil.isZero(vParam.delta)) {
+			setSurfaceIndex(-1);
+			setWireframeInvisible();
+			return false;
+		}
+
+		// max values
+		setLevelOfDetail();
+		setTolerances();
+
+		updateCullingBox();
+
+		initBounds();
+
+		debug("\nmax distances = " + maxRWDistance + ", "
+				+ maxRWDistanceNoAngleCheck);
+
+		// create root mesh
+		double uOverVFactor = uParam.delta / vParam.delta;
+		if (uOverVFactor > ROOT_MESH_INTERVALS_SPEED) {
+			uOverVFactor = ROOT_MESH_INTERVALS_SPEED;
+		} else if (uOverVFactor < 1.0 / ROOT_MESH_INTERVALS_SPEED) {
+			uOverVFactor = 1.0 / ROOT_MESH_INTERVALS_SPEED;
+		}
+		uParam.n = (int) (ROOT_MESH_INTERVALS_SPEED * uOverVFactor);
+		vParam.n = ROOT_MESH_INTERVALS_SPEED_SQUARE / uParam.n;
+		uParam.n += 2;
+		vParam.n += 2;
+
+		uParam.init(levelOfDetail);
+		vParam.init(levelOfDetail);
+
+		debug("grids: " + uParam.n + ", " + vParam.n);
+		cornerListIndex = 0;
+		return true;
+	}
+
+	private void createAndSplitRootMesh() throws NotEnoughCornersException {
+		firstCorner = createRootMesh();
+
+		// split root mesh as start
+		currentSplitIndex = 0;
+		currentSplitStoppedIndex = 0;
+		nextSplitIndex = 0;
+		drawListIndex = 0;
+		notDrawn = 0;
+		splitRootMesh(firstCorner);
+		debug("\nnot drawn after split root mesh: " + notDrawn);
+	}
+
+	private void updateSplitsStartedNotFinished() {
+		debug("\ndraw size : " + drawListIndex + "\nnot drawn : " + notDrawn
+				+ "\nstill to split : "
+				+ (currentSplitIndex - currentSplitStoppedIndex)
+				+ "\nnext to split : " + nextSplitIndex
+				+ "\ncorner list size : " + cornerListIndex
+				+ "\nstill room left : " + stillRoomLeft);
+
+		splitsStartedNotFinished = (currentSplitIndex
+				- currentSplitStoppedIndex) + nextSplitIndex > 0;
+	}
+
+	/**
+	 * Draws the result of a background tessellation pass and starts the next
+	 * pass if needed.
+	 * 
+	 * @param task
+	 *            finished pass
+	 * @return true if the tessellation is complete
+	 */
+	private boolean endTessellationPass(TessellationTask task) {
+		if (task.error != null) {
+			task.error.caught();
+		}
+		lastPassTime = task.time;
+		debug("tessellation pass: " + lastPassTime + "ms");
+
+		// set old thickness to force wireframe update
+		oldThickness = -1;
+		draw();
+		if (splitsStartedNotFinished && stillRoomLeft) {
+			tessellation = new TessellationTask(task.executor, false);
+			task.executor.execute(tessellation);
+			return false;
+		}
+		drawUpToDate = true;
+		endTessellation();
+		return true;
+	}
+
+	private void endTessellation() {
+		lastTessellationTime = getMillisecondTime() - tessellationStart;
+		debug("tessellation: " + lastTessellationTime + "ms");
+	}
+
+	private void cancelTessellation() {
+		if (tessellation != null) {
+			// the task is forgotten when it stopped, see updateForItSelf()
+			tessellation.cancel();
+			drawFromScratch = true;
+		}
+	}
+
+	private static double getMillisecondTime() {
+		return UtilFactory.getPrototype().getMillisecondTime();
+	}
+
+	/**
+	 * @return duration of last tessellation pass in milliseconds (without
+	 *         sending the mesh to GL)
+	 */
+	public double getLastPassTime() {
+		return lastPassTime;
+	}
+
+	/**
+	 * @return milliseconds from start of last complete tessellation until
+	 *         its final mesh was drawn
+	 */
+	public double getLastTessellationTime() {
+		return lastTessellationTime;
+	}
+
+	/**
+	 * When tessellation runs in background (i.e. kernel has a task executor),
+	 * it can either draw the mesh after each split pass (coarse mesh first)
+	 * or only when all passes are done.
+	 * 
+	 * @param progressive
+	 *            whether to draw intermediate meshes
+	 */
+	public void setProgressiveTessellation(boolean progressive) {
+		this.progressiveTessellation = progressive;
+	}
+
+	/**
+	 * Split passes running on task executor. Until it's done, only this task
+	 * may touch the corners, split and draw lists; it evaluates a copy of the
+	 * surface so that the construction can be updated meanwhile.
+	 */
+	private class TessellationTask implements Runnable {
+		protected final TaskExecutor executor;
+		private final boolean fromScratch;
+		private volatile boolean cancelled;
+		private volatile boolean done;
+		protected NotEnoughCornersException error;
+		protected double time;
+
+		protected TessellationTask(TaskExecutor executor,
+				boolean fromScratch) {
+			this.executor = executor;
+			this.fromScratch = fromScratch;
+		}
+
+		@Override
+		public void run() {
+			double start = getMillisecondTime();
+			try {
+				if (fromScratch) {
+					createAndSplitRootMesh();
+				}
+				do {
+					loopSplitIndex = 0;
+					stillRoomLeft = split();
+					updateSplitsStartedNotFinished();
+				} while (!progressiveTessellation && !cancelled
+						&& splitsStartedNotFinished && stillRoomLeft);
+			} catch (NotEnoughCornersException e) {
+				error = e;
+			} catch (RuntimeException e) {
+				Log.debug(e);
+				stillRoomLeft = false;
+				splitsStartedNotFinished = false;
+			} finally {
+				time = getMillisecondTime() - start;
+				done = true;
+			}
+		}
+
+		protected boolean isDone() {
+			return done;
+		}
+
+		protected boolean isCancelled() {
+			return cancelled;
+		}
+
+		protected void cancel() {
+			cancelled = true;
+		}
+	}
+
 	/**
 	 * ends geometry
 	 * 
@@ -556,6 +764,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		endPacking();
 		renderer.getGeometryManager().setScalerView();
 
+		publishBounds();
 		drawWireframe(renderer);
 	}
 
@@ -697,6 +906,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 	@Override
 	public void removeFromDrawable3DLists(Drawable3DLists lists) {
+		cancelTessellation();
 		removeFromDrawable3DLists(lists, DRAW_TYPE_CLIPPED_SURFACES);
 		if (wireframeNeeded()) {
 			removeFromDrawable3DLists(lists, DRAW_TYPE_CLIPPED_CURVES);
@@ -731,30 +941,35 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	}
 
 	private void initBounds() {
-		boundsMin.set(Double.POSITIVE_INFINITY);
-		boundsMax.set(Double.NEGATIVE_INFINITY);
+		newBoundsMin.set(Double.POSITIVE_INFINITY);
+		newBoundsMax.set(Double.NEGATIVE_INFINITY);
+	}
+
+	private void publishBounds() {
+		boundsMin.set(newBoundsMin);
+		boundsMax.set(newBoundsMax);
 	}
 
 	private void updateBounds(Coords3 p) {
 
 		// update bounds
-		if (p.getXd() < boundsMin.getX()) {
-			boundsMin.setX(p.getXd());
+		if (p.getXd() < newBoundsMin.getX()) {
+			newBoundsMin.setX(p.getXd());
 		}
-		if (p.getYd() < boundsMin.getY()) {
-			boundsMin.setY(p.getYd());
+		if (p.getYd() < newBoundsMin.getY()) {
+			newBoundsMin.setY(p.getYd());
 		}
-		if (p.getZd() < boundsMin.getZ()) {
-			boundsMin.setZ(p.getZd());
+		if (p.getZd() < newBoundsMin.getZ()) {
+			newBoundsMin.setZ(p.getZd());
 		}
-		if (p.getXd() > boundsMax.getX()) {
-			boundsMax.setX(p.getXd());
+		if (p.getXd() > newBoundsMax.getX()) {
+			newBoundsMax.setX(p.getXd());
 		}
-		if (p.getYd() > boundsMax.getY()) {
-			boundsMax.setY(p.getYd());
+		if (p.getYd() > newBoundsMax.getY()) {
+			newBoundsMax.setY(p.getYd());
 		}
-		if (p.getZd() > boundsMax.getZ()) {
-			boundsMax.setZ(p.getZd());
+		if (p.getZd() > newBoundsMax.getZ()) {
+			newBoundsMax.setZ(p.getZd());
 		}
 
 	}
@@ -922,7 +1137,8 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		}
 
 		while (currentSplitStoppedIndex < currentSplitIndex
-				&& loopSplitIndex < maxSplitsInOneUpdate) {
+				&& loopSplitIndex < maxSplitsInOneUpdate
+				&& !isTessellationCancelled()) {
 			currentSplit[currentSplitStoppedIndex].split(false);
 			currentSplitStoppedIndex++;
 
@@ -939,7 +1155,8 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		// debug("nextSplitIndex = " + nextSplitIndex + " , drawListIndex = " +
 		// drawListIndex);
 
-		if (loopSplitIndex < maxSplitsInOneUpdate && nextSplitIndex > 0) {
+		if (loopSplitIndex < maxSplitsInOneUpdate && nextSplitIndex > 0
+				&& !isTessellationCancelled()) {
 			return split();
 		}
 
@@ -947,6 +1164,10 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 	}
 
+	private boolean isTessellationCancelled() {
+		return tessellation != null && tessellation.isCancelled();
+	}
+
 	/**
 	 * 
 	 * @return new coords 3
@@ -964,7 +1185,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	}
 
 	protected Coords3 evaluatePoint(double u, double v) {
-		surfaceGeo.evaluatePoint(u, v, evaluatedPoint);
+		evaluable.evaluatePoint(u, v, evaluatedPoint);
 
 		if (!evaluatedPoint.isDefined()) {
 			return Coords3.UNDEFINED;
@@ -984,7 +1205,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 		// p is final value: use evaluatedPoint to compute
 		if (p == null || p.isFinalUndefined()) {
-			surfaceGeo.evaluatePoint(u, v, evaluatedPoint);
+			evaluable.evaluatePoint(u, v, evaluatedPoint);
 
 			if (!evaluatedPoint.isDefined()) {
 				return Coords3.UNDEFINED;
@@ -1001,7 +1222,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		}
 
 		// p is not final value
-		surfaceGeo.evaluatePoint(u, v, p);
+		evaluable.evaluatePoint(u, v, p);
 
 		if (!p.isDefined()) {
 			return Coords3.UNDEFINED;
@@ -1023,7 +1244,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		boolean defined;
 		// normal is final value: use evaluatedNormal to compute
 		if (normal == null || normal.isFinalUndefined()) {
-			defined = surfaceGeo.evaluateNormal(p, u, v, evaluatedNormal);
+			defined = evaluable.evaluateNormal(p, u, v, evaluatedNormal);
 
 			if (!defined) {
 				return Coords3.UNDEFINED;
@@ -1034,7 +1255,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		}
 
 		// normal is not final value
-		defined = surfaceGeo.evaluateNormal(p, u, v, normal);
+		defined = evaluable.evaluateNormal(p, u, v, normal);
 
 		if (!defined) {
 			return Coords3.UNDEFINED;
@@ -22,12 +22,12 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 
 	private GLBufferIndicesArray bufferIndicesArray;
 
-	private ArrayList<Double>[] vertexTemplates;
-	private ArrayList<Double>[] normalTemplates;
+	private ReusableFloatArray[] vertexTemplates;
+	private ReusableFloatArray[] normalTemplates;
 	private ArrayList<Short>[] indicesTemplates;
 
-	private ArrayList<Double> currentVertexArray;
-	private ArrayList<Double> currentNormalArray;
+	private ReusableFloatArray currentVertexArray;
+	private ReusableFloatArray currentNormalArray;
 	private ArrayList<Short> currentIndicesArray;
 
 	/**
@@ -62,8 +62,8 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 	 */
 	@SuppressWarnings("unchecked")
 	public GLBufferManagerTemplatesForPoints() {
-		vertexTemplates = new ArrayList[POINT_TEMPLATES_COUNT];
-		normalTemplates = new ArrayList[POINT_TEMPLATES_COUNT];
+		vertexTemplates = new ReusableFloatArray[POINT_TEMPLATES_COUNT];
+		normalTemplates = new ReusableFloatArray[POINT_TEMPLATES_COUNT];
 		indicesTemplates = new ArrayList[POINT_TEMPLATES_COUNT];
 	}
 
@@ -150,16 +150,12 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 				Coords.O, 1d, -1);
 		manager.setScalerView();
 
-		currentVertexArray = new ArrayList<>();
-		for (int i = 0; i < elementsLength * 3; i++) {
-			currentVertexArray.add(vertexArray.get(i));
-		}
+		currentVertexArray = new ReusableFloatArray(elementsLength * 3);
+		currentVertexArray.setValues(vertexArray, elementsLength * 3);
 		vertexTemplates[templateIndex] = currentVertexArray;
 
-		currentNormalArray = new ArrayList<>();
-		for (int i = 0; i < elementsLength * 3; i++) {
-			currentNormalArray.add(normalArray.get(i));
-		}
+		currentNormalArray = new ReusableFloatArray(elementsLength * 3);
+		currentNormalArray.setValues(normalArray, elementsLength * 3);
 		normalTemplates[templateIndex] = currentNormalArray;
 
 		currentIndicesArray = new ArrayList<>();
@@ -187,7 +183,7 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 		if (currentVertexArray == null) {
 			createSphere(manager, templateIndex);
 		} else {
-			elementsLength = currentVertexArray.size() / 3;
+			elementsLength = currentVertexArray.getLength() / 3;
 			currentNormalArray = normalTemplates[templateIndex];
 			currentIndicesArray = indicesTemplates[templateIndex];
 		}
@@ -203,7 +199,7 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 	public void selectSphere(int pointSize) {
 		int templateIndex = getIndexForPointSize(pointSize);
 		currentVertexArray = vertexTemplates[templateIndex];
-		elementsLength = currentVertexArray.size() / 3;
+		elementsLength = currentVertexArray.getLength() / 3;
 		currentNormalArray = normalTemplates[templateIndex];
 		currentIndicesArray = indicesTemplates[templateIndex];
 	}
@@ -21,10 +21,10 @@ import org.geogebra.common.kernel.matrix.Coords;
 public class ManagerShaders extends Manager {
 
 	private Renderer renderer;
-	private ReusableArrayList<Double> vertices;
-	private ReusableArrayList<Double> normals;
-	private ReusableArrayList<Double> textures;
-	private ReusableArrayList<Double> colors;
+	private ReusableFloatArray vertices;
+	private ReusableFloatArray normals;
+	private ReusableFloatArray textures;
+	private ReusableFloatArray colors;
 
 	private TreeMap<Integer, GeometriesSet> geometriesSetList;
 
@@ -130,10 +130,10 @@ public class ManagerShaders extends Manager {
 		geometriesSetMaxIndex = -1;
 		indicesRemoved = new Stack<>();
 
-		vertices = new ReusableArrayList<>();
-		normals = new ReusableArrayList<>();
-		textures = new ReusableArrayList<>();
-		colors = new ReusableArrayList<>();
+		vertices = new ReusableFloatArray();
+		normals = new ReusableFloatArray();
+		textures = new ReusableFloatArray();
+		colors = new ReusableFloatArray();
 	}
 
 	@Override
@@ -924,7 +924,7 @@ public class ManagerShaders extends Manager {
 	 *            normals array
 	 */
 	public void endGeometry(int size, int elementsLength,
-			ArrayList<Double> vertices1, ArrayList<Double> normals1) {
+			ReusableFloatArray vertices1, ReusableFloatArray normals1) {
 		currentGeometriesSet.setVertices(vertices1, elementsLength * 3);
 		currentGeometriesSet.setNormals(normals1, elementsLength * 3);
 		currentGeometriesSet.setTextures(null, 0);
@@ -0,0 +1,165 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+/**
+ * Growable float array that can be reused, used to store vertices, normals,
+ * textures and colors before they are sent to GL buffers (without boxing)
+ */
+public class ReusableFloatArray {
+
+	private float[] values;
+	private int length;
+
+	/**
+	 * constructor
+	 */
+	public ReusableFloatArray() {
+		this(16);
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param capacity
+	 *            initial capacity
+	 */
+	public ReusableFloatArray(int capacity) {
+		values = new float[Math.max(capacity, 1)];
+		length = 0;
+	}
+
+	/**
+	 * set length; values below length are kept, new values are undefined
+	 *
+	 * @param length
+	 *            length
+	 */
+	public void setLength(int length) {
+		ensureCapacity(length);
+		this.length = length;
+	}
+
+	/**
+	 *
+	 * @return current length
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @param index
+	 *            index (lower than length)
+	 * @return value at index
+	 */
+	public float get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * @param index
+	 *            index (lower than length)
+	 * @param value
+	 *            new value
+	 */
+	public void set(int index, double value) {
+		values[index] = (float) value;
+	}
+
+	/**
+	 *
+	 * @return backing array, only values below length are meaningful
+	 */
+	public float[] getValues() {
+		return values;
+	}
+
+	/**
+	 * add a value to the current position
+	 *
+	 * @param value
+	 *            value
+	 */
+	public void addValue(double value) {
+		ensureCapacity(length + 1);
+		values[length] = (float) value;
+		length++;
+	}
+
+	/**
+	 * add values to the current position
+	 *
+	 * @param v0
+	 *            first value
+	 * @param v1
+	 *            second value
+	 */
+	public void addValues(double v0, double v1) {
+		ensureCapacity(length + 2);
+		values[length] = (float) v0;
+		values[length + 1] = (float) v1;
+		length += 2;
+	}
+
+	/**
+	 * add values to the current position
+	 *
+	 * @param v0
+	 *            first value
+	 * @param v1
+	 *            second value
+	 * @param v2
+	 *            third value
+	 */
+	public void addValues(double v0, double v1, double v2) {
+		ensureCapacity(length + 3);
+		values[length] = (float) v0;
+		values[length + 1] = (float) v1;
+		values[length + 2] = (float) v2;
+		length += 3;
+	}
+
+	/**
+	 * add values to the current position
+	 *
+	 * @param v0
+	 *            first value
+	 * @param v1
+	 *            second value
+	 * @param v2
+	 *            third value
+	 * @param v3
+	 *            fourth value
+	 */
+	public void addValues(double v0, double v1, double v2, double v3) {
+		ensureCapacity(length + 4);
+		values[length] = (float) v0;
+		values[length + 1] = (float) v1;
+		values[length + 2] = (float) v2;
+		values[length + 3] = (float) v3;
+		length += 4;
+	}
+
+	/**
+	 * replace values of this array by first values of source
+	 *
+	 * @param source
+	 *            source array
+	 * @param sourceLength
+	 *            number of values to copy
+	 */
+	public void setValues(ReusableFloatArray source, int sourceLength) {
+		ensureCapacity(sourceLength);
+		System.arraycopy(source.values, 0, values, 0, sourceLength);
+		length = sourceLength;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			float[] newValues = new float[Math.max(capacity,
+					2 * values.length)];
+			System.arraycopy(values, 0, newValues, 0, length);
+			values = newValues;
+		}
+	}
+
+}
@@ -243,4 +243,13 @@ public class AlgoLocus3D extends AlgoLocusND<MyPoint3D> {
 		return new MyPoint3D();
 	}
 
+	@Override
+	protected void setCoordsFromCache(GeoPointND point, MyPoint3D copy) {
+		if (point.isGeoElement3D()) {
+			point.setCoords(copy.getX(), copy.getY(), copy.getZ(), 1.0);
+		} else {
+			point.setCoords(copy.getX(), copy.getY(), 1.0);
+		}
+	}
+
 }
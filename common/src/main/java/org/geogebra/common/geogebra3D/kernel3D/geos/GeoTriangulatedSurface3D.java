@@ -102,6 +102,38 @@ public class GeoTriangulatedSurface3D {
 		++counter;
 	}
 
+	/**
+	 * Appends all the surfaces of other triangulated surface
+	 *
+	 * @param surf
+	 *            other surface
+	 */
+	public void append(GeoTriangulatedSurface3D surf) {
+		int size = surf.size();
+		double[] p = new double[3];
+		double[] n = new double[3];
+		for (int i = 0; i < size; i++) {
+			MyPoint3D vertex = surf.vertices[i];
+			MyPoint3D normal = surf.normals[i];
+			if (!vertex.getLineTo()) {
+				if (counter != 0) {
+					endTriangulation();
+				}
+				beginTriangulation();
+			}
+			p[0] = vertex.x;
+			p[1] = vertex.y;
+			p[2] = vertex.z;
+			n[0] = normal.x;
+			n[1] = normal.y;
+			n[2] = normal.z;
+			insertPoint(p, n);
+		}
+		if (counter != 0) {
+			endTriangulation();
+		}
+	}
+
 	private void ensureCapacity(int size) {
 		if (size >= capacity) {
 			capacity = Integer.highestOneBit(size) << 1;
@@ -1,10 +1,12 @@
 package org.geogebra.common.geogebra3D.kernel3D.implicit3D;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoElement3D;
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoTriangulatedSurface3D;
 import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.Equation;
 import org.geogebra.common.kernel.arithmetic.EquationValue;
@@ -31,6 +33,7 @@ import org.geogebra.common.main.Feature;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.TaskExecutor;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -244,25 +247,46 @@ public class GeoImplicitSurface extends GeoElement3D
 	 *            coordinate where output normal vector is stored
 	 */
 	public void evaluateNormalAt(Coords c, Coords r) {
+		evaluateNormal(expression.getFunction(),
+				hasDerivatives ? derivFunc : null, normEval, c, r);
+	}
+
+	/**
+	 * Evaluate normal using derivatives, where a derivative is not finite
+	 * central difference is used instead
+	 * 
+	 * @param fun
+	 *            function
+	 * @param deriv
+	 *            partial derivatives, null if not available
+	 * @param xyz
+	 *            array for evaluation
+	 * @param c
+	 *            coordinate where normal is to be evaluated
+	 * @param r
+	 *            coordinate where output normal vector is stored
+	 */
+	static void evaluateNormal(FunctionNVar fun, FunctionNVar[] deriv,
+			double[] xyz, Coords c, Coords r) {
 		r.val[0] = 0;
 		r.val[1] = 0;
 		r.val[2] = 0;
-		if (!hasDerivatives) {
+		if (deriv == null) {
 			return;
 		}
 		double lt, rt, e = 1e-3, e2 = 2 * e;
-		normEval[0] = c.val[0];
-		normEval[1] = c.val[1];
-		normEval[2] = c.val[2];
-		r.val[0] = derivFunc[0].evaluate(normEval);
-		r.val[1] = derivFunc[1].evaluate(normEval);
-		r.val[2] = derivFunc[2].evaluate(normEval);
+		xyz[0] = c.val[0];
+		xyz[1] = c.val[1];
+		xyz[2] = c.val[2];
+		r.val[0] = deriv[0].evaluate(xyz);
+		r.val[1] = deriv[1].evaluate(xyz);
+		r.val[2] = deriv[2].evaluate(xyz);
 		for (int i = 0; i < 3; i++) {
 			if (!MyDouble.isFinite(r.val[i])) {
-				normEval[i] -= e;
-				lt = evaluateAt(normEval);
-				normEval[i] += e2;
-				rt = evaluateAt(normEval);
+				xyz[i] -= e;
+				lt = fun.evaluate(xyz);
+				xyz[i] += e2;
+				rt = fun.evaluate(xyz);
 				r.val[i] = (rt - lt) / e2;
 			}
 		}
@@ -337,11 +361,26 @@ public class GeoImplicitSurface extends GeoElement3D
 	public void updateSurface(double[] bounds) {
 		if (isDefined()) {
 			surface3D.clear();
-			MarchingCube m = new MarchingCube(this);
-			m.update(bounds);
+			createMarchingCube().update(bounds);
 		}
 	}
 
+	/**
+	 * @return parallel marching cube if the kernel has a task executor and
+	 *         the function can be evaluated concurrently, simple marching
+	 *         cube otherwise
+	 */
+	private ImplicitSurface createMarchingCube() {
+		TaskExecutor executor = kernel.getTaskExecutor();
+		if (executor != null) {
+			ScalarField field = ScalarField.copy(this);
+			if (field != null) {
+				return new ParallelMarchingCube(this, executor, field);
+			}
+		}
+		return new MarchingCube(this);
+	}
+
 	/**
 	 * Force to re-evaluate the surface
 	 */
@@ -666,6 +705,28 @@ public class GeoImplicitSurface extends GeoElement3D
 
 		public abstract void update();
 
+		protected static int pixels(double c1, double c2, double scale) {
+			return (int) Math.ceil((Math.abs(c1 - c2) * scale));
+		}
+
+		/**
+		 * Evaluate normal at point of intersection of cube edge with the
+		 * surface and store result in r
+		 * 
+		 * @param cube
+		 *            cube
+		 * @param e
+		 *            the edge number as per the convention
+		 * @param c
+		 *            point of intersection
+		 * @param r
+		 *            coordinate where output normal vector is stored
+		 */
+		protected void evaluateNormalAt(Cube cube, int e, Coords c,
+				Coords r) {
+			s.evaluateNormalAt(c, r);
+		}
+
 		public int config(Cube cube) {
 			int config = cube.sign(Cube.V7);
 			config = (config << 1) | cube.sign(Cube.V6);
@@ -695,9 +756,9 @@ public class GeoImplicitSurface extends GeoElement3D
 					cube.pointOfIntersection(edges[i + 2], p3.val);
 					p2.sub(p1, p4);
 					p3.sub(p1, p5);
-					s.evaluateNormalAt(p1, n1);
-					s.evaluateNormalAt(p2, n2);
-					s.evaluateNormalAt(p3, n3);
+					evaluateNormalAt(cube, edges[i], p1, n1);
+					evaluateNormalAt(cube, edges[i + 1], p2, n2);
+					evaluateNormalAt(cube, edges[i + 2], p3, n3);
 					det = p4.dotCrossProduct(n1, p5);
 					if (det < 0) {
 						surf.insertPoint(p1.val, n1.val);
@@ -726,10 +787,6 @@ public class GeoImplicitSurface extends GeoElement3D
 			super(s);
 		}
 
-		private static int pixels(double c1, double c2, double scale) {
-			return (int) Math.ceil((Math.abs(c1 - c2) * scale));
-		}
-
 		@Override
 		public void update() {
 
@@ -804,6 +861,511 @@ public class GeoImplicitSurface extends GeoElement3D
 
 	}
 
+	/**
+	 * Copy of the surface function and its derivatives with own function
+	 * variables, can be evaluated in a worker thread
+	 */
+	private static class ScalarField {
+		private final FunctionNVar fun;
+		private final FunctionNVar[] deriv;
+		private final double[] evals = new double[3];
+		private final double[] normEval = new double[3];
+
+		private ScalarField(FunctionNVar fun, FunctionNVar[] deriv) {
+			this.fun = fun;
+			this.deriv = deriv;
+		}
+
+		/**
+		 * @param s
+		 *            implicit surface
+		 * @return copy of the function of the surface, null if it can't be
+		 *         evaluated concurrently
+		 */
+		public static ScalarField copy(GeoImplicitSurface s) {
+			Kernel kernel = s.getKernel();
+			FunctionNVar fn = s.expression.getFunction();
+			FunctionVariable[] vars = fn.getFunctionVariables();
+			FunctionVariable[] copyVars = new FunctionVariable[vars.length];
+			for (int i = 0; i < vars.length; i++) {
+				copyVars[i] = vars[i].deepCopy(kernel);
+			}
+			FunctionNVar copy = fn.copyForEvaluation(copyVars, kernel);
+			if (copy == null) {
+				return null;
+			}
+			FunctionNVar[] deriv = null;
+			if (s.hasDerivatives) {
+				deriv = new FunctionNVar[3];
+				for (int i = 0; i < 3; i++) {
+					deriv[i] = s.derivFunc[i].copyForEvaluation(copyVars,
+							kernel);
+					if (deriv[i] == null) {
+						return null;
+					}
+				}
+			}
+			return new ScalarField(copy, deriv);
+		}
+
+		public double evaluateAt(double x, double y, double z) {
+			evals[0] = x;
+			evals[1] = y;
+			evals[2] = z;
+			return fun.evaluate(evals);
+		}
+
+		public void evaluateNormalAt(Coords c, Coords r) {
+			evaluateNormal(fun, deriv, normEval, c, r);
+		}
+
+		/**
+		 * @return length of the gradient, infinity if it's not known
+		 */
+		public double gradientNormAt(double x, double y, double z) {
+			if (deriv == null) {
+				return Double.POSITIVE_INFINITY;
+			}
+			normEval[0] = x;
+			normEval[1] = y;
+			normEval[2] = z;
+			double dx = deriv[0].evaluate(normEval);
+			double dy = deriv[1].evaluate(normEval);
+			double dz = deriv[2].evaluate(normEval);
+			double norm = Math.sqrt(dx * dx + dy * dy + dz * dz);
+			return MyDouble.isFinite(norm) ? norm : Double.POSITIVE_INFINITY;
+		}
+	}
+
+	/**
+	 * Marching cube on a finer grid. The function and the length of its
+	 * gradient are first evaluated on the corners of blocks of BLOCK x BLOCK x
+	 * BLOCK cubes. Blocks are split into cubes if there is a sign change, or if
+	 * the surface may be closer to a corner than the function value and the
+	 * steepest gradient of the block allow, so that small closed components
+	 * are not lost. Then the surface is followed: neighbours
+	 * of split blocks are split as long as there is a sign change on the
+	 * common face. Each grid corner is evaluated once. The grid is split into
+	 * layers of blocks along z, each layer is evaluated and triangulated by
+	 * its own task with its own copy of the function.
+	 */
+	private static class ParallelMarchingCube extends ImplicitSurface {
+		private static final int AVE_PXL = 16;
+		private static final int MAX_SUB_DIV = 64;
+		/** number of cubes along block edge */
+		private static final int BLOCK = 4;
+		/**
+		 * the gradient is only known at block corners, the slope inside the
+		 * block may be steeper
+		 */
+		private static final double SLOPE_FACTOR = 2;
+
+		private static final int EVALUATE_BLOCKS = 0;
+		private static final int EVALUATE_CUBES = 1;
+		private static final int TRIANGULATE = 2;
+
+		private final TaskExecutor executor;
+		private final ScalarField field;
+
+		private int sizeX;
+		private int sizeY;
+		private int sizeZ;
+		private int blocksX;
+		private int blocksY;
+		private int blocksZ;
+		private double[] xcoords;
+		private double[] ycoords;
+		private double[] zcoords;
+		/** function values on grid corners */
+		private double[] values;
+		/** lengths of gradient on block corners */
+		private double[] slopes;
+		/** round in which the block was split into cubes, 0 if not split */
+		private int[] splitRound;
+		private int round;
+
+		public ParallelMarchingCube(GeoImplicitSurface s,
+				TaskExecutor executor, ScalarField field) {
+			super(s);
+			this.executor = executor;
+			this.field = field;
+		}
+
+		private static int blocks(double c1, double c2, double scale) {
+			int size = Math.min(MAX_SUB_DIV,
+					pixels(c1, c2, scale) / AVE_PXL + 1);
+			return (size + BLOCK - 1) / BLOCK;
+		}
+
+		private static double[] coords(double c1, double frac, int size) {
+			double[] coords = new double[size + 1];
+			for (int i = 0; i <= size; i++) {
+				coords[i] = c1 + i * frac;
+			}
+			return coords;
+		}
+
+		@Override
+		public void update() {
+			blocksX = blocks(x1, x2, scaleX);
+			blocksY = blocks(y1, y2, scaleY);
+			blocksZ = blocks(z1, z2, scaleZ);
+			sizeX = blocksX * BLOCK;
+			sizeY = blocksY * BLOCK;
+			sizeZ = blocksZ * BLOCK;
+			debug("{x:" + sizeX + ";y:" + sizeY + ";z:" + sizeZ + "}");
+
+			this.fracX = (x2 - x1) / sizeX;
+			this.fracY = (y2 - y1) / sizeY;
+			this.fracZ = (z2 - z1) / sizeZ;
+
+			xcoords = coords(x1, fracX, sizeX);
+			ycoords = coords(y1, fracY, sizeY);
+			zcoords = coords(z1, fracZ, sizeZ);
+			values = new double[(sizeX + 1) * (sizeY + 1) * (sizeZ + 1)];
+			splitRound = new int[blocksX * blocksY * blocksZ];
+			slopes = new double[(blocksX + 1) * (blocksY + 1) * (blocksZ + 1)];
+
+			Layer[] layers = new Layer[blocksZ];
+			for (int i = 0; i < blocksZ; i++) {
+				layers[i] = new Layer(s, i,
+						i == 0 ? field : ScalarField.copy(s));
+			}
+			runAll(layers, EVALUATE_BLOCKS);
+			round = 1;
+			boolean split = splitBlocks();
+			while (split) {
+				runAll(layers, EVALUATE_CUBES);
+				round++;
+				split = splitNeighbours();
+			}
+			runAll(layers, TRIANGULATE);
+			for (Layer layer : layers) {
+				surf.append(layer.surf);
+			}
+		}
+
+		private void runAll(Layer[] layers, final int phase) {
+			ArrayList<Runnable> tasks = new ArrayList<>();
+			for (final Layer layer : layers) {
+				tasks.add(new Runnable() {
+					@Override
+					public void run() {
+						layer.run(phase);
+					}
+				});
+			}
+			executor.runAll(tasks);
+		}
+
+		/**
+		 * Splits blocks with sign change at block corners and blocks that may
+		 * contain the surface according to the gradient
+		 * 
+		 * @return whether some block was split
+		 */
+		private boolean splitBlocks() {
+			boolean split = false;
+			for (int bz = 0; bz < blocksZ; bz++) {
+				for (int by = 0; by < blocksY; by++) {
+					for (int bx = 0; bx < blocksX; bx++) {
+						int i0 = bx * BLOCK;
+						int j0 = by * BLOCK;
+						int k0 = bz * BLOCK;
+						if (hasSignChange(i0, i0 + BLOCK, j0, j0 + BLOCK, k0,
+								k0 + BLOCK, BLOCK)
+								|| mayContainSurface(bx, by, bz)) {
+							splitRound[blockIndex(bx, by, bz)] = round;
+							split = true;
+						}
+					}
+				}
+			}
+			return split;
+		}
+
+		/**
+		 * Each point of the block is at most half of the block diagonal away
+		 * from a corner, so if the function can't reach zero along that
+		 * distance from any corner, the block contains no surface.
+		 * 
+		 * @return whether the block may contain the surface
+		 */
+		private boolean mayContainSurface(int bx, int by, int bz) {
+			double maxSlope = 0;
+			double minValue = Double.POSITIVE_INFINITY;
+			for (int k = bz; k <= bz + 1; k++) {
+				for (int j = by; j <= by + 1; j++) {
+					for (int i = bx; i <= bx + 1; i++) {
+						maxSlope = Math.max(maxSlope,
+								slopes[blockCornerIndex(i, j, k)]);
+						double v = value(i * BLOCK, j * BLOCK, k * BLOCK);
+						if (MyDouble.isFinite(v)) {
+							minValue = Math.min(minValue, Math.abs(v));
+						}
+					}
+				}
+			}
+			double halfDiagonal = BLOCK * 0.5 * Math.sqrt(
+					fracX * fracX + fracY * fracY + fracZ * fracZ);
+			return minValue <= SLOPE_FACTOR * maxSlope * halfDiagonal;
+		}
+
+		/**
+		 * Splits neighbours of blocks split in last round if there is a sign
+		 * change on the common face
+		 * 
+		 * @return whether some block was split
+		 */
+		private boolean splitNeighbours() {
+			boolean split = false;
+			for (int bz = 0; bz < blocksZ; bz++) {
+				for (int by = 0; by < blocksY; by++) {
+					for (int bx = 0; bx < blocksX; bx++) {
+						if (splitRound[blockIndex(bx, by, bz)] == round - 1) {
+							split |= splitNeighbours(bx, by, bz);
+						}
+					}
+				}
+			}
+			return split;
+		}
+
+		private boolean splitNeighbours(int bx, int by, int bz) {
+			int i0 = bx * BLOCK;
+			int j0 = by * BLOCK;
+			int k0 = bz * BLOCK;
+			int i1 = i0 + BLOCK;
+			int j1 = j0 + BLOCK;
+			int k1 = k0 + BLOCK;
+			boolean split = false;
+			split |= splitNeighbour(bx - 1, by, bz, i0, i0, j0, j1, k0, k1);
+			split |= splitNeighbour(bx + 1, by, bz, i1, i1, j0, j1, k0, k1);
+			split |= splitNeighbour(bx, by - 1, bz, i0, i1, j0, j0, k0, k1);
+			split |= splitNeighbour(bx, by + 1, bz, i0, i1, j1, j1, k0, k1);
+			split |= splitNeighbour(bx, by, bz - 1, i0, i1, j0, j1, k0, k0);
+			split |= splitNeighbour(bx, by, bz + 1, i0, i1, j0, j1, k1, k1);
+			return split;
+		}
+
+		private boolean splitNeighbour(int bx, int by, int bz, int i0, int i1,
+				int j0, int j1, int k0, int k1) {
+			if (bx < 0 || by < 0 || bz < 0 || bx >= blocksX || by >= blocksY
+					|| bz >= blocksZ
+					|| splitRound[blockIndex(bx, by, bz)] != 0) {
+				return false;
+			}
+			if (hasSignChange(i0, i1, j0, j1, k0, k1, 1)) {
+				splitRound[blockIndex(bx, by, bz)] = round;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * @return whether the values on the grid corners between (i0, j0, k0)
+		 *         and (i1, j1, k1) don't all have the same sign
+		 */
+		private boolean hasSignChange(int i0, int i1, int j0, int j1, int k0,
+				int k1, int step) {
+			int signs = 0;
+			for (int k = k0; k <= k1; k += step) {
+				for (int j = j0; j <= j1; j += step) {
+					for (int i = i0; i <= i1; i += step) {
+						double v = value(i, j, k);
+						if (!MyDouble.isFinite(v)) {
+							signs |= 4;
+						} else {
+							signs |= v <= 0.0 ? 1 : 2;
+						}
+					}
+				}
+			}
+			return signs != 1 && signs != 2 && signs != 4;
+		}
+
+		/**
+		 * @return whether the corner belongs to a block split in current round
+		 *         but not to a block split before
+		 */
+		private boolean isSplitInThisRound(int i, int j, int k) {
+			boolean split = false;
+			for (int bz = blockMin(k); bz <= blockMax(k, blocksZ); bz++) {
+				for (int by = blockMin(j); by <= blockMax(j,
+						blocksY); by++) {
+					for (int bx = blockMin(i); bx <= blockMax(i,
+							blocksX); bx++) {
+						int r = splitRound[blockIndex(bx, by, bz)];
+						if (r == round) {
+							split = true;
+						} else if (r != 0) {
+							return false;
+						}
+					}
+				}
+			}
+			return split;
+		}
+
+		private static int blockMin(int corner) {
+			return corner == 0 ? 0 : (corner - 1) / BLOCK;
+		}
+
+		private static int blockMax(int corner, int blocks) {
+			return Math.min(corner / BLOCK, blocks - 1);
+		}
+
+		private int blockIndex(int bx, int by, int bz) {
+			return (bz * blocksY + by) * blocksX + bx;
+		}
+
+		private int blockCornerIndex(int bx, int by, int bz) {
+			return (bz * (blocksY + 1) + by) * (blocksX + 1) + bx;
+		}
+
+		private int index(int i, int j, int k) {
+			return (k * (sizeY + 1) + j) * (sizeX + 1) + i;
+		}
+
+		private double value(int i, int j, int k) {
+			return values[index(i, j, k)];
+		}
+
+		/**
+		 * Layer of blocks; owns the grid planes from its lowest plane to the
+		 * lowest plane of next layer (exclusive)
+		 */
+		private class Layer extends ImplicitSurface {
+			private final int bz;
+			private final ScalarField layerField;
+			private final Cube cube = new Cube();
+			/** normals on grid edges, shared by up to four cubes */
+			private final HashMap<Integer, double[]> normals = new HashMap<>();
+			private int cubeX;
+			private int cubeY;
+			private int cubeZ;
+
+			public Layer(GeoImplicitSurface s, int bz, ScalarField field) {
+				super(s);
+				this.bz = bz;
+				this.layerField = field;
+				this.surf = new GeoTriangulatedSurface3D();
+			}
+
+			public void run(int phase) {
+				int k0 = bz * BLOCK;
+				int k1 = bz == blocksZ - 1 ? sizeZ : k0 + BLOCK - 1;
+				switch (phase) {
+				case EVALUATE_BLOCKS:
+					for (int k = k0; k <= k1; k += BLOCK) {
+						for (int j = 0; j <= sizeY; j += BLOCK) {
+							for (int i = 0; i <= sizeX; i += BLOCK) {
+								evaluate(i, j, k);
+								evaluateSlope(i, j, k);
+							}
+						}
+					}
+					break;
+				case EVALUATE_CUBES:
+					for (int k = k0; k <= k1; k++) {
+						for (int j = 0; j <= sizeY; j++) {
+							for (int i = 0; i <= sizeX; i++) {
+								if ((i % BLOCK != 0 || j % BLOCK != 0
+										|| k % BLOCK != 0)
+										&& isSplitInThisRound(i, j, k)) {
+									evaluate(i, j, k);
+								}
+							}
+						}
+					}
+					break;
+				default:
+					for (int by = 0; by < blocksY; by++) {
+						for (int bx = 0; bx < blocksX; bx++) {
+							if (splitRound[blockIndex(bx, by, bz)] != 0) {
+								triangulate(bx * BLOCK, by * BLOCK, k0);
+							}
+						}
+					}
+				}
+			}
+
+			private void evaluate(int i, int j, int k) {
+				values[index(i, j, k)] = layerField.evaluateAt(xcoords[i],
+						ycoords[j], zcoords[k]);
+			}
+
+			private void evaluateSlope(int i, int j, int k) {
+				slopes[blockCornerIndex(i / BLOCK, j / BLOCK,
+						k / BLOCK)] = layerField.gradientNormAt(xcoords[i],
+								ycoords[j], zcoords[k]);
+			}
+
+			private void triangulate(int i0, int j0, int k0) {
+				for (int k = k0 + 1; k <= k0 + BLOCK; k++) {
+					cube.coords[Cube.Z1] = zcoords[k - 1];
+					cube.coords[Cube.Z2] = zcoords[k];
+					for (int j = j0 + 1; j <= j0 + BLOCK; j++) {
+						cube.coords[Cube.Y1] = ycoords[j - 1];
+						cube.coords[Cube.Y2] = ycoords[j];
+						for (int i = i0 + 1; i <= i0 + BLOCK; i++) {
+							cubeX = i - 1;
+							cubeY = j - 1;
+							cubeZ = k - 1;
+							cube.coords[Cube.X1] = xcoords[i - 1];
+							cube.coords[Cube.X2] = xcoords[i];
+							cube.cache[Cube.V0] = value(i - 1, j, k);
+							cube.cache[Cube.V1] = value(i, j, k);
+							cube.cache[Cube.V2] = value(i, j, k - 1);
+							cube.cache[Cube.V3] = value(i - 1, j, k - 1);
+							cube.cache[Cube.V4] = value(i - 1, j - 1, k);
+							cube.cache[Cube.V5] = value(i, j - 1, k);
+							cube.cache[Cube.V6] = value(i, j - 1, k - 1);
+							cube.cache[Cube.V7] = value(i - 1, j - 1, k - 1);
+							addSurface(cube);
+						}
+					}
+				}
+			}
+
+			@Override
+			protected void evaluateNormalAt(Cube cube1, int e, Coords c,
+					Coords r) {
+				int[] v = Cube.EDGES[e];
+				int corner1 = corner(v[0]);
+				int corner2 = corner(v[1]);
+				int diff = Math.abs(corner1 - corner2);
+				int axis = diff == 1 ? 0 : (diff == sizeX + 1 ? 1 : 2);
+				Integer key = 3 * Math.min(corner1, corner2) + axis;
+				double[] normal = normals.get(key);
+				if (normal == null) {
+					layerField.evaluateNormalAt(c, r);
+					normals.put(key,
+							new double[] { r.val[0], r.val[1], r.val[2] });
+				} else {
+					r.val[0] = normal[0];
+					r.val[1] = normal[1];
+					r.val[2] = normal[2];
+				}
+			}
+
+			/**
+			 * @return grid index of cube vertex
+			 */
+			private int corner(int vertex) {
+				int[] c = Cube.VERTICES[vertex];
+				return index(c[0] == Cube.X2 ? cubeX + 1 : cubeX,
+						c[1] == Cube.Y2 ? cubeY + 1 : cubeY,
+						c[2] == Cube.Z2 ? cubeZ + 1 : cubeZ);
+			}
+
+			@Override
+			public void update() {
+				// layers are updated by the parallel marching cube
+			}
+		}
+	}
+
 	// Here is vertices and edges numbering convention used throughout the
 	// marching cube. Thus we can see vertices 7 and 1 map to (x1, y1, z1) and
 	// (x2, y2, z2) respectively
@@ -47,6 +47,11 @@ public abstract class CopyPasteCut {
 	private Record[] constructionIndexes;
 	private static Comparator<Record> comparator;
 
+	/**
+	 * Minimal length of pasted text which is imported in chunks
+	 */
+	private static final int STREAMING_PASTE_LENGTH = 100000;
+
 	/**
 	 * Constructor
 	 * 
@@ -346,6 +351,33 @@ public abstract class CopyPasteCut {
 		return succ;
 	}
 
+	/**
+	 * Pastes external (tab or comma separated) data into a given set of cells.
+	 * Large data pasted into a single cell is imported in chunks, see
+	 * {@link SpreadsheetImport}.
+	 * 
+	 * @param source
+	 *            pasted data
+	 * @param column1
+	 *            minimum target column
+	 * @param row1
+	 *            minimum target row
+	 * @param column2
+	 *            maximum target column
+	 * @param row2
+	 *            maximum target row
+	 * @return whether all cells were pasted successfully
+	 */
+	protected boolean pasteExternalMultiple(String source, int column1,
+			int row1, int column2, int row2) {
+		if (column1 == column2 && row1 == row2
+				&& source.length() > STREAMING_PASTE_LENGTH) {
+			return new SpreadsheetImport(app, source, column1, row1).run();
+		}
+		String[][] data = DataImport.parseExternalData(app, source, false);
+		return pasteExternalMultiple(data, column1, row1, column2, row2);
+	}
+
 	/**
 	 * Pastes data from 2D String array into a given cell range. The data may be
 	 * pasted multiple times to fill in an oversized target rectangle (and maybe
@@ -185,7 +185,7 @@ public class DataImport {
 	 * if the given string is a number that Geogebra's parser recognizes. If
 	 * cannot be parsed to a number, then the original string is returned.
 	 */
-	private static String adjustNumberString(String s) {
+	static String adjustNumberString(String s) {
 
 		if (s == null || "".equals(s)) {
 			return s;
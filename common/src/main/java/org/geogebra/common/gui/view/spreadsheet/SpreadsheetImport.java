@@ -0,0 +1,306 @@
+package org.geogebra.common.gui.view.spreadsheet;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoElementSpreadsheet;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.main.App;
+import org.geogebra.common.main.settings.SpreadsheetSettings;
+import org.geogebra.common.util.GTimer;
+import org.geogebra.common.util.GTimerListener;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.opencsv.CSVChunkReader;
+import org.geogebra.common.util.opencsv.CSVException;
+import org.geogebra.common.util.opencsv.CSVParser;
+
+/**
+ * Imports large external (CSV or tab separated) data into the spreadsheet.
+ *
+ * The data is parsed and the cells are created in chunks of rows. A single
+ * undo point is stored when the import is finished or cancelled.
+ *
+ * A synchronous import detaches the views and refreshes them once at the
+ * end. An asynchronous import keeps the views attached, because the
+ * application handles user input between two chunks; the views get one
+ * batch update per chunk. It is registered with the application and
+ * discarded when the construction is cleared (e.g. when another file is
+ * loaded), so it never writes into the new construction.
+ *
+ * Unlike {@link CopyPasteCut#pasteExternal(String[][], int, int, int, int)}
+ * rows are not padded to the same length, so existing cells right of short
+ * rows are kept.
+ */
+public class SpreadsheetImport implements GTimerListener {
+
+	/** default number of rows per chunk */
+	public static final int DEFAULT_CHUNK_SIZE = 2000;
+
+	/**
+	 * Gets notified about the progress of the import.
+	 */
+	public interface ImportListener {
+		/**
+		 * Called after each chunk.
+		 *
+		 * @param rows
+		 *            number of imported rows
+		 * @param progress
+		 *            fraction of the input that was imported
+		 */
+		void onProgress(int rows, double progress);
+
+		/**
+		 * Called once after the last chunk, after cancellation (also when the
+		 * construction is cleared) or on error.
+		 *
+		 * @param success
+		 *            whether all rows were imported
+		 */
+		void onFinished(boolean success);
+	}
+
+	private final App app;
+	private final Kernel kernel;
+	private final CSVChunkReader reader;
+	private final int column;
+	private final int row;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private ImportListener listener;
+	private GTimer timer;
+
+	private int importedRows = 0;
+	private boolean started = false;
+	private boolean async = false;
+	private boolean finished = false;
+	private boolean cancelled = false;
+	private boolean discarded = false;
+	private boolean success = true;
+
+	private boolean oldNotifyViews;
+	private boolean oldUndoActive;
+	private boolean oldEqualsRequired;
+
+	/**
+	 * @param app
+	 *            application
+	 * @param source
+	 *            tab separated data if it contains a tab, comma separated
+	 *            otherwise (see
+	 *            {@link DataImport#parseExternalData(App, String, boolean)})
+	 * @param column
+	 *            column of the upper left cell
+	 * @param row
+	 *            row of the upper left cell
+	 */
+	public SpreadsheetImport(App app, String source, int column, int row) {
+		this.app = app;
+		this.kernel = app.getKernel();
+		this.column = column;
+		this.row = row;
+		// the parser keeps state between lines, so it must not be shared
+		CSVParser parser = source.indexOf('\t') == -1 ? new CSVParser()
+				: new CSVParser('\t');
+		reader = new CSVChunkReader(source, parser);
+	}
+
+	/**
+	 * @param chunkSize
+	 *            number of rows imported at once
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	/**
+	 * @param listener
+	 *            progress listener
+	 */
+	public void setListener(ImportListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Imports all chunks before returning.
+	 *
+	 * @return whether all rows were imported
+	 */
+	public boolean run() {
+		begin();
+		while (importChunk()) {
+			// next chunk
+		}
+		return success;
+	}
+
+	/**
+	 * Imports the chunks asynchronously, the application can handle events
+	 * between two chunks.
+	 */
+	public void start() {
+		SpreadsheetImport running = app.getSpreadsheetImport();
+		if (running != null) {
+			running.cancel();
+		}
+		async = true;
+		begin();
+		timer = app.newTimer(this, 0);
+		app.setSpreadsheetImport(this);
+		timer.start();
+	}
+
+	@Override
+	public void onRun() {
+		if (importChunk()) {
+			timer.start();
+		}
+	}
+
+	/**
+	 * Stops the import after the current chunk; rows imported so far are kept
+	 * and can be undone as a whole.
+	 */
+	public void cancel() {
+		cancelled = true;
+		if (timer != null && started && !finished) {
+			timer.stop();
+			finish();
+		}
+	}
+
+	/**
+	 * Stops the import because the construction is cleared: no undo point is
+	 * stored.
+	 */
+	public void discard() {
+		discarded = true;
+		cancel();
+	}
+
+	private void begin() {
+		if (started) {
+			return;
+		}
+		started = true;
+		SpreadsheetSettings settings = app.getSettings().getSpreadsheet();
+		oldEqualsRequired = settings.equalsRequired();
+		settings.setEqualsRequired(true);
+		if (!async) {
+			oldNotifyViews = kernel.isNotifyViewsActive();
+			kernel.setNotifyViewsActive(false);
+			oldUndoActive = kernel.isUndoActive();
+			kernel.setUndoActive(false);
+		}
+		app.setWaitCursor();
+	}
+
+	/**
+	 * Imports the next chunk of rows.
+	 *
+	 * @return whether there are rows left to import
+	 */
+	public boolean importChunk() {
+		if (finished) {
+			return false;
+		}
+		begin();
+		if (!cancelled) {
+			if (async) {
+				kernel.notifyBatchUpdate();
+			}
+			try {
+				String[][] data = reader.readRows(chunkSize);
+				for (String[] rowData : data) {
+					importRow(rowData, row + importedRows);
+					importedRows++;
+				}
+			} catch (CSVException e) {
+				Log.debug(e);
+				success = false;
+			}
+			if (async) {
+				kernel.notifyEndBatchUpdate();
+			}
+			if (listener != null) {
+				listener.onProgress(importedRows, reader.getProgress());
+			}
+		}
+		if (cancelled || !success || !reader.hasMoreRows()) {
+			finish();
+			return false;
+		}
+		return true;
+	}
+
+	private void importRow(String[] rowData, int targetRow) {
+		for (int i = 0; i < rowData.length; i++) {
+			String text = rowData[i] == null ? null
+					: DataImport.adjustNumberString(rowData[i].trim());
+			GeoElement oldValue = kernel.lookupLabel(GeoElementSpreadsheet
+					.getSpreadsheetCellName(column + i, targetRow));
+			if (text == null || text.length() == 0) {
+				if (oldValue != null) {
+					oldValue.removeOrSetUndefinedIfHasFixedDescendent();
+				}
+				continue;
+			}
+			try {
+				GeoElementND value = RelativeCopy
+						.prepareAddingValueToTableNoStoringUndoInfo(kernel,
+								app, text, oldValue, column + i, targetRow,
+								true);
+				if (value != null) {
+					value.setAuxiliaryObject(true);
+				}
+			} catch (Exception e) {
+				Log.debug(e);
+				success = false;
+			}
+		}
+	}
+
+	private void finish() {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		app.getSettings().getSpreadsheet()
+				.setEqualsRequired(oldEqualsRequired);
+		if (!async) {
+			kernel.setNotifyViewsActive(oldNotifyViews);
+			kernel.setUndoActive(oldUndoActive);
+		}
+		if (timer != null) {
+			app.setSpreadsheetImport(null);
+		}
+		if (importedRows > 0 && !discarded) {
+			app.storeUndoInfo();
+		}
+		app.repaintSpreadsheet();
+		app.setDefaultCursor();
+		success = success && !cancelled;
+		if (listener != null) {
+			listener.onFinished(success);
+		}
+	}
+
+	/**
+	 * @return number of imported rows
+	 */
+	public int getImportedRows() {
+		return importedRows;
+	}
+
+	/**
+	 * @return whether the import was cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @return whether the import is finished (or was cancelled)
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+}
@@ -0,0 +1,82 @@
+package org.geogebra.common.io;
+
+import org.geogebra.common.util.StringUtil;
+
+/**
+ * Time spent in the phases of loading a construction, in milliseconds.
+ */
+public class LoadTimings {
+
+	/**
+	 * Phases of loading a construction.
+	 */
+	public enum Phase {
+		/** reading and decompressing zip entries */
+		UNZIP,
+		/** tokenizing XML */
+		PARSE,
+		/**
+		 * processing XML elements: creating elements and their algos
+		 * (including the first computation of each algo)
+		 */
+		CREATE,
+		/** final update of the whole construction */
+		COMPUTE
+	}
+
+	private final double[] times = new double[Phase.values().length];
+
+	/**
+	 * @param phase
+	 *            load phase
+	 * @param millis
+	 *            time spent in given phase
+	 */
+	public void add(Phase phase, double millis) {
+		times[phase.ordinal()] += millis;
+	}
+
+	/**
+	 * @param phase
+	 *            load phase
+	 * @return time spent in given phase
+	 */
+	public double get(Phase phase) {
+		return times[phase.ordinal()];
+	}
+
+	/**
+	 * @return time spent in all phases
+	 */
+	public double getTotal() {
+		double sum = 0;
+		for (double time : times) {
+			sum += time;
+		}
+		return sum;
+	}
+
+	/**
+	 * Set all times to zero.
+	 */
+	public void reset() {
+		for (int i = 0; i < times.length; i++) {
+			times[i] = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Phase phase : Phase.values()) {
+			sb.append(StringUtil.toLowerCaseUS(phase.name()));
+			sb.append(": ");
+			sb.append(Math.round(get(phase)));
+			sb.append("ms, ");
+		}
+		sb.append("total: ");
+		sb.append(Math.round(getTotal()));
+		sb.append("ms");
+		return sb.toString();
+	}
+}
@@ -73,6 +73,11 @@ public abstract class MyXMLio {
 	protected Construction cons;
 	/** handler for GGB files */
 	protected MyXMLHandler handler;
+	/** time spent in phases of the last load */
+	protected final LoadTimings loadTimings = new LoadTimings();
+	private boolean deferConstructionUpdate = false;
+	private boolean constructionUpdatePending = false;
+	private boolean pendingRandomize;
 
 	/**
 	 * @param kernel
@@ -339,6 +344,7 @@ public abstract class MyXMLio {
 	final public void processXMLString(String str, boolean clearAll,
 			boolean isGGTOrDefaults, boolean settingsBatch, boolean randomize)
 			throws Exception {
+		loadTimings.reset();
 		doParseXML(createXMLStreamString(str), clearAll, isGGTOrDefaults,
 				clearAll, settingsBatch, randomize);
 	}
@@ -362,6 +368,10 @@ public abstract class MyXMLio {
 	final protected void doParseXML(XMLStream stream, boolean clearConstruction,
 			boolean isGGTOrDefaults, boolean mayZoom, boolean settingsBatch,
 			boolean randomize) throws Exception {
+		if (clearConstruction) {
+			// restores notify views and undo before they are saved below
+			app.discardSpreadsheetImport();
+		}
 		boolean oldVal = kernel.isNotifyViewsActive();
 		boolean oldVal2 = kernel.isUsingInternalCommandNames();
 		kernel.setUseInternalCommandNames(true);
@@ -407,12 +417,19 @@ public abstract class MyXMLio {
 		} finally {
 			kernel.setUseInternalCommandNames(oldVal2);
 			if (!isGGTOrDefaults && mayZoom) {
-				kernel.updateConstruction(randomize, 1);
+				constructionUpdatePending = deferConstructionUpdate;
+				// only one load is deferred
+				deferConstructionUpdate = false;
+				if (constructionUpdatePending) {
+					pendingRandomize = randomize;
+				} else {
+					updateConstructionAfterLoad(randomize);
+				}
 				kernel.setNotifyViewsActive(oldVal);
 			}
 
 			// #2153
-			if (!isGGTOrDefaults && cons != null
+			if (!isGGTOrDefaults && cons != null && !constructionUpdatePending
 					&& cons.hasSpreadsheetTracingGeos()) {
 				// needs to be done after call to updateConstruction() to avoid
 				// spurious traces
@@ -441,6 +458,64 @@ public abstract class MyXMLio {
 
 	}
 
+	private void updateConstructionAfterLoad(boolean randomize) {
+		double start = getMillisecondTime();
+		kernel.updateConstruction(randomize, 1);
+		loadTimings.add(LoadTimings.Phase.COMPUTE,
+				getMillisecondTime() - start);
+	}
+
+	/**
+	 * If set, the final update of the construction after the next file load
+	 * is skipped until {@link #finishConstructionUpdate()} is called. Elements
+	 * are computed once when they are created, so the construction can be
+	 * shown and used before that. Later loads update the construction as
+	 * usual.
+	 * 
+	 * @param defer
+	 *            whether to defer the update of the next load
+	 */
+	public void setDeferConstructionUpdate(boolean defer) {
+		this.deferConstructionUpdate = defer;
+	}
+
+	/**
+	 * @return whether the final update of the last loaded construction is
+	 *         still pending
+	 */
+	public boolean isConstructionUpdatePending() {
+		return constructionUpdatePending;
+	}
+
+	/**
+	 * Runs the update deferred by {@link #setDeferConstructionUpdate(boolean)},
+	 * does nothing if there is none pending.
+	 */
+	public void finishConstructionUpdate() {
+		if (!constructionUpdatePending) {
+			return;
+		}
+		constructionUpdatePending = false;
+		updateConstructionAfterLoad(pendingRandomize);
+		if (cons != null && cons.hasSpreadsheetTracingGeos()) {
+			app.getTraceManager().loadTraceGeoCollection();
+		}
+	}
+
+	/**
+	 * @return time spent in phases of the last load
+	 */
+	public LoadTimings getLoadTimings() {
+		return loadTimings;
+	}
+
+	/**
+	 * @return current time in milliseconds, used for load timings
+	 */
+	protected double getMillisecondTime() {
+		return System.currentTimeMillis();
+	}
+
 	/**
 	 * reset XML parser
 	 */
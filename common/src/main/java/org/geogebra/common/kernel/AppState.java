@@ -19,4 +19,9 @@ public interface AppState {
 	 * @return are they equal?
 	 */
     boolean equalsTo(AppState state);
+
+	/**
+	 * @return estimated number of bytes this state keeps in memory
+	 */
+	long getRetainedBytes();
 }
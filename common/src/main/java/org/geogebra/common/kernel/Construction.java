@@ -122,6 +122,8 @@ public class Construction {
 
 	// AlgoElement List (for objects of type AlgoElement)
 	private ArrayList<AlgoElement> algoList; // used in updateConstruction()
+	// reused copy of algoList, see updateConstruction()
+	private final ArrayList<AlgoElement> algoListCopy = new ArrayList<>();
 
 	/** Table for (label, GeoElement) pairs, contains global variables */
 	protected HashMap<String, GeoElement> geoTable;
@@ -145,6 +147,12 @@ public class Construction {
 
 	// list of random numbers or lists
 	private TreeSet<GeoElement> randomElements;
+	// independent elements changed since last updateConstruction()
+	private TreeSet<GeoElement> dirtyGeos;
+	// whether updateConstruction() may only update dirtyGeos and dependents
+	private boolean incrementalUpdate = false;
+	/** number of algos updated by the last updateConstruction call */
+	private int updatedAlgoCount = 0;
 	/** algo set currently updated by GeoElement.updateDependentObjects() */
 	private AlgorithmSet algoSetCurrentlyUpdated;
 
@@ -1189,14 +1197,18 @@ public class Construction {
 	}
 
 	/**
-	 * Updates all objects in this construction.
+	 * Updates all objects in this construction. Use
+	 * {@link #updateDirtyGeos()} to only update changed elements in
+	 * incremental mode.
 	 * 
 	 * @param randomize
 	 *            whether to also update random algos
 	 */
 	final public void updateConstruction(boolean randomize) {
 		// collect notifyUpdate calls using xAxis as dummy geo
+		boolean nested = updateConstructionRunning;
 		updateConstructionRunning = true;
+		updatedAlgoCount = 0;
 		try {
 			// update all independent GeoElements
 			int size = ceList.size();
@@ -1232,8 +1244,12 @@ public class Construction {
 			// loop
 			// eg Polygon[A,B,RandomBetween[4,5]]
 			// http://www.geogebra.org/forum/viewtopic.php?p=56618
-			ArrayList<AlgoElement> tempList = new ArrayList<>(
-					algoList);
+			ArrayList<AlgoElement> tempList = nested
+					? new ArrayList<>(algoList) : algoListCopy;
+			if (!nested) {
+				tempList.clear();
+				tempList.addAll(algoList);
+			}
 
 			// update all algorithms
 			for (int i = 0; i < size; ++i) {
@@ -1252,13 +1268,124 @@ public class Construction {
 				if (randomize || !(algo instanceof SetRandomValue)
 						|| !((SetRandomValue) algo).setRandomValue(algo.getOutput(0))) {
 					algo.update();
+					updatedAlgoCount++;
 				}
 			}
 		} finally {
+			if (!nested) {
+				algoListCopy.clear();
+			}
+			clearDirtyGeos();
 			updateConstructionRunning = false;
 		}
 	}
 
+	/**
+	 * Updates only the elements marked by {@link #markDirty(GeoElement)} and
+	 * all algorithms depending on them, in construction order. Without
+	 * incremental mode or changed elements all objects are updated, see
+	 * {@link #setIncrementalUpdate(boolean)}.
+	 */
+	public void updateDirtyGeos() {
+		if (!incrementalUpdate || !hasDirtyGeos()) {
+			updateConstruction(false);
+			return;
+		}
+		updateConstructionRunning = true;
+		try {
+			TreeSet<AlgoElement> algosToUpdate = new TreeSet<>();
+			for (GeoElement geo : dirtyGeos) {
+				if (!isInConstructionList(geo)) {
+					continue;
+				}
+				geo.update();
+				if (geo.hasAlgoUpdateSet()) {
+					geo.getAlgoUpdateSet().addAllToCollection(algosToUpdate);
+				}
+			}
+			clearDirtyGeos();
+			updatedAlgoCount = 0;
+			for (AlgoElement algo : algosToUpdate) {
+				algo.initForNearToRelationship();
+				if (algo instanceof AlgoLocusEquation) {
+					((AlgoLocusEquation) algo).resetFingerprint(kernel, true);
+				}
+				// keep random values, same as full update without randomize
+				if (!(algo instanceof SetRandomValue) || !((SetRandomValue) algo)
+						.setRandomValue(algo.getOutput(0))) {
+					algo.update();
+					updatedAlgoCount++;
+				}
+			}
+		} finally {
+			updateConstructionRunning = false;
+		}
+	}
+
+	/**
+	 * Switches between full and incremental recomputation in
+	 * {@link #updateDirtyGeos()}. In incremental mode changed free elements
+	 * are tracked and updateDirtyGeos() only recomputes the algorithms that
+	 * depend on them. {@link #updateConstruction(boolean)} always updates
+	 * all objects.
+	 * 
+	 * @param incremental
+	 *            whether to use incremental recomputation
+	 */
+	public void setIncrementalUpdate(boolean incremental) {
+		this.incrementalUpdate = incremental;
+		if (!incremental) {
+			clearDirtyGeos();
+		}
+	}
+
+	/**
+	 * For tests only.
+	 * 
+	 * @return number of algos updated by the last updateConstruction call
+	 */
+	int getUpdatedAlgoCount() {
+		return updatedAlgoCount;
+	}
+
+	/**
+	 * @return whether updateConstruction(false) only recomputes changed parts
+	 */
+	public boolean isIncrementalUpdate() {
+		return incrementalUpdate;
+	}
+
+	/**
+	 * Marks an element as changed so that the next incremental update of this
+	 * construction recomputes it and its dependent objects. Ignored when
+	 * incremental mode is off or the construction is being updated.
+	 * 
+	 * @param geo
+	 *            changed element
+	 */
+	public void markDirty(GeoElement geo) {
+		if (!incrementalUpdate || updateConstructionRunning) {
+			return;
+		}
+		if (dirtyGeos == null) {
+			dirtyGeos = new TreeSet<>();
+		}
+		dirtyGeos.add(geo);
+	}
+
+	/**
+	 * @return whether some elements were changed since last update
+	 */
+	public boolean hasDirtyGeos() {
+		return dirtyGeos != null && !dirtyGeos.isEmpty();
+	}
+
+	private void clearDirtyGeos() {
+		if (dirtyGeos != null) {
+			dirtyGeos.clear();
+		}
+	}
+
 	/**
 	 * Similar to updateConstruction, but only updates CAS cells
 	 */
@@ -3034,6 +3161,7 @@ public class Construction {
 		intsM.clear();
 		ceList.clear();
 		algoList.clear();
+		clearDirtyGeos();
 
 		geoSetConsOrder.clear();
 		geoSetWithCasCells.clear();
@@ -13,6 +13,7 @@ import org.geogebra.common.plugin.EventType;
 public class DefaultUndoManager extends UndoManager {
 
 	private ArrayList<UndoPossibleListener> mListener = new ArrayList<>();
+	private boolean storeDeltas = false;
 
 	/**
 	 * @param cons
@@ -44,7 +45,10 @@ public class DefaultUndoManager extends UndoManager {
      *            string builder with construction XML
      */
     private synchronized void doStoreUndoInfo(final StringBuilder undoXML) {
-        AppState appStateToAdd = new StringAppState(undoXML.toString());
+		AppState appStateToAdd = storeDeltas
+				? DeltaAppState.create(undoXML.toString(),
+						getPreviousAppState())
+				: new StringAppState(undoXML.toString());
         UndoCommand command = createUndoCommand(appStateToAdd);
         maybeStoreUndoCommand(command);
         pruneStateList();
@@ -52,6 +56,15 @@ public class DefaultUndoManager extends UndoManager {
         updateUndoActions();
     }
 
+	/**
+	 * @param storeDeltas
+	 *            whether to store only changed parts of the XML for each
+	 *            undo point
+	 */
+	public void setStoreDeltas(boolean storeDeltas) {
+		this.storeDeltas = storeDeltas;
+	}
+
     protected UndoCommand createUndoCommand(AppState appState) {
     	return new UndoCommand(appState);
     }
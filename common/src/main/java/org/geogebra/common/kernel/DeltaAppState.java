@@ -0,0 +1,280 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * App State that only stores the XML blocks (elements, commands, settings)
+ * that changed with respect to a previous state; unchanged blocks are
+ * referenced from the previous state. Every {@link #MAX_CHAIN_LENGTH} states
+ * a full copy is stored, so that rebuilding the XML stays cheap.
+ */
+public class DeltaAppState implements AppState {
+
+	/** maximal number of deltas between two full states */
+	public static final int MAX_CHAIN_LENGTH = 20;
+
+	private static final int BLOCK_OVERHEAD_BYTES = 4;
+	private static final int RUN_BYTES = 8;
+
+	/** state this is a delta of, null for full states */
+	private final DeltaAppState base;
+	/** whole XML for full states */
+	private final String xml;
+	/**
+	 * pairs (start, length): blocks copied from base, or taken from
+	 * changedBlocks if start is negative
+	 */
+	private final int[] runs;
+	/** blocks that are not in base */
+	private final String[] changedBlocks;
+	private final int chainLength;
+	private final int blockCount;
+	/** blocks of the newest state, to compute the next delta */
+	private String[] cachedBlocks;
+	private boolean deleted;
+
+	private DeltaAppState(String xml, String[] blocks) {
+		this.base = null;
+		this.xml = xml;
+		this.runs = null;
+		this.changedBlocks = null;
+		this.chainLength = 0;
+		this.blockCount = blocks.length;
+		this.cachedBlocks = blocks;
+	}
+
+	private DeltaAppState(DeltaAppState base, String[] blocks, int[] runs,
+			String[] changedBlocks) {
+		this.base = base;
+		this.xml = null;
+		this.runs = runs;
+		this.changedBlocks = changedBlocks;
+		this.chainLength = base.chainLength + 1;
+		this.blockCount = blocks.length;
+		this.cachedBlocks = blocks;
+	}
+
+	/**
+	 * Creates a new state, stored as delta of the previous one if possible.
+	 *
+	 * @param xml
+	 *            construction XML
+	 * @param previous
+	 *            previous state (may be null)
+	 * @return new state
+	 */
+	public static DeltaAppState create(String xml, AppState previous) {
+		String[] blocks = splitBlocks(xml);
+		if (!(previous instanceof DeltaAppState)
+				|| ((DeltaAppState) previous).deleted
+				|| ((DeltaAppState) previous).chainLength >= MAX_CHAIN_LENGTH) {
+			if (previous instanceof DeltaAppState) {
+				((DeltaAppState) previous).cachedBlocks = null;
+			}
+			return new DeltaAppState(xml, blocks);
+		}
+		DeltaAppState base = (DeltaAppState) previous;
+		String[] baseBlocks = base.getBlocks();
+		// only the newest state keeps its blocks; if the new state is
+		// discarded, the blocks of previous are rebuilt from its runs
+		base.cachedBlocks = null;
+		HashMap<String, Integer> baseIndex = new HashMap<>();
+		for (int i = baseBlocks.length - 1; i >= 0; i--) {
+			baseIndex.put(baseBlocks[i], i);
+		}
+		ArrayList<Integer> runs = new ArrayList<>();
+		ArrayList<String> changed = new ArrayList<>();
+		int runStart = 0;
+		int runLength = 0;
+		for (String block : blocks) {
+			// unchanged blocks usually follow each other
+			int next = runStart >= 0 ? runStart + runLength : -1;
+			int index;
+			if (next >= 0 && next < baseBlocks.length
+					&& baseBlocks[next].equals(block)) {
+				index = next;
+			} else {
+				Integer found = baseIndex.get(block);
+				index = found == null ? -1 : found;
+			}
+			boolean extendsRun = runLength > 0 && (index < 0
+					? runStart < 0 : runStart >= 0 && index == next);
+			if (!extendsRun) {
+				if (runLength > 0) {
+					runs.add(runStart);
+					runs.add(runLength);
+				}
+				runStart = index;
+				runLength = 0;
+			}
+			if (index < 0) {
+				changed.add(block);
+			}
+			runLength++;
+		}
+		if (runLength > 0) {
+			runs.add(runStart);
+			runs.add(runLength);
+		}
+		int[] runArray = new int[runs.size()];
+		for (int i = 0; i < runArray.length; i++) {
+			runArray[i] = runs.get(i);
+		}
+		return new DeltaAppState(base, blocks, runArray,
+				changed.toArray(new String[0]));
+	}
+
+	/**
+	 * @return blocks of the XML of this state
+	 */
+	String[] getBlocks() {
+		if (cachedBlocks != null) {
+			return cachedBlocks;
+		}
+		if (base == null) {
+			return splitBlocks(xml);
+		}
+		String[] baseBlocks = base.getBlocks();
+		String[] blocks = new String[blockCount];
+		int pos = 0;
+		int changedPos = 0;
+		for (int i = 0; i < runs.length; i += 2) {
+			if (runs[i] < 0) {
+				System.arraycopy(changedBlocks, changedPos, blocks, pos,
+						runs[i + 1]);
+				changedPos += runs[i + 1];
+			} else {
+				System.arraycopy(baseBlocks, runs[i], blocks, pos,
+						runs[i + 1]);
+			}
+			pos += runs[i + 1];
+		}
+		return blocks;
+	}
+
+	@Override
+	public String getXml() {
+		if (base == null) {
+			return xml;
+		}
+		String[] blocks = getBlocks();
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < blocks.length; i++) {
+			if (i > 0) {
+				sb.append('\n');
+			}
+			sb.append(blocks[i]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Marks this state as deleted. The data is kept as long as newer deltas
+	 * refer to it.
+	 */
+	@Override
+	public void delete() {
+		deleted = true;
+		cachedBlocks = null;
+	}
+
+	@Override
+	public boolean equalsTo(AppState state) {
+		if (state == this) {
+			return true;
+		}
+		if (state instanceof DeltaAppState
+				&& ((DeltaAppState) state).base == this) {
+			return ((DeltaAppState) state).isUnchanged();
+		}
+		return state != null && getXml().equals(state.getXml());
+	}
+
+	private boolean isUnchanged() {
+		return changedBlocks.length == 0 && runs.length == 2 && runs[0] == 0
+				&& runs[1] == base.blockCount;
+	}
+
+	/**
+	 * Deleted states that this state refers to (directly or through other
+	 * deleted states) are still in memory, so their bytes are included.
+	 */
+	@Override
+	public long getRetainedBytes() {
+		long bytes = getOwnBytes();
+		DeltaAppState referenced = base;
+		while (referenced != null && referenced.deleted) {
+			bytes += referenced.getOwnBytes();
+			referenced = referenced.base;
+		}
+		return bytes;
+	}
+
+	private long getOwnBytes() {
+		if (base == null) {
+			return 2L * xml.length() + getCachedBytes();
+		}
+		long bytes = RUN_BYTES * runs.length / 2
+				+ BLOCK_OVERHEAD_BYTES * changedBlocks.length;
+		for (String block : changedBlocks) {
+			bytes += 2L * block.length();
+		}
+		return bytes + getCachedBytes();
+	}
+
+	/**
+	 * Cached blocks are copies of the XML, except for changed blocks of
+	 * deltas, which are already counted.
+	 */
+	private long getCachedBytes() {
+		if (cachedBlocks == null) {
+			return 0;
+		}
+		long bytes = BLOCK_OVERHEAD_BYTES * cachedBlocks.length;
+		for (String block : cachedBlocks) {
+			bytes += 2L * block.length();
+		}
+		if (changedBlocks != null) {
+			for (String block : changedBlocks) {
+				bytes -= 2L * block.length();
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * @return number of deltas to the next full state
+	 */
+	public int getChainLength() {
+		return chainLength;
+	}
+
+	/**
+	 * Splits XML into blocks: each line that is neither indented nor a
+	 * closing tag starts a new block, so every element or command is a block.
+	 */
+	private static String[] splitBlocks(String str) {
+		ArrayList<String> blocks = new ArrayList<>();
+		int start = 0;
+		int end = str.indexOf('\n');
+		while (end >= 0) {
+			if (startsBlock(str, end + 1)) {
+				blocks.add(str.substring(start, end));
+				start = end + 1;
+			}
+			end = str.indexOf('\n', end + 1);
+		}
+		blocks.add(str.substring(start));
+		return blocks.toArray(new String[0]);
+	}
+
+	private static boolean startsBlock(String str, int lineStart) {
+		if (lineStart >= str.length()) {
+			return false;
+		}
+		char first = str.charAt(lineStart);
+		return first != ' ' && first != '\t' && first != '\n'
+				&& !str.startsWith("</", lineStart);
+	}
+}
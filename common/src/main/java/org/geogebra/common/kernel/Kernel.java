@@ -2,7 +2,10 @@ package org.geogebra.common.kernel;
 
 import com.himamis.retex.editor.share.util.Unicode;
 import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.cas.GeoGebraCAS;
+import org.geogebra.common.cas.MapCasResultCache;
+import org.geogebra.common.cas.giac.CASgiac;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceCommon;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceSlim;
@@ -15,7 +18,9 @@ import org.geogebra.common.io.MyXMLHandler;
 import org.geogebra.common.kernel.algos.AlgoCasBase;
 import org.geogebra.common.kernel.algos.AlgoDispatcher;
 import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.AlgoExecutor;
 import org.geogebra.common.kernel.algos.AlgoIf;
+import org.geogebra.common.kernel.algos.AlgoLevelUpdater;
 import org.geogebra.common.kernel.algos.AlgoMacro;
 import org.geogebra.common.kernel.algos.AlgoPointVector;
 import org.geogebra.common.kernel.algos.AlgoVectorPoint;
@@ -37,6 +42,7 @@ import org.geogebra.common.kernel.arithmetic.Traversing;
 import org.geogebra.common.kernel.arithmetic.ValidExpression;
 import org.geogebra.common.kernel.arithmetic.variable.Variable;
 import org.geogebra.common.kernel.cas.AlgoUsingTempCASalgo;
+import org.geogebra.common.kernel.cas.CasJobQueue;
 import org.geogebra.common.kernel.cas.UsesCAS;
 import org.geogebra.common.kernel.commands.AlgebraProcessor;
 import org.geogebra.common.kernel.geos.GProperty;
@@ -73,6 +79,7 @@ import org.geogebra.common.main.Localization;
 import org.geogebra.common.main.SelectionManager;
 import org.geogebra.common.main.SpecialPointsListener;
 import org.geogebra.common.main.SpecialPointsManager;
+import org.geogebra.common.main.settings.CASSettings;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.plugin.GeoClass;
@@ -81,11 +88,11 @@ import org.geogebra.common.plugin.script.GgbScript;
 import org.geogebra.common.plugin.script.Script;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.LRUMap;
-import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.MyMath;
 import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.ScientificFormatAdapter;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.TaskExecutor;
 import org.geogebra.common.util.debug.Log;
 
 import java.util.ArrayList;
@@ -374,7 +381,11 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private String libraryJavaScript = defaultLibraryJavaScript;
 
 	private boolean isSaving;
-	private MaxSizeHashMap<String, String> ggbCasCache;
+	private CasResultCache ggbCasCache;
+	/** identifies results of this kernel that other kernels must not reuse */
+	private final int casCacheScope = nextCasCacheScope();
+	private static int casCacheScopeCount = 0;
+	private boolean compileFunctions = false;
 	/** min real world x for all views */
 	protected double[] xmin = new double[1];
 	/** max real world x for all views */
@@ -391,6 +402,11 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private boolean notifyRepaint = true;
 	private EuclidianView lastAttachedEV = null;
 	private boolean notifyViewsActive = true;
+	private AlgoLevelUpdater algoLevelUpdater;
+	private TaskExecutor taskExecutor;
+	private TreeSet<AlgoElement> tempAlgoSet;
+	private CasJobQueue casJobQueue;
+	private final Object cascadeLock = new Object();
 
 	// MOB-1304 cache axes numbers
 	private final HashMap<StringTemplate, LRUMap<Double, String>> formatterMaps = new HashMap<>();
@@ -2915,18 +2931,22 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			throws CASException {
 		String result = null;
 		if (useCaching && hasCasCache()) {
-			result = getCasCache().get(exp);
+			result = getCasCache().get(getCasCacheKey(exp, arbconst, tpl));
 			if (result != null) {
 				// caching worked
 				return result;
 			}
 		}
 
+		// results that are not available yet must not be cached
+		int missingResults = getCasJobQueue().getMissingResults();
+
 		// evaluate in GeoGebraCAS
 		result = getGeoGebraCAS().evaluateGeoGebraCAS(exp, arbconst, tpl, this);
 
-		if (useCaching) {
-			getCasCache().put(exp, result);
+		if (useCaching
+				&& missingResults == getCasJobQueue().getMissingResults()) {
+			putKeyToCasCache(getCasCacheKey(exp, arbconst, tpl), result);
 		}
 		return result;
 	}
@@ -2941,7 +2961,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	public String evaluateRawGeoGebraCAS(String exp) throws Throwable {
 		String result = null;
 		if (hasCasCache()) {
-			result = getCasCache().get(exp);
+			result = getCasCache().get(getCasCacheKey(exp, null, null));
 			if (result != null) {
 				// Log.debug("result from cache " + result);
 				// caching worked
@@ -2952,7 +2972,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		// evaluate in GeoGebraCAS
 		result = getGeoGebraCAS().evaluateRaw(exp);
 
-		getCasCache().put(exp, result);
+		putToCasCache(exp, result);
 
 		return result;
 	}
@@ -2964,7 +2984,64 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            result
 	 */
 	public void putToCasCache(String exp, String result) {
-		getCasCache().put(exp, result);
+		putKeyToCasCache(getCasCacheKey(exp, null, null), result);
+	}
+
+	private void putKeyToCasCache(String key, String result) {
+		// shared caches are not cleared by clearCasCache, so they must not
+		// keep results of a CAS that is not loaded yet
+		if (getCasCache().isShared() && CASgiac.isUndefined(result)) {
+			return;
+		}
+		getCasCache().put(key, result);
+	}
+
+	/**
+	 * @param exp
+	 *            CAS input
+	 * @return cached result or null
+	 */
+	public String getFromCasCache(String exp) {
+		return getCasCache().get(getCasCacheKey(exp, null, null));
+	}
+
+	/**
+	 * Inputs for shared caches are normalized and prefixed with the CAS
+	 * settings and the template that may change the result. Arbitrary
+	 * constants are numbered per construction, so results computed with them
+	 * are only reused by this kernel.
+	 * 
+	 * @param exp
+	 *            CAS input
+	 * @param arbconst
+	 *            arbitrary constant handler, may be null
+	 * @param tpl
+	 *            template of the result, null for raw Giac input
+	 * @return cache key
+	 */
+	private String getCasCacheKey(String exp, MyArbitraryConstant arbconst,
+			StringTemplate tpl) {
+		if (!getCasCache().isShared()) {
+			return exp;
+		}
+		CASSettings settings = app.getSettings().getCasSettings();
+		StringBuilder sb = new StringBuilder();
+		sb.append(settings.getTimeoutMilliseconds());
+		sb.append(',');
+		sb.append(settings.getShowExpAsRoots());
+		sb.append(',');
+		sb.append(tpl == null ? "raw" : tpl.toString());
+		if (arbconst != null) {
+			sb.append(",arbconst");
+			sb.append(casCacheScope);
+		}
+		sb.append(':');
+		sb.append(exp.trim());
+		return sb.toString();
+	}
+
+	private static synchronized int nextCasCacheScope() {
+		return casCacheScopeCount++;
 	}
 
 	/**
@@ -3012,16 +3089,112 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	}
 
 	/**
-	 * @return Hash map for caching CAS results.
+	 * @return cache for CAS results.
 	 */
-	public MaxSizeHashMap<String, String> getCasCache() {
+	public CasResultCache getCasCache() {
 		if (ggbCasCache == null) {
-			ggbCasCache = new MaxSizeHashMap<>(
-					GEOGEBRA_CAS_CACHE_SIZE);
+			ggbCasCache = new MapCasResultCache(GEOGEBRA_CAS_CACHE_SIZE);
 		}
 		return ggbCasCache;
 	}
 
+	/**
+	 * Replaces the CAS cache, e.g. with one shared by all kernels of the
+	 * process.
+	 * 
+	 * @param cache
+	 *            cache for CAS results, null to use a cache for this kernel
+	 */
+	public void setCasCache(CasResultCache cache) {
+		this.ggbCasCache = cache;
+	}
+
+	/**
+	 * Allows computing independent algorithms of an update cascade
+	 * concurrently.
+	 * 
+	 * @param executor
+	 *            executor for thread safe algorithms, null to update serially
+	 */
+	public void setAlgoExecutor(AlgoExecutor executor) {
+		algoLevelUpdater = executor == null ? null
+				: new AlgoLevelUpdater(executor);
+	}
+
+	/**
+	 * @param compile
+	 *            whether real valued functions should be evaluated using
+	 *            {@link org.geogebra.common.kernel.arithmetic.CompiledExpression}
+	 *            where possible
+	 */
+	public void setCompileFunctions(boolean compile) {
+		this.compileFunctions = compile;
+	}
+
+	/**
+	 * @return whether real valued functions are compiled for evaluation
+	 */
+	public boolean isCompileFunctions() {
+		return compileFunctions;
+	}
+
+	/**
+	 * @return updater for parallel update cascades, null if not enabled
+	 */
+	public AlgoLevelUpdater getAlgoLevelUpdater() {
+		return algoLevelUpdater;
+	}
+
+	/**
+	 * Allows splitting expensive computations of single construction
+	 * elements (e.g. paths of implicit curves) into concurrent tasks.
+	 * Desktop enables it with the command line option --parallel=true.
+	 * 
+	 * @param executor
+	 *            executor for concurrent tasks, null to compute serially
+	 */
+	public void setTaskExecutor(TaskExecutor executor) {
+		this.taskExecutor = executor;
+	}
+
+	/**
+	 * @return executor for concurrent tasks, null if not enabled
+	 */
+	public TaskExecutor getTaskExecutor() {
+		return taskExecutor;
+	}
+
+	/**
+	 * @return temporary set for collecting algorithms of an update cascade
+	 *         in this kernel
+	 */
+	public TreeSet<AlgoElement> getTempAlgoSet() {
+		if (tempAlgoSet == null) {
+			tempAlgoSet = new TreeSet<>();
+		}
+		return tempAlgoSet;
+	}
+
+	/**
+	 * @return queue for asynchronous CAS evaluation of algos
+	 */
+	public CasJobQueue getCasJobQueue() {
+		if (casJobQueue == null) {
+			casJobQueue = new CasJobQueue(this);
+		}
+		return casJobQueue;
+	}
+
+	/**
+	 * Update cascades of one kernel are serialized on this lock, cascades of
+	 * different kernels may run concurrently.
+	 * 
+	 * @return lock for update cascades
+	 */
+	public Object getCascadeLock() {
+		return cascadeLock;
+	}
+
 	/**
 	 * @return Whether kernel is already using CAS caching.
 	 */
@@ -3176,6 +3349,8 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            file otherwise the GlobalJavascript is wrongly deleted)
 	 */
 	public synchronized void clearConstruction(boolean clearScripts) {
+		// a running import must not write into the new construction
+		app.discardSpreadsheetImport();
 
 		if (clearScripts) {
 			resetLibraryJavaScript();
@@ -4353,6 +4528,23 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		}
 	}
 
+	/**
+	 * Updates the elements changed since the last update and their dependent
+	 * objects, or all objects if the construction is not in incremental mode.
+	 * Meant for hosts that change values through the API, see
+	 * {@link Construction#setIncrementalUpdate(boolean)}.
+	 */
+	public void updateDirtyGeos() {
+		// views are notified about update at the end of this method
+		cons.updateDirtyGeos();
+		if (getUpdateAgain()) {
+			setUpdateAgain(false, null);
+			app.scheduleUpdateConstruction();
+		} else {
+			notifyRepaint();
+		}
+	}
+
 	/**
 	 * Tests if the current construction has no elements.
 	 * 
@@ -5135,10 +5327,11 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	}
 
 	/**
-	 * clear cache (needed in web when CAS loaded)
+	 * clear cache (needed in web when CAS loaded); a shared cache is kept
+	 * since it contains results of other kernels
 	 */
 	public synchronized void clearCasCache() {
-		if (ggbCasCache != null) {
+		if (ggbCasCache != null && !ggbCasCache.isShared()) {
 			ggbCasCache.clear();
 		}
 		if (ggbCAS != null) {
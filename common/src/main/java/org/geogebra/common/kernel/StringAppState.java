@@ -30,4 +30,9 @@ public class StringAppState implements AppState {
     public boolean equalsTo(AppState state) {
         return state != null && xml.equals(state.getXml());
     }
+
+	@Override
+	public long getRetainedBytes() {
+		return xml == null ? 0 : 2L * xml.length();
+	}
 }
@@ -31,6 +31,8 @@ public abstract class UndoManager {
 	/** invariant: iterator.previous() is current state */
 	private ListIterator<UndoCommand> iterator;
 	private boolean storeUndoInfoNeededForProperties = false;
+	/** memory limit for stored states, negative for no limit */
+	private long maxRetainedBytes = -1;
 	private List<UndoInfoStoredListener> undoInfoStoredListeners;
 
 	/**
@@ -310,19 +312,12 @@ public abstract class UndoManager {
 
 		// delete first if too many in list
 		if (undoInfoList.size() > MAX_CAPACITY) {
-			// use iterator to delete to avoid
-			// ConcurrentModificationException
-			// go to beginning of list
-			while (iterator.hasPrevious()) {
-				appState = iterator.previous();
-			}
-
-			iterator.remove();
-			appState.delete();
-
-			while (iterator.hasNext()) {
-				iterator.next();
-			}
+			removeOldestState();
+		}
+		// keep at least current and previous state
+		while (maxRetainedBytes >= 0 && undoInfoList.size() > 2
+				&& getRetainedBytes() > maxRetainedBytes) {
+			removeOldestState();
 		}
 		EmbedManager manager = app.getEmbedManager();
 		if (manager != null) {
@@ -331,6 +326,74 @@ public abstract class UndoManager {
 		// debugStates();
 	}
 
+	private void removeOldestState() {
+		UndoCommand appState = null;
+		// use iterator to delete to avoid
+		// ConcurrentModificationException
+		// go to beginning of list
+		while (iterator.hasPrevious()) {
+			appState = iterator.previous();
+		}
+
+		iterator.remove();
+		appState.delete();
+
+		while (iterator.hasNext()) {
+			iterator.next();
+		}
+	}
+
+	/**
+	 * @return estimated number of bytes kept in memory by all undo points
+	 */
+	public long getRetainedBytes() {
+		long bytes = 0;
+		for (UndoCommand command : undoInfoList) {
+			if (command.getAppState() != null) {
+				bytes += command.getAppState().getRetainedBytes();
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * @return estimated number of bytes kept in memory for each undo point,
+	 *         oldest first
+	 */
+	public long[] getRetainedBytesPerStep() {
+		long[] bytes = new long[undoInfoList.size()];
+		int i = 0;
+		for (UndoCommand command : undoInfoList) {
+			bytes[i++] = command.getAppState() == null ? 0
+					: command.getAppState().getRetainedBytes();
+		}
+		return bytes;
+	}
+
+	/**
+	 * Limits the undo history by memory rather than by number of steps; oldest
+	 * undo points are removed when the limit is exceeded.
+	 * 
+	 * @param maxRetainedBytes
+	 *            limit in bytes, negative for no limit
+	 */
+	public void setMaxRetainedBytes(long maxRetainedBytes) {
+		this.maxRetainedBytes = maxRetainedBytes;
+	}
+
+	/**
+	 * @return last stored state before the current position, null if there is
+	 *         none
+	 */
+	protected AppState getPreviousAppState() {
+		if (!iterator.hasPrevious()) {
+			return null;
+		}
+		AppState state = iterator.previous().getAppState();
+		iterator.next();
+		return state;
+	}
+
 	/**
 	 * This stores the undo command, if the state changed.
 	 *
@@ -14,6 +14,7 @@ package org.geogebra.common.kernel.algos;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.cas.CasJobQueue;
 import org.geogebra.common.kernel.cas.UsesCAS;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.commands.EvalInfo;
@@ -108,7 +109,27 @@ public abstract class AlgoCasBase extends AlgoElement implements UsesCAS {
 			return;
 		}
 
-		applyCasCommand(StringTemplate.prefixedDefault);
+		CasJobQueue jobs = kernel.getCasJobQueue();
+		if (!jobs.isAsync()) {
+			applyCasCommand(StringTemplate.prefixedDefault);
+			return;
+		}
+		// keeps previous output while waiting for CAS
+		CasJobQueue.Computation computation = jobs.begin(this);
+		try {
+			applyCasCommand(StringTemplate.prefixedDefault);
+		} finally {
+			jobs.end(this, computation);
+		}
+	}
+
+	@Override
+	public void remove() {
+		if (removed) {
+			return;
+		}
+		super.remove();
+		kernel.getCasJobQueue().remove(this);
 	}
 
 	/**
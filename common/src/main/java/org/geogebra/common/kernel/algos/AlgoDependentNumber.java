@@ -23,6 +23,7 @@ import org.geogebra.common.kernel.SetRandomValue;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
 import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.geos.GeoAngle;
 import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
@@ -205,6 +206,15 @@ public class AlgoDependentNumber extends AlgoElement
 		}
 	}
 
+	@Override
+	public boolean isComputeThreadSafe() {
+		ExpressionNode def = number.getDefinition();
+		return rewriteFormula && number instanceof GeoNumeric
+				&& ((GeoNumeric) number).getCorrespondingCasCell() == null
+				&& def != null
+				&& !def.inspect(Inspecting.ThreadUnsafeFinder.INSTANCE);
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		// was defined as e.g. r = 5a - 3b
@@ -51,8 +51,6 @@ import java.util.TreeSet;
  */
 public abstract class AlgoElement extends ConstructionElement
 		implements EuclidianViewCE {
-	private static boolean tempSetLock = false;
-	private static TreeSet<AlgoElement> tempSet;
 	/** input elements */
 	public GeoElement[] input;
 	private ArrayList<GeoPointND> freeInputPoints;
@@ -569,6 +567,26 @@ public abstract class AlgoElement extends ConstructionElement
 		// overriden in subclasses
 	}
 
+	/**
+	 * @return whether compute() only reads the input and writes the output of
+	 *         this algo, so that independent algos may be computed
+	 *         concurrently
+	 * @see AlgoLevelUpdater
+	 */
+	public boolean isComputeThreadSafe() {
+		return false;
+	}
+
+	/**
+	 * Updates output geos after {@link #compute()} was called by another
+	 * thread; has the same effect as the second part of {@link #update()}.
+	 */
+	public final void updateAfterCompute() {
+		if (!stopUpdateCascade) {
+			updateDependentGeos();
+		}
+	}
+
 	/**
 	 * @return whether this algo has NEAR-TO relations (ie ambiguous output
 	 *         =&gt; we pick the nearest possibility to last output)
@@ -679,17 +697,9 @@ public abstract class AlgoElement extends ConstructionElement
 			}
 		}
 
-		// update all geos
-		tempSetLock = true;
-		GeoElement.updateCascade(geos, getTempSet(), true);
-		tempSetLock = false;
-	}
-
-	private static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null || tempSetLock) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
+		// update all geos, own set as this may be called during other
+		// update cascades
+		GeoElement.updateCascade(geos, new TreeSet<AlgoElement>(), true);
 	}
 
 	// public part
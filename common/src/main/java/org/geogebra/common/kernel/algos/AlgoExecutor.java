@@ -0,0 +1,20 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.List;
+
+/**
+ * Computes algorithms of one update level concurrently. Implementations are
+ * platform specific; views are never notified from within
+ * {@link #computeAll(List)}.
+ */
+public interface AlgoExecutor {
+
+	/**
+	 * Calls {@link AlgoElement#compute()} for all given algos and returns
+	 * when all of them are done.
+	 * 
+	 * @param algos
+	 *            algos that do not depend on each other and are thread safe
+	 */
+	void computeAll(List<AlgoElement> algos);
+}
@@ -94,9 +94,6 @@ public class AlgoIntersectLineConic extends AlgoIntersect implements
 														// and conic
 	private GeoPointND existingIntersection = null;
 
-	// not initializing this is important for performance
-	private static double[] xyz = new double[3];
-
 	@Override
 	public Commands getClassName() {
 		return Commands.Intersect;
@@ -663,10 +660,11 @@ public class AlgoIntersectLineConic extends AlgoIntersect implements
 	 *            precision
 	 * @return type of intersection
 	 */
-	public final static synchronized int intersectLineConic(GeoLine g,
+	public final static int intersectLineConic(GeoLine g,
 			GeoConicND c, GeoPoint[] sol, double eps) {
 		double[] A = c.getFlatMatrix();
 
+		double[] xyz = new double[3];
 		g.getnormalizedCoefficients(xyz, 2);
 		double x = xyz[0];
 		double y = xyz[1];
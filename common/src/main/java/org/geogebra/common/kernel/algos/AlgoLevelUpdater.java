@@ -0,0 +1,111 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Updates a sorted collection of algorithms level by level: algorithms within
+ * one level do not depend on each other, thread safe ones are computed by an
+ * {@link AlgoExecutor}, output geos are updated (and views notified) on the
+ * calling thread in construction order.
+ */
+public class AlgoLevelUpdater {
+
+	/** smallest level that is worth computing concurrently */
+	public static final int MIN_PARALLEL_LEVEL_SIZE = 64;
+
+	private final AlgoExecutor executor;
+
+	/**
+	 * @param executor
+	 *            executor for thread safe algos
+	 */
+	public AlgoLevelUpdater(AlgoExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Updates all algos.
+	 * 
+	 * @param algos
+	 *            algos in update order (as in {@link AlgorithmSet})
+	 * @param size
+	 *            number of algos
+	 */
+	public void updateAll(Iterable<AlgoElement> algos, int size) {
+		if (size < MIN_PARALLEL_LEVEL_SIZE) {
+			for (AlgoElement algo : algos) {
+				algo.update();
+			}
+			return;
+		}
+		// nested updates may happen while output geos are updated, so keep
+		// the levels local
+		ArrayList<ArrayList<AlgoElement>> levelList = splitLevels(algos);
+		for (ArrayList<AlgoElement> level : levelList) {
+			updateLevel(level);
+		}
+	}
+
+	/**
+	 * Assigns each algo the smallest level after all its inputs. Algos that are
+	 * not thread safe act as barriers and keep their position relative to all
+	 * other algos.
+	 */
+	private static ArrayList<ArrayList<AlgoElement>> splitLevels(
+			Iterable<AlgoElement> algos) {
+		HashMap<AlgoElement, Integer> levels = new HashMap<>();
+		ArrayList<ArrayList<AlgoElement>> levelList = new ArrayList<>();
+		int levelCount = 0;
+		int barrier = 0;
+		for (AlgoElement algo : algos) {
+			int level = barrier;
+			if (algo.isComputeThreadSafe()) {
+				for (GeoElement input : algo.getInput()) {
+					level = Math.max(level,
+							levelAfter(levels, input.getParentAlgorithm()));
+				}
+				level = Math.max(level,
+						levelAfter(levels, algo.getUpdateAfterAlgo()));
+			} else {
+				level = Math.max(level, levelCount);
+				barrier = level + 1;
+			}
+			levels.put(algo, level);
+			while (levelList.size() <= level) {
+				levelList.add(new ArrayList<AlgoElement>());
+			}
+			levelList.get(level).add(algo);
+			levelCount = Math.max(levelCount, level + 1);
+		}
+		return levelList;
+	}
+
+	private static int levelAfter(HashMap<AlgoElement, Integer> levels,
+			AlgoElement parent) {
+		Integer parentLevel = parent == null ? null : levels.get(parent);
+		return parentLevel == null ? 0 : parentLevel + 1;
+	}
+
+	private void updateLevel(ArrayList<AlgoElement> level) {
+		if (level.size() < MIN_PARALLEL_LEVEL_SIZE) {
+			for (AlgoElement algo : level) {
+				algo.update();
+			}
+			return;
+		}
+		ArrayList<AlgoElement> computeList = new ArrayList<>(level.size());
+		for (AlgoElement algo : level) {
+			if (!algo.doStopUpdateCascade()) {
+				algo.updateUnlabeledRandomGeos();
+				computeList.add(algo);
+			}
+		}
+		executor.computeAll(computeList);
+		for (AlgoElement algo : level) {
+			algo.updateAfterCompute();
+		}
+	}
+}
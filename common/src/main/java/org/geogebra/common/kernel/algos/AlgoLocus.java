@@ -168,4 +168,9 @@ public class AlgoLocus extends AlgoLocusND<MyPoint> {
 		return new MyPoint();
 	}
 
+	@Override
+	protected void setCoordsFromCache(GeoPointND point, MyPoint copy) {
+		point.setCoords(copy.getX(), copy.getY(), 1.0);
+	}
+
 }
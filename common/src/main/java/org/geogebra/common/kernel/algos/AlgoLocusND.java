@@ -12,6 +12,7 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.TreeSet;
@@ -26,6 +27,8 @@ import org.geogebra.common.kernel.MacroKernel;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.Path;
 import org.geogebra.common.kernel.PathMover;
+import org.geogebra.common.kernel.PathNormalizer;
+import org.geogebra.common.kernel.PathParameter;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
@@ -50,6 +53,12 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	/** maximum time for the computation of one locus point in millis **/
 	public static final int MAX_TIME_FOR_ONE_STEP = 500;
 
+	/**
+	 * maximum number of passes refining the cached samples, each pass halves
+	 * the parameter steps that are too big
+	 **/
+	private static final int MAX_REFINE_PASSES = 10;
+
 	private int minStepsInstance = PathMover.MIN_STEPS;
 
 	protected static final int MAX_X_PIXEL_DIST = 5;
@@ -107,6 +116,14 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	private T[] qcopyCache = createQCopyCache(3);
 	private int cacheIndex = 0;
 
+	// path parameters of the current locus points
+	private double[] sampleParams = new double[PathMover.MIN_STEPS];
+	private int sampleCount = 0;
+	// values of the inputs the samples were computed for
+	private String sampleState;
+	// parents of Q not depending on P
+	private ArrayList<GeoElement> stateElements;
+
 	// private Updater updater;
 
 	// Constructor called from AlgoLocusList
@@ -251,16 +268,21 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 
 		// get intersection of all children of P and all parents of Q
 		locusConsOrigElements = new TreeSet<>();
+		stateElements = new ArrayList<>();
 		TreeSet<Long> usedAlgoIds = new TreeSet<>();
 		Iterator<GeoElement> it = Qin.iterator();
 		while (it.hasNext()) {
 			GeoElement parent = it.next();
-			if (parent.isLabelSet()
-					&& parent.isChildOf(movingPoint)) {
-				// note: locusConsOrigElements will contain AlgoElement and
-				// GeoElement objects
-				Macro.addDependentElement(parent, locusConsOrigElements,
-						usedAlgoIds);
+			if (parent.isChildOf(movingPoint)) {
+				if (parent.isLabelSet()) {
+					// note: locusConsOrigElements will contain AlgoElement
+					// and GeoElement objects
+					Macro.addDependentElement(parent, locusConsOrigElements,
+							usedAlgoIds);
+				}
+			} else if (parent != movingPoint) {
+				// the locus only changes when one of these changes
+				stateElements.add(parent);
 			}
 		}
 
@@ -462,6 +484,8 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	// compute locus line
 	@Override
 	public final void compute() {
+		String state = sampleState;
+		sampleState = null;
 		if (!movingPoint.isDefined() || macroCons == null
 				|| !isPathIterable(path.toGeoElement())
 				|| !validLocus(locusPoint, movingPoint)) {
@@ -470,19 +494,37 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		}
 		updateScreenBordersIfNecessary();
 
+		// continuous kernel?
+		continuous = kernel.isContinuous();
+		String currentState = continuous ? null : getInputState();
+		boolean useSamples = currentState != null
+				&& currentState.equals(state)
+				&& sampleCount == locus.getPoints().size();
+		ArrayList<T> samples = useSamples
+				? new ArrayList<>(locus.getPoints()) : null;
+
 		locus.clearPoints();
 		clearCache();
 		pointCount = 0;
+		sampleCount = 0;
 		lastX = Double.MAX_VALUE;
 		lastY = Double.MAX_VALUE;
 		maxTimeExceeded = false;
 		foundDefined = false;
 		int max_runs;
 
-		// continuous kernel?
-		continuous = kernel.isContinuous();
 		macroKernel.setContinuous(continuous);
 
+		if (useSamples) {
+			// no input changed (e.g. zooming): the locus is still the same,
+			// just refine it where the current views need more points
+			computeFromSamples(samples);
+			if (!maxTimeExceeded) {
+				sampleState = currentState;
+			}
+			return;
+		}
+
 		// update macro construction with current values of global vars
 		resetMacroConstruction();
 		macroCons.updateConstruction(false);
@@ -507,6 +549,11 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 
 		// update Pcopy to compute Qcopy
 		pcopyUpdateCascade();
+		if (sampleCount > 0) {
+			// Qcopy was computed for the position of P, not for the start
+			// parameter of the path mover: never refine next to it
+			sampleParams[0] = Double.NaN;
+		}
 		boolean prevQcopyDefined = copyQ.isDefined() && !copyQ.isInfinite();
 
 		// move Pcopy along the path
@@ -557,7 +604,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 
 						if (copyQ.isDefined() && !copyQ.isInfinite()) {
 							// draw point
-							insertPoint(copyQ, distanceSmall(copyQ, true));
+							insertSample(copyQ, distanceSmall(copyQ, true));
 							prevQcopyDefined = true;
 						}
 					}
@@ -565,7 +612,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 					// PARAMETER jump: !lineTo
 					else {
 						// draw point
-						insertPoint(copyQ, distanceSmall(copyQ, true));
+						insertSample(copyQ, distanceSmall(copyQ, true));
 						prevQcopyDefined = true;
 					}
 				}
@@ -597,7 +644,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 				if (!pathMover.hasNext()) {
 					if (distanceSmall(startQPos, true)) {
 						// draw line back to first point when it's close enough
-						insertPoint(startQPos, true);
+						insertSample(startQPos, true, sampleParams[0]);
 						finishedRun = true;
 					} else {
 						// decrease step until another step is possible
@@ -624,7 +671,8 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 			((GeoElement) copyP).set(startPPos);
 			pcopyUpdateCascade();
 			if (differentFromLast(copyQ)) {
-				insertPoint(copyQ, distanceSmall(copyQ, true));
+				insertSample(copyQ, distanceSmall(copyQ, true),
+						sampleParams[0]);
 			}
 
 			// Application.debug("run: " + runs);
@@ -649,6 +697,9 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 
 		// set defined/undefined
 		locus.setDefined(foundDefined);
+		if (foundDefined && !continuous) {
+			sampleState = currentState;
+		}
 
 		// System.out.println(" first point: " +
 		// locus.getMyPointList().get(0));
@@ -663,6 +714,203 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		// ", cache used: " + useCache);
 	}
 
+	/**
+	 * Recomputes the locus from the points of the last computation, which are
+	 * still valid when only P or the views changed. Steps that
+	 * are too big for the current views are halved (for all of them at once
+	 * in each pass) until the distance is ok.
+	 * 
+	 * @param samples
+	 *            locus points of the last computation, in path order
+	 */
+	private void computeFromSamples(ArrayList<T> samples) {
+		ArrayList<T> points = samples;
+		double[] params = new double[points.size()];
+		System.arraycopy(sampleParams, 0, params, 0, params.length);
+		// steps which cannot be refined: Q undefined in between
+		boolean[] keep = new boolean[params.length];
+		boolean[] refine = new boolean[params.length];
+		foundDefined = true;
+
+		int count = replaySamples(points, params, keep, refine);
+		if (count > 0) {
+			// update macro construction with current values of global vars
+			resetMacroConstruction();
+			macroCons.updateConstruction(false);
+		}
+		int maxPoints = PathMover.MAX_POINTS * views;
+		for (int pass = 0; pass < MAX_REFINE_PASSES && count > 0
+				&& points.size() + count <= maxPoints
+				&& !maxTimeExceeded; pass++) {
+			double[] newParams = new double[count];
+			int k = 0;
+			for (int i = 1; i < params.length; i++) {
+				if (refine[i]) {
+					newParams[k++] = midParameter(params[i - 1], params[i]);
+				}
+			}
+			T[] newPoints = evaluateSamples(newParams);
+
+			// merge new points into the samples
+			int length = params.length + count;
+			ArrayList<T> mergedPoints = new ArrayList<>(length);
+			double[] mergedParams = new double[length];
+			boolean[] mergedKeep = new boolean[length];
+			int j = 0;
+			k = 0;
+			for (int i = 0; i < params.length; i++) {
+				boolean keepStep = keep[i];
+				if (refine[i]) {
+					if (newPoints[k] == null) {
+						keepStep = true;
+					} else {
+						mergedPoints.add(newPoints[k]);
+						mergedParams[j++] = newParams[k];
+					}
+					k++;
+				}
+				mergedPoints.add(points.get(i));
+				mergedKeep[j] = keepStep;
+				mergedParams[j++] = params[i];
+			}
+			points = mergedPoints;
+			params = new double[j];
+			System.arraycopy(mergedParams, 0, params, 0, j);
+			keep = new boolean[j];
+			System.arraycopy(mergedKeep, 0, keep, 0, j);
+			refine = new boolean[j];
+
+			count = replaySamples(points, params, keep, refine);
+		}
+
+		locus.setDefined(true);
+	}
+
+	/**
+	 * Inserts the given points into the locus like the path mover would.
+	 * 
+	 * @param points
+	 *            locus points
+	 * @param params
+	 *            path parameters of the points
+	 * @param keep
+	 *            steps that must not be refined
+	 * @param refine
+	 *            output: steps that are too big for the views
+	 * @return number of steps to refine
+	 */
+	private int replaySamples(ArrayList<T> points, double[] params,
+			boolean[] keep, boolean[] refine) {
+		locus.clearPoints();
+		pointCount = 0;
+		sampleCount = 0;
+		lastX = Double.MAX_VALUE;
+		lastY = Double.MAX_VALUE;
+		int count = 0;
+		ExpressionNode qDef = copyQ.getDefinition();
+		for (int i = 0; i < params.length; i++) {
+			setCoordsFromCache(copyQ, points.get(i));
+			boolean lineTo = false;
+			if (i > 0) {
+				lineTo = distanceSmall(copyQ, true);
+				refine[i] = !keep[i] && !distanceOK(copyQ)
+						&& !Double.isNaN(midParameter(params[i - 1], params[i]));
+				if (refine[i]) {
+					count++;
+				}
+			}
+			insertSample(copyQ, lineTo, params[i]);
+		}
+		copyQ.setDefinition(qDef);
+		return count;
+	}
+
+	/**
+	 * Evaluates the macro construction for a batch of path parameters.
+	 * 
+	 * @param params
+	 *            path parameters, updated to the parameters actually used by
+	 *            the path
+	 * @return positions of Q, null where Q is undefined
+	 */
+	private T[] evaluateSamples(double[] params) {
+		T[] result = createQCopyCache(params.length);
+		PathParameter pp = copyP.getPathParameter();
+		for (int i = 0; i < params.length && !maxTimeExceeded; i++) {
+			pp.t = params[i];
+			path.pathChanged(copyP);
+			copyP.updateCoords();
+			params[i] = pp.t;
+			pcopyUpdateCascade();
+			if (copyQ.isDefined() && !copyQ.isInfinite()) {
+				result[i] = newCache();
+				setQCopyCache(result[i], copyQ);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param t1
+	 *            path parameter
+	 * @param t2
+	 *            next path parameter
+	 * @return parameter in the middle, NaN if the parameters are not
+	 *         neighbours (the path mover jumped to the other border)
+	 */
+	private double midParameter(double t1, double t2) {
+		double min = path.getMinParameter();
+		double max = path.getMaxParameter();
+		double n1 = PathNormalizer.toNormalizedPathParameter(t1, min, max);
+		double n2 = PathNormalizer.toNormalizedPathParameter(t2, min, max);
+		if (!(Math.abs(n2 - n1) < 0.5)) {
+			return Double.NaN;
+		}
+		return PathNormalizer.toParentPathParameter((n1 + n2) / 2, min, max);
+	}
+
+	private void insertSample(GeoPointND point, boolean lineTo) {
+		insertSample(point, lineTo, copyP.getPathParameter().t);
+	}
+
+	/**
+	 * Inserts point into the locus and remembers its path parameter.
+	 * 
+	 * @param point
+	 *            locus point
+	 * @param lineTo
+	 *            if line to
+	 * @param param
+	 *            path parameter of the moving point
+	 */
+	private void insertSample(GeoPointND point, boolean lineTo,
+			double param) {
+		if (sampleCount >= sampleParams.length) {
+			double[] params = new double[2 * sampleParams.length];
+			System.arraycopy(sampleParams, 0, params, 0, sampleCount);
+			sampleParams = params;
+		}
+		sampleParams[sampleCount++] = param;
+		insertPoint(point, lineTo);
+	}
+
+	/**
+	 * @return values of all inputs which are not moved with P and the
+	 *         parameter range of the path (e.g. function graphs are only
+	 *         followed within the views)
+	 */
+	private String getInputState() {
+		StringBuilder sb = new StringBuilder();
+		for (GeoElement geo : stateElements) {
+			sb.append(geo.toValueString(StringTemplate.maxPrecision));
+			sb.append(';');
+		}
+		sb.append(path.getMinParameter());
+		sb.append(';');
+		sb.append(path.getMaxParameter());
+		return sb.toString();
+	}
+
 	/**
 	 * 
 	 * @param point
@@ -751,7 +999,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 			foundDefined = true;
 
 			// insert first point
-			insertPoint(copyQ, false);
+			insertSample(copyQ, false);
 		}
 	}
 
@@ -809,6 +1057,16 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	 */
 	abstract protected T newCache();
 
+	/**
+	 * set point's coords from cached copy
+	 * 
+	 * @param point
+	 *            point
+	 * @param copy
+	 *            copy
+	 */
+	abstract protected void setCoordsFromCache(GeoPointND point, T copy);
+
 	/**
 	 * insert point
 	 * 
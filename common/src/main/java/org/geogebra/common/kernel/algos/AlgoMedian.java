@@ -107,13 +107,18 @@ public class AlgoMedian extends AlgoElement {
 			double[] sortList = new double[size];
 
 			// copy inputList into an array
-			for (int i = 0; i < size; i++) {
-				GeoElement geo = inputList.get(i);
-				if (geo instanceof NumberValue) {
-					sortList[i] = geo.evaluateDouble();
-				} else {
-					median.setUndefined();
-					return;
+			double[] values = inputList.getPrimitiveNumbers();
+			if (values != null) {
+				System.arraycopy(values, 0, sortList, 0, size);
+			} else {
+				for (int i = 0; i < size; i++) {
+					GeoElement geo = inputList.get(i);
+					if (geo instanceof NumberValue) {
+						sortList[i] = geo.evaluateDouble();
+					} else {
+						median.setUndefined();
+						return;
+					}
 				}
 			}
 
@@ -20,13 +20,22 @@ package org.geogebra.common.kernel.algos;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
+import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.arithmetic.ReplaceChildrenByValues;
+import org.geogebra.common.kernel.arithmetic.VectorValue;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoVec2D;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.plugin.GeoClass;
+import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -51,6 +60,9 @@ public class AlgoSequence extends AlgoElement {
 	private boolean expIsFunctionOrCurve;
 	private boolean isEmpty;
 	private AlgoElement expressionParentAlgo;
+	// numbers or points computed without updating the construction
+	private boolean evaluateDirectly;
+	private double[] values;
 
 	// we need to check that some Object[] reference didn't cause infinite
 	// update cycle
@@ -111,6 +123,7 @@ public class AlgoSequence extends AlgoElement {
 
 		expressionParentAlgo = expression.getParentAlgorithm();
 		expIsFunctionOrCurve = expression instanceof ReplaceChildrenByValues;
+		evaluateDirectly = canEvaluateDirectly();
 
 		list = new GeoList(cons);
 		setInputOutput(); // for AlgoElement
@@ -223,7 +236,9 @@ public class AlgoSequence extends AlgoElement {
 		cons.setSuppressLabelCreation(true);
 
 		// update list
-		if (setValuesOnly) {
+		if (evaluateDirectly) {
+			computeValues(from, to, step);
+		} else if (setValuesOnly) {
 			updateListItems(from, to, step);
 		} else {
 			createNewList(from, to, step);
@@ -234,6 +249,131 @@ public class AlgoSequence extends AlgoElement {
 		updateRunning = false;
 	}
 
+	/**
+	 * @return whether the expression is a number or point which only depends
+	 *         on var through its own definition, so that it can be evaluated
+	 *         without updating other elements
+	 */
+	private boolean canEvaluateDirectly() {
+		if (expression == var) {
+			return true;
+		}
+		if (expression.getDefinition() == null) {
+			return false;
+		}
+		if (expression.getGeoClassType() == GeoClass.NUMERIC) {
+			if (!(expressionParentAlgo instanceof AlgoDependentNumber)) {
+				return false;
+			}
+		} else if (expression.getGeoClassType() == GeoClass.POINT) {
+			if (!(expressionParentAlgo instanceof AlgoDependentPoint)) {
+				return false;
+			}
+		} else {
+			return false;
+		}
+		for (GeoElement geo : expressionParentAlgo.getInput()) {
+			if (geo != var && geo.isChildOf(var)) {
+				return false;
+			}
+		}
+		// random values are only recomputed when the element is updated
+		return !expression.isRandomGeo()
+				&& !expression.getDefinition().inspect(new Inspecting() {
+
+					@Override
+					public boolean check(ExpressionValue v) {
+						return (v.isGeoElement()
+								&& ((GeoElement) v).isRandomGeo())
+								|| (v.isExpressionNode() && ((ExpressionNode) v)
+										.getOperation() == Operation.RANDOM);
+					}
+				});
+	}
+
+	/**
+	 * Evaluates the expression for all values of var and stores the results
+	 * as primitive values of the list, list elements are only created when
+	 * needed.
+	 */
+	private void computeValues(double from, double to, double step) {
+		int dimension = expression.isGeoPoint() ? 2 : 1;
+		int n = 0;
+		if (!isEmpty) {
+			if (Double.isInfinite((to - from) / step)) {
+				list.setUndefined();
+				return;
+			}
+			n = (int) Math.ceil((to - from) / step) + 1;
+		}
+		if (values == null || values.length < dimension * n) {
+			// check we haven't run out of memory
+			if (kernel.getApplication().freeMemoryIsCritical()) {
+				long mem = kernel.getApplication().freeMemory();
+				list.clearCache();
+				kernel.initUndoInfo(); // clear all undo info
+				Log.debug("AlgoSequence aborted: free memory reached " + mem);
+				return;
+			}
+			values = new double[dimension * n];
+		}
+		ExpressionNode definition = expression.getDefinition();
+
+		double currentVal = from;
+		double lastVal = from;
+		int i = 0;
+		while (i < n && ((step > 0 && currentVal <= to + Kernel.MIN_PRECISION)
+				|| (step < 0 && currentVal >= to - Kernel.MIN_PRECISION))) {
+			var.setValue(currentVal);
+			if (expression == var) {
+				values[i] = var.getValue();
+			} else if (dimension == 1) {
+				values[i] = evaluateNumber(definition);
+			} else {
+				evaluatePoint(definition, 2 * i);
+			}
+			lastVal = currentVal;
+			currentVal += step;
+			if (DoubleUtil.isInteger(currentVal)) {
+				currentVal = Math.round(currentVal);
+			}
+			i++;
+		}
+		list.setPrimitiveValues(values, dimension, i,
+				expression.toGeoElement());
+
+		// leave var and expression in the same state as the element-wise
+		// computation
+		if (i > 0) {
+			updateLocalVar(lastVal);
+		}
+	}
+
+	private static double evaluateNumber(ExpressionNode definition) {
+		try {
+			return ((NumberValue) definition
+					.evaluate(StringTemplate.defaultTemplate)).getDouble();
+		} catch (Throwable e) {
+			return Double.NaN;
+		}
+	}
+
+	private void evaluatePoint(ExpressionNode definition, int offset) {
+		values[offset] = Double.NaN;
+		values[offset + 1] = Double.NaN;
+		try {
+			GeoVec2D vec = ((VectorValue) definition
+					.evaluate(StringTemplate.defaultTemplate)).getVector();
+			if (!Double.isInfinite(vec.getX())
+					&& !Double.isInfinite(vec.getY())) {
+				values[offset] = vec.getX();
+				values[offset + 1] = vec.getY();
+			}
+		} catch (Exception e) {
+			// undefined point
+		}
+	}
+
 	private void createNewList(double from, double to, double step) {
 		// clear list if defined
 		int i = 0;
@@ -12,6 +12,7 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.TreeSet;
 
@@ -37,6 +38,7 @@ public class AlgoSort extends AlgoElement {
 	private GeoList outputList; // output
 	private int size;
 	private GeoList valueList;
+	private double[] sortedValues;
 
 	/**
 	 * Creates new list sorting algorithm
@@ -150,6 +152,12 @@ public class AlgoSort extends AlgoElement {
 			return;
 		}
 
+		double[] values = inputList.getPrimitiveNumbers();
+		if (values != null && valueList == null) {
+			sortPrimitiveNumbers(values);
+			return;
+		}
+
 		GeoElement geo0 = inputList.get(0);
 
 		Class<? extends GeoElement> geoClass = geo0.getClass();
@@ -203,4 +211,19 @@ public class AlgoSort extends AlgoElement {
 		}
 	}
 
+	/**
+	 * Sorts a list of numbers which were not created as elements yet, the
+	 * output list gets primitive values too.
+	 */
+	private void sortPrimitiveNumbers(double[] values) {
+		if (sortedValues == null || sortedValues.length < size) {
+			sortedValues = new double[size];
+		}
+		System.arraycopy(values, 0, sortedValues, 0, size);
+		Arrays.sort(sortedValues, 0, size);
+		outputList.setDefined(true);
+		outputList.setPrimitiveValues(sortedValues, 1, size,
+				inputList.getPrimitiveTemplate());
+	}
+
 }
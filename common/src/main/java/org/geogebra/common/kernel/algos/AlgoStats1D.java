@@ -13,6 +13,7 @@ the Free Software Foundation.
 package org.geogebra.common.kernel.algos;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.arithmetic.NumberValue;
@@ -21,6 +22,7 @@ import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.TaskExecutor;
 
 /**
  * Mean, variance, sum, sum of squares, standard deviation of a list adapted
@@ -50,6 +52,10 @@ public abstract class AlgoStats1D extends AlgoElement {
 	protected final static int STATS_SAMPLE_SD = 8;
 	protected final static int STATS_MEAN_ABSOLUTE_DEVIATION = 9;
 
+	// lists of primitive numbers are summed in parts of this size, in
+	// concurrent tasks if possible
+	private final static int PARALLEL_CHUNK_SIZE = 1 << 16;
+
 	public AlgoStats1D(Construction cons, GeoList geoList, int stat) {
 		this(cons, geoList, null, null, stat);
 	}
@@ -79,7 +85,7 @@ public abstract class AlgoStats1D extends AlgoElement {
 		this.stat = stat;
 		this.Truncate = truncate;
 
-		if (geoList.size() > 0 && geoList.get(0).isAngle()) {
+		if (isAngleList(geoList)) {
 			result = new GeoAngle(cons);
 
 			// allow unbounded angles (from ggb44). This could break old files
@@ -120,6 +126,13 @@ public abstract class AlgoStats1D extends AlgoElement {
 		return result;
 	}
 
+	private static boolean isAngleList(GeoList list) {
+		if (list.getPrimitiveNumbers() != null) {
+			return list.size() > 0 && list.getPrimitiveTemplate().isAngle();
+		}
+		return list.size() > 0 && list.get(0).isAngle();
+	}
+
 	@Override
 	public final void compute() {
 
@@ -191,8 +204,20 @@ public abstract class AlgoStats1D extends AlgoElement {
 		boolean useMidpoint = false;
 		double n = 0;
 
+		double[] values = geoList2 == null ? geoList.getPrimitiveNumbers()
+				: null;
+
+		// list of numbers backed by primitive values
+		if (values != null) {
+			SumTask sum = sum(values, (int) size);
+			sumVal = sum.sumVal;
+			sumSquares = sum.sumSquares;
+			product = sum.product;
+			n = size;
+		}
+
 		// list of numbers only, no frequencies
-		if (geoList2 == null) {
+		else if (geoList2 == null) {
 			double val;
 			for (int i = 0; i < size; i++) {
 				geo = geoList.get(i);
@@ -268,7 +293,11 @@ public abstract class AlgoStats1D extends AlgoElement {
 		case STATS_MEAN_ABSOLUTE_DEVIATION:
 
 			double sumAbsoluteDeviation = 0;
-			if (geoList2 == null) {
+			if (values != null) {
+				for (int i = 0; i < size; i++) {
+					sumAbsoluteDeviation += Math.abs(mu - values[i]);
+				}
+			} else if (geoList2 == null) {
 				double val;
 				for (int i = 0; i < size; i++) {
 					geo = geoList.get(i);
@@ -342,4 +371,66 @@ public abstract class AlgoStats1D extends AlgoElement {
 		}
 	}
 
+	/**
+	 * Sums the first n values; large arrays are split in parts which are
+	 * summed concurrently if the kernel has a task executor. The parts do not
+	 * depend on the executor, so the result is the same in both cases.
+	 */
+	private SumTask sum(double[] values, int n) {
+		if (n <= PARALLEL_CHUNK_SIZE) {
+			SumTask task = new SumTask(values, 0, n);
+			task.run();
+			return task;
+		}
+		List<SumTask> tasks = new ArrayList<>();
+		for (int from = 0; from < n; from += PARALLEL_CHUNK_SIZE) {
+			tasks.add(new SumTask(values, from,
+					Math.min(n, from + PARALLEL_CHUNK_SIZE)));
+		}
+		TaskExecutor executor = kernel.getTaskExecutor();
+		if (executor != null) {
+			executor.runAll(tasks);
+		} else {
+			for (SumTask task : tasks) {
+				task.run();
+			}
+		}
+		SumTask total = tasks.get(0);
+		for (int i = 1; i < tasks.size(); i++) {
+			SumTask task = tasks.get(i);
+			total.sumVal += task.sumVal;
+			total.sumSquares += task.sumSquares;
+			total.product *= task.product;
+		}
+		return total;
+	}
+
+	/**
+	 * Sum, sum of squares and product of a range of values
+	 */
+	private static class SumTask implements Runnable {
+		private final double[] values;
+		private final int from;
+		private final int to;
+		protected double sumVal = 0;
+		protected double sumSquares = 0;
+		protected double product = 1;
+
+		protected SumTask(double[] values, int from, int to) {
+			this.values = values;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public void run() {
+			for (int i = from; i < to; i++) {
+				double val = values[i];
+				sumVal += val;
+				sumSquares += val * val;
+				product *= val;
+			}
+		}
+	}
+
 }
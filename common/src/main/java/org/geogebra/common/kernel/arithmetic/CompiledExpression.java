@@ -0,0 +1,406 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.Operation;
+import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.MyMath;
+
+/**
+ * Real valued expression lowered to code for a small stack machine. Evaluating
+ * it doesn't create any objects, values of numbers and sliders in the
+ * expression are read at evaluation time.
+ *
+ * The results are the same as for {@link ExpressionNode#evaluateDouble()}:
+ * operations with a fast path there (+, -, *, /, ^, sin, cos, sqrt) are
+ * evaluated the same way, below other operations the semantics of
+ * {@link ExpressionNodeEvaluator} are used.
+ *
+ * Not thread safe.
+ */
+public final class CompiledExpression {
+
+	private static final int VAR = 0;
+	private static final int NUMBER = 1;
+	private static final int ADD = 2;
+	private static final int SUB = 3;
+	private static final int MUL = 4;
+	private static final int DIV = 5;
+	/** Math.pow */
+	private static final int POW = 6;
+	/** MyDouble.pow with special case for Euler number */
+	private static final int POW_CHECKED = 7;
+	/** base, a, b on stack: base^(a/b) with negative base support */
+	private static final int POW_FRACTION = 8;
+	/** as POW_FRACTION, semantics of POW_CHECKED */
+	private static final int POW_FRACTION_CHECKED = 9;
+	private static final int SIN = 10;
+	/** MyDouble.sin */
+	private static final int SIN_CHECKED = 11;
+	private static final int COS = 12;
+	/** MyDouble.cos */
+	private static final int COS_CHECKED = 13;
+	private static final int TAN = 14;
+	private static final int SQRT = 15;
+	private static final int EXP = 16;
+	private static final int LOG = 17;
+	private static final int ABS = 18;
+	private static final int SINH = 19;
+	private static final int COSH = 20;
+	private static final int TANH = 21;
+	private static final int CBRT = 22;
+
+	private final int[] code;
+	private final NumberValue[] numbers;
+	private final double[] stack;
+	private final double[] args;
+
+	private CompiledExpression(int[] code, NumberValue[] numbers,
+			int stackSize, int varCount) {
+		this.code = code;
+		this.numbers = numbers;
+		this.stack = new double[stackSize];
+		this.args = new double[varCount];
+	}
+
+	/**
+	 * @param expression
+	 *            real valued expression
+	 * @param vars
+	 *            function variables
+	 * @return compiled expression or null if the expression contains
+	 *         operations or values that are not supported
+	 */
+	public static CompiledExpression compile(ExpressionValue expression,
+			FunctionVariable[] vars) {
+		Compiler compiler = new Compiler(vars);
+		if (!compiler.compile(expression, true)) {
+			return null;
+		}
+		return compiler.build();
+	}
+
+	/**
+	 * @param x
+	 *            value of the only variable
+	 * @return value of the expression
+	 */
+	public double evaluate(double x) {
+		args[0] = x;
+		return evaluate(args);
+	}
+
+	/**
+	 * @param x
+	 *            value of the first variable
+	 * @param y
+	 *            value of the second variable
+	 * @return value of the expression
+	 */
+	public double evaluate(double x, double y) {
+		args[0] = x;
+		args[1] = y;
+		return evaluate(args);
+	}
+
+	/**
+	 * @param vars
+	 *            values of variables
+	 * @return value of the expression
+	 */
+	public double evaluate(double[] vars) {
+		final double[] s = stack;
+		int sp = -1;
+		for (int pc = 0; pc < code.length; pc++) {
+			switch (code[pc]) {
+			case VAR:
+				s[++sp] = vars[code[++pc]];
+				break;
+			case NUMBER:
+				s[++sp] = numbers[code[++pc]].getDouble();
+				break;
+			case ADD:
+				sp--;
+				s[sp] = s[sp] + s[sp + 1];
+				break;
+			case SUB:
+				sp--;
+				s[sp] = s[sp] - s[sp + 1];
+				break;
+			case MUL:
+				sp--;
+				s[sp] = s[sp] * s[sp + 1];
+				break;
+			case DIV:
+				sp--;
+				s[sp] = s[sp] / s[sp + 1];
+				break;
+			case POW:
+				sp--;
+				s[sp] = Math.pow(s[sp], s[sp + 1]);
+				break;
+			case POW_CHECKED:
+				sp--;
+				s[sp] = powChecked(s[sp], s[sp + 1]);
+				break;
+			case POW_FRACTION:
+				sp -= 2;
+				s[sp] = s[sp] < 0
+						? ExpressionNodeEvaluator.negPower(s[sp], s[sp + 1],
+								s[sp + 2])
+						: Math.pow(s[sp], s[sp + 1] / s[sp + 2]);
+				break;
+			case POW_FRACTION_CHECKED:
+				sp -= 2;
+				s[sp] = s[sp] < 0
+						? ExpressionNodeEvaluator.negPower(s[sp], s[sp + 1],
+								s[sp + 2])
+						: powChecked(s[sp], s[sp + 1] / s[sp + 2]);
+				break;
+			case SIN:
+				s[sp] = Math.sin(s[sp]);
+				break;
+			case SIN_CHECKED:
+				s[sp] = sinChecked(s[sp]);
+				break;
+			case COS:
+				s[sp] = Math.cos(s[sp]);
+				break;
+			case COS_CHECKED:
+				s[sp] = checkZero(Math.cos(s[sp]));
+				break;
+			case TAN:
+				s[sp] = tan(s[sp]);
+				break;
+			case SQRT:
+				s[sp] = Math.sqrt(s[sp]);
+				break;
+			case EXP:
+				s[sp] = Math.exp(s[sp]);
+				break;
+			case LOG:
+				s[sp] = Math.log(s[sp]);
+				break;
+			case ABS:
+				s[sp] = Math.abs(s[sp]);
+				break;
+			case SINH:
+				s[sp] = MyMath.sinh(s[sp]);
+				break;
+			case COSH:
+				s[sp] = MyMath.cosh(s[sp]);
+				break;
+			case TANH:
+				s[sp] = MyMath.tanh(s[sp]);
+				break;
+			case CBRT:
+				s[sp] = MyMath.cbrt(s[sp]);
+				break;
+			default:
+				return Double.NaN;
+			}
+		}
+		return s[0];
+	}
+
+	/** see ExpressionNodeEvaluator.handlePower */
+	private static double powChecked(double base, double exponent) {
+		if (MyDouble.exactEqual(base, Math.E)) {
+			return Math.exp(exponent);
+		}
+		return MyDouble.pow(base, exponent);
+	}
+
+	/** see MyDouble.sin */
+	private static double sinChecked(double val) {
+		double ret = Math.sin(val);
+		return Math.abs(val) > 0.1 ? checkZero(ret) : ret;
+	}
+
+	/** see MyDouble.tan */
+	private static double tan(double val) {
+		if (DoubleUtil.isEqual(Math.abs(val) % Math.PI, Kernel.PI_HALF)) {
+			return Double.NaN;
+		}
+		double ret = Math.tan(val);
+		return Math.abs(val) > 0.1 ? checkZero(ret) : ret;
+	}
+
+	private static double checkZero(double val) {
+		return DoubleUtil.isZero(val) ? 0 : val;
+	}
+
+	/**
+	 * Translates the expression tree to code, keeping track of stack size.
+	 */
+	private static class Compiler {
+		private final FunctionVariable[] vars;
+		private int[] code = new int[16];
+		private int length = 0;
+		private final ArrayList<NumberValue> numbers = new ArrayList<>();
+		private int depth = 0;
+		private int maxDepth = 0;
+		/** number of emitted ops that differ between fast and slow path */
+		private int contextSensitiveOps = 0;
+
+		protected Compiler(FunctionVariable[] vars) {
+			this.vars = vars;
+		}
+
+		/**
+		 * @param ev
+		 *            expression
+		 * @param fast
+		 *            whether the interpreter would use
+		 *            ExpressionNode.evaluateDouble() for this expression (true)
+		 *            or the ExpressionNodeEvaluator (false)
+		 * @return success
+		 */
+		protected boolean compile(ExpressionValue ev, boolean fast) {
+			if (ev instanceof ExpressionNode) {
+				return compileNode((ExpressionNode) ev, fast);
+			}
+			if (ev instanceof FunctionVariable) {
+				for (int i = 0; i < vars.length; i++) {
+					if (vars[i] == ev) {
+						emit(VAR, i, 1);
+						return true;
+					}
+				}
+				return false;
+			}
+			if (ev instanceof MyDouble || ev instanceof GeoNumeric) {
+				numbers.add((NumberValue) ev);
+				emit(NUMBER, numbers.size() - 1, 1);
+				return true;
+			}
+			return false;
+		}
+
+		private boolean compileNode(ExpressionNode node, boolean fast) {
+			if (node.isLeaf()) {
+				return compile(node.getLeft(), fast);
+			}
+			Operation op = node.getOperation();
+			ExpressionValue left = node.getLeft();
+			ExpressionValue right = node.getRight();
+			switch (op) {
+			case PLUS:
+				return binary(left, right, fast, ADD);
+			case MINUS:
+				return binary(left, right, fast, SUB);
+			case MULTIPLY:
+				return binary(left, right, fast, MUL);
+			case DIVIDE:
+				return binary(left, right, fast, DIV);
+			case POWER:
+				return power(left, right, fast);
+			case SIN:
+				return unary(left, fast, fast ? SIN : SIN_CHECKED);
+			case COS:
+				return unary(left, fast, fast ? COS : COS_CHECKED);
+			case SQRT:
+				return unary(left, fast, SQRT);
+			case NO_OPERATION:
+				// not a leaf: no fast path in ExpressionNode
+				return compile(left, false);
+			case TAN:
+				return unary(left, false, TAN);
+			case EXP:
+				return unary(left, false, EXP);
+			case LOG:
+				return unary(left, false, LOG);
+			case ABS:
+				return unary(left, false, ABS);
+			case SINH:
+				return unary(left, false, SINH);
+			case COSH:
+				return unary(left, false, COSH);
+			case TANH:
+				return unary(left, false, TANH);
+			case CBRT:
+				return unary(left, false, CBRT);
+			default:
+				return false;
+			}
+		}
+
+		private boolean unary(ExpressionValue arg, boolean fast, int op) {
+			if (!compile(arg, fast)) {
+				return false;
+			}
+			if (op == SIN_CHECKED || op == COS_CHECKED) {
+				contextSensitiveOps++;
+			}
+			emit(op);
+			return true;
+		}
+
+		private boolean binary(ExpressionValue left, ExpressionValue right,
+				boolean fast, int op) {
+			if (!compile(left, fast) || !compile(right, fast)) {
+				return false;
+			}
+			emit(op);
+			depth--;
+			return true;
+		}
+
+		private boolean power(ExpressionValue left, ExpressionValue right,
+				boolean fast) {
+			if (right instanceof ExpressionNode && ((ExpressionNode) right)
+					.getOperation() == Operation.DIVIDE) {
+				// negative base: negPower evaluates numerator and
+				// denominator with ExpressionNode.evaluateDouble() even
+				// below slow operations
+				if (!compile(left, fast)) {
+					return false;
+				}
+				int sensitiveBefore = contextSensitiveOps;
+				ExpressionNode fraction = (ExpressionNode) right;
+				if (!compile(fraction.getLeft(), true)
+						|| !compile(fraction.getRight(), true)) {
+					return false;
+				}
+				if (!fast && contextSensitiveOps != sensitiveBefore) {
+					return false;
+				}
+				emit(fast ? POW_FRACTION : POW_FRACTION_CHECKED);
+				depth -= 2;
+				return true;
+			}
+			return binary(left, right, fast, fast ? POW : POW_CHECKED);
+		}
+
+		private void emit(int op) {
+			ensureCapacity(1);
+			code[length++] = op;
+		}
+
+		private void emit(int op, int operand, int push) {
+			ensureCapacity(2);
+			code[length++] = op;
+			code[length++] = operand;
+			depth += push;
+			maxDepth = Math.max(maxDepth, depth);
+		}
+
+		private void ensureCapacity(int extra) {
+			if (length + extra > code.length) {
+				int[] larger = new int[2 * code.length + extra];
+				System.arraycopy(code, 0, larger, 0, length);
+				code = larger;
+			}
+		}
+
+		protected CompiledExpression build() {
+			int[] trimmed = new int[length];
+			System.arraycopy(code, 0, trimmed, 0, length);
+			return new CompiledExpression(trimmed,
+					numbers.toArray(new NumberValue[0]), Math.max(maxDepth, 1),
+					vars.length);
+		}
+	}
+}
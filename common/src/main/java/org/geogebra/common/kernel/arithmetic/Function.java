@@ -215,6 +215,10 @@ public class Function extends FunctionNVar
 		}
 		// NumberValue
 		fVars[0].set(x);
+		CompiledExpression compiledExp = getCompiledExpression();
+		if (compiledExp != null) {
+			return compiledExp.evaluate(x);
+		}
 		return expression.evaluateDouble();
 
 	}
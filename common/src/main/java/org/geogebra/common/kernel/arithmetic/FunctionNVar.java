@@ -69,7 +69,9 @@ public class FunctionNVar extends ValidExpression
 	private ExpressionNode casEvalExpression;
 	private String casEvalStringSymbolic;
 
-	private static ArrayList<ExpressionNode> undecided = new ArrayList<>();
+	private CompiledExpression compiled;
+	private ExpressionNode compiledExpression;
+	private FunctionVariable[] compiledVars;
 
 	private final static class RandomCheck implements Inspecting {
 		protected RandomCheck() {
@@ -189,6 +191,34 @@ public class FunctionNVar extends ValidExpression
 		return new FunctionNVar(this, kernel1);
 	}
 
+	/**
+	 * Creates a copy with new function variables and the current values of
+	 * all numbers, so that it can be evaluated in another thread while this
+	 * function is used and its numbers change.
+	 * 
+	 * @param vars
+	 *            new function variables, one for each variable of this
+	 *            function
+	 * @param kernel1
+	 *            kernel
+	 * @return copy using given variables, null if the expression contains
+	 *         parts that may not be evaluated concurrently
+	 */
+	public FunctionNVar copyForEvaluation(FunctionVariable[] vars,
+			Kernel kernel1) {
+		if (expression.inspect(Inspecting.ThreadUnsafeFinder.INSTANCE)) {
+			return null;
+		}
+		ExpressionNode copy = expression.getCopy(kernel1)
+				.traverse(Traversing.GeoNumericValueReplacer.getReplacer())
+				.wrap();
+		for (int i = 0; i < fVars.length; i++) {
+			copy = copy.traverse(Traversing.Replacer.getReplacer(fVars[i],
+					vars[i])).wrap();
+		}
+		return new FunctionNVar(copy, vars);
+	}
+
 	/**
 	 * @return function expression
 	 */
@@ -328,6 +358,8 @@ public class FunctionNVar extends ValidExpression
 	 * @return whether this is a valid (numeric or boolean) function
 	 */
 	public boolean initFunction(EvalInfo info) {
+		// expression may change in place
+		compiledExpression = null;
 
 		// replace function variables in tree
 		for (int i = 0; i < fVars.length; i++) {
@@ -400,12 +432,11 @@ public class FunctionNVar extends ValidExpression
 		}
 
 		// try to replace x(x+1) by x*(x+1)
-		undecided.clear();
+		ArrayList<ExpressionNode> undecided = new ArrayList<>();
 		expression.replaceXYZnodes(xVar, yVar, zVar, undecided);
 		for (ExpressionNode en : undecided) {
 			en.setOperation(Operation.MULTIPLY);
 		}
-		undecided.clear();
 	}
 
 	/**
@@ -488,6 +519,10 @@ public class FunctionNVar extends ValidExpression
 				fVars[i].set(vals[i]);
 			}
 		}
+		CompiledExpression compiledExp = getCompiledExpression();
+		if (compiledExp != null) {
+			return compiledExp.evaluate(vals);
+		}
 		return expression.evaluateDouble();
 	}
 
@@ -502,9 +537,31 @@ public class FunctionNVar extends ValidExpression
 		fVars[0].set(x);
 		fVars[1].set(y);
 
+		CompiledExpression compiledExp = getCompiledExpression();
+		if (compiledExp != null) {
+			return compiledExp.evaluate(x, y);
+		}
 		return expression.evaluateDouble();
 	}
 
+	/**
+	 * @return compiled form of the expression, null if compiled evaluation is
+	 *         switched off in the kernel or the expression is not supported
+	 *         by the compiler
+	 */
+	protected CompiledExpression getCompiledExpression() {
+		if (kernel == null || !kernel.isCompileFunctions()
+				|| isBooleanFunction || fVars == null) {
+			return null;
+		}
+		if (compiledExpression != expression || compiledVars != fVars) {
+			compiledExpression = expression;
+			compiledVars = fVars;
+			compiled = CompiledExpression.compile(expression, fVars);
+		}
+		return compiled;
+	}
+
 	/**
 	 * Returns this function's value at position vals. (Note: use this method if
 	 * isBooleanFunction() returns true.
@@ -620,6 +677,8 @@ public class FunctionNVar extends ValidExpression
 		// substitute % by expString in ggbCasCmd
 		String casString = ggbCasCmd.replaceAll("%", expString);
 		FunctionNVar resultFun = null;
+		// results that are not available yet must not be cached
+		int missingResults = kernel.getCasJobQueue().getMissingResults();
 
 		// eval with CAS
 		try {
@@ -670,7 +729,8 @@ public class FunctionNVar extends ValidExpression
 		}
 
 		// cache result
-		if (useCaching && resultFun != null) {
+		if (useCaching && resultFun != null && missingResults == kernel
+				.getCasJobQueue().getMissingResults()) {
 			getCasEvalMap().put(casString, resultFun);
 		}
 
@@ -312,6 +312,35 @@ public interface Inspecting {
 		}
 	};
 
+	/**
+	 * Checks for parts of a numeric expression that may not be evaluated
+	 * concurrently, i.e. anything but numbers, basic arithmetic and
+	 * elementary functions
+	 */
+	public enum ThreadUnsafeFinder implements Inspecting {
+		/** singleton instance */
+		INSTANCE;
+
+		@Override
+		public boolean check(ExpressionValue v) {
+			if (v instanceof ExpressionNode) {
+				Operation op = ((ExpressionNode) v).getOperation();
+				switch (op) {
+				case NO_OPERATION:
+				case PLUS:
+				case MINUS:
+				case MULTIPLY:
+				case DIVIDE:
+				case POWER:
+					return false;
+				default:
+					return !Operation.isSimpleFunction(op);
+				}
+			}
+			return !(v instanceof MyDouble) && !(v instanceof GeoNumeric);
+		}
+	}
+
 	/**
 	 * Finds MySpecialDoubles
 	 *
@@ -706,6 +706,31 @@ public interface Traversing {
 		}
 	}
 
+	/**
+	 * Replaces numbers by their current values, so that the expression does
+	 * not change when the numbers are updated
+	 */
+	public class GeoNumericValueReplacer implements Traversing {
+		private static GeoNumericValueReplacer replacer =
+				new GeoNumericValueReplacer();
+
+		@Override
+		public ExpressionValue process(ExpressionValue ev) {
+			if (ev instanceof GeoNumeric) {
+				GeoNumeric num = (GeoNumeric) ev;
+				return new MyDouble(num.getKernel(), num.getValue());
+			}
+			return ev;
+		}
+
+		/**
+		 * @return replacer
+		 */
+		public static GeoNumericValueReplacer getReplacer() {
+			return replacer;
+		}
+	}
+
 	/**
 	 * Renames Spreadsheet Variables with new name according to offset (dx,dy)
 	 * 
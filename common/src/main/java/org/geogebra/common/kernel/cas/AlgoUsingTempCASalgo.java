@@ -42,6 +42,25 @@ public abstract class AlgoUsingTempCASalgo extends AlgoElement
 		if (algoCAS != null) {
 			algoCAS.remove();
 		}
+		kernel.getCasJobQueue().remove(this);
+	}
+
+	@Override
+	public void update() {
+		CasJobQueue jobs = kernel.getCasJobQueue();
+		if (stopUpdateCascade || !jobs.isAsync()) {
+			super.update();
+			return;
+		}
+		updateUnlabeledRandomGeos();
+		// keeps previous output while waiting for CAS
+		CasJobQueue.Computation computation = jobs.begin(this);
+		try {
+			compute();
+		} finally {
+			jobs.end(this, computation);
+		}
+		updateDependentGeos();
 	}
 
 	/**
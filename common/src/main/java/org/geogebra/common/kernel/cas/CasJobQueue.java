@@ -0,0 +1,390 @@
+package org.geogebra.common.kernel.cas;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+import org.geogebra.common.kernel.CASGenericInterface;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.AlgoLevelUpdater;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.util.GTimer;
+import org.geogebra.common.util.GTimerListener;
+
+/**
+ * Asynchronous CAS evaluation for algos (see {@link AlgoUsingTempCASalgo} and
+ * {@link org.geogebra.common.kernel.algos.AlgoCasBase}).
+ *
+ * While an algo is computed in async mode, Giac inputs whose results are not
+ * available yet are evaluated by the kernel's task executor and the algo
+ * keeps its previous output. Finished jobs are collected on the main thread
+ * by a timer; then the algo is computed again (now using the results) and
+ * its dependent objects are updated. Each algo has at most one running job:
+ * if its input changed in the meantime, the result of the running job is
+ * dropped and a job for the new input is started.
+ */
+public class CasJobQueue implements GTimerListener {
+
+	/** delay for checking finished jobs in milliseconds */
+	private static final int POLL_DELAY = 20;
+
+	private final Kernel kernel;
+	private boolean enabled = false;
+	private GTimer timer;
+
+	/** outermost algo being computed in async mode, null if none */
+	private AlgoElement requester;
+	/** number of requests for results that were not available */
+	private int missingResults = 0;
+	private final HashMap<AlgoElement, AlgoJobs> algoJobs = new HashMap<>();
+	private final ArrayList<Job> running = new ArrayList<>();
+
+	private int queuedJobs = 0;
+	private int droppedJobs = 0;
+	private int completedJobs = 0;
+
+	/**
+	 * State of a single computation, see {@link #begin(AlgoElement)}.
+	 */
+	public static class Computation {
+		private final GeoElement[] previous;
+		private final int missing;
+
+		Computation(GeoElement[] previous, int missing) {
+			this.previous = previous;
+			this.missing = missing;
+		}
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 */
+	public CasJobQueue(Kernel kernel) {
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Async mode has no effect if the kernel has no task executor.
+	 *
+	 * @param enabled
+	 *            whether algos request missing CAS results asynchronously
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return whether async mode was enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return whether algos should be computed in async mode now
+	 */
+	public boolean isAsync() {
+		return enabled && kernel.getTaskExecutor() != null
+				&& !kernel.getConstruction().isFileLoading();
+	}
+
+	/**
+	 * @return whether CAS results should be requested by
+	 *         {@link #evaluate(String, CASGenericInterface)}
+	 */
+	public boolean isRequesting() {
+		return requester != null;
+	}
+
+	/**
+	 * Starts computing the algo in async mode.
+	 *
+	 * @param algo
+	 *            algo
+	 * @return state to be passed to {@link #end(AlgoElement, Computation)}
+	 */
+	public Computation begin(AlgoElement algo) {
+		if (requester == null) {
+			requester = algo;
+			AlgoJobs jobs = getJobs(algo);
+			jobs.used.clear();
+			jobs.requested = null;
+		}
+		GeoElement[] previous = new GeoElement[algo.getOutputLength()];
+		for (int i = 0; i < previous.length; i++) {
+			previous[i] = algo.getOutput(i).copy();
+		}
+		return new Computation(previous, missingResults);
+	}
+
+	/**
+	 * Finishes computing the algo; if some CAS results were missing, the
+	 * previous output is restored.
+	 *
+	 * @param algo
+	 *            algo
+	 * @param computation
+	 *            state returned by {@link #begin(AlgoElement)}
+	 * @return whether the algo waits for CAS results
+	 */
+	public boolean end(AlgoElement algo, Computation computation) {
+		boolean waiting = missingResults != computation.missing;
+		if (requester == algo) {
+			requester = null;
+			AlgoJobs jobs = algoJobs.get(algo);
+			if (!waiting) {
+				// keep the results of this computation for the next one
+				HashMap<String, Job> swap = jobs.results;
+				jobs.results = jobs.used;
+				jobs.used = swap;
+			}
+			jobs.used.clear();
+		}
+		if (waiting) {
+			for (int i = 0; i < computation.previous.length; i++) {
+				algo.getOutput(i).set(computation.previous[i]);
+			}
+		}
+		return waiting;
+	}
+
+	/**
+	 * Results of evaluations must not be cached if this number changed during
+	 * the evaluation.
+	 * 
+	 * @return number of requested results that were not available
+	 */
+	public int getMissingResults() {
+		return missingResults;
+	}
+
+	/**
+	 * Returns the result of the Giac input for the algo being computed or
+	 * requests it asynchronously.
+	 *
+	 * @param giacInput
+	 *            Giac input
+	 * @param cas
+	 *            CAS
+	 * @return result, "?" if it is not available yet
+	 */
+	public String evaluate(String giacInput, CASGenericInterface cas) {
+		AlgoJobs jobs = getJobs(requester);
+		Job job = jobs.results.get(giacInput);
+		if (job == null) {
+			job = jobs.used.get(giacInput);
+		}
+		if (job != null) {
+			jobs.used.put(giacInput, job);
+			return job.getResult();
+		}
+		missingResults++;
+		if (jobs.requested == null) {
+			// the first missing result of a computation is requested, the
+			// others may depend on it
+			jobs.requested = giacInput;
+			if (jobs.running == null) {
+				start(jobs, giacInput, cas);
+			}
+		}
+		return "?";
+	}
+
+	private void start(AlgoJobs jobs, String giacInput,
+			CASGenericInterface cas) {
+		Job job = new Job(jobs.algo, giacInput, cas);
+		jobs.running = job;
+		running.add(job);
+		queuedJobs++;
+		kernel.getTaskExecutor().execute(job);
+		if (timer == null) {
+			timer = kernel.getApplication().newTimer(this, POLL_DELAY);
+		}
+		if (!timer.isRunning()) {
+			timer.start();
+		}
+	}
+
+	@Override
+	public void onRun() {
+		processFinishedJobs();
+		if (!running.isEmpty()) {
+			timer.start();
+		}
+	}
+
+	/**
+	 * Updates the algos of all finished jobs and their dependent objects; runs
+	 * on the main thread.
+	 *
+	 * @return number of updated algos
+	 */
+	public int processFinishedJobs() {
+		ArrayList<AlgoElement> algos = new ArrayList<>();
+		for (int i = 0; i < running.size(); i++) {
+			Job job = running.get(i);
+			if (!job.isDone()) {
+				continue;
+			}
+			running.remove(i--);
+			AlgoJobs jobs = algoJobs.get(job.algo);
+			if (jobs == null || jobs.running != job) {
+				// algo was removed
+				droppedJobs++;
+				continue;
+			}
+			jobs.running = null;
+			if (job.input.equals(jobs.requested)) {
+				completedJobs++;
+				jobs.results.put(job.input, job);
+			} else {
+				// input changed while the job was running
+				droppedJobs++;
+			}
+			algos.add(job.algo);
+		}
+		for (AlgoElement algo : algos) {
+			update(algo);
+		}
+		if (!algos.isEmpty()) {
+			kernel.notifyRepaint();
+		}
+		return algos.size();
+	}
+
+	private void update(AlgoElement algo) {
+		algo.update();
+		TreeSet<AlgoElement> tempSet = new TreeSet<>();
+		for (GeoElement geo : algo.getOutput()) {
+			if (geo.hasAlgoUpdateSet()) {
+				geo.getAlgoUpdateSet().addAllToCollection(tempSet);
+			}
+		}
+		AlgoLevelUpdater levelUpdater = kernel.getAlgoLevelUpdater();
+		if (levelUpdater == null) {
+			for (AlgoElement dependent : tempSet) {
+				dependent.update();
+			}
+		} else {
+			levelUpdater.updateAll(tempSet, tempSet.size());
+		}
+	}
+
+	/**
+	 * Forgets results and drops the running job of removed algo.
+	 *
+	 * @param algo
+	 *            algo
+	 */
+	public void remove(AlgoElement algo) {
+		algoJobs.remove(algo);
+	}
+
+	/**
+	 * @return whether some jobs are not finished or not processed yet
+	 */
+	public boolean hasRunningJobs() {
+		return !running.isEmpty();
+	}
+
+	/**
+	 * @return number of started jobs
+	 */
+	public int getQueuedJobs() {
+		return queuedJobs;
+	}
+
+	/**
+	 * @return number of jobs whose results were discarded because the input
+	 *         of the algo changed or the algo was removed
+	 */
+	public int getDroppedJobs() {
+		return droppedJobs;
+	}
+
+	/**
+	 * @return number of jobs whose results were used
+	 */
+	public int getCompletedJobs() {
+		return completedJobs;
+	}
+
+	/**
+	 * Resets the job counters.
+	 */
+	public void resetCounters() {
+		queuedJobs = 0;
+		droppedJobs = 0;
+		completedJobs = 0;
+	}
+
+	private AlgoJobs getJobs(AlgoElement algo) {
+		AlgoJobs jobs = algoJobs.get(algo);
+		if (jobs == null) {
+			jobs = new AlgoJobs(algo);
+			algoJobs.put(algo, jobs);
+		}
+		return jobs;
+	}
+
+	/**
+	 * Jobs of a single algo.
+	 */
+	private static class AlgoJobs {
+		final AlgoElement algo;
+		/** results of the last complete computation */
+		HashMap<String, Job> results = new HashMap<>();
+		/** results used during the current computation */
+		HashMap<String, Job> used = new HashMap<>();
+		/** input requested by the latest computation, null if none */
+		String requested;
+		Job running;
+
+		AlgoJobs(AlgoElement algo) {
+			this.algo = algo;
+		}
+	}
+
+	/**
+	 * Evaluation of a single Giac input on a worker thread.
+	 */
+	private static class Job implements Runnable {
+		final AlgoElement algo;
+		final String input;
+		private final CASGenericInterface cas;
+		private volatile boolean done = false;
+		private String result;
+		private RuntimeException error;
+
+		Job(AlgoElement algo, String input, CASGenericInterface cas) {
+			this.algo = algo;
+			this.input = input;
+			this.cas = cas;
+		}
+
+		@Override
+		public void run() {
+			try {
+				result = cas.evaluateCAS(input);
+			} catch (RuntimeException e) {
+				// e.g. timeout, rethrown on the main thread
+				error = e;
+			} finally {
+				done = true;
+			}
+		}
+
+		boolean isDone() {
+			return done;
+		}
+
+		String getResult() {
+			if (error != null) {
+				throw error;
+			}
+			return result;
+		}
+	}
+}
@@ -141,6 +141,12 @@ public class AlgebraProcessor {
 	 */
 	public static final String CREATE_SLIDER = "1";
 
+	/**
+	 * independent lists of at least this many plain numbers keep the values
+	 * instead of elements
+	 */
+	public static final int MIN_PRIMITIVE_LIST_SIZE = 1000;
+
 	/** kernel */
 	protected final Kernel kernel;
 	/** construction */
@@ -3179,8 +3185,19 @@ public class AlgebraProcessor {
 			cons.setSuppressLabelCreation(oldMacroMode);
 
 			// Create GeoList object
-			ret = kernel.getAlgoDispatcher().list(label, geoElements,
-					isIndependent);
+			double[] numbers = isIndependent && !info.isFractions()
+					? getPlainNumbers(geoElements) : null;
+			if (numbers != null) {
+				// large data sets: statistics read the values, elements are
+				// only created when needed
+				GeoList list = new GeoList(cons);
+				list.setPrimitiveNumbers(numbers, numbers.length);
+				list.setLabel(label);
+				ret = list;
+			} else {
+				ret = kernel.getAlgoDispatcher().list(label, geoElements,
+						isIndependent);
+			}
 			if (info.isFractions()) {
 				((HasSymbolicMode) ret).initSymbolicMode();
 			}
@@ -3201,6 +3218,28 @@ public class AlgebraProcessor {
 		return array(ret);
 	}
 
+	/**
+	 * @param geos
+	 *            list elements
+	 * @return values of the elements if there are at least
+	 *         MIN_PRIMITIVE_LIST_SIZE of them and all are plain numbers, null
+	 *         otherwise
+	 */
+	private static double[] getPlainNumbers(ArrayList<GeoElement> geos) {
+		if (geos.size() < MIN_PRIMITIVE_LIST_SIZE) {
+			return null;
+		}
+		double[] values = new double[geos.size()];
+		for (int i = 0; i < values.length; i++) {
+			GeoElement geo = geos.get(i);
+			if (geo.getGeoClassType() != GeoClass.NUMERIC) {
+				return null;
+			}
+			values[i] = ((GeoNumeric) geo).getValue();
+		}
+		return values;
+	}
+
 	/**
 	 * Creates a dependent list object with the given label, e.g. {3, 2, 1} +
 	 * {a, b, 2}
@@ -54,7 +54,8 @@ public class CmdProduct extends CommandProcessor {
 		GeoList list = (GeoList) arg[0];
 		switch (n) {
 		case 1:
-			if (list.get(0).isMatrix()) {
+			if (list.getPrimitiveNumbers() == null
+					&& list.get(0).isMatrix()) {
 				AlgoProductMatrices algo = new AlgoProductMatrices(cons,
 						c.getLabel(), list);
 
@@ -91,6 +92,13 @@ public class CmdProduct extends CommandProcessor {
 	private GeoElement[] productGeneric(GeoElement geoElement, GeoNumeric limit,
 			Command c) {
 		GeoList list = (GeoList) geoElement;
+		if (limit == null && list.getPrimitiveNumbers() != null) {
+			// avoid creating the elements
+			AlgoProduct algo = new AlgoProduct(cons, list, null);
+			algo.getResult().setLabel(c.getLabel());
+			GeoElement[] ret = { algo.getResult() };
+			return ret;
+		}
 		FoldComputer computer = CmdSum.getComputer(list);
 
 		if (computer != null) {
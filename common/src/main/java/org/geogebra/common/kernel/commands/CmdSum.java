@@ -173,6 +173,9 @@ public class CmdSum extends CommandProcessor {
 	 * @return helper for Sum/Product commands
 	 */
 	public static FoldComputer getComputer(GeoList list) {
+		if (list.getPrimitiveNumbers() != null) {
+			return new NumberFold();
+		}
 		boolean allNumbers = true;
 		boolean allFunctions = allNumbers;
 		boolean allFunctionsND = allNumbers;
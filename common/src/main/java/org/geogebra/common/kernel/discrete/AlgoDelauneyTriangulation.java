@@ -2,8 +2,6 @@ package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Iterator;
-import java.util.TreeSet;
 
 import org.geogebra.common.awt.GPoint2D;
 import org.geogebra.common.kernel.Construction;
@@ -12,7 +10,6 @@ import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
 import org.geogebra.common.kernel.discrete.delaunay.PointDt;
-import org.geogebra.common.kernel.discrete.delaunay.TriangleDt;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
@@ -67,54 +64,24 @@ public class AlgoDelauneyTriangulation extends AlgoDiscrete {
 				}
 			}
 
-			DelaunayTriangulation dt = new DelaunayTriangulation(points);
+			DelaunayTriangulation dt = updateTriangulation(points);
 
 			if (dt.allCollinear) {
 				locus.setUndefined();
 				return;
 			}
 
-			Iterator<TriangleDt> it = dt.trianglesIterator();
-
 			if (al == null) {
 				al = new ArrayList<>();
 			} else {
 				al.clear();
 			}
 
-			// add to TreeSet to remove duplicates (from touching triangles)
-			TreeSet<MyLine> tree = new TreeSet<>(getComparator());
-
-			while (it.hasNext()) {
-				TriangleDt triangle = it.next();
-
-				tree.add(new MyLine(
-						new GPoint2D(triangle.p1().x(),
-								triangle.p1().y()),
-						new GPoint2D(triangle.p2().x(),
-								triangle.p2().y())));
-				if (triangle.p3() != null) {
-					tree.add(new MyLine(
-							new GPoint2D(triangle.p2().x(),
-									triangle.p2().y()),
-							new GPoint2D(triangle.p3().x(),
-									triangle.p3().y())));
-					tree.add(new MyLine(
-							new GPoint2D(triangle.p3().x(),
-									triangle.p3().y()),
-							new GPoint2D(triangle.p1().x(),
-									triangle.p1().y())));
-				}
-
-			}
-
-			Iterator<MyLine> it2 = tree.iterator();
-
-			while (it2.hasNext()) {
-				MyLine line = it2.next();
-				al.add(new MyPoint(line.p1.getX(), line.p1.getY(),
+			ArrayList<PointDt> edges = dt.getEdges();
+			for (int i = 0; i < edges.size(); i += 2) {
+				al.add(new MyPoint(edges.get(i).x(), edges.get(i).y(),
 						SegmentType.MOVE_TO));
-				al.add(new MyPoint(line.p2.getX(), line.p2.getY(),
+				al.add(new MyPoint(edges.get(i + 1).x(), edges.get(i + 1).y(),
 						SegmentType.LINE_TO));
 			}
 
@@ -18,9 +18,12 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.GraphAlgo;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
+import org.geogebra.common.kernel.discrete.delaunay.PointDt;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.util.debug.Log;
 
 /**
  * 
@@ -36,6 +39,7 @@ public abstract class AlgoDiscrete extends AlgoElement implements GraphAlgo {
 	protected ArrayList<MyPoint> al;
 	/** number of points */
 	protected int size;
+	private DelaunayTriangulation triangulation;
 
 	/**
 	 * @param cons
@@ -72,4 +76,26 @@ public abstract class AlgoDiscrete extends AlgoElement implements GraphAlgo {
 		return locus;
 	}
 
+	/**
+	 * Triangulates the points, reusing the triangulation from the last call
+	 * if only a few points were moved, added or removed.
+	 * 
+	 * @param points
+	 *            points to triangulate
+	 * @return Delaunay triangulation of the points
+	 */
+	protected DelaunayTriangulation updateTriangulation(PointDt[] points) {
+		try {
+			if (triangulation != null && triangulation.updatePoints(points,
+					points.length / 4 + 1)) {
+				return triangulation;
+			}
+		} catch (RuntimeException e) {
+			Log.debug(e.getMessage());
+		}
+		triangulation = null;
+		triangulation = new DelaunayTriangulation(points);
+		return triangulation;
+	}
+
 }
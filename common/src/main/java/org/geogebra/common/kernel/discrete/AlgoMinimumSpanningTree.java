@@ -9,6 +9,8 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
+import org.geogebra.common.kernel.discrete.delaunay.PointDt;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.matrix.Coords;
@@ -65,63 +67,85 @@ public class AlgoMinimumSpanningTree extends AlgoDiscrete {
 		edgeCount = 0;
 
 		HashMap<GeoPointND, MyNode> nodes = new HashMap<>();
-		MyNode node1, node2;
 		UndirectedSparseMultigraph<MyNode, MyLink> g = new UndirectedSparseMultigraph<>();
 
-		for (int i = 0; i < size - 1; i++) {
-			GeoPointND p1 = (GeoPointND) inputList.get(i);
-			for (int j = i + 1; j < size; j++) {
-				GeoPointND p2 = (GeoPointND) inputList.get(j);
-
-				node1 = nodes.get(p1);
-				node2 = nodes.get(p2);
-				if (node1 == null) {
-					node1 = new MyNode(p1);
-					nodes.put(p1, node1);
-				}
-				if (node2 == null) {
-					node2 = new MyNode(p2);
-					nodes.put(p2, node2);
+		// the minimum spanning tree only contains edges of the Delaunay
+		// triangulation, z-coordinates of its vertices are indices in the list
+		PointDt[] points = new PointDt[size];
+		double[] inhom = new double[2];
+		int defined = 0;
+		for (int i = 0; i < size; i++) {
+			GeoPointND p = (GeoPointND) inputList.get(i);
+			if (p.isDefined()) {
+				p.getInhomCoords(inhom);
+				points[defined++] = new PointDt(inhom[0], inhom[1], i);
+			}
+		}
+		DelaunayTriangulation dt = defined < 3 ? null
+				: updateTriangulation(points);
+
+		if (dt == null || dt.allCollinear) {
+			for (int i = 0; i < size - 1; i++) {
+				GeoPointND p1 = (GeoPointND) inputList.get(i);
+				for (int j = i + 1; j < size; j++) {
+					addEdge(g, nodes, p1, (GeoPointND) inputList.get(j));
 				}
-
-				g.addEdge(
-						new MyLink(p1.distance(p2), node1, node2, edgeCount++),
-						node1,
-						node2, EdgeType.UNDIRECTED);
-
 			}
+		} else {
+			ArrayList<PointDt> edges = dt.getEdges();
+			for (int i = 0; i < edges.size(); i += 2) {
+				addEdge(g, nodes,
+						(GeoPointND) inputList.get((int) edges.get(i).z()),
+						(GeoPointND) inputList
+								.get((int) edges.get(i + 1).z()));
+			}
+		}
 
-			MinimumSpanningForest2<MyNode, MyLink> prim = new MinimumSpanningForest2<>(
-					g, new DelegateForest<MyNode, MyLink>(),
-					DelegateTree.<MyNode, MyLink> getFactory(), wtTransformer);
+		MinimumSpanningForest2<MyNode, MyLink> prim = new MinimumSpanningForest2<>(
+				g, new DelegateForest<MyNode, MyLink>(),
+				DelegateTree.<MyNode, MyLink> getFactory(), wtTransformer);
 
-			Forest<MyNode, MyLink> tree = prim.getForest();
+		Forest<MyNode, MyLink> tree = prim.getForest();
 
-			Iterator<MyLink> it = tree.getEdges().iterator();
+		Iterator<MyLink> it = tree.getEdges().iterator();
 
-			if (al == null) {
-				al = new ArrayList<>();
-			} else {
-				al.clear();
-			}
+		if (al == null) {
+			al = new ArrayList<>();
+		} else {
+			al.clear();
+		}
 
-			while (it.hasNext()) {
-				MyLink edge = it.next();
+		while (it.hasNext()) {
+			MyLink edge = it.next();
 
-				Coords coords = edge.n1.id.getInhomCoordsInD2();
-				al.add(new MyPoint(coords.get(1), coords.get(2),
-						SegmentType.MOVE_TO));
-				coords = edge.n2.id.getInhomCoordsInD2();
-				al.add(new MyPoint(coords.get(1), coords.get(2),
-						SegmentType.LINE_TO));
+			Coords coords = edge.n1.id.getInhomCoordsInD2();
+			al.add(new MyPoint(coords.get(1), coords.get(2),
+					SegmentType.MOVE_TO));
+			coords = edge.n2.id.getInhomCoordsInD2();
+			al.add(new MyPoint(coords.get(1), coords.get(2),
+					SegmentType.LINE_TO));
 
-			}
+		}
 
-			locus.setPoints(al);
-			locus.setDefined(true);
+		locus.setPoints(al);
+		locus.setDefined(true);
+	}
 
+	private void addEdge(UndirectedSparseMultigraph<MyNode, MyLink> g,
+			HashMap<GeoPointND, MyNode> nodes, GeoPointND p1, GeoPointND p2) {
+		MyNode node1 = nodes.get(p1);
+		MyNode node2 = nodes.get(p2);
+		if (node1 == null) {
+			node1 = new MyNode(p1);
+			nodes.put(p1, node1);
+		}
+		if (node2 == null) {
+			node2 = new MyNode(p2);
+			nodes.put(p2, node2);
 		}
 
+		g.addEdge(new MyLink(p1.distance(p2), node1, node2, edgeCount++),
+				node1, node2, EdgeType.UNDIRECTED);
 	}
 
 	/** Graph edge */
@@ -2,6 +2,7 @@ package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.TreeSet;
 
@@ -52,8 +53,8 @@ public class AlgoVoronoi extends AlgoDiscrete {
 
 		double[] inhom = new double[2];
 
-		ArrayList<Double> xcoords = new ArrayList<>();
-		ArrayList<Double> ycoords = new ArrayList<>();
+		HashSet<Double> xcoords = new HashSet<>();
+		HashSet<Double> ycoords = new HashSet<>();
 
 		final double delta = 0.0000001;
 
@@ -98,7 +99,7 @@ public class AlgoVoronoi extends AlgoDiscrete {
 
 		}
 
-		DelaunayTriangulation dt = new DelaunayTriangulation(points);
+		DelaunayTriangulation dt = updateTriangulation(points);
 
 		if (dt.allCollinear) {
 			locus.setUndefined();
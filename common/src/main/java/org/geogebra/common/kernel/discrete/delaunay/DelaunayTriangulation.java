@@ -1,5 +1,6 @@
 package org.geogebra.common.kernel.discrete.delaunay;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -63,7 +64,7 @@ public class DelaunayTriangulation {
 
 	private int nPoints = 0; // number of points
 	// additional data 4/8/05 used by the iterators
-	private Set<PointDt> _vertices;
+	private TreeSet<PointDt> _vertices;
 	private Vector<TriangleDt> _triangles;
 
 	// The triangles that were deleted in the last deletePoint iteration.
@@ -163,6 +164,214 @@ public class DelaunayTriangulation {
 
 	}
 
+	/**
+	 * Changes the vertices of this triangulation to the given points: vertices
+	 * which are not among the points any more are removed, new points are
+	 * inserted and the rest of the triangulation is kept. Only vertices inside
+	 * the convex hull can be removed.
+	 * 
+	 * @param ps
+	 *            new vertices, as in the constructor
+	 * @param maxChanges
+	 *            maximal number of changed vertices; a moved vertex counts
+	 *            once
+	 * @return whether the update succeeded; if not, the triangulation needs
+	 *         to be created again from the points
+	 */
+	public boolean updatePoints(PointDt[] ps, int maxChanges) {
+		if (allCollinear) {
+			return false;
+		}
+		TreeSet<PointDt> points = new TreeSet<>(PointDt.getComparator());
+		for (int i = 0; ps != null && i < ps.length && ps[i] != null; i++) {
+			points.add(ps[i]);
+		}
+		ArrayList<PointDt> removed = new ArrayList<>();
+		for (PointDt vertex : _vertices) {
+			PointDt point = points.ceiling(vertex);
+			if (point != null && point.x == vertex.x && point.y == vertex.y) {
+				// keep additional data (e.g. index) of the new point
+				vertex.z = point.z;
+			} else {
+				removed.add(vertex);
+			}
+		}
+		ArrayList<PointDt> added = new ArrayList<>();
+		for (PointDt point : points) {
+			PointDt vertex = _vertices.ceiling(point);
+			if (vertex == null || point.x != vertex.x
+					|| point.y != vertex.y) {
+				added.add(point);
+			}
+		}
+		if (Math.max(removed.size(), added.size()) > maxChanges) {
+			return false;
+		}
+		for (PointDt vertex : removed) {
+			if (!removeInnerPoint(vertex)) {
+				return false;
+			}
+		}
+		for (PointDt point : added) {
+			insertPoint(point);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes a vertex which is not on the convex hull: the polygon formed by
+	 * its neighbors is triangulated again by cutting off ears whose
+	 * circumcircle does not contain other vertices of the polygon, which gives
+	 * the Delaunay triangulation without the vertex.
+	 * 
+	 * @param p
+	 *            vertex of this triangulation
+	 * @return false if p is on the convex hull or the polygon could not be
+	 *         triangulated; the triangulation is not changed in that case
+	 */
+	private boolean removeInnerPoint(PointDt p) {
+		TriangleDt first = find(startTriangle, p);
+		if (first == null || first.halfplane) {
+			return false;
+		}
+
+		// triangles around p in counterclockwise order, the polygon of their
+		// outer edges and the triangles on the other side of these edges
+		ArrayList<TriangleDt> star = new ArrayList<>();
+		ArrayList<PointDt> polygon = new ArrayList<>();
+		ArrayList<TriangleDt> outside = new ArrayList<>();
+		TriangleDt t = first;
+		do {
+			if (t.halfplane || star.size() > _vertices.size()) {
+				return false;
+			}
+			star.add(t);
+			if (t.a == p) {
+				polygon.add(t.b);
+				outside.add(t.bcnext);
+				t = t.canext;
+			} else if (t.b == p) {
+				polygon.add(t.c);
+				outside.add(t.canext);
+				t = t.abnext;
+			} else if (t.c == p) {
+				polygon.add(t.a);
+				outside.add(t.abnext);
+				t = t.bcnext;
+			} else {
+				return false;
+			}
+		} while (t != first);
+
+		int size = polygon.size();
+		int[] next = new int[size];
+		int[] prev = new int[size];
+		for (int i = 0; i < size; i++) {
+			next[i] = (i + 1) % size;
+			prev[i] = (i + size - 1) % size;
+		}
+
+		// find all ears before changing anything
+		ArrayList<TriangleDt> ears = new ArrayList<>();
+		ArrayList<Integer> earTips = new ArrayList<>();
+		int start = 0;
+		for (int remaining = size; remaining > 3; remaining--) {
+			TriangleDt ear = null;
+			int tip = start;
+			for (int i = 0; i < remaining && ear == null; i++) {
+				ear = createEar(polygon, prev[tip], tip, next[tip], next);
+				if (ear == null) {
+					tip = next[tip];
+				}
+			}
+			if (ear == null) {
+				return false;
+			}
+			ears.add(ear);
+			earTips.add(tip);
+			next[prev[tip]] = next[tip];
+			prev[next[tip]] = prev[tip];
+			start = prev[tip];
+		}
+		PointDt a = polygon.get(start);
+		PointDt b = polygon.get(next[start]);
+		PointDt c = polygon.get(next[next[start]]);
+		if (c.pointLineTest(a, b) != PointDt.LEFT) {
+			return false;
+		}
+		TriangleDt last = new TriangleDt(a, b, c);
+
+		// link the new triangles, edgeOutside[i] is the triangle on the other
+		// side of the polygon edge starting at vertex i, edgeInside[i] the
+		// triangle it is linked to at the moment
+		TriangleDt[] edgeOutside = outside.toArray(new TriangleDt[size]);
+		TriangleDt[] edgeInside = star.toArray(new TriangleDt[size]);
+		for (int i = 0; i < size; i++) {
+			next[i] = (i + 1) % size;
+			prev[i] = (i + size - 1) % size;
+		}
+		for (int j = 0; j < ears.size(); j++) {
+			TriangleDt ear = ears.get(j);
+			int tip = earTips.get(j);
+			ear.abnext = edgeOutside[prev[tip]];
+			link(edgeOutside[prev[tip]], edgeInside[prev[tip]], ear);
+			ear.bcnext = edgeOutside[tip];
+			link(edgeOutside[tip], edgeInside[tip], ear);
+			edgeOutside[prev[tip]] = ear;
+			edgeInside[prev[tip]] = null;
+			next[prev[tip]] = next[tip];
+			prev[next[tip]] = prev[tip];
+		}
+		last.abnext = edgeOutside[start];
+		link(edgeOutside[start], edgeInside[start], last);
+		last.bcnext = edgeOutside[next[start]];
+		link(edgeOutside[next[start]], edgeInside[next[start]], last);
+		last.canext = edgeOutside[next[next[start]]];
+		link(edgeOutside[next[next[start]]], edgeInside[next[next[start]]],
+				last);
+
+		_vertices.remove(p);
+		nPoints--;
+		_modCount++;
+		startTriangle = last;
+		currT = last;
+		return true;
+	}
+
+	/**
+	 * @return triangle (prev, tip, next) if it is convex and its circumcircle
+	 *         contains no other vertex of the polygon, null otherwise
+	 */
+	private static TriangleDt createEar(ArrayList<PointDt> polygon, int prev,
+			int tip, int next, int[] nextIndex) {
+		PointDt a = polygon.get(prev);
+		PointDt b = polygon.get(tip);
+		PointDt c = polygon.get(next);
+		if (c.pointLineTest(a, b) != PointDt.LEFT) {
+			return null;
+		}
+		TriangleDt ear = new TriangleDt(a, b, c);
+		for (int i = nextIndex[next]; i != prev; i = nextIndex[i]) {
+			if (ear.circumcircleContains(polygon.get(i))) {
+				return null;
+			}
+		}
+		return ear;
+	}
+
+	/**
+	 * Replaces the neighbor of a triangle outside of the polygon.
+	 */
+	private static void link(TriangleDt outside, TriangleDt oldInside,
+			TriangleDt newInside) {
+		if (oldInside == null) {
+			// the edge is a diagonal of the polygon
+			outside.canext = newInside;
+		} else {
+			outside.switchneighbors(oldInside, newInside);
+		}
+	}
+
 	/**
 	 * Deletes the given point from this.
 	 * 
@@ -1451,6 +1660,33 @@ public class DelaunayTriangulation {
 		return _triangles.iterator();
 	}
 
+	/**
+	 * @return start and end point of every edge of the triangulation, each
+	 *         edge is contained once
+	 */
+	public ArrayList<PointDt> getEdges() {
+		ArrayList<PointDt> edges = new ArrayList<>();
+		Iterator<TriangleDt> it = trianglesIterator();
+		while (it.hasNext()) {
+			TriangleDt t = it.next();
+			if (!t.halfplane) {
+				addEdge(edges, t.a, t.b, t.abnext);
+				addEdge(edges, t.b, t.c, t.bcnext);
+				addEdge(edges, t.c, t.a, t.canext);
+			}
+		}
+		return edges;
+	}
+
+	private static void addEdge(ArrayList<PointDt> edges, PointDt start,
+			PointDt end, TriangleDt neighbor) {
+		// inner edges are part of two triangles with opposite orientation
+		if (neighbor.halfplane || start.isLess(end)) {
+			edges.add(start);
+			edges.add(end);
+		}
+	}
+
 	/**
 	 * returns an iterator to the set of all the points on the XY-convex hull
 	 * 
@@ -1494,11 +1730,11 @@ public class DelaunayTriangulation {
 		}
 		if (this.size() > 2) {
 			_modCount2 = _modCount;
-			Vector<TriangleDt> front = new Vector<>();
+			ArrayList<TriangleDt> front = new ArrayList<>();
 			_triangles = new Vector<>();
 			front.add(this.startTriangle);
-			while (front.size() > 0) {
-				TriangleDt t = front.remove(0);
+			for (int i = 0; i < front.size(); i++) {
+				TriangleDt t = front.get(i);
 				if (!t._mark) {
 					t._mark = true;
 					_triangles.add(t);
@@ -20,7 +20,6 @@ package org.geogebra.common.kernel.geos;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -59,6 +58,7 @@ import org.geogebra.common.kernel.algos.AlgoDependentText;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoIntegralODE;
 import org.geogebra.common.kernel.algos.AlgoJoinPointsSegment;
+import org.geogebra.common.kernel.algos.AlgoLevelUpdater;
 import org.geogebra.common.kernel.algos.AlgoMacroInterface;
 import org.geogebra.common.kernel.algos.AlgoName;
 import org.geogebra.common.kernel.algos.AlgorithmSet;
@@ -313,21 +313,11 @@ public abstract class GeoElement extends ConstructionElement
 	private List<Integer> viewFlags = null;
 
 	private NumberFormatAdapter numberFormatter6;
-	private static volatile TreeSet<AlgoElement> tempSet;
 
 	private boolean descriptionNeedsUpdateInAV;
 
 	private AlgebraOutputFilter algebraOutputFilter;
 
-	private static Comparator<AlgoElement> algoComparator = new Comparator<AlgoElement>() {
-
-		@Override
-		public int compare(AlgoElement o1, AlgoElement o2) {
-			return o1.compareTo(o2);
-		}
-
-	};
-
 	/**
 	 * Creates new GeoElement for given construction
 	 *
@@ -3184,6 +3174,9 @@ public abstract class GeoElement extends ConstructionElement
 	 */
 	public void update(boolean dragging) {
 		updateGeo(!cons.isUpdateConstructionRunning(), dragging);
+		if (cons.isIncrementalUpdate() && isIndependent()) {
+			cons.markDirty(this);
+		}
 		maybeUpdateSpecialPoints();
 
 		kernel.notifyUpdate(this);
@@ -3267,7 +3260,12 @@ public abstract class GeoElement extends ConstructionElement
 		} else if (algoUpdateSet != null) {
 			// update all algorithms in the algorithm set of this GeoElement
 			cons.setAlgoSetCurrentlyUpdated(algoUpdateSet);
-			algoUpdateSet.updateAll();
+			AlgoLevelUpdater levelUpdater = kernel.getAlgoLevelUpdater();
+			if (levelUpdater == null) {
+				algoUpdateSet.updateAll();
+			} else {
+				levelUpdater.updateAll(algoUpdateSet, algoUpdateSet.getSize());
+			}
 			cons.setAlgoSetCurrentlyUpdated(null);
 		}
 	}
@@ -3339,7 +3337,19 @@ public abstract class GeoElement extends ConstructionElement
 	 * @param updateCascadeAll
 	 *            true to update cascade over dependent geos as well
 	 */
-	static public synchronized void updateCascade(
+	static public void updateCascade(
+			final ArrayList<? extends GeoElementND> geos,
+			final TreeSet<AlgoElement> tempSet1,
+			final boolean updateCascadeAll) {
+		if (geos.isEmpty()) {
+			return;
+		}
+		synchronized (geos.get(0).getKernel().getCascadeLock()) {
+			doUpdateCascade(geos, tempSet1, updateCascadeAll);
+		}
+	}
+
+	private static void doUpdateCascade(
 			final ArrayList<? extends GeoElementND> geos,
 			final TreeSet<AlgoElement> tempSet1,
 			final boolean updateCascadeAll) {
@@ -3371,8 +3381,14 @@ public abstract class GeoElement extends ConstructionElement
 
 		// now we have one nice algorithm set that we can update
 		if (tempSet1.size() > 0) {
-			for (AlgoElement algo : tempSet1) {
-				algo.update();
+			AlgoLevelUpdater levelUpdater = geos.get(0).getKernel()
+					.getAlgoLevelUpdater();
+			if (levelUpdater == null) {
+				for (AlgoElement algo : tempSet1) {
+					algo.update();
+				}
+			} else {
+				levelUpdater.updateAll(tempSet1, tempSet1.size());
 			}
 		}
 
@@ -3387,7 +3403,14 @@ public abstract class GeoElement extends ConstructionElement
 	 * @param cons
 	 *            construction where update is done
 	 */
-	static public synchronized void updateCascadeLocation(
+	static public void updateCascadeLocation(
+			final ArrayList<Locateable> geos, Construction cons) {
+		synchronized (cons.getKernel().getCascadeLock()) {
+			doUpdateCascadeLocation(geos, cons);
+		}
+	}
+
+	private static void doUpdateCascadeLocation(
 			final ArrayList<Locateable> geos, Construction cons) {
 		// build update set of all algorithms in construction element order
 		// clear temp set
@@ -5506,11 +5529,8 @@ public abstract class GeoElement extends ConstructionElement
 	/**
 	 * @return temporary set of algoritms
 	 */
-	protected static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>(algoComparator);
-		}
-		return tempSet;
+	protected TreeSet<AlgoElement> getTempSet() {
+		return kernel.getTempAlgoSet();
 	}
 
 	/**
@@ -5629,7 +5649,7 @@ public abstract class GeoElement extends ConstructionElement
 				tempMoveObjectList2 = new ArrayList<>();
 			}
 			tempMoveObjectList2.add(number);
-			updateCascade(tempMoveObjectList2, getTempSet(), false);
+			updateCascade(tempMoveObjectList2, number.getTempSet(), false);
 		}
 	}
 
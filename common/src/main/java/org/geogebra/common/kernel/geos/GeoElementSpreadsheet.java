@@ -35,8 +35,6 @@ public class GeoElementSpreadsheet {
 	/** regex group for row number */
 	public final static int MATCH_ROW = 4;
 
-	private static StringBuilder sb;
-
 	/**
 	 * Converts column number to name
 	 * 
@@ -242,11 +240,7 @@ public class GeoElementSpreadsheet {
 			GeoElement cellGeo) {
 		String cellName = getSpreadsheetCellName(col, row);
 
-		if (sb == null) {
-			sb = new StringBuilder();
-		} else {
-			sb.setLength(0);
-		}
+		StringBuilder sb = new StringBuilder();
 
 		sb.append(cellName);
 		if (cellGeo instanceof FunctionalNVar) {
@@ -130,7 +130,7 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 
 	private double[] bounds;
 
-	private static StringBuilder sbCasCommand;
+	private StringBuilder sbCasCommand;
 
 	// Save a strong reference to the algo that created this
 	// function (needed for iOS)
@@ -2821,6 +2821,12 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 		// TODO Auto-generated method stub
 	}
 
+	@Override
+	public SurfaceEvaluable copyForEvaluation() {
+		// not supported
+		return null;
+	}
+
 	@Override
 	public LevelOfDetail getLevelOfDetail() {
 		// TODO Auto-generated method stub
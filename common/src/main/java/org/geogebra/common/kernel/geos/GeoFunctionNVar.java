@@ -279,6 +279,30 @@ public class GeoFunctionNVar extends GeoElement
 		fun1 = null;
 	}
 
+	@Override
+	public SurfaceEvaluable copyForEvaluation() {
+		if (fun == null) {
+			return null;
+		}
+		FunctionVariable[] vars = fun.getFunctionVariables();
+		FunctionVariable[] copyVars = new FunctionVariable[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			copyVars[i] = vars[i].deepCopy(kernel);
+		}
+		FunctionNVar copyFun = fun.copyForEvaluation(copyVars, kernel);
+		if (copyFun == null) {
+			return null;
+		}
+		GeoFunctionNVar copy = new GeoFunctionNVar(cons);
+		copy.setFunction(copyFun);
+		copy.isDefined = isDefined;
+		copy.shortLHS = shortLHS;
+		copy.from = from;
+		copy.to = to;
+		copy.setDerivatives();
+		return copy;
+	}
+
 	@Override
 	final public FunctionNVar getFunction() {
 		return fun;
@@ -108,7 +108,7 @@ public class GeoLine extends GeoVec3D implements Path, Translateable,
 
 	private StringBuilder sbToString;
 
-	private static StringBuilder sbToStringLHS = new StringBuilder("\u221E");
+	private static final String INFINITY_LHS = "\u221E";
 
 	/** list of points on this line */
 	protected ArrayList<GeoPoint> pointsOnLine;
@@ -1096,7 +1096,7 @@ public class GeoLine extends GeoVec3D implements Path, Translateable,
 					tpl));
 			return;
 		}
-		sb.append(sbToStringLHS);
+		sb.append(INFINITY_LHS);
 	}
 
 	/**
@@ -80,6 +80,13 @@ public class GeoList extends GeoElement
 	// so we keep a cacheList of all old list elements
 	private final ArrayList<GeoElementND> cacheList;
 
+	// coordinates of numbers or points which are not created as elements yet,
+	// see setPrimitiveValues
+	private double[] primitiveValues;
+	private int primitiveDimension;
+	private int primitiveSize;
+	private GeoElement primitiveTemplate;
+
 	private boolean isDefined = true;
 	private boolean isDrawable = true;
 	private boolean drawAsComboBox = false;
@@ -201,8 +208,8 @@ public class GeoList extends GeoElement
 	public GeoList deepCopyGeo() {
 		GeoList ret = new GeoList(cons);
 
-		for (int i = 0; i < elements.size(); i++) {
-			ret.add(elements.get(i).deepCopyGeo());
+		for (int i = 0; i < getElementList().size(); i++) {
+			ret.add(getElementList().get(i).deepCopyGeo());
 		}
 
 		return ret;
@@ -254,7 +261,7 @@ public class GeoList extends GeoElement
 	private void copyListElements(final GeoList otherList) {
 		final int otherListSize = otherList.size();
 		ensureCapacity(otherListSize);
-		elements.clear();
+		clear();
 
 		for (int i = 0; i < otherListSize; i++) {
 			final GeoElement otherElement = otherList.get(i);
@@ -574,11 +581,12 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public MyList getMyList() {
-		final int size = elements.size();
+		final int size = getElementList().size();
 		final MyList myList = new MyList(kernel, size);
 
 		for (int i = 0; i < size; i++) {
-			myList.addListElement(new ExpressionNode(kernel, elements.get(i)));
+			myList.addListElement(
+					new ExpressionNode(kernel, getElementList().get(i)));
 		}
 
 		return myList;
@@ -642,6 +650,8 @@ public class GeoList extends GeoElement
 	 */
 	public final void clear() {
 		elements.clear();
+		primitiveValues = null;
+		primitiveSize = 0;
 	}
 
 	/**
@@ -669,9 +679,9 @@ public class GeoList extends GeoElement
 	 */
 	public final void add(final GeoElementND geo) {
 		// add geo to end of list
-		elements.add(geo.toGeoElement());
+		getElementList().add(geo.toGeoElement());
 
-		if (elements.size() == 1) {
+		if (getElementList().size() == 1) {
 			setTypeStringForXML(geo.getXMLtypeString());
 		}
 
@@ -685,7 +695,7 @@ public class GeoList extends GeoElement
 		 */
 
 		// add to cache
-		final int pos = elements.size() - 1;
+		final int pos = getElementList().size() - 1;
 		if (pos < cacheList.size()) {
 			cacheList.set(pos, geo);
 		} else {
@@ -731,7 +741,7 @@ public class GeoList extends GeoElement
 	 *            element to be removed
 	 */
 	public final void remove(final GeoElement geo) {
-		elements.remove(geo);
+		getElementList().remove(geo);
 
 	}
 
@@ -757,7 +767,7 @@ public class GeoList extends GeoElement
 	 *            position of element to be removed
 	 */
 	public final void remove(final int index) {
-		elements.remove(index);
+		getElementList().remove(index);
 
 	}
 
@@ -769,7 +779,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this list.
 	 */
 	final public GeoElement get(final int index) {
-		return elements.get(index);
+		return getElementList().get(index);
 	}
 
 	/**
@@ -782,7 +792,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this (2D) list.
 	 */
 	final public GeoElement get(final int index, final int index2) {
-		return ((GeoList) elements.get(index)).get(index2);
+		return ((GeoList) getElementList().get(index)).get(index2);
 	}
 
 	/**
@@ -792,11 +802,12 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public double[] toDouble(int offset) {
-		int length = elements.size();
+		int length = getElementList().size();
 		try {
 			final double[] valueArray = new double[length - offset];
 			for (int i = offset; i < length; i++) {
-				valueArray[i - offset] = elements.get(i).evaluateDouble();
+				valueArray[i - offset] = getElementList().get(i)
+						.evaluateDouble();
 			}
 			return valueArray;
 		} catch (final Exception e) {
@@ -817,6 +828,9 @@ public class GeoList extends GeoElement
 
 	@Override
 	final public int size() {
+		if (primitiveValues != null) {
+			return primitiveSize;
+		}
 		return elements.size();
 	}
 
@@ -858,10 +872,10 @@ public class GeoList extends GeoElement
 		}
 
 		// first (n-1) elements
-		final int lastIndex = elements.size() - 1;
+		final int lastIndex = getElementList().size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = getElementList().get(i);
 
 				sbBuildValueString
 						.append(geo.getAlgebraDescriptionRegrOut(tpl));
@@ -869,7 +883,7 @@ public class GeoList extends GeoElement
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = getElementList().get(lastIndex);
 			sbBuildValueString.append(geo.getAlgebraDescriptionRegrOut(tpl));
 		}
 
@@ -890,18 +904,35 @@ public class GeoList extends GeoElement
 
 		tpl.leftCurlyBracket(sbBuildValueString);
 
+		if (getPrimitiveNumbers() != null
+				&& primitiveTemplate.getGeoClassType() == GeoClass.NUMERIC
+				&& !((GeoNumeric) primitiveTemplate).isSymbolicMode()
+				&& !tpl.hasCASType()) {
+			// same as GeoNumeric.toValueString, without creating the numbers
+			for (int i = 0; i < primitiveSize; i++) {
+				if (i > 0) {
+					sbBuildValueString.append(getLoc().getComma());
+					sbBuildValueString.append(" ");
+				}
+				sbBuildValueString
+						.append(kernel.format(primitiveValues[i], tpl));
+			}
+			tpl.rightCurlyBracket(sbBuildValueString);
+			return sbBuildValueString;
+		}
+
 		// first (n-1) elements
-		final int lastIndex = elements.size() - 1;
+		final int lastIndex = getElementList().size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = getElementList().get(i);
 				sbBuildValueString.append(geo.toOutputValueString(tpl));
 				sbBuildValueString.append(getLoc().getComma());
 				sbBuildValueString.append(" ");
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = getElementList().get(lastIndex);
 			sbBuildValueString.append(geo.toOutputValueString(tpl));
 		}
 
@@ -1123,13 +1154,13 @@ public class GeoList extends GeoElement
 		final GeoList list = (GeoList) geo;
 
 		// check sizes
-		if (elements.size() != list.size()) {
+		if (getElementList().size() != list.size()) {
 			return false;
 		}
 
 		// check each element
-		for (int i = 0; i < list.elements.size(); i++) {
-			final GeoElement geoA = elements.get(i);
+		for (int i = 0; i < list.size(); i++) {
+			final GeoElement geoA = getElementList().get(i);
 			final GeoElement geoB = list.get(i);
 
 			if (!geoA.isEqual(geoB)) {
@@ -1143,7 +1174,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void setZero() {
-		elements.clear();
+		clear();
 	}
 
 	@Override
@@ -1170,12 +1201,12 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public int getMinimumLineThickness() {
-		if ((elements == null) || (elements.size() == 0)) {
+		if ((getElementList() == null) || (getElementList().size() == 0)) {
 			return 1;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (!geo.isLabelSet()) {
 				if (geo.getMinimumLineThickness() == 1) {
 					return 1;
@@ -1262,10 +1293,10 @@ public class GeoList extends GeoElement
 			// no alphaValue set
 			// so we need to set it to that of the first element, if there is
 			// one
-			if ((elements != null) && (elements.size() > 0)) {
+			if ((getElementList() != null) && (getElementList().size() > 0)) {
 
 				// get alpha value of first element
-				final double alpha = elements.get(0).getAlphaValue();
+				final double alpha = getElementList().get(0).getAlphaValue();
 
 				// Application.debug("setting list alpha to "+alpha);
 
@@ -1273,9 +1304,9 @@ public class GeoList extends GeoElement
 
 				// set all the other elements in the list
 				// if appropriate
-				if (elements.size() > 1) {
-					for (int i = 1; i < elements.size(); i++) {
-						final GeoElement geo = elements.get(i);
+				if (getElementList().size() > 1) {
+					for (int i = 1; i < getElementList().size(); i++) {
+						final GeoElement geo = getElementList().get(i);
 						if (!geo.isLabelSet()) {
 							geo.setAlphaValue(alpha);
 						}
@@ -1321,15 +1352,15 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean isFillable() {
-		if ((elements == null) || (elements.size() == 0)) {
+		if ((getElementList() == null) || (getElementList().size() == 0)) {
 			return false;
 		}
 
 		boolean someFillable = false;
 		boolean allLabelsSet = true;
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (geo.isFillable()) {
 				someFillable = true;
 			}
@@ -1343,7 +1374,8 @@ public class GeoList extends GeoElement
 
 	@Override
 	public GeoElement getGeoElementForPropertiesDialog() {
-		if ((elements.size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
+		if ((getElementList().size() > 0)
+				&& (elementType != ELEMENT_TYPE_MIXED)) {
 			return get(0).getGeoElementForPropertiesDialog(); // getGeoElementForPropertiesDialog()
 			// to cope with
 			// lists of
@@ -1556,8 +1588,8 @@ public class GeoList extends GeoElement
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (geo.showLineProperties() && !geo.isLabelSet()) {
 				return true;
 			}
@@ -1578,8 +1610,8 @@ public class GeoList extends GeoElement
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if ((geo instanceof PointProperties)
 					&& ((PointProperties) geo).showPointProperties() && !geo.isLabelSet()) {
 				return true;
@@ -1718,7 +1750,7 @@ public class GeoList extends GeoElement
 
 		// update closestPointIndex
 		getNearestPoint(P);
-		if (elements.size() == 0) {
+		if (getElementList().size() == 0) {
 			if (P.isDefined()) {
 				P.setUndefined();
 			}
@@ -1783,8 +1815,8 @@ public class GeoList extends GeoElement
 		closestPointIndex = 0; // default - first object
 
 		// double closestIndex = -1;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (geo instanceof PathOrPoint) {
 				final double d = p.distanceToPath((PathOrPoint) geo);
 
@@ -1804,8 +1836,8 @@ public class GeoList extends GeoElement
 	@Override
 	public double distance(final GeoPoint p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1818,8 +1850,8 @@ public class GeoList extends GeoElement
 	@Override
 	public double distance(final GeoPointND p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1910,8 +1942,8 @@ public class GeoList extends GeoElement
 	@Override
 	public boolean isOnPath(final GeoPointND PI, final double eps) {
 		// Application.debug("isOnPath",1);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (((PathOrPoint) geo).isOnPath(PI, eps)) {
 				return true;
 			}
@@ -1926,7 +1958,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public double getMaxParameter() {
-		return elements.size();
+		return getElementList().size();
 	}
 
 	@Override
@@ -1952,8 +1984,8 @@ public class GeoList extends GeoElement
 				|| (getParentAlgorithm() instanceof AlgoDependentList))) {
 			return false;
 		}
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 
 			if (geo.isGeoPoint()) {
 				if (!geo.isMoveable()) {
@@ -1979,8 +2011,8 @@ public class GeoList extends GeoElement
 			final EuclidianViewInterfaceSlim view) {
 		final ArrayList<GeoPointND> al = new ArrayList<>();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 
 			if (geo.isGeoPoint()) {
 				final GeoPoint p = (GeoPoint) geo;
@@ -2068,10 +2100,10 @@ public class GeoList extends GeoElement
 	 * @return true if the list contains given geo
 	 */
 	public boolean listContains(final GeoElement geo) {
-		if (elements == null) {
+		if (getElementList() == null) {
 			return true;
 		}
-		return elements.contains(geo);
+		return getElementList().contains(geo);
 	}
 
 	@Override
@@ -2094,8 +2126,8 @@ public class GeoList extends GeoElement
 			return false;
 		}
 		boolean ret = true;
-		for (int i = 0; i < elements.size(); i++) {
-			GeoElement geo1 = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			GeoElement geo1 = getElementList().get(i);
 			if (!geo1.isLaTeXDrawableGeo()) {
 				return false;
 			}
@@ -2107,8 +2139,8 @@ public class GeoList extends GeoElement
 	public void updateColumnHeadingsForTraceValues() {
 		resetSpreadsheetColumnHeadings();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				final ArrayList<GeoText> geoHead = geo.getColumnHeadings();
 				for (int j = 0; j < geoHead.size(); j++) {
@@ -2194,7 +2226,7 @@ public class GeoList extends GeoElement
 		if (getParentAlgorithm() != null
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : traceModes is computed from A, B
-			traceModes = getTraceModes(elements);
+			traceModes = getTraceModes(getElementList());
 		} else {
 			// e.g. Sequence[...] is only copied
 			traceModes = TraceModesEnum.ONLY_COPY;
@@ -2216,7 +2248,7 @@ public class GeoList extends GeoElement
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : names for A, B
 			boolean notFirst = false;
-			for (GeoElement geo : elements) {
+			for (GeoElement geo : getElementList()) {
 				if (notFirst) {
 					sb.append(", ");
 				}
@@ -2239,8 +2271,8 @@ public class GeoList extends GeoElement
 	public void addToSpreadsheetTraceList(
 			ArrayList<GeoNumeric> spreadsheetTraceList) {
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				((SpreadsheetTraceable) geo)
 						.addToSpreadsheetTraceList(spreadsheetTraceList);
@@ -2258,6 +2290,10 @@ public class GeoList extends GeoElement
 	 */
 	public int performScriptActions(EvalInfo info) {
 		int actions = 0;
+		if (primitiveValues != null) {
+			// numbers or points only
+			return actions;
+		}
 		for (int i = 0; i < size(); i++) {
 			if (get(i) instanceof GeoScriptAction) {
 				if (info.isScripting()) {
@@ -2280,7 +2316,7 @@ public class GeoList extends GeoElement
 	 * @return position of needle in this list or -1 when not found
 	 */
 	public int find(GeoElement needle) {
-		return elements.indexOf(needle);
+		return getElementList().indexOf(needle);
 	}
 
 	/**
@@ -2600,7 +2636,7 @@ public class GeoList extends GeoElement
 	 * @return true if this list contains a 3D geo
 	 */
 	public boolean containsGeoElement3D() {
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : getElementList()) {
 			boolean contains = false;
 			if (geo.isGeoList()) {
 				contains = ((GeoList) geo).containsGeoElement3D();
@@ -2617,10 +2653,10 @@ public class GeoList extends GeoElement
 
 	@Override
 	final public Coords getMainDirection() {
-		if (elements.size() <= closestPointIndex) {
+		if (getElementList().size() <= closestPointIndex) {
 			return Coords.VX;
 		}
-		return elements.get(closestPointIndex).getMainDirection();
+		return getElementList().get(closestPointIndex).getMainDirection();
 	}
 
 	@Override
@@ -2862,6 +2898,119 @@ public class GeoList extends GeoElement
 		return HitType.ON_FILLING;
 	}
 
+	/**
+	 * Replaces the elements of this list by numbers (dimension 1) or points
+	 * (dimension 2) given by their coordinates. The elements are only created
+	 * when they are accessed.
+	 *
+	 * @param values
+	 *            coordinates of all elements, NaN for undefined elements
+	 * @param dimension
+	 *            number of coordinates per element
+	 * @param size
+	 *            number of elements
+	 * @param template
+	 *            number or point to copy for new elements
+	 */
+	public void setPrimitiveValues(double[] values, int dimension, int size,
+			GeoElement template) {
+		elements.clear();
+		primitiveValues = values;
+		primitiveDimension = dimension;
+		primitiveSize = size;
+		primitiveTemplate = template;
+		setTypeStringForXML(template.getXMLtypeString());
+		elementType = template.getGeoClassType();
+		isDrawable = true;
+		updateDrawableFlag(template);
+	}
+
+	/**
+	 * @return coordinates of the elements if they were not created yet, null
+	 *         otherwise
+	 */
+	public double[] getPrimitiveValues() {
+		return primitiveValues;
+	}
+
+	/**
+	 * @return number of coordinates per element in the primitive values
+	 */
+	public int getPrimitiveDimension() {
+		return primitiveDimension;
+	}
+
+	/**
+	 * @return number or point which is copied for elements created from the
+	 *         primitive values, null if there are no primitive values
+	 */
+	public GeoElement getPrimitiveTemplate() {
+		return primitiveTemplate;
+	}
+
+	/**
+	 * Replaces the elements of this list by numbers, e.g. for large data sets
+	 * which would need too much memory as elements.
+	 *
+	 * @param values
+	 *            values of all elements
+	 * @param size
+	 *            number of elements
+	 */
+	public void setPrimitiveNumbers(double[] values, int size) {
+		setPrimitiveValues(values, 1, size, new GeoNumeric(cons));
+	}
+
+	/**
+	 * @return values of a list of numbers which were not created as elements
+	 *         yet (only the first size() entries are valid), null otherwise
+	 */
+	public double[] getPrimitiveNumbers() {
+		return primitiveDimension == 1 ? primitiveValues : null;
+	}
+
+	private ArrayList<GeoElement> getElementList() {
+		if (primitiveValues != null) {
+			createElementsFromPrimitiveValues();
+		}
+		return elements;
+	}
+
+	private void createElementsFromPrimitiveValues() {
+		double[] values = primitiveValues;
+		int dimension = primitiveDimension;
+		int size = primitiveSize;
+		GeoElement template = primitiveTemplate;
+		primitiveValues = null;
+		primitiveSize = 0;
+		primitiveTemplate = null;
+
+		ensureCapacity(size);
+		for (int i = 0; i < size; i++) {
+			GeoElement listElement = null;
+			if (i < cacheList.size()) {
+				GeoElementND cachedGeo = cacheList.get(i);
+				if (!cachedGeo.isLabelSet() && cachedGeo
+						.getGeoClassType() == template.getGeoClassType()) {
+					listElement = cachedGeo.toGeoElement();
+				}
+			}
+			if (listElement == null) {
+				listElement = template.copyInternal(cons);
+				listElement.setParentAlgorithm(getParentAlgorithm());
+				listElement.setConstructionDefaults();
+				listElement.setUseVisualDefaults(false);
+			}
+			add(listElement);
+			if (dimension == 1) {
+				((GeoNumeric) listElement).setValue(values[i]);
+			} else {
+				((GeoPoint) listElement).setCoords(values[2 * i],
+						values[2 * i + 1], 1.0);
+			}
+		}
+	}
+
 	/**
 	 * Add number to the end, use cache if possible. Assume all cached elements
 	 * are GeoNumerics.
@@ -2873,9 +3022,10 @@ public class GeoList extends GeoElement
 	 */
 	public void addNumber(double value, AlgoElement parent) {
 		GeoNumeric listElement;
-		if (size() < getCacheSize()) {
+		int size = getElementList().size();
+		if (size < getCacheSize()) {
 			// use existing list element
-			listElement = (GeoNumeric) getCached(size());
+			listElement = (GeoNumeric) getCached(size);
 		} else {
 			// create a new list element
 			listElement = new GeoNumeric(cons);
@@ -2903,9 +3053,10 @@ public class GeoList extends GeoElement
 	 */
 	public void addPoint(double x, double y, double z, AlgoElement parent) {
 		GeoPoint listElement;
-		if (size() < getCacheSize()) {
+		int size = getElementList().size();
+		if (size < getCacheSize()) {
 			// use existing list element
-			listElement = (GeoPoint) getCached(size());
+			listElement = (GeoPoint) getCached(size);
 		} else {
 			// create a new list element
 			listElement = new GeoPoint(cons);
@@ -3028,7 +3179,7 @@ public class GeoList extends GeoElement
 			return DescriptionMode.DEFINITION_VALUE;
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : getElementList()) {
 			if (geo.getDescriptionMode() == DescriptionMode.DEFINITION_VALUE
 					&& !Equation.isAlgebraEquation(geo)) {
 				return DescriptionMode.DEFINITION_VALUE;
@@ -3136,7 +3287,7 @@ public class GeoList extends GeoElement
 	 *            new element
 	 */
 	public void setListElement(int i, GeoElement element) {
-		this.elements.set(i, element);
+		getElementList().set(i, element);
 		this.applyVisualStyle(element);
 		// this.elementType = element.getGeoClassType();
 		isDrawable = true;
@@ -3358,7 +3509,7 @@ public class GeoList extends GeoElement
 	 * @return new array with elements
 	 */
 	public GeoElement[] elementsAsArray() {
-		return elements.toArray(new GeoElement[size()]);
+		return getElementList().toArray(new GeoElement[size()]);
 	}
 
 	@Override
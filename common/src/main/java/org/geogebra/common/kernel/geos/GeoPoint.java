@@ -25,7 +25,6 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.TreeSet;
 
 import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.kernel.AnimationManager;
@@ -133,7 +132,6 @@ public class GeoPoint extends GeoVec3D implements VectorValue, PathOrPoint,
 
 	private StringBuilder sbToString = new StringBuilder(50);
 
-	private static volatile TreeSet<AlgoElement> tempSet;
 
 	private Coords coords2D;
 	private Coords inhomCoords3D;
@@ -1834,13 +1832,6 @@ public class GeoPoint extends GeoVec3D implements VectorValue, PathOrPoint,
 		}
 	}
 
-	protected static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
-	}
-
 	@Override
 	public LocateableList getLocateableList() {
 		if (locateableList == null) {
@@ -49,6 +49,7 @@ import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.TaskExecutor;
 import org.geogebra.common.util.debug.Log;
 
 import java.util.ArrayList;
@@ -1678,11 +1679,18 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	private class WebExperimentalQuadTree extends QuadTree {
 		private static final int RES_COARSE = 8;
 		private static final int MAX_SPLIT = 40;
+		/** number of grid cells per tile side */
+		private static final int TILE_SIZE = 8;
 		private int plotDepth;
 		private int segmentCheckDepth;
 		private int sw;
 		private int sh;
+		private double frx;
+		private double fry;
+		private double[] xcoords;
+		private double[] ycoords;
 		private Rect[][] grid;
+		private final CellSegments serialCell = new CellSegments();
 		private Timer timer = Timer.newTimer();
 
 		public WebExperimentalQuadTree() {
@@ -1691,6 +1699,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 		@Override
 		public void updatePath() {
+			TaskExecutor executor = getTileExecutor();
 			for (int factor = 0; factor < factorLength(); ++factor) {
 				try {
 					evaluateImplicitCurve(0, 0, factor);
@@ -1705,13 +1714,11 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 				this.grid = new Rect[sh][sw];
 
-				double frx = w / sw;
-				double fry = h / sh;
+				frx = w / sw;
+				fry = h / sh;
 
-				double[] vertices = new double[sw + 1];
-				double[] xcoords = new double[sw + 1];
-				double[] ycoords = new double[sh + 1];
-				double cur, prev;
+				xcoords = new double[sw + 1];
+				ycoords = new double[sh + 1];
 
 				for (int i = 0; i <= sw; i++) {
 					xcoords[i] = x + i * frx;
@@ -1721,49 +1728,21 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					ycoords[i] = y + i * fry;
 				}
 
-				for (int i = 0; i <= sw; i++) {
-					vertices[i] = evaluateImplicitCurve(xcoords[i], ycoords[0],
-							factor);
-				}
-
-				// initialize grid configuration at the search depth
 				int i, j;
-				double dx, dy, fx, fy;
 				// debug = true;
 				timer.reset();
-				for (i = 1; i <= sh; i++) {
-					prev = evaluateImplicitCurve(xcoords[0], ycoords[i],
-							factor);
-					fy = ycoords[i] - 0.5 * fry;
-					for (j = 1; j <= sw; j++) {
-						cur = evaluateImplicitCurve(xcoords[j], ycoords[i],
-								factor);
-						Rect rect = new Rect(j - 1, i - 1, frx, fry, false);
-						rect.coords.val[0] = xcoords[j - 1];
-						rect.coords.val[1] = ycoords[i - 1];
-						rect.evals[0] = vertices[j - 1];
-						rect.evals[1] = vertices[j];
-						rect.evals[2] = cur;
-						rect.evals[3] = prev;
-						rect.status = edgeConfig(rect);
-						rect.shares = 0xff;
-						fx = xcoords[j] - 0.5 * frx;
-						dx = derivativeX(fx, fy);
-						dy = derivativeY(fx, fy);
-						dx = Math.abs(dx) + Math.abs(dy);
-						if (DoubleUtil.isZero(dx, 0.001)) {
-							rect.singular = true;
-						}
-						this.grid[i - 1][j - 1] = rect;
-						vertices[j - 1] = prev;
-						prev = cur;
-					}
-					vertices[sw] = prev;
+				// initialize grid configuration at the search depth
+				CellSegments[][] cells = null;
+				if (executor == null) {
+					initGrid(0, sh, 0, sw, factor);
+				} else {
+					cells = new CellSegments[sh][sw];
+					executor.runAll(createTiles(factor, cells, true));
 				}
 
 				timer.record();
 
-				if (timer.elapse <= 10) {
+				if (!adaptive || timer.elapse <= 10) {
 					// Fast device optimize for UX
 					plotDepth = 3;
 					segmentCheckDepth = 2;
@@ -1775,21 +1754,34 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					LIST_THRESHOLD = 24;
 				}
 
+				if (executor != null) {
+					// segments of the initial cells are computed per tile, then
+					// joined in the same order as in the serial case
+					executor.runAll(createTiles(factor, cells, false));
+				}
+
 				for (i = 0; i < sh; i++) {
 					for (j = 0; j < sw; j++) {
 						if (grid[i][j].status != EMPTY) {
-							plot(grid[i][j], 0, factor);
+							CellSegments cell = cells == null ? null
+									: cells[i][j];
+							if (cell == null) {
+								cell = serialCell;
+								cell.clear();
+								plot(grid[i][j], 0, factor, cell);
+							}
+							addSegments(grid[i][j], cell);
 						}
 					}
 				}
 
 				timer.record();
 
-				if (timer.elapse >= 500) {
+				if (adaptive && timer.elapse >= 500) {
 					// I can't do anything more. I've been working for 500 ms
 					// Therefore I am tired
 					return;
-				} else if (timer.elapse >= 300) {
+				} else if (adaptive && timer.elapse >= 300) {
 					// I am exhausted, reducing load!
 					plotDepth -= 1;
 					segmentCheckDepth -= 1;
@@ -1797,41 +1789,162 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 			}
 		}
 
-		public void createTree(Rect r, int depth, int factor) {
+		/**
+		 * @return executor for tiles if enabled and the curve can be
+		 *         evaluated concurrently (polynomial), null otherwise
+		 */
+		private TaskExecutor getTileExecutor() {
+			if (coeffSquarefree == null || coeff == null) {
+				return null;
+			}
+			return kernel.getTaskExecutor();
+		}
+
+		/**
+		 * @param factor
+		 *            number of the squarefree factor
+		 * @param cells
+		 *            segments per cell
+		 * @param init
+		 *            whether to initialize the grid (true) or compute
+		 *            segments of nonempty cells (false)
+		 * @return one task per tile of the grid
+		 */
+		private ArrayList<Runnable> createTiles(final int factor,
+				final CellSegments[][] cells, final boolean init) {
+			ArrayList<Runnable> tiles = new ArrayList<>();
+			for (int row = 0; row < sh; row += TILE_SIZE) {
+				for (int col = 0; col < sw; col += TILE_SIZE) {
+					final int row0 = row;
+					final int row1 = Math.min(row + TILE_SIZE, sh);
+					final int col0 = col;
+					final int col1 = Math.min(col + TILE_SIZE, sw);
+					tiles.add(new Runnable() {
+						@Override
+						public void run() {
+							if (init) {
+								initGrid(row0, row1, col0, col1, factor);
+							} else {
+								plotTile(row0, row1, col0, col1, factor, cells);
+							}
+						}
+					});
+				}
+			}
+			return tiles;
+		}
+
+		/**
+		 * Evaluates the corners of grid cells in given rows and columns.
+		 */
+		protected void initGrid(int row0, int row1, int col0, int col1,
+				int factor) {
+			double[] vertices = new double[col1 - col0 + 1];
+			double cur, prev;
+			double dx, dy, fx, fy;
+			for (int j = col0; j <= col1; j++) {
+				vertices[j - col0] = evaluateImplicitCurve(xcoords[j],
+						ycoords[row0], factor);
+			}
+			for (int i = row0 + 1; i <= row1; i++) {
+				prev = evaluateImplicitCurve(xcoords[col0], ycoords[i], factor);
+				fy = ycoords[i] - 0.5 * fry;
+				for (int j = col0 + 1; j <= col1; j++) {
+					cur = evaluateImplicitCurve(xcoords[j], ycoords[i], factor);
+					Rect rect = new Rect(j - 1, i - 1, frx, fry, false);
+					rect.coords.val[0] = xcoords[j - 1];
+					rect.coords.val[1] = ycoords[i - 1];
+					rect.evals[0] = vertices[j - 1 - col0];
+					rect.evals[1] = vertices[j - col0];
+					rect.evals[2] = cur;
+					rect.evals[3] = prev;
+					rect.status = edgeConfig(rect);
+					rect.shares = 0xff;
+					fx = xcoords[j] - 0.5 * frx;
+					dx = derivativeX(fx, fy);
+					dy = derivativeY(fx, fy);
+					dx = Math.abs(dx) + Math.abs(dy);
+					if (DoubleUtil.isZero(dx, 0.001)) {
+						rect.singular = true;
+					}
+					this.grid[i - 1][j - 1] = rect;
+					vertices[j - 1 - col0] = prev;
+					prev = cur;
+				}
+				vertices[col1 - col0] = prev;
+			}
+		}
+
+		/**
+		 * Computes segments of all cells in given rows and columns that are
+		 * nonempty before any segment is added.
+		 */
+		protected void plotTile(int row0, int row1, int col0, int col1,
+				int factor, CellSegments[][] cells) {
+			for (int i = row0; i < row1; i++) {
+				for (int j = col0; j < col1; j++) {
+					if (grid[i][j].status != EMPTY) {
+						cells[i][j] = new CellSegments();
+						plot(grid[i][j], 0, factor, cells[i][j]);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds segments of a cell to the path and marks the neighbouring
+		 * cells the curve continues to.
+		 */
+		private void addSegments(Rect r, CellSegments cell) {
+			for (int k = 0; k < cell.points.size(); k += 2) {
+				addSegment(cell.points.get(k), cell.points.get(k + 1));
+			}
+			int e = cell.edges;
+			if (r.x != 0 && (e & 0x1) != 0) {
+				nonempty(r.y, r.x - 1);
+			}
+			if (r.x + 1 != sw && (e & 0x4) != 0) {
+				nonempty(r.y, r.x + 1);
+			}
+			if (r.y != 0 && (e & 0x8) != 0) {
+				nonempty(r.y - 1, r.x);
+			}
+			if (r.y + 1 != sh && (e & 0x2) != 0) {
+				nonempty(r.y + 1, r.x);
+			}
+		}
+
+		public void createTree(Rect r, int depth, int factor,
+				CellSegments cell) {
 			Rect[] n = r.split(GeoImplicitCurve.this, factor);
-			plot(n[0], depth, factor);
-			plot(n[1], depth, factor);
-			plot(n[2], depth, factor);
-			plot(n[3], depth, factor);
+			plot(n[0], depth, factor, cell);
+			plot(n[1], depth, factor, cell);
+			plot(n[2], depth, factor, cell);
+			plot(n[3], depth, factor, cell);
 		}
 
-		public void plot(Rect r, int depth, int factor) {
+		/**
+		 * Collects segments within a rectangle, only reads the grid.
+		 */
+		public void plot(Rect r, int depth, int factor, CellSegments cell) {
 			if (depth < segmentCheckDepth) {
-				createTree(r, depth + 1, factor);
+				createTree(r, depth + 1, factor, cell);
 				return;
 			}
 			int e = edgeConfig(r);
 			if (grid[r.y][r.x].singular || e != EMPTY) {
 				if (depth >= plotDepth) {
-					if (addSegment(r, factor) == T0101) {
-						createTree(r, depth + 1, factor);
+					int status = createSegment(r, factor, cell.segment);
+					if (status == VALID) {
+						cell.points.add(cell.segment[0]);
+						cell.points.add(cell.segment[1]);
+					} else if (status == T0101) {
+						createTree(r, depth + 1, factor, cell);
 						return;
 					}
-					if (r.x != 0 && (e & r.shares & 0x1) != 0) {
-						nonempty(r.y, r.x - 1);
-
-					}
-					if (r.x + 1 != sw && (e & r.shares & 0x4) != 0) {
-						nonempty(r.y, r.x + 1);
-					}
-					if (r.y != 0 && (e & r.shares & 0x8) != 0) {
-						nonempty(r.y - 1, r.x);
-					}
-					if (r.y + 1 != sh && (e & r.shares & 0x2) != 0) {
-						nonempty(r.y + 1, r.x);
-					}
+					cell.edges |= e & r.shares;
 				} else {
-					createTree(r, depth + 1, factor);
+					createTree(r, depth + 1, factor, cell);
 				}
 			}
 		}
@@ -72,6 +72,11 @@ abstract class QuadTree {
 	 * it would be better to adjust LIST_THRESHOLD based on platform
 	 */
 	public int LIST_THRESHOLD = 48;
+	/**
+	 * whether the depth of the tree is reduced on slow devices; if false, the
+	 * path only depends on the curve and the view
+	 */
+	protected boolean adaptive = true;
 	protected double x;
 	protected double y;
 	protected double w;
@@ -133,51 +138,71 @@ abstract class QuadTree {
 				&& DoubleUtil.isEqual(q1.y, q2.y, 1e-10);
 	}
 
-	public int addSegment(Rect r, int factor) {
-		int status = createSegment(r, factor);
-		if (status == VALID) {
-			if (pts[0].x > pts[1].x) {
-				temp = pts[0];
-				pts[0] = pts[1];
-				pts[1] = temp;
-			}
-			itr1 = openList.listIterator();
-			itr2 = openList.listIterator();
-			boolean flag1 = false, flag2 = false;
-			while (itr1.hasNext()) {
-				p1 = itr1.next();
-				if (equal(pts[1], p1.start)) {
-					flag1 = true;
-					break;
-				}
+	/**
+	 * Adds a segment to the open polylines, merging it with polylines it
+	 * connects to.
+	 * 
+	 * @param start
+	 *            start point
+	 * @param end
+	 *            end point
+	 */
+	public void addSegment(MyPoint start, MyPoint end) {
+		pts[0] = start;
+		pts[1] = end;
+		if (pts[0].x > pts[1].x) {
+			temp = pts[0];
+			pts[0] = pts[1];
+			pts[1] = temp;
+		}
+		itr1 = openList.listIterator();
+		itr2 = openList.listIterator();
+		boolean flag1 = false, flag2 = false;
+		while (itr1.hasNext()) {
+			p1 = itr1.next();
+			if (equal(pts[1], p1.start)) {
+				flag1 = true;
+				break;
 			}
+		}
 
-			while (itr2.hasNext()) {
-				p2 = itr2.next();
-				if (equal(pts[0], p2.end)) {
-					flag2 = true;
-					break;
-				}
+		while (itr2.hasNext()) {
+			p2 = itr2.next();
+			if (equal(pts[0], p2.end)) {
+				flag2 = true;
+				break;
 			}
+		}
 
-			if (flag1 && flag2) {
-				itr1.remove();
-				p2.mergeTo(p1);
-			} else if (flag1) {
-				p1.extendBack(pts[0]);
-			} else if (flag2) {
-				p2.extendFront(pts[1]);
-			} else {
-				openList.addFirst(new PointList(pts[0], pts[1]));
-			}
-			if (openList.size() > LIST_THRESHOLD) {
-				abortList();
-			}
+		if (flag1 && flag2) {
+			itr1.remove();
+			p2.mergeTo(p1);
+		} else if (flag1) {
+			p1.extendBack(pts[0]);
+		} else if (flag2) {
+			p2.extendFront(pts[1]);
+		} else {
+			openList.addFirst(new PointList(pts[0], pts[1]));
+		}
+		if (openList.size() > LIST_THRESHOLD) {
+			abortList();
 		}
-		return status;
 	}
 
-	public int createSegment(Rect r, int factor) {
+	/**
+	 * Computes the segment of the curve within a rectangle. Doesn't change
+	 * the state of this tree, so it can be called from multiple threads if
+	 * the curve can be evaluated concurrently.
+	 * 
+	 * @param r
+	 *            rectangle
+	 * @param factor
+	 *            number of the squarefree factor
+	 * @param out
+	 *            array for start and end point of the segment
+	 * @return VALID if a segment was found, EMPTY, T0101 or T_INV otherwise
+	 */
+	public int createSegment(Rect r, int factor, MyPoint[] out) {
 		int gridType = config(r);
 		if (gridType == T0101 || gridType == T_INV) {
 			return gridType;
@@ -191,39 +216,39 @@ abstract class QuadTree {
 		switch (gridType) {
 		// one or three corners are inside / outside
 		case T0001:
-			pts[0] = new MyPoint(x1,
+			out[0] = new MyPoint(x1,
 					GeoImplicitCurve.interpolate(bl, tl, y2,
 					y1), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
 					y2, SegmentType.LINE_TO);
 			q1 = minAbs(bl, tl);
 			q2 = minAbs(bl, br);
 			break;
 
 		case T0010:
-			pts[0] = new MyPoint(x2,
+			out[0] = new MyPoint(x2,
 					GeoImplicitCurve.interpolate(br, tr, y2,
 					y1), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(br, bl, x2, x1),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(br, bl, x2, x1),
 					y2, SegmentType.LINE_TO);
 			q1 = minAbs(br, tr);
 			q2 = minAbs(br, bl);
 			break;
 
 		case T0100:
-			pts[0] = new MyPoint(x2, GeoImplicitCurve.interpolate(tr, br, y1,
+			out[0] = new MyPoint(x2, GeoImplicitCurve.interpolate(tr, br, y1,
 					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(tr, tl, x2, x1),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(tr, tl, x2, x1),
 					y1, SegmentType.LINE_TO);
 			q1 = minAbs(tr, br);
 			q2 = minAbs(tr, tl);
 			break;
 
 		case T0111:
-			pts[0] = new MyPoint(x1,
+			out[0] = new MyPoint(x1,
 					GeoImplicitCurve.interpolate(tl, bl, y1, y2),
 					SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
 					y1, SegmentType.LINE_TO);
 			q1 = minAbs(bl, tl);
 			q2 = minAbs(tl, tr);
@@ -231,9 +256,9 @@ abstract class QuadTree {
 
 		// two consecutive corners are inside / outside
 		case T0011:
-			pts[0] = new MyPoint(x1, GeoImplicitCurve.interpolate(tl, bl, y1,
+			out[0] = new MyPoint(x1, GeoImplicitCurve.interpolate(tl, bl, y1,
 					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(x2,
+			out[1] = new MyPoint(x2,
 					GeoImplicitCurve.interpolate(tr, br, y1, y2),
 					SegmentType.LINE_TO);
 			q1 = minAbs(tl, bl);
@@ -241,9 +266,9 @@ abstract class QuadTree {
 			break;
 
 		case T0110:
-			pts[0] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
+			out[0] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
 					y1, SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
+			out[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
 					y2, SegmentType.LINE_TO);
 			q1 = minAbs(tl, tr);
 			q2 = minAbs(bl, br);
@@ -253,9 +278,9 @@ abstract class QuadTree {
 		}
 		// check continuity of the function between P1 and P2
 		double p = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[0].x, pts[0].y, factor));
+				.evaluateImplicitCurve(out[0].x, out[0].y, factor));
 		double q = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[1].x, pts[1].y, factor));
+				.evaluateImplicitCurve(out[1].x, out[1].y, factor));
 		if ((p <= q1 && q <= q2)) {
 			return VALID;
 		}
@@ -343,6 +368,27 @@ abstract class QuadTree {
 
 	public abstract void updatePath();
 
+	/**
+	 * Segments found within one cell of the coarse grid in the order they
+	 * were found, and the edges of the cell the curve crosses.
+	 */
+	static class CellSegments {
+		/** start and end points of the segments */
+		final ArrayList<MyPoint> points = new ArrayList<>();
+		/** buffer for segment computation */
+		final MyPoint[] segment = new MyPoint[2];
+		/** crossed edges, bits as in {@link Rect#shares} */
+		int edges;
+
+		/**
+		 * Remove all segments.
+		 */
+		void clear() {
+			points.clear();
+			edges = 0;
+		}
+	}
+
 	static class PointList {
 		MyPoint start;
 		MyPoint end;
@@ -177,6 +177,30 @@ public abstract class GeoSurfaceCartesianND extends GeoElement
 		fun2 = null;
 	}
 
+	@Override
+	public SurfaceEvaluable copyForEvaluation() {
+		if (fun == null) {
+			return null;
+		}
+		FunctionVariable[] vars = fun[0].getFunctionVariables();
+		FunctionVariable[] copyVars = new FunctionVariable[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			copyVars[i] = vars[i].deepCopy(kernel);
+		}
+		FunctionNVar[] copyFun = new FunctionNVar[fun.length];
+		for (int i = 0; i < fun.length; i++) {
+			copyFun[i] = fun[i].copyForEvaluation(copyVars, kernel);
+			if (copyFun[i] == null) {
+				return null;
+			}
+		}
+		GeoSurfaceCartesianND copy = (GeoSurfaceCartesianND) copy();
+		copy.fun = copyFun;
+		copy.resetDerivatives();
+		copy.setDerivatives();
+		return copy;
+	}
+
 	/**
 	 * Replaces geo and all its dependent geos in this function's expression by
 	 * copies of their values.
@@ -75,6 +75,12 @@ public interface SurfaceEvaluable {
 	 */
 	public void resetDerivatives();
 
+	/**
+	 * @return copy of this surface (with derivatives) that can be evaluated in
+	 *         another thread while this one is used, null if not supported
+	 */
+	public SurfaceEvaluable copyForEvaluation();
+
 	/**
 	 * @return the level of detail (for drawing)
 	 */
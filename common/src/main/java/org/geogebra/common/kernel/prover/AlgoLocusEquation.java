@@ -21,6 +21,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.implicit.GeoImplicit;
 import org.geogebra.common.kernel.prover.ProverBotanasMethod.AlgebraicStatement;
+import org.geogebra.common.kernel.prover.polynomial.ProverResultCache;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -34,6 +35,7 @@ public class AlgoLocusEquation extends AlgoElement implements UsesCAS {
 	private String efficientInputFingerprint;
 	private GeoElement implicitLocus = null;
 	private long myPrecision = 0;
+	private final ProverTimings timings = new ProverTimings();
 
 	/**
 	 * @param cons
@@ -229,17 +231,29 @@ public class AlgoLocusEquation extends AlgoElement implements UsesCAS {
 	}
 
 	private String getImplicitPoly(boolean implicit) throws Throwable {
+		double start = ProverTimings.now();
 		AlgebraicStatement as = ProverBotanasMethod
 				.translateConstructionAlgebraically(
 						implicit ? implicitLocus : locusPoint, movingPoint,
 						implicit, this);
+		timings.addSince(ProverTimings.Phase.TRANSLATE, start);
 		if (as == null) {
 			Log.debug("Cannot compute locus equation (yet?)");
 			resetFingerprint(kernel, true);
 			return null;
 		}
 
-		return locusEqu(as);
+		start = ProverTimings.now();
+		String result = locusEqu(as);
+		timings.addSince(ProverTimings.Phase.ELIMINATE, start);
+		return result;
+	}
+
+	/**
+	 * @return time spent in the phases of the last computation
+	 */
+	public ProverTimings getTimings() {
+		return timings;
 	}
 
 	/**
@@ -256,6 +270,7 @@ public class AlgoLocusEquation extends AlgoElement implements UsesCAS {
 			}
 		}
 		double startTime = UtilFactory.getPrototype().getMillisecondTime();
+		timings.reset();
 		String result = null;
 		try {
 			result = getImplicitPoly(implicit);
@@ -286,6 +301,7 @@ public class AlgoLocusEquation extends AlgoElement implements UsesCAS {
 		 * is assumed.)
 		 */
 		Log.debug("Benchmarking: " + elapsedTime + " ms");
+		Log.debug("Locus equation timings: " + timings);
 	}
 
 	/**
@@ -477,10 +493,17 @@ public class AlgoLocusEquation extends AlgoElement implements UsesCAS {
 			sb.append("locusequ(I,").append(PRECISION).append(");\n");
 
 			Log.trace("Input to singular: " + sb);
-			String result;
+			String program = sb.toString();
+			ProverResultCache cache = new ProverResultCache(kernel,
+					"singular", program);
+			String result = cache.get();
+			if (result != null) {
+				return result;
+			}
 			try {
 				result = kernel.getApplication().getSingularWS()
-						.directCommand(sb.toString());
+						.directCommand(program);
+				cache.put(result);
 			} catch (Throwable e) {
 				Log.error("Error on running Singular code");
 				return null;
@@ -496,10 +519,18 @@ public class AlgoLocusEquation extends AlgoElement implements UsesCAS {
 				.append(",").append(",").append(as.curveVars[0]).append(",")
 				.append(as.curveVars[1]).append(")");
 
+		String program = sb.toString();
+		ProverResultCache cache = new ProverResultCache(kernel, "giac",
+				program);
+		String result = cache.get();
+		if (result != null) {
+			return result;
+		}
 		GeoGebraCAS cas = (GeoGebraCAS) kernel.getGeoGebraCAS();
 		try {
-			String result = cas.getCurrentCAS().evaluateRaw(sb.toString());
+			result = cas.getCurrentCAS().evaluateRaw(program);
 			Log.trace("Output from giac: " + result);
+			cache.put(result);
 			return result;
 		} catch (Throwable ex) {
 			Log.error("Error on running Giac code");
@@ -0,0 +1,93 @@
+package org.geogebra.common.kernel.prover;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+import org.geogebra.common.kernel.prover.polynomial.PPolynomial;
+import org.geogebra.common.util.TaskExecutor;
+
+/**
+ * Elimination ideals for the variable permutations tried by ProveDetails,
+ * computed concurrently in small waves. The next wave is only started when
+ * none of the permutations before gave readable NDG conditions, so a remote
+ * CAS does not get all requests at once.
+ */
+class PermutationElimination {
+
+	/** number of permutations computed at once */
+	static final int WAVE_SIZE = 2;
+
+	private final TaskExecutor executor;
+	private final Eliminator eliminator;
+	private final Object[] ideals;
+	private final boolean[] computed;
+	private int waveCount = 0;
+
+	/**
+	 * Elimination for one permutation of the free variables.
+	 */
+	interface Eliminator {
+		/**
+		 * @param permutation
+		 *            permutation of the free variables
+		 * @return elimination ideal, null if it cannot be computed
+		 */
+		Set<Set<PPolynomial>> eliminate(int permutation);
+	}
+
+	/**
+	 * @param executor
+	 *            executor for the eliminations of one wave
+	 * @param eliminator
+	 *            elimination for one permutation, called from worker threads
+	 * @param maxPermutations
+	 *            number of permutations
+	 */
+	PermutationElimination(TaskExecutor executor, Eliminator eliminator,
+			int maxPermutations) {
+		this.executor = executor;
+		this.eliminator = eliminator;
+		this.ideals = new Object[maxPermutations];
+		this.computed = new boolean[maxPermutations];
+	}
+
+	/**
+	 * @param permutation
+	 *            permutation of the free variables
+	 * @return elimination ideal, computed together with the next permutations
+	 *         if it's not known yet
+	 */
+	@SuppressWarnings("unchecked")
+	Set<Set<PPolynomial>> get(int permutation) {
+		if (!computed[permutation]) {
+			computeWave(permutation);
+		}
+		return (Set<Set<PPolynomial>>) ideals[permutation];
+	}
+
+	private void computeWave(int first) {
+		int end = Math.min(first + WAVE_SIZE, ideals.length);
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		for (int i = first; i < end; i++) {
+			final int permutation = i;
+			computed[i] = true;
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					ideals[permutation] = eliminator.eliminate(permutation);
+				}
+			});
+		}
+		executor.runAll(tasks);
+		waveCount++;
+	}
+
+	/**
+	 * For tests only.
+	 *
+	 * @return number of waves computed so far
+	 */
+	int getWaveCount() {
+		return waveCount;
+	}
+}
@@ -53,6 +53,7 @@ import org.geogebra.common.util.Prover;
 import org.geogebra.common.util.Prover.NDGCondition;
 import org.geogebra.common.util.Prover.ProofResult;
 import org.geogebra.common.util.Prover.ProverEngine;
+import org.geogebra.common.util.TaskExecutor;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -65,21 +66,20 @@ import org.geogebra.common.util.debug.Log;
 
 public class ProverBotanasMethod {
 
-	private static HashMap<List<PVariable>, GeoElement> botanaVarsInv;
+	private ProverTimings timings;
 
 	/**
 	 * Inverse mapping of botanaVars for a given statement.
 	 * 
 	 * @param statement
 	 *            the input statement
+	 * @return map from Botana variables to elements
 	 * @throws NoSymbolicParametersException
 	 *             if implementation is missing
 	 */
-	static void updateBotanaVarsInv(GeoElement statement)
-			throws NoSymbolicParametersException {
-		if (botanaVarsInv == null) {
-			botanaVarsInv = new HashMap<>();
-		}
+	static HashMap<List<PVariable>, GeoElement> computeBotanaVarsInv(
+			GeoElement statement) throws NoSymbolicParametersException {
+		HashMap<List<PVariable>, GeoElement> botanaVarsInv = new HashMap<>();
 		for (GeoElement geo : statement.getAllPredecessors()) {
 			if (!(geo instanceof GeoNumeric)) {
 				PVariable[] vars = ((SymbolicParametersBotanaAlgo) geo)
@@ -90,6 +90,7 @@ public class ProverBotanasMethod {
 				}
 			}
 		}
+		return botanaVarsInv;
 	}
 
 	/**
@@ -1303,7 +1304,7 @@ public class ProverBotanasMethod {
 				return;
 			}
 			try {
-				updateBotanaVarsInv(statement);
+				computeBotanaVarsInv(statement);
 			} catch (NoSymbolicParametersException e) {
 				Log.debug("Botana vars cannot be inverted");
 				result = ProofResult.UNKNOWN;
@@ -1337,6 +1338,69 @@ public class ProverBotanasMethod {
 
 	}
 
+	private Set<Set<PPolynomial>> eliminate(AlgebraicStatement as,
+			HashMap<PVariable, BigInteger> substitutions, Kernel k,
+			int permutation, Set<PVariable> freeVariables) {
+		double start = ProverTimings.now();
+		Set<Set<PPolynomial>> eliminationIdeal = PPolynomial.eliminate(
+				as.getPolynomials()
+						.toArray(new PPolynomial[as.getPolynomials().size()]),
+				substitutions, k, permutation, true, false, freeVariables);
+		timings.addSince(ProverTimings.Phase.ELIMINATE, start);
+		return eliminationIdeal;
+	}
+
+	/**
+	 * The remaining variable permutations are computed concurrently only for
+	 * SingularWS since each computation is an independent request, the
+	 * internal CAS cannot be used from more threads.
+	 * 
+	 * @return concurrent elimination of the permutations, or null if they
+	 *         cannot be computed concurrently
+	 */
+	private static PermutationElimination createPermutationElimination(
+			AlgebraicStatement as,
+			final HashMap<PVariable, BigInteger> substitutions, final Kernel k,
+			int firstPermutation, int maxPermutations) {
+		TaskExecutor executor = k.getTaskExecutor();
+		if (executor == null || maxPermutations - firstPermutation < 2
+				|| !k.getApplication().singularWSisAvailable()) {
+			return null;
+		}
+		final PPolynomial[] eqSystem = as.getPolynomials()
+				.toArray(new PPolynomial[as.getPolynomials().size()]);
+		final Set<PVariable> freeVariables = as.freeVariables;
+		return new PermutationElimination(executor,
+				new PermutationElimination.Eliminator() {
+					@Override
+					public Set<Set<PPolynomial>> eliminate(int permutation) {
+						return PPolynomial.eliminate(eqSystem, substitutions,
+								k, permutation, true, false, freeVariables);
+					}
+				}, maxPermutations);
+	}
+
+	private ExtendedBoolean isSolvable(AlgebraicStatement as,
+			HashMap<PVariable, BigInteger> substitutions, Kernel k,
+			boolean transcext, Set<PVariable> freeVariables) {
+		double start = ProverTimings.now();
+		ExtendedBoolean solvable = PPolynomial.solvable(
+				as.getPolynomials()
+						.toArray(new PPolynomial[as.getPolynomials().size()]),
+				substitutions, k, transcext, freeVariables);
+		timings.addSince(ProverTimings.Phase.SOLVE, start);
+		return solvable;
+	}
+
+	private boolean isDimGreaterThan(AlgebraicStatement as,
+			HashMap<PVariable, BigInteger> substitutions, int minDim) {
+		double start = ProverTimings.now();
+		boolean greater = HilbertDimension.isDimGreaterThan2(as, substitutions,
+				minDim);
+		timings.addSince(ProverTimings.Phase.DIMENSION, start);
+		return greater;
+	}
+
 	/**
 	 * Proves the statement by using Botana's method
 	 * 
@@ -1351,6 +1415,7 @@ public class ProverBotanasMethod {
 		GeoElement statement = prover.getStatement();
 		ProverSettings proverSettings = ProverSettings.get();
 		Kernel k = statement.getKernel();
+		timings = prover.getTimings();
 		/*
 		 * Decide quickly if proving this kind of statement is already
 		 * implemented at all:
@@ -1376,7 +1441,9 @@ public class ProverBotanasMethod {
 			proverSettings.freePointsNeverCollinear = false;
 		}
 
+		double start = ProverTimings.now();
 		AlgebraicStatement as = new AlgebraicStatement(statement, null, prover);
+		timings.addSince(ProverTimings.Phase.TRANSLATE, start);
 
 		/*
 		 * It's possible that we already know the answer without computing
@@ -1436,14 +1503,26 @@ public class ProverBotanasMethod {
 										 */
 				/* Pappus6 is at https://www.geogebra.org/m/TEQGgRKe */
 			}
+			PermutationElimination prefetched = null;
 			while (!found && permutation < MAX_PERMUTATIONS) {
 
-				eliminationIdeal = PPolynomial.eliminate(
-						as.getPolynomials()
-								.toArray(new PPolynomial[as.getPolynomials()
-										.size()]),
-						substitutions, k, permutation++, true, false,
-						as.freeVariables);
+				/*
+				 * The first permutation gives readable NDGs in most cases. If
+				 * it does not, the remaining ones are independent candidates
+				 * and can be computed concurrently, a few at a time.
+				 */
+				if (permutation == 1) {
+					prefetched = createPermutationElimination(as,
+							substitutions, k, permutation, MAX_PERMUTATIONS);
+				}
+				if (prefetched != null) {
+					double waveStart = ProverTimings.now();
+					eliminationIdeal = prefetched.get(permutation++);
+					timings.addSince(ProverTimings.Phase.ELIMINATE, waveStart);
+				} else {
+					eliminationIdeal = eliminate(as, substitutions, k,
+							permutation++, as.freeVariables);
+				}
 				if (eliminationIdeal == null) {
 					return ProofResult.UNKNOWN;
 				}
@@ -1487,12 +1566,8 @@ public class ProverBotanasMethod {
 							 */
 							as.removeThesis();
 							as.addNegatedThesis();
-							eliminationIdeal = PPolynomial.eliminate(
-									as.getPolynomials()
-											.toArray(new PPolynomial[as
-													.getPolynomials().size()]),
-									substitutions, k, permutation++, true,
-									false, as.freeVariables);
+							eliminationIdeal = eliminate(as, substitutions, k,
+									permutation++, as.freeVariables);
 							ndgSet = eliminationIdeal.iterator();
 							while (ndgSet.hasNext()) {
 								thisNdgSet = ndgSet.next();
@@ -1512,8 +1587,8 @@ public class ProverBotanasMethod {
 												- substitutions.keySet().size();
 										Log.debug(
 												"Naive dimension = " + naivDim);
-										if (!HilbertDimension.isDimGreaterThan2(
-												as, substitutions, naivDim)) {
+										if (!isDimGreaterThan(as,
+												substitutions, naivDim)) {
 											Log.debug(
 													"Statement is NOT GENERALLY FALSE");
 											return ProofResult.TRUE_ON_COMPONENTS;
@@ -1526,12 +1601,9 @@ public class ProverBotanasMethod {
 										 * of variables.
 										 */
 										as.addNegatedThesis();
-										eliminationIdeal = PPolynomial.eliminate(
-												as.getPolynomials()
-														.toArray(new PPolynomial[as
-																.getPolynomials().size()]),
-												substitutions, k, permutation++, true,
-												false, HilbertDimension.getAMaximalSet());
+										eliminationIdeal = eliminate(as,
+												substitutions, k, permutation++,
+												HilbertDimension.getAMaximalSet());
 										ndgSet = eliminationIdeal.iterator();
 										while (ndgSet.hasNext()) {
 											thisNdgSet = ndgSet.next();
@@ -1570,7 +1642,10 @@ public class ProverBotanasMethod {
 								Log.debug("Interpreting TRUE as UNKNOWN");
 								return ProofResult.UNKNOWN;
 							}
+							double ndgStart = ProverTimings.now();
 							NDGCondition ndgc = ndgd.detect(poly);
+							timings.addSince(ProverTimings.Phase.NDG,
+									ndgStart);
 							if (ndgc == null) {
 								readable = false;
 							} else {
@@ -1662,11 +1737,7 @@ public class ProverBotanasMethod {
 
 			/* START OF PROVE. */
 		} else {
-			ExtendedBoolean solvable = PPolynomial.solvable(
-					as.getPolynomials()
-							.toArray(new PPolynomial[as.getPolynomials()
-									.size()]),
-					substitutions, statement.getKernel(),
+			ExtendedBoolean solvable = isSolvable(as, substitutions, k,
 					proverSettings.transcext, as.freeVariables);
 			if (ExtendedBoolean.UNKNOWN.equals(solvable)) {
 				/*
@@ -1694,13 +1765,8 @@ public class ProverBotanasMethod {
 				 */
 				as.removeThesis();
 				as.addNegatedThesis();
-				solvable = PPolynomial
-						.solvable(
-								as.getPolynomials()
-										.toArray(new PPolynomial[as
-												.getPolynomials().size()]),
-								substitutions, statement.getKernel(),
-								proverSettings.transcext, as.freeVariables);
+				solvable = isSolvable(as, substitutions, k,
+						proverSettings.transcext, as.freeVariables);
 				if (ExtendedBoolean.UNKNOWN.equals(solvable)) {
 					/*
 					 * Prover returned with no success, search for another
@@ -1718,8 +1784,7 @@ public class ProverBotanasMethod {
 					int naivDim = as.getFreeVariables().size()
 							- substitutions.keySet().size();
 					Log.debug("Naive dimension = " + naivDim);
-					if (!HilbertDimension.isDimGreaterThan2(as, substitutions,
-							naivDim)) {
+					if (!isDimGreaterThan(as, substitutions, naivDim)) {
 						Log.debug("Statement is NOT GENERALLY FALSE");
 						return ProofResult.TRUE_ON_COMPONENTS;
 					}
@@ -1731,11 +1796,7 @@ public class ProverBotanasMethod {
 					 * a maximum independent set of variables.
 					 */
 					as.addNegatedThesis();
-					solvable = PPolynomial.solvable(
-							as.getPolynomials()
-									.toArray(new PPolynomial[as.getPolynomials()
-											.size()]),
-							substitutions, statement.getKernel(),
+					solvable = isSolvable(as, substitutions, k,
 							proverSettings.transcext,
 							HilbertDimension.getAMaximalSet());
 					if (solvable.boolVal()) {
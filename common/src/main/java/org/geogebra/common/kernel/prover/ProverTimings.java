@@ -0,0 +1,101 @@
+package org.geogebra.common.kernel.prover;
+
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.util.StringUtil;
+
+/**
+ * Time spent in the phases of a proof or a locus equation computation, in
+ * milliseconds.
+ */
+public class ProverTimings {
+
+	/**
+	 * Phases of the algebraic prover.
+	 */
+	public enum Phase {
+		/** translating the construction into polynomials */
+		TRANSLATE,
+		/** computing elimination ideals (including locus equations) */
+		ELIMINATE,
+		/** deciding solvability of polynomial systems */
+		SOLVE,
+		/** translating polynomials into readable NDG conditions */
+		NDG,
+		/** computing the Hilbert dimension of the hypotheses */
+		DIMENSION
+	}
+
+	private final double[] times = new double[Phase.values().length];
+
+	/**
+	 * @return current time in milliseconds, start value for
+	 *         {@link #addSince(Phase, double)}
+	 */
+	public static double now() {
+		return UtilFactory.getPrototype().getMillisecondTime();
+	}
+
+	/**
+	 * @param phase
+	 *            prover phase
+	 * @param start
+	 *            start of the phase as returned by {@link #now()}
+	 */
+	public void addSince(Phase phase, double start) {
+		add(phase, now() - start);
+	}
+
+	/**
+	 * @param phase
+	 *            prover phase
+	 * @param millis
+	 *            time spent in the phase
+	 */
+	public void add(Phase phase, double millis) {
+		times[phase.ordinal()] += millis;
+	}
+
+	/**
+	 * @param phase
+	 *            prover phase
+	 * @return time spent in given phase
+	 */
+	public double get(Phase phase) {
+		return times[phase.ordinal()];
+	}
+
+	/**
+	 * @return time spent in all phases
+	 */
+	public double getTotal() {
+		double sum = 0;
+		for (double time : times) {
+			sum += time;
+		}
+		return sum;
+	}
+
+	/**
+	 * Set all times to zero.
+	 */
+	public void reset() {
+		for (int i = 0; i < times.length; i++) {
+			times[i] = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Phase phase : Phase.values()) {
+			sb.append(StringUtil.toLowerCaseUS(phase.name()));
+			sb.append(": ");
+			sb.append(Math.round(get(phase)));
+			sb.append("ms, ");
+		}
+		sb.append("total: ");
+		sb.append(Math.round(getTotal()));
+		sb.append("ms");
+		return sb.toString();
+	}
+}
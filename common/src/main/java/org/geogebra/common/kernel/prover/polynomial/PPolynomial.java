@@ -1,6 +1,7 @@
 package org.geogebra.common.kernel.prover.polynomial;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -1053,7 +1054,8 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			boolean transcext, Set<PVariable> freeVariables) {
 		
 		HashSet<PVariable> substVars = null;
-		String polysAsCommaSeparatedString = getPolysAsCommaSeparatedString(polys);
+		String polysAsCommaSeparatedString = getPolysAsCommaSeparatedString(
+				canonicalOrder(polys));
 		substVars = new HashSet<>(substitutions.keySet());
 
 		String freeVars = getVarsAsCommaSeparatedString(polys, substVars, true,
@@ -1073,8 +1075,14 @@ public class PPolynomial implements Comparable<PPolynomial> {
 				Log.trace(solvableProgram.length() + " bytes -> singular");
 			else
 				Log.trace(solvableProgram + " -> singular");
+			ProverResultCache cache = new ProverResultCache(kernel,
+					"singular", solvableProgram);
 			try {
-				solvableResult = singularWS.directCommand(solvableProgram);
+				solvableResult = cache.get();
+				if (solvableResult == null) {
+					solvableResult = singularWS.directCommand(solvableProgram);
+					cache.put(solvableResult);
+				}
 				if (solvableResult.length() > SingularWSSettings.debugMaxProgramSize)
 					Log.trace("singular -> " + solvableResult.length()
 							+ " bytes");
@@ -1102,7 +1110,13 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			Log.info("Not implemented (yet)");
 			return ExtendedBoolean.UNKNOWN; // cannot decide
 		}
-		solvableResult = cas.evaluate(solvableProgram);
+		ProverResultCache cache = new ProverResultCache(kernel, "giac",
+				solvableProgram);
+		solvableResult = cache.get();
+		if (solvableResult == null) {
+			solvableResult = cas.evaluate(solvableProgram);
+			cache.put(solvableResult);
+		}
 		if ("0".equals(solvableResult) || "false".equals(solvableResult)) {
 			return ExtendedBoolean.FALSE; // no solution
 		}
@@ -1112,6 +1126,21 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		return ExtendedBoolean.UNKNOWN; // cannot decide
 	}
 	
+	/**
+	 * The order of the polynomials does not change the result of prover
+	 * computations, using a fixed order makes programs of the same system
+	 * equal and their results cacheable.
+	 * 
+	 * @param polys
+	 *            polynomials
+	 * @return sorted copy of the polynomials
+	 */
+	private static PPolynomial[] canonicalOrder(PPolynomial[] polys) {
+		PPolynomial[] sorted = Arrays.copyOf(polys, polys.length);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
 	/** Returns the square of the input polynomial
 	 * @param p input polynomial
 	 * @return the square (p*p)
@@ -1205,6 +1234,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		} else {
 			eqSystemSubstituted = eqSystem;
 		}
+		eqSystemSubstituted = canonicalOrder(eqSystemSubstituted);
 		
 		String elimResult, elimProgram;
 		Log.debug("Eliminating system in " + variables.size() + " variables (" + dependentVariables.size() + " dependent)");
@@ -1272,8 +1302,14 @@ public class PPolynomial implements Comparable<PPolynomial> {
 						+ " bytes -> singular");
 			else
 				Log.trace(elimProgram + " -> singular");
+			ProverResultCache cache = new ProverResultCache(kernel,
+					"singular", elimProgram);
 			try {
-				elimResult = singularWS.directCommand(elimProgram);
+				elimResult = cache.get();
+				if (elimResult == null) {
+					elimResult = singularWS.directCommand(elimProgram);
+					cache.put(elimResult);
+				}
 				if (elimResult == null) {
 					return null;
 				}
@@ -1314,7 +1350,14 @@ public class PPolynomial implements Comparable<PPolynomial> {
 				return null; // cannot decide
 			}
 
-			elimResult = cas.evaluate(elimProgram).replace("unicode95u", "_")
+			ProverResultCache cache = new ProverResultCache(kernel, "giac",
+					elimProgram);
+			elimResult = cache.get();
+			if (elimResult == null) {
+				elimResult = cas.evaluate(elimProgram);
+				cache.put(elimResult);
+			}
+			elimResult = elimResult.replace("unicode95u", "_")
 					.replace("unicode91u", "[");
 
 			if (!factorized) {
@@ -0,0 +1,179 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import org.geogebra.common.kernel.Kernel;
+
+/**
+ * Results of prover programs (eliminations, solvability checks, locus
+ * equations) in the (possibly shared) CAS cache of the kernel.
+ *
+ * Variables are renamed by the order of their ids in the cache key and in
+ * the stored result. Polynomial systems which only differ in the ids of their
+ * variables, e.g. because the construction was loaded again, use the same
+ * entry.
+ */
+public class ProverResultCache {
+
+	/**
+	 * Prefix of cache keys, so that they do not collide with other CAS inputs.
+	 */
+	private static final String KEY_PREFIX = "prover:";
+	private static final Object LOCK = new Object();
+
+	private final Kernel kernel;
+	private final String key;
+	/** sorted ids of the variables in the program */
+	private final int[] ids;
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 * @param engine
+	 *            name of the engine running the program, e.g. "singular"
+	 * @param program
+	 *            program
+	 */
+	public ProverResultCache(Kernel kernel, String engine, String program) {
+		this.kernel = kernel;
+		TreeSet<Integer> variables = new TreeSet<>();
+		int start = nextVariable(program, 0);
+		while (start >= 0) {
+			int end = variableEnd(program, start);
+			int id = parseNumber(program, start + 1, end);
+			if (id >= 0) {
+				variables.add(id);
+			}
+			start = nextVariable(program, end);
+		}
+		ids = new int[variables.size()];
+		int i = 0;
+		for (Integer id : variables) {
+			ids[i++] = id;
+		}
+		String renamed = rename(program, false);
+		key = renamed == null ? null : KEY_PREFIX + engine + ":" + renamed;
+	}
+
+	/**
+	 * Safe to call from concurrent prover tasks.
+	 *
+	 * @return cached result of the program or null
+	 */
+	public String get() {
+		String result;
+		synchronized (LOCK) {
+			if (key == null || !kernel.hasCasCache()) {
+				return null;
+			}
+			result = kernel.getFromCasCache(key);
+		}
+		return result == null ? null : rename(result, true);
+	}
+
+	/**
+	 * Stores the result of the program. Empty and undefined results (e.g.
+	 * because of a timeout) are not stored. Safe to call from concurrent
+	 * prover tasks.
+	 *
+	 * @param result
+	 *            result of the program
+	 */
+	public void put(String result) {
+		if (key == null || result == null || "".equals(result)
+				|| result.contains("?") || result.contains("halt")) {
+			return;
+		}
+		String renamed = rename(result, false);
+		if (renamed == null) {
+			return;
+		}
+		synchronized (LOCK) {
+			kernel.putToCasCache(key, renamed);
+		}
+	}
+
+	/**
+	 * @param text
+	 *            program or result
+	 * @param toIds
+	 *            whether to replace ranks by ids (or ids by ranks)
+	 * @return text with replaced variable names, null if it contains
+	 *         variables that are not in the program
+	 */
+	private String rename(String text, boolean toIds) {
+		StringBuilder sb = new StringBuilder(text.length());
+		int copied = 0;
+		int start = nextVariable(text, 0);
+		while (start >= 0) {
+			int end = variableEnd(text, start);
+			int number = parseNumber(text, start + 1, end);
+			int renamed;
+			if (number < 0) {
+				return null;
+			} else if (toIds) {
+				if (number >= ids.length) {
+					return null;
+				}
+				renamed = ids[number];
+			} else {
+				renamed = Arrays.binarySearch(ids, number);
+				if (renamed < 0) {
+					return null;
+				}
+			}
+			sb.append(text, copied, start + 1);
+			sb.append(renamed);
+			copied = end;
+			start = nextVariable(text, end);
+		}
+		sb.append(text, copied, text.length());
+		return sb.toString();
+	}
+
+	/**
+	 * @return index of the next variable name (v followed by digits, not part
+	 *         of a longer name) or -1
+	 */
+	private static int nextVariable(String text, int from) {
+		for (int i = from; i < text.length() - 1; i++) {
+			if (text.charAt(i) == 'v' && isDigit(text.charAt(i + 1))
+					&& (i == 0 || !isNameChar(text.charAt(i - 1)))) {
+				int end = variableEnd(text, i);
+				if (end == text.length() || !isNameChar(text.charAt(end))) {
+					return i;
+				}
+				i = end;
+			}
+		}
+		return -1;
+	}
+
+	private static int variableEnd(String text, int start) {
+		int end = start + 1;
+		while (end < text.length() && isDigit(text.charAt(end))) {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * @return the number or -1 if it is too long for an int
+	 */
+	private static int parseNumber(String text, int start, int end) {
+		if (end - start > 9) {
+			return -1;
+		}
+		return Integer.parseInt(text.substring(start, end));
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isNameChar(char c) {
+		return isDigit(c) || c == '_' || (c >= 'a' && c <= 'z')
+				|| (c >= 'A' && c <= 'Z');
+	}
+}
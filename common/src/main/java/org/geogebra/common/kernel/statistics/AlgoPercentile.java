@@ -105,13 +105,18 @@ public class AlgoPercentile extends AlgoElement {
 		inputArray = new double[size];
 
 		// load input value array from geoList
-		for (int i = 0; i < size; i++) {
-			GeoElement geo = inputList.get(i);
-			if (geo instanceof NumberValue) {
-				inputArray[i] = geo.evaluateDouble();
-			} else {
-				result.setUndefined();
-				return;
+		double[] values = inputList.getPrimitiveNumbers();
+		if (values != null) {
+			System.arraycopy(values, 0, inputArray, 0, size);
+		} else {
+			for (int i = 0; i < size; i++) {
+				GeoElement geo = inputList.get(i);
+				if (geo instanceof NumberValue) {
+					inputArray[i] = geo.evaluateDouble();
+				} else {
+					result.setUndefined();
+					return;
+				}
 			}
 		}
 
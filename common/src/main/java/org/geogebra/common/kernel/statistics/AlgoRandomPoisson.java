@@ -35,7 +35,8 @@ public class AlgoRandomPoisson extends AlgoElement implements SetRandomValue {
 
 	private static double halflog2pi = 0.5 * Math.log(2 * Math.PI);
 
-	private static double[] logtable = new double[10];
+	/** log(k!) for k &lt; 10, concurrent kernels only read it */
+	private static final double[] logtable = createLogTable();
 
 	/**
 	 * 
@@ -159,11 +160,16 @@ public class AlgoRandomPoisson extends AlgoElement implements SetRandomValue {
 
 	}
 
+	private static double[] createLogTable() {
+		double[] table = new double[10];
+		for (int k = 0; k < table.length; k++) {
+			table[k] = Math.log(MyMath2.factorial(k));
+		}
+		return table;
+	}
+
 	private static double logOfKFactorial(int k) {
 		if (k < 10) {
-			if (logtable[k] == 0) {
-				logtable[k] = Math.log(MyMath2.factorial(k));
-			}
 			return logtable[k];
 		}
 
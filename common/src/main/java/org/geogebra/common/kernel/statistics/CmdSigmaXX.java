@@ -26,8 +26,8 @@ public class CmdSigmaXX extends CmdOneListFunction {
 	@Override
 	final protected GeoElement doCommand(String label, GeoList list) {
 		GeoNumeric num;
-		GeoElement geo = list.get(0);
-		if (geo instanceof NumberValue) { // list of numbers
+		if (list.getPrimitiveNumbers() != null
+				|| list.get(0) instanceof NumberValue) { // list of numbers
 			AlgoSigmaXX algo = new AlgoSigmaXX(cons, list);
 			num = algo.getResult();
 		} else { // (probably) list of points
@@ -43,6 +43,7 @@ import org.geogebra.common.gui.view.algebra.fiter.AlgebraOutputFilter;
 import org.geogebra.common.gui.view.algebra.fiter.DefaultAlgebraOutputFilter;
 import org.geogebra.common.gui.view.algebra.fiter.ProtectiveAlgebraOutputFilter;
 import org.geogebra.common.gui.view.properties.PropertiesView;
+import org.geogebra.common.gui.view.spreadsheet.SpreadsheetImport;
 import org.geogebra.common.io.MyXMLio;
 import org.geogebra.common.io.file.ByteArrayZipFile;
 import org.geogebra.common.io.file.ZipFile;
@@ -370,6 +371,7 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 	private ParserFunctions pf;
 	private SpreadsheetTraceManager traceManager;
 	private ExamEnvironment exam;
+	private SpreadsheetImport spreadsheetImport;
 
 	// moved to Application from EuclidianView as the same value is used across
 	// multiple EVs
@@ -2175,6 +2177,36 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 		return new AnimationManager(kernel2);
 	}
 
+	/**
+	 * @return spreadsheet import running between UI events, null if there is
+	 *         none
+	 */
+	public SpreadsheetImport getSpreadsheetImport() {
+		return spreadsheetImport;
+	}
+
+	/**
+	 * @param spreadsheetImport
+	 *            spreadsheet import running between UI events, null when it
+	 *            is finished
+	 */
+	public void setSpreadsheetImport(SpreadsheetImport spreadsheetImport) {
+		this.spreadsheetImport = spreadsheetImport;
+	}
+
+	/**
+	 * Discards the spreadsheet import running between UI events, so that it
+	 * does not write into a new construction and restores the kernel state
+	 * before the construction is replaced.
+	 */
+	public void discardSpreadsheetImport() {
+		if (spreadsheetImport != null) {
+			SpreadsheetImport running = spreadsheetImport;
+			spreadsheetImport = null;
+			running.discard();
+		}
+	}
+
 	/**
 	 * Repaints the spreadsheet view
 	 */
@@ -0,0 +1,21 @@
+package org.geogebra.common.plugin;
+
+import java.util.List;
+
+/**
+ * Event listener that receives all events collected by the event dispatcher
+ * in batching mode at once (see {@link EventDispatcher#setBatchDelay(int)}).
+ * Outside of batching mode, events are sent one by one.
+ */
+public interface BatchEventListener extends EventListener {
+
+	/**
+	 * This method is called by the event dispatcher when the collected events
+	 * are delivered
+	 * 
+	 * @param events
+	 *            events in the order they were triggered, repeated updates of
+	 *            the same object coalesced
+	 */
+	public void sendEvents(List<Event> events);
+}
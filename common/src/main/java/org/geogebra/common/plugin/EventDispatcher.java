@@ -1,6 +1,7 @@
 package org.geogebra.common.plugin;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import org.geogebra.common.kernel.ClientView;
 import org.geogebra.common.kernel.ModeSetter;
@@ -8,6 +9,8 @@ import org.geogebra.common.kernel.geos.GProperty;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.main.App;
+import org.geogebra.common.util.GTimer;
+import org.geogebra.common.util.GTimerListener;
 import org.geogebra.common.util.debug.GeoGebraProfiler;
 
 /**
@@ -21,14 +24,31 @@ import org.geogebra.common.util.debug.GeoGebraProfiler;
  * because they are not part of the View interface (the clicked GeoElement is
  * responsible for relaying the event to the event dispatcher)
  * 
+ * In batching mode events for script managers (and their client listeners)
+ * and batch listeners are collected and delivered by a timer: repeated
+ * updates of the same object are coalesced, other events are delivered in
+ * the order they were triggered. Other listeners, e.g. the runner of GGB
+ * scripts, still get every event immediately.
+ * 
  * @author arno
  * 
  */
-public class EventDispatcher implements ClientView {
+public class EventDispatcher implements ClientView, GTimerListener {
+
+	/** batch delay of one frame at 60fps */
+	public static final int FRAME_DELAY = 16;
 
 	private App app;
 	private ArrayList<EventListener> listeners = new ArrayList<>();
 
+	/** batch delay in milliseconds, negative if not batching */
+	private int batchDelay = -1;
+	private GTimer batchTimer;
+	private ArrayList<Event> pendingEvents = new ArrayList<>();
+	/** pending update events that later updates can be merged into */
+	private HashMap<GeoElement, Event> pendingUpdates = new HashMap<>();
+	private int coalescedEvents = 0;
+
 	/**
 	 * @param app
 	 *            application
@@ -73,19 +93,161 @@ public class EventDispatcher implements ClientView {
 	 *            the event to be dispatched
 	 */
 	public void dispatchEvent(Event evt) {
+		if (batchDelay < 0) {
+			dispatchEventNow(evt, Delivery.ALL);
+		} else if (evt.isAlwaysDispatched()) {
+			// explicitly requested, e.g. by RunUpdateScript
+			flushEvents();
+			dispatchEventNow(evt, Delivery.ALL);
+		} else {
+			dispatchEventNow(evt, Delivery.IMMEDIATE);
+			queueEvent(evt);
+		}
+	}
+
+	/**
+	 * Listeners that an event is sent to one by one.
+	 */
+	private enum Delivery {
+		/** all listeners */
+		ALL,
+		/** listeners that never get queued events */
+		IMMEDIATE,
+		/** listeners of queued events that don't take them as a batch */
+		QUEUED
+	}
+
+	/**
+	 * @param listener
+	 *            listener
+	 * @return whether the listener gets queued events in batching mode
+	 */
+	private static boolean isQueued(EventListener listener) {
+		return listener instanceof ScriptManager
+				|| listener instanceof BatchEventListener;
+	}
+
+	private static boolean isDelivered(EventListener listener,
+			Delivery delivery) {
+		switch (delivery) {
+		case IMMEDIATE:
+			return !isQueued(listener);
+		case QUEUED:
+			return isQueued(listener)
+					&& !(listener instanceof BatchEventListener);
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * @param evt
+	 *            event
+	 * @param delivery
+	 *            listeners to send the event to
+	 */
+	private void dispatchEventNow(Event evt, Delivery delivery) {
 		boolean affectsSelfGeo = app.getKernel().getConstruction() != null
 				&& evt.target != null;
 		if (affectsSelfGeo) {
 			app.getKernel().getConstruction().setSelfGeo(evt.target);
 		}
 		for (EventListener listener : listeners) {
-			listener.sendEvent(evt);
+			if (isDelivered(listener, delivery)) {
+				listener.sendEvent(evt);
+			}
 		}
 		if (affectsSelfGeo) {
 			app.getKernel().getConstruction().restoreSelfGeo();
 		}
 	}
 
+	private void queueEvent(Event evt) {
+		GeoElement geo = evt.target;
+		if (evt.type == EventType.UPDATE && geo != null) {
+			Event update = pendingUpdates.put(geo, evt);
+			if (update != null) {
+				// deliver the update after all events queued before it
+				pendingEvents.remove(update);
+				coalescedEvents++;
+			}
+		} else if (geo != null) {
+			// later updates must not be delivered before this event
+			Event update = pendingUpdates.remove(geo);
+			if (update != null && evt.type == EventType.REMOVE) {
+				pendingEvents.remove(update);
+				coalescedEvents++;
+			}
+		}
+		pendingEvents.add(evt);
+		if (batchTimer == null) {
+			batchTimer = app.newTimer(this, batchDelay);
+		}
+		if (!batchTimer.isRunning()) {
+			batchTimer.start();
+		}
+	}
+
+	/**
+	 * Delivers the events collected in batching mode: batch listeners get all
+	 * of them at once, script managers one by one.
+	 */
+	public void flushEvents() {
+		if (pendingEvents.isEmpty()) {
+			return;
+		}
+		ArrayList<Event> events = pendingEvents;
+		pendingEvents = new ArrayList<>();
+		pendingUpdates.clear();
+		for (Event evt : events) {
+			dispatchEventNow(evt, Delivery.QUEUED);
+		}
+		for (EventListener listener : listeners) {
+			if (listener instanceof BatchEventListener) {
+				((BatchEventListener) listener).sendEvents(events);
+			}
+		}
+	}
+
+	@Override
+	public void onRun() {
+		flushEvents();
+	}
+
+	/**
+	 * @param delay
+	 *            time window for collecting events in milliseconds (e.g.
+	 *            {@link #FRAME_DELAY}); negative to dispatch events
+	 *            immediately
+	 * @see GgbAPI#setEventBatching(boolean)
+	 */
+	public void setBatchDelay(int delay) {
+		if (delay == batchDelay) {
+			return;
+		}
+		if (batchTimer != null) {
+			batchTimer.stop();
+			batchTimer = null;
+		}
+		flushEvents();
+		batchDelay = delay;
+	}
+
+	/**
+	 * @return whether events are collected and delivered in batches
+	 */
+	public boolean isBatching() {
+		return batchDelay >= 0;
+	}
+
+	/**
+	 * @return number of events that were merged into other events or dropped
+	 *         in batching mode
+	 */
+	public int getCoalescedEvents() {
+		return coalescedEvents;
+	}
+
 	/**
 	 * Convenience method for dispatching an event
 	 * 
@@ -191,6 +353,8 @@ public class EventDispatcher implements ClientView {
 		// As I understand it, this happens when a new file is started. This is
 		// the time to call the reset() function of the registered event
 		// listeners.
+		pendingEvents.clear();
+		pendingUpdates.clear();
 		for (EventListener listener : listeners) {
 			listener.reset();
 		}
@@ -1279,6 +1279,15 @@ public abstract class GgbAPI implements JavaScriptAPI {
 		kernel.setNotifyRepaintActive(flag);
 	}
 
+	/**
+	 * Turns batched delivery of events to script listeners on or off.
+	 */
+	@Override
+	public synchronized void setEventBatching(boolean flag) {
+		app.getEventDispatcher().setBatchDelay(
+				flag ? EventDispatcher.FRAME_DELAY : -1);
+	}
+
 	/*
 	 * Methods to change the geometry window's properties
 	 */
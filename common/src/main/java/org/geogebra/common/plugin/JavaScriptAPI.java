@@ -676,6 +676,13 @@ public interface JavaScriptAPI {
 	 */
 	public void setRepaintingActive(boolean flag);
 
+	/**
+	 * Turns batched delivery of events to update, add, remove, rename and
+	 * client listeners on or off: within one frame, repeated updates of the
+	 * same object are sent only once.
+	 */
+	public void setEventBatching(boolean flag);
+
 	public boolean writePNGtoFile(String filename, double exportScale,
 			boolean transparent, double DPI, boolean greyscale);
 
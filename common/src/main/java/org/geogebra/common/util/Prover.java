@@ -23,6 +23,7 @@ import org.geogebra.common.kernel.geos.GeoSegment;
 import org.geogebra.common.kernel.prover.AbstractProverReciosMethod;
 import org.geogebra.common.kernel.prover.ProverBotanasMethod;
 import org.geogebra.common.kernel.prover.ProverPureSymbolicMethod;
+import org.geogebra.common.kernel.prover.ProverTimings;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
 import org.geogebra.common.util.debug.Log;
@@ -147,6 +148,7 @@ public abstract class Prover {
 	private boolean returnExtraNDGs;
 	private List<ProverEngine> proveAutoOrder;
 	private List<ProverEngine> proveDetailsAutoOrder;
+	private final ProverTimings timings = new ProverTimings();
 
 	/**
 	 * An object which contains a condition description (e.g. "AreCollinear")
@@ -516,6 +518,7 @@ public abstract class Prover {
 	 * forwarded to an engine (or more engines).
 	 */
 	public void decideStatement() {
+		timings.reset();
 		// Step 1: Checking if the statement is null.
 		if (statement == null) {
 			Log.error("No statement to prove");
@@ -603,6 +606,7 @@ public abstract class Prover {
 		if (currentEngine == ProverEngine.BOTANAS_PROVER) {
 			ProverBotanasMethod pbm = new ProverBotanasMethod();
 			result = override(pbm.prove(this));
+			Log.debug("Prover timings: " + timings);
 			return;
 		} else if (currentEngine == ProverEngine.RECIOS_PROVER) {
 			result = override(getReciosProver().prove(this));
@@ -627,6 +631,14 @@ public abstract class Prover {
 		return ndgConditions;
 	}
 
+	/**
+	 * @return time spent in the phases of the Botana prover since the last
+	 *         call of {@link #decideStatement()}
+	 */
+	public ProverTimings getTimings() {
+		return timings;
+	}
+
 	/**
 	 * Gets the proof result
 	 * 
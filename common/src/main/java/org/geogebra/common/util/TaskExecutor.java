@@ -0,0 +1,27 @@
+package org.geogebra.common.util;
+
+import java.util.List;
+
+/**
+ * Runs independent tasks concurrently. Implementations are platform specific,
+ * tasks must not notify views or change the construction.
+ */
+public interface TaskExecutor {
+
+	/**
+	 * Runs all given tasks and returns when all of them are done.
+	 * 
+	 * @param tasks
+	 *            tasks that do not depend on each other
+	 */
+	void runAll(List<? extends Runnable> tasks);
+
+	/**
+	 * Starts the task and returns immediately; the caller has to check
+	 * whether the task is done.
+	 * 
+	 * @param task
+	 *            task
+	 */
+	void execute(Runnable task);
+}
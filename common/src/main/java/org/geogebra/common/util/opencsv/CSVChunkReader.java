@@ -0,0 +1,92 @@
+package org.geogebra.common.util.opencsv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads rows of a CSV string in chunks, without splitting the whole input
+ * into lines first. Quoted fields may span multiple lines.
+ */
+public class CSVChunkReader {
+
+	private final String source;
+	private final CSVParser parser;
+	private int position = 0;
+
+	/**
+	 * @param source
+	 *            CSV data, lines separated by \n, \r\n or \r
+	 * @param parser
+	 *            parser for single lines; not shared with other readers
+	 */
+	public CSVChunkReader(String source, CSVParser parser) {
+		this.source = source;
+		this.parser = parser;
+	}
+
+	/**
+	 * @return whether there are rows left
+	 */
+	public boolean hasMoreRows() {
+		return position < source.length();
+	}
+
+	/**
+	 * @param maxRows
+	 *            maximal number of rows
+	 * @return next rows, empty if there are no rows left
+	 * @throws CSVException
+	 *             if a line cannot be parsed
+	 */
+	public String[][] readRows(int maxRows) throws CSVException {
+		List<String[]> rows = new ArrayList<>(
+				Math.min(maxRows, source.length() - position + 1));
+		while (rows.size() < maxRows && hasMoreRows()) {
+			rows.add(readRow());
+		}
+		return rows.toArray(new String[rows.size()][]);
+	}
+
+	private String[] readRow() throws CSVException {
+		String[] tokens = parser.parseLineMulti(nextLine());
+		if (!parser.isPending()) {
+			return tokens;
+		}
+		// a quoted field continues on the next line(s)
+		List<String> row = new ArrayList<>();
+		Collections.addAll(row, tokens);
+		while (parser.isPending()) {
+			String line = hasMoreRows() ? nextLine() : null;
+			Collections.addAll(row, parser.parseLineMulti(line));
+		}
+		return row.toArray(new String[row.size()]);
+	}
+
+	private String nextLine() {
+		int end = position;
+		while (end < source.length() && source.charAt(end) != '\n'
+				&& source.charAt(end) != '\r') {
+			end++;
+		}
+		String line = source.substring(position, end);
+		position = end;
+		if (position < source.length() && source.charAt(position) == '\r') {
+			position++;
+			if (position < source.length()
+					&& source.charAt(position) == '\n') {
+				position++;
+			}
+		} else if (position < source.length()) {
+			position++;
+		}
+		return line;
+	}
+
+	/**
+	 * @return fraction of the input that was read
+	 */
+	public double getProgress() {
+		return source.length() == 0 ? 1 : position / (double) source.length();
+	}
+}
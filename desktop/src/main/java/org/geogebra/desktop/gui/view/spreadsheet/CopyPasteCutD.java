@@ -14,6 +14,7 @@ import org.geogebra.common.gui.view.spreadsheet.CellRange;
 import org.geogebra.common.gui.view.spreadsheet.CopyPasteCut;
 import org.geogebra.common.gui.view.spreadsheet.DataImport;
 import org.geogebra.common.gui.view.spreadsheet.RelativeCopy;
+import org.geogebra.common.gui.view.spreadsheet.SpreadsheetImport;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.main.App;
@@ -111,7 +112,6 @@ public class CopyPasteCutD extends CopyPasteCut {
 			Transferable contents) {
 
 		boolean succ = false;
-		boolean isCSV = false;
 		String transferString = null;
 
 		// extract a String from the Transferable contents
@@ -120,7 +120,6 @@ public class CopyPasteCutD extends CopyPasteCut {
 			return false;
 		}
 
-		isCSV = DataImportD.hasHTMLFlavor(contents);
 		// System.out.println("transfer string: " + transferString);
 
 		// test if the transfer string is the same as the internal cell copy
@@ -140,9 +139,8 @@ public class CopyPasteCutD extends CopyPasteCut {
 			// use the transferString data to create and paste new geos
 			// into the target cells without relative cell references
 
-			String[][] data = DataImport.parseExternalData(app, transferString,
-					isCSV);
-			succ = pasteExternalMultiple(data, column1, row1, column2, row2);
+			succ = pasteExternalMultiple(transferString, column1, row1,
+					column2, row2);
 
 			// Application.debug("newline index "+buf.indexOf("\n"));
 			// Application.debug("length "+buf.length());
@@ -192,6 +190,15 @@ public class CopyPasteCutD extends CopyPasteCut {
 
 		boolean succ = true;
 
+		if (targetRange.isSingleCell()) {
+			// large files: import in chunks without repeating the data
+			if (clearSpreadsheet) {
+				deleteAll();
+			}
+			return new SpreadsheetImport(app, contents.toString(),
+					targetRange.getMinColumn(), targetRange.getMinRow()).run();
+		}
+
 		String[][] data = DataImport.parseExternalData(app,
 				contents.toString(), isCSV);
 
@@ -22,6 +22,7 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -57,6 +58,10 @@ public class MyXMLioD extends MyXMLioJre {
 	@Override
 	protected final void readZip(ZipInputStream zip, boolean isGGTfile)
 			throws Exception {
+		if (isStreamingLoad()) {
+			readZipStreaming(zip, isGGTfile);
+			return;
+		}
 
 		// we have to read everything (i.e. all images)
 		// before we process the XML file, that's why we
@@ -107,27 +112,8 @@ public class MyXMLioD extends MyXMLioJre {
 				// load JavaScript
 				kernel.setLibraryJavaScript(UtilD.loadIntoString(zip));
 				javaScriptFound = true;
-			} else if (StringUtil.toLowerCaseUS(name).endsWith("svg")) {
-				String svg = UtilD.loadIntoString(zip);
-
-				MyImageD img = new MyImageD(svg, name);
-
-				((AppDI) app).addExternalImage(name, img);
-
 			} else {
-				// try to load image
-				try {
-					BufferedImage img = ImageIO.read(zip);
-					if ("".equals(name)) {
-						Log.warn("image in zip file with empty name");
-					} else {
-						((AppDI) app).addExternalImage(name, new MyImageD(img));
-					}
-				} catch (IOException e) {
-					Log.debug("readZipFromURL: image could not be loaded: "
-							+ name);
-					e.printStackTrace();
-				}
+				readZipEntry(name, zip);
 			}
 
 			// get next entry
@@ -180,6 +166,33 @@ public class MyXMLioD extends MyXMLioJre {
 		}
 	}
 
+	@Override
+	protected final void readZipEntry(String name, InputStream entry)
+			throws IOException {
+		if (StringUtil.toLowerCaseUS(name).endsWith("svg")) {
+			String svg = UtilD.loadIntoString(entry);
+
+			MyImageD img = new MyImageD(svg, name);
+
+			((AppDI) app).addExternalImage(name, img);
+
+		} else {
+			// try to load image
+			try {
+				BufferedImage img = ImageIO.read(entry);
+				if ("".equals(name)) {
+					Log.warn("image in zip file with empty name");
+				} else {
+					((AppDI) app).addExternalImage(name, new MyImageD(img));
+				}
+			} catch (IOException e) {
+				Log.debug("readZipFromURL: image could not be loaded: "
+						+ name);
+				e.printStackTrace();
+			}
+		}
+	}
+
 	@Override
 	final protected MyImageJre getExportImage(double width, double height) {
 		return ((AppDI) app).getExportImage(THUMBNAIL_PIXELS_X,
@@ -54,4 +54,10 @@ public class FileAppState implements AppState {
     public boolean equalsTo(AppState state) {
         return false;
     }
+
+	@Override
+	public long getRetainedBytes() {
+		// content is stored on disk
+		return 0;
+	}
 }
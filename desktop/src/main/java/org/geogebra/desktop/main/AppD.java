@@ -117,6 +117,7 @@ import org.geogebra.common.GeoGebraConstants.Platform;
 import org.geogebra.common.awt.GDimension;
 import org.geogebra.common.awt.GFont;
 import org.geogebra.common.awt.MyImage;
+import org.geogebra.common.cas.giac.CASgiacB;
 import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.euclidian.EuclidianController;
 import org.geogebra.common.euclidian.EuclidianCursor;
@@ -143,6 +144,8 @@ import org.geogebra.common.jre.headless.AppDI;
 import org.geogebra.common.jre.kernel.commands.CommandDispatcher3DJre;
 import org.geogebra.common.jre.kernel.commands.CommandDispatcherJre;
 import org.geogebra.common.jre.util.Base64;
+import org.geogebra.common.jre.util.ForkJoinTaskExecutor;
+import org.geogebra.common.kernel.CASGenericInterface;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.Macro;
@@ -762,6 +765,8 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 					+ "  --logFile=FILENAME\tset log file\n"
 					+ "  --silent\tCompletely mute logging\n"
 					+ "  --prover=OPTIONS\tSet options for the prover subsystem (use --proverhelp for more information)\n"
+					+ "  --giacSession=BOOLEAN\tkeep the Giac context initialized between evaluations\n"
+					+ "  --parallel=BOOLEAN\tsplit expensive computations (e.g. implicit curves) into tasks for all processor cores\n"
 			/*
 			 * +
 			 * "  --singularWS=OPTIONS\tSet options for SingularWS (use --singularWShelp for more information)\n"
@@ -1290,6 +1295,15 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 				setSingularWSOption(singularWSOptions[i]);
 			}
 		}
+		if (args.getBooleanValue("giacSession", false)) {
+			CASGenericInterface cas = kernel.getGeoGebraCAS().getCurrentCAS();
+			if (cas instanceof CASgiacB) {
+				((CASgiacB) cas).setSessionMode(true);
+			}
+		}
+		if (args.getBooleanValue("parallel", false)) {
+			kernel.setTaskExecutor(new ForkJoinTaskExecutor());
+		}
 	}
 
 	// **************************************************************************
@@ -6,7 +6,9 @@ import org.mozilla.javascript.ClassShutter;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.Context.ClassShutterSetter;
 import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.Function;
 import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
 
 public class CallJavaScript {
 
@@ -22,15 +24,11 @@ public class CallJavaScript {
 		ContextFactory.initGlobal(SandboxContextFactory.getInstance());
 
 		// create new scope
-		Context cx = Context.enter();
+		Context cx = enterContext();
 
+		// standard objects are shared by all scripts of the construction
 		Scriptable scope = cx.initStandardObjects();
 
-		ClassShutterSetter setter = cx.getClassShutterSetter();
-		if (setter != null) {
-			setter.setClassShutter(sandboxClassShutter);
-		}
-
 		// Initialize GgbApi functions, eg ggbApplet.evalCommand()
 		GeoGebraGlobal.initStandardObjects(app, scope, null, false);
 
@@ -57,32 +55,93 @@ public class CallJavaScript {
 	 */
 	public static void evalScript(App app, String script, String arg) {
 
+		ScriptManagerD scriptManager = (ScriptManagerD) app.getScriptManager();
 		// get the global scope for the current construction
+		Scriptable globalScope = scriptManager.getGlobalScopeMap()
+				.get(app.getKernel().getConstruction());
+
+		Context cx = enterContext();
+		try {
+			// Create a new scope that shares the global scope
+			Scriptable newScope = cx.newObject(globalScope);
+			newScope.setPrototype(globalScope);
+			newScope.setParentScope(null);
+
+			// Evaluate the script, compiled only once
+			scriptManager.getCompiledScript(cx, script,
+					app.getLocalization().getMenu("ErrorAtLine"))
+					.exec(cx, newScope);
+		} finally {
+			Context.exit();
+		}
+
+	}
+
+	/**
+	 * Calls a function of the global scope from the current construction
+	 * without compiling any script.
+	 * 
+	 * @param app
+	 *            application
+	 * @param name
+	 *            function name
+	 * @param args
+	 *            string arguments
+	 * @return whether the global scope has a function with given name
+	 */
+	public static boolean callFunction(App app, String name, Object[] args) {
 		Scriptable globalScope = ((ScriptManagerD) app.getScriptManager())
 				.getGlobalScopeMap().get(app.getKernel().getConstruction());
+		Object function = ScriptableObject.getProperty(globalScope, name);
+		if (!(function instanceof Function)) {
+			return false;
+		}
 
-		Context cx = Context.enter();
+		Context cx = enterContext();
+		try {
+			((Function) function).call(cx, globalScope, globalScope, args);
+		} finally {
+			Context.exit();
+		}
+		return true;
+	}
 
-		cx.initStandardObjects();
+	/**
+	 * Scripts are compiled to Java bytecode for levels 0 to 9 and interpreted
+	 * for level -1 (faster to compile, slower to run).
+	 * 
+	 * @param level
+	 *            Rhino optimization level for scripts compiled from now on
+	 */
+	public static void setOptimizationLevel(int level) {
+		if (!Context.isValidOptimizationLevel(level)) {
+			throw new IllegalArgumentException(
+					"Invalid optimization level: " + level);
+		}
+		optimizationLevel = level;
+	}
+
+	/**
+	 * @return Rhino optimization level
+	 */
+	public static int getOptimizationLevel() {
+		return optimizationLevel;
+	}
+
+	private static Context enterContext() {
+		Context cx = Context.enter();
+		cx.setOptimizationLevel(optimizationLevel);
 
 		ClassShutterSetter setter = cx.getClassShutterSetter();
 		if (setter != null) {
 			setter.setClassShutter(sandboxClassShutter);
 		}
-
-		// Create a new scope that shares the global scope
-		Scriptable newScope = cx.newObject(globalScope);
-		newScope.setPrototype(globalScope);
-		newScope.setParentScope(null);
-
-		// Evaluate the script.
-		cx.evaluateString(newScope, script,
-				app.getLocalization().getMenu("ErrorAtLine"), 1, null);
-
-		Context.exit();
-
+		return cx;
 	}
 
+	/** Rhino's default */
+	private static int optimizationLevel = 0;
+
 	private static final SandboxClassShutter sandboxClassShutter = new SandboxClassShutter();
 
 
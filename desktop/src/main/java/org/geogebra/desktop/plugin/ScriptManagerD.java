@@ -5,15 +5,26 @@ import java.util.HashMap;
 import org.geogebra.common.jre.plugin.ScriptManagerJre;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.main.App;
+import org.geogebra.common.util.MaxSizeHashMap;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
 
 public class ScriptManagerD extends ScriptManagerJre {
 
+	/** maximal number of compiled scripts per construction */
+	private static final int MAX_COMPILED_SCRIPTS = 100;
+
 	protected HashMap<Construction, Scriptable> globalScopeMap;
+	private HashMap<Construction, MaxSizeHashMap<String, Script>> compiledScriptMap;
+	/** optimization level of the compiled scripts */
+	private int compiledLevel;
 
 	public ScriptManagerD(App app) {
 		super(app);
 		globalScopeMap = new HashMap<>();
+		compiledScriptMap = new HashMap<>();
+		compiledLevel = CallJavaScript.getOptimizationLevel();
 	}
 
 	public HashMap<Construction, Scriptable> getGlobalScopeMap() {
@@ -25,10 +36,27 @@ public class ScriptManagerD extends ScriptManagerJre {
 		evalJavaScript(app, jsFunction, null);
 	}
 
+	@Override
+	protected void callListener(String jsFunction, String... args) {
+		if (!isIdentifier(jsFunction)) {
+			super.callListener(jsFunction, args);
+			return;
+		}
+		if (globalScopeMap.get(app.getKernel().getConstruction()) == null) {
+			setGlobalScript();
+		}
+		// no need to compile a script just for calling a global function
+		if (!CallJavaScript.callFunction(app, jsFunction, args)) {
+			super.callListener(jsFunction, args);
+		}
+	}
+
 	@Override
 	public void setGlobalScript() {
 		Scriptable globalScope = CallJavaScript.evalGlobalScript(app);
 		globalScopeMap.put(app.getKernel().getConstruction(), globalScope);
+		// scripts of the old global scope may refer to removed functions
+		compiledScriptMap.remove(app.getKernel().getConstruction());
 	}
 
 	public void evalJavaScript(App app, String script, String arg) {
@@ -38,4 +66,50 @@ public class ScriptManagerD extends ScriptManagerJre {
 
 		CallJavaScript.evalScript(app, script, arg);
 	}
+
+	/**
+	 * Compiles the script for the current construction unless it was compiled
+	 * before with the same optimization level.
+	 * 
+	 * @param cx
+	 *            entered context
+	 * @param script
+	 *            script text
+	 * @param sourceName
+	 *            source name for error messages
+	 * @return compiled script
+	 */
+	public Script getCompiledScript(Context cx, String script,
+			String sourceName) {
+		if (compiledLevel != cx.getOptimizationLevel()) {
+			compiledScriptMap.clear();
+			compiledLevel = cx.getOptimizationLevel();
+		}
+		Construction cons = app.getKernel().getConstruction();
+		MaxSizeHashMap<String, Script> compiledScripts = compiledScriptMap
+				.get(cons);
+		if (compiledScripts == null) {
+			compiledScripts = new MaxSizeHashMap<>(MAX_COMPILED_SCRIPTS);
+			compiledScriptMap.put(cons, compiledScripts);
+		}
+		Script compiled = compiledScripts.get(script);
+		if (compiled == null) {
+			compiled = cx.compileString(script, sourceName, 1, null);
+			compiledScripts.put(script, compiled);
+		}
+		return compiled;
+	}
+
+	private static boolean isIdentifier(String name) {
+		if (name == null || name.isEmpty()
+				|| !Character.isJavaIdentifierStart(name.charAt(0))) {
+			return false;
+		}
+		for (int i = 1; i < name.length(); i++) {
+			if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
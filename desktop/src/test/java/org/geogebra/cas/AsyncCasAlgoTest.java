@@ -0,0 +1,145 @@
+package org.geogebra.cas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.swing.SwingUtilities;
+
+import org.geogebra.common.jre.util.ForkJoinTaskExecutor;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.cas.CasJobQueue;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for asynchronous updates of CAS algos. Finished jobs are processed by
+ * a timer on the event dispatch thread, so the construction is only changed
+ * there.
+ */
+public class AsyncCasAlgoTest {
+
+	private Kernel kernel;
+	private CasJobQueue jobs;
+	private ForkJoinTaskExecutor executor;
+
+	/**
+	 * Create app and enable async mode.
+	 */
+	@Before
+	public void setup() throws Exception {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		kernel = app.getKernel();
+		executor = new ForkJoinTaskExecutor();
+		kernel.setTaskExecutor(executor);
+		jobs = kernel.getCasJobQueue();
+		onEventThread(new Runnable() {
+
+			@Override
+			public void run() {
+				process("a=1");
+				jobs.setEnabled(true);
+				process("g(x)=Expand((x+a)^2)");
+			}
+		});
+		waitForJobs();
+	}
+
+	@After
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void outputShouldBeKeptUntilResultArrives() throws Exception {
+		assertEquals(4, valueAt1(), 1E-8);
+		onEventThread(new Runnable() {
+
+			@Override
+			public void run() {
+				setA(2);
+				// previous output until the job is finished
+				assertTrue(jobs.hasRunningJobs());
+				assertEquals(4, valueAt1(), 1E-8);
+			}
+		});
+		waitForJobs();
+		assertEquals(9, valueAt1(), 1E-8);
+	}
+
+	@Test
+	public void supersededResultsShouldBeDropped() throws Exception {
+		jobs.resetCounters();
+		onEventThread(new Runnable() {
+
+			@Override
+			public void run() {
+				for (int i = 2; i < 10; i++) {
+					setA(i);
+				}
+			}
+		});
+		waitForJobs();
+		assertEquals(100, valueAt1(), 1E-8);
+		assertEquals(jobs.getQueuedJobs(),
+				jobs.getCompletedJobs() + jobs.getDroppedJobs());
+		Log.debug("CAS jobs queued: " + jobs.getQueuedJobs() + ", dropped: "
+				+ jobs.getDroppedJobs() + ", completed: "
+				+ jobs.getCompletedJobs());
+	}
+
+	@Test
+	public void removedAlgoShouldNotBeUpdated() throws Exception {
+		jobs.resetCounters();
+		onEventThread(new Runnable() {
+
+			@Override
+			public void run() {
+				setA(5);
+				kernel.lookupLabel("g").remove();
+			}
+		});
+		waitForJobs();
+		assertFalse(jobs.hasRunningJobs());
+		assertEquals(0, jobs.getCompletedJobs());
+		assertEquals(1, jobs.getDroppedJobs());
+	}
+
+	private void setA(double value) {
+		GeoNumeric a = (GeoNumeric) kernel.lookupLabel("a");
+		a.setValue(value);
+		a.updateCascade();
+	}
+
+	private double valueAt1() {
+		return ((GeoFunction) kernel.lookupLabel("g")).value(1);
+	}
+
+	private void process(String command) {
+		kernel.getAlgebraProcessor().processAlgebraCommand(command, false);
+	}
+
+	private void waitForJobs() throws Exception {
+		final boolean[] running = { true };
+		for (int i = 0; i < 500 && running[0]; i++) {
+			Thread.sleep(20);
+			onEventThread(new Runnable() {
+
+				@Override
+				public void run() {
+					running[0] = jobs.hasRunningJobs();
+				}
+			});
+		}
+	}
+
+	private static void onEventThread(Runnable runnable) throws Exception {
+		SwingUtilities.invokeAndWait(runnable);
+	}
+}
@@ -0,0 +1,81 @@
+package org.geogebra.cas;
+
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.cas.GeoGebraCAS;
+import org.geogebra.common.cas.giac.CASgiacB;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for Giac session mode.
+ */
+public class GiacSessionTest {
+
+	private static final int ROUND_TRIPS = 200;
+
+	private GeoGebraCAS cas;
+	private CASgiacB giac;
+
+	/**
+	 * Create app and CAS.
+	 */
+	@Before
+	public void setupCas() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		cas = (GeoGebraCAS) app.getKernel().getGeoGebraCAS();
+		giac = (CASgiacB) cas.getCurrentCAS();
+	}
+
+	@After
+	public void resetSessionMode() {
+		giac.setSessionMode(false);
+	}
+
+	@Test
+	public void sessionShouldGiveSameResults() throws Throwable {
+		String[] inputs = { "expand((x+1)^3)", "factor(x^2-1)",
+				"ggbisPolynomial(x^2+1)", "solve(x^2=4,x)", "expand((x+1)^3)" };
+		String[] expected = new String[inputs.length];
+		for (int i = 0; i < inputs.length; i++) {
+			expected[i] = cas.evaluateRaw(inputs[i]);
+		}
+		giac.setSessionMode(true);
+		for (int i = 0; i < inputs.length; i++) {
+			assertEquals(inputs[i], expected[i], cas.evaluateRaw(inputs[i]));
+		}
+	}
+
+	@Test
+	public void sessionShouldNotKeepAssignments() throws Throwable {
+		giac.setSessionMode(true);
+		cas.evaluateRaw("a:=5");
+		cas.evaluateRaw("f(t):=t^2");
+		assertEquals("a", cas.evaluateRaw("a"));
+		assertEquals("f(2)", cas.evaluateRaw("f(2)"));
+	}
+
+	@Test
+	public void benchmarkRoundTrips() throws Throwable {
+		double perCall = roundTripsPerSecond();
+		giac.setSessionMode(true);
+		double session = roundTripsPerSecond();
+		Log.debug("giac round trips per second: " + perCall
+				+ " (init per call), " + session + " (session)");
+	}
+
+	private double roundTripsPerSecond() throws Throwable {
+		// warm up
+		cas.evaluateRaw("1+1");
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < ROUND_TRIPS; i++) {
+			cas.evaluateRaw("expand((x+" + i + ")^2)");
+		}
+		long time = Math.max(1, System.currentTimeMillis() - start);
+		return ROUND_TRIPS * 1000.0 / time;
+	}
+}
@@ -0,0 +1,108 @@
+package org.geogebra.cas;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.cas.GeoGebraCAS;
+import org.geogebra.common.jre.cas.giac.CASgiacJre;
+import org.geogebra.common.jre.cas.giac.GiacWorkerPool;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests and benchmark for concurrent Giac evaluation.
+ */
+public class GiacWorkerPoolTest {
+
+	private static final int REQUESTS = 100;
+
+	private CASgiacJre giac;
+
+	/**
+	 * Create app and CAS.
+	 */
+	@Before
+	public void setupCas() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		giac = (CASgiacJre) ((GeoGebraCAS) app.getKernel().getGeoGebraCAS())
+				.getCurrentCAS();
+	}
+
+	@Test
+	public void concurrentEvaluationsShouldGiveSameResults() throws Throwable {
+		final GiacWorkerPool pool = new GiacWorkerPool(giac, 4);
+		String expected = pool.evaluate("expand((x+2)^2)", 5000, 5000);
+		ArrayList<Thread> threads = new ArrayList<>();
+		final ArrayList<String> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			threads.add(new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						String result = pool.evaluate("expand((x+2)^2)", 5000,
+								5000);
+						synchronized (results) {
+							results.add(result);
+						}
+					} catch (InterruptedException e) {
+						Log.debug(e);
+					}
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(8, results.size());
+		for (String result : results) {
+			assertEquals(expected, result);
+		}
+	}
+
+	@Test
+	public void benchmarkWorkers() throws Throwable {
+		for (int size = 1; size <= 4; size *= 2) {
+			GiacWorkerPool pool = new GiacWorkerPool(giac, size);
+			long start = System.currentTimeMillis();
+			runConcurrently(pool, size);
+			Log.debug(size + " giac workers: " + REQUESTS + " requests in "
+					+ (System.currentTimeMillis() - start) + "ms");
+		}
+	}
+
+	private static void runConcurrently(final GiacWorkerPool pool,
+			final int threadCount) throws InterruptedException {
+		ArrayList<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			final int offset = i;
+			threads.add(new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					for (int j = offset; j < REQUESTS; j += threadCount) {
+						try {
+							pool.evaluate("factor(x^" + (j % 20 + 2) + "-1)",
+									5000, 5000);
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package org.geogebra.desktop.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.plugin.Event;
+import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.plugin.ScriptManager;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Tests and benchmark for JavaScript listeners in desktop.
+ */
+public class ScriptManagerDTest {
+
+	private static final int CALLS = 10000;
+
+	private AppDNoGui app;
+	private ScriptManagerD scriptManager;
+	private GeoElement geo;
+
+	/**
+	 * Create app with a counting update listener.
+	 */
+	@Before
+	public void setupApp() {
+		app = new AppDNoGui(new LocalizationD(3), false) {
+			@Override
+			public ScriptManager newScriptManager() {
+				return new ScriptManagerD(this);
+			}
+		};
+		app.getKernel().setLibraryJavaScript(
+				"var count = 0; function onUpdate(label) { count++; }");
+		scriptManager = (ScriptManagerD) app.getScriptManager();
+		scriptManager.registerUpdateListener("onUpdate");
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand("a=1",
+				false);
+		geo = app.getKernel().lookupLabel("a");
+	}
+
+	@After
+	public void resetOptimizationLevel() {
+		CallJavaScript.setOptimizationLevel(0);
+	}
+
+	@Test
+	public void listenersShouldBeCalled() {
+		int before = getCount();
+		scriptManager.sendEvent(new Event(EventType.UPDATE, geo));
+		scriptManager.evalJavaScript(app, "onUpdate(\"a\");", null);
+		scriptManager.evalJavaScript(app, "onUpdate(\"a\");", null);
+		assertEquals(before + 3, getCount());
+	}
+
+	@Test
+	public void localVariablesShouldNotLeak() {
+		scriptManager.evalJavaScript(app, "var local = count;", null);
+		assertEquals(ScriptableObject.NOT_FOUND,
+				ScriptableObject.getProperty(getGlobalScope(), "local"));
+	}
+
+	@Test
+	public void benchmarkListeners() {
+		for (int level = -1; level <= 0; level++) {
+			CallJavaScript.setOptimizationLevel(level);
+			int before = getCount();
+			long start = System.currentTimeMillis();
+			for (int i = 0; i < CALLS; i++) {
+				scriptManager.sendEvent(new Event(EventType.UPDATE, geo));
+			}
+			logRate("listener calls", level, start);
+			start = System.currentTimeMillis();
+			for (int i = 0; i < CALLS; i++) {
+				scriptManager.evalJavaScript(app, "onUpdate(\"a\");", null);
+			}
+			logRate("script evaluations", level, start);
+			assertEquals(before + 2 * CALLS, getCount());
+		}
+	}
+
+	private static void logRate(String name, int level, long start) {
+		long time = Math.max(1, System.currentTimeMillis() - start);
+		Log.debug("optimization level " + level + ": " + (CALLS * 1000 / time)
+				+ " " + name + "/s");
+	}
+
+	private ScriptableObject getGlobalScope() {
+		return (ScriptableObject) scriptManager.getGlobalScopeMap()
+				.get(app.getKernel().getConstruction());
+	}
+
+	private int getCount() {
+		if (getGlobalScope() == null) {
+			scriptManager.setGlobalScript();
+		}
+		return ((Number) ScriptableObject.getProperty(getGlobalScope(),
+				"count")).intValue();
+	}
+}
@@ -90,7 +90,6 @@ public class CASgiacW extends CASgiac {
 		
 		// GGB-850
 		CustomFunctions[] init = CustomFunctions.values();
-		CustomFunctions.setDependencies();
 
 		// Log.debug("exp = " + exp);
 
@@ -1,7 +1,6 @@
 package org.geogebra.web.full.gui.view.spreadsheet;
 
 import org.geogebra.common.gui.view.spreadsheet.CopyPasteCut;
-import org.geogebra.common.gui.view.spreadsheet.DataImport;
 import org.geogebra.common.gui.view.spreadsheet.RelativeCopy;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.GeoElement;
@@ -205,11 +204,9 @@ public class CopyPasteCutW extends CopyPasteCut {
 
 			// use the transferString data to create and paste new geos
 			// into the target cells without relative cell references
-			
-			boolean isCSV = false;
 
-			String[][] data = DataImport.parseExternalData(app, transferString, isCSV);
-			succ = pasteExternalMultiple(data, column1, row1, column2, row2);
+			succ = pasteExternalMultiple(transferString, column1, row1,
+					column2, row2);
 		}
 
 		return succ;
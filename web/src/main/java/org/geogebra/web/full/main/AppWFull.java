@@ -20,8 +20,7 @@ import org.geogebra.common.gui.inputfield.HasLastItem;
 import org.geogebra.common.gui.layout.DockPanel;
 import org.geogebra.common.gui.toolbar.ToolBar;
 import org.geogebra.common.gui.view.probcalculator.ProbabilityCalculatorView;
-import org.geogebra.common.gui.view.spreadsheet.CopyPasteCut;
-import org.geogebra.common.gui.view.spreadsheet.DataImport;
+import org.geogebra.common.gui.view.spreadsheet.SpreadsheetImport;
 import org.geogebra.common.io.layout.DockPanelData;
 import org.geogebra.common.io.layout.Perspective;
 import org.geogebra.common.io.layout.PerspectiveDecoder;
@@ -547,12 +546,26 @@ public class AppWFull extends AppW implements HasKeyboard {
 
 	@Override
 	public final void openCSV(String csv) {
-		String[][] data = DataImport.parseExternalData(this, csv, true);
-		CopyPasteCut cpc = getGuiManager().getSpreadsheetView()
-				.getSpreadsheetTable().getCopyPasteCut();
-		cpc.pasteExternal(data, 0, 0, data.length > 0 ? data[0].length - 1 : 0,
-				data.length);
-		onOpenFile();
+		// make sure the spreadsheet exists before the cells are added
+		getGuiManager().getSpreadsheetView();
+		SpreadsheetImport csvImport = new SpreadsheetImport(this, csv, 0, 0);
+		csvImport.setListener(new SpreadsheetImport.ImportListener() {
+
+			@Override
+			public void onProgress(int rows, double progress) {
+				ToolTipManagerW.sharedInstance().showBottomMessage(
+						getLocalization().getMenu("Loading") + " "
+								+ Math.round(progress * 100) + "%",
+						false, AppWFull.this);
+			}
+
+			@Override
+			public void onFinished(boolean success) {
+				ToolTipManagerW.sharedInstance().hideBottomInfoToolTip();
+				onOpenFile();
+			}
+		});
+		csvImport.start();
 	}
 
 	@Override
@@ -1,8 +1,7 @@
 package org.geogebra.web.geogebra3D.web.euclidian3D.openGL;
 
-import java.util.ArrayList;
-
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.GLBuffer;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
 
 import com.googlecode.gwtgl.array.Float32Array;
 
@@ -77,7 +76,7 @@ public class GLBufferW implements GLBuffer {
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int length) {
+	public void set(ReusableFloatArray array, int length) {
 
 		allocate(length);
 		if (impl == null) {
@@ -91,14 +90,14 @@ public class GLBufferW implements GLBuffer {
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int offset, int length) {
+	public void set(ReusableFloatArray array, int offset, int length) {
 		for (int i = 0; i < length; i++) {
 			impl.set(i + offset, array.get(i));
 		}
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int arrayOffset, int offset,
+	public void set(ReusableFloatArray array, int arrayOffset, int offset,
 			int length) {
 		for (int i = 0; i < length; i++) {
 			impl.set(i + offset, array.get(arrayOffset + i));
@@ -106,11 +105,11 @@ public class GLBufferW implements GLBuffer {
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, float[] translate, float scale,
+	public void set(ReusableFloatArray array, float[] translate, float scale,
 			int offset, int length) {
 		for (int i = 0; i < length; i++) {
 			impl.set(i + offset,
-					array.get(i).floatValue() * scale + translate[i % 3]);
+					array.get(i) * scale + translate[i % 3]);
 		}
 	}
 
@@ -463,6 +463,10 @@ public class ApiExporter {
 			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::setRepaintingActive(Z)(!!flag);
 		};
 
+		api.setEventBatching = function(flag) {
+			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::setEventBatching(Z)(!!flag);
+		};
+
 		api.setCoordSystem = function(xmin, xmax, ymin, ymax, zmin, zmax,
 				verticalY) {
 			if (typeof zmin !== "number") {